@@ -0,0 +1,44 @@
+package hu.psprog.leaflet.tms.core.bundle;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Identifies a materialized translation bundle by its (sorted, distinct) pack names and locale.
+ *
+ * @param packNames sorted, distinct pack names of the bundle
+ * @param locale locale the bundle is resolved for
+ * @author Peter Smith
+ */
+public record BundleKey(List<String> packNames, Locale locale) {
+
+    private static final String PACK_NAME_SEPARATOR = ",";
+    private static final String LOCALE_SEPARATOR = "@";
+
+    /**
+     * Creates a {@link BundleKey} from the given pack names (in any order, duplicates allowed) and locale.
+     *
+     * @param packNames pack names of the bundle
+     * @param locale locale the bundle is resolved for
+     * @return created {@link BundleKey}
+     */
+    public static BundleKey of(Collection<String> packNames, Locale locale) {
+
+        List<String> normalizedPackNames = packNames.stream()
+                .distinct()
+                .sorted()
+                .toList();
+
+        return new BundleKey(normalizedPackNames, locale);
+    }
+
+    /**
+     * Returns the document ID of the bundle in "pack1,pack2@locale-tag" format.
+     *
+     * @return bundle ID as String
+     */
+    public String id() {
+        return String.join(PACK_NAME_SEPARATOR, packNames) + LOCALE_SEPARATOR + locale.toLanguageTag();
+    }
+}
@@ -0,0 +1,222 @@
+package hu.psprog.leaflet.tms.core.bundle;
+
+import hu.psprog.leaflet.tms.core.config.BundleProperties;
+import hu.psprog.leaflet.tms.core.dao.TranslationBundleDAO;
+import hu.psprog.leaflet.tms.core.entity.TranslationBundle;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Maintains materialized translation bundles.
+ * Keeps track of the registered bundles (configured ones, automatically detected ones and the ones already stored
+ * by any instance of the service), counts requests of non-registered combinations for automatic detection,
+ * and stores, looks up and invalidates the bundle documents. Building the bundle contents is the caller's responsibility.
+ * Bundles are stored along with the IDs of the source packs they were built from, and a bundle is only served as long as
+ * the caller's current sources match - a bundle built from outdated data (e.g. by an instance with a stale cache) is ignored,
+ * and thus rebuilt, instead of being served until the next change of its packs.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class TranslationBundleManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TranslationBundleManager.class);
+
+    private final TranslationBundleDAO translationBundleDAO;
+    private final BundleProperties bundleProperties;
+    private final Set<BundleKey> configuredBundles;
+    private final Set<BundleKey> detectedBundles = ConcurrentHashMap.newKeySet();
+    private final Map<BundleKey, LongAdder> usageCounters = new ConcurrentHashMap<>();
+    private final AtomicBoolean storedBundlesLoaded = new AtomicBoolean(false);
+
+    @Autowired
+    public TranslationBundleManager(TranslationBundleDAO translationBundleDAO, BundleProperties bundleProperties) {
+        this.translationBundleDAO = translationBundleDAO;
+        this.bundleProperties = bundleProperties;
+        this.configuredBundles = expandDefinitions(bundleProperties.getDefinitions());
+    }
+
+    /**
+     * Returns the materialized packs of the given bundle, if the bundle is registered, already built,
+     * and was built from the given current source packs.
+     * Non-registered combinations never hit the database, and the current source IDs are only requested for existing bundles.
+     *
+     * @param bundleKey {@link BundleKey} of the requested bundle
+     * @param currentSourceIDs supplier of the IDs of the source packs the bundle would currently be built from (in any order)
+     * @return materialized packs wrapped as {@link Optional}, or empty {@link Optional} if the bundle is not available or outdated
+     */
+    public Optional<List<TranslationPack>> findBundle(BundleKey bundleKey, Supplier<Collection<UUID>> currentSourceIDs) {
+
+        if (!bundleProperties.isEnabled() || !isRegistered(bundleKey)) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(translationBundleDAO.getByID(bundleKey.id()))
+                .filter(translationBundle -> isBuiltFrom(translationBundle, currentSourceIDs.get()))
+                .map(TranslationBundle::getPacks);
+    }
+
+    /**
+     * Decides whether the given combination should be materialized after being resolved.
+     * Registered bundles always should be, while non-registered combinations are counted and get registered
+     * once their request count reaches the auto-detection threshold (as long as the bundle limit is not reached).
+     *
+     * @param bundleKey {@link BundleKey} of the requested combination
+     * @return {@code true} if the combination should be stored as bundle, {@code false} otherwise
+     */
+    public boolean shouldMaterialize(BundleKey bundleKey) {
+
+        if (!bundleProperties.isEnabled()) {
+            return false;
+        }
+
+        if (isRegistered(bundleKey)) {
+            return true;
+        }
+
+        BundleProperties.AutoDetection autoDetection = bundleProperties.getAutoDetection();
+        if (!autoDetection.isEnabled() || detectedBundles.size() >= autoDetection.getMaxBundles()) {
+            return false;
+        }
+
+        LongAdder usageCounter = usageCounters.get(bundleKey);
+        if (Objects.isNull(usageCounter)) {
+            if (usageCounters.size() >= autoDetection.getMaxTrackedCombinations()) {
+                return false;
+            }
+            usageCounter = usageCounters.computeIfAbsent(bundleKey, key -> new LongAdder());
+        }
+
+        usageCounter.increment();
+        if (usageCounter.sum() < autoDetection.getThreshold()) {
+            return false;
+        }
+
+        usageCounters.remove(bundleKey);
+        detectedBundles.add(bundleKey);
+        LOGGER.info("Pack combination [{}] has been requested {} times, materializing it as bundle", bundleKey.id(), autoDetection.getThreshold());
+
+        return true;
+    }
+
+    /**
+     * Stores (creates or replaces) the bundle document of the given bundle.
+     *
+     * @param bundleKey {@link BundleKey} of the bundle to store
+     * @param translationPacks locale-resolved packs of the bundle
+     * @param sourceIDs IDs of the source packs the given packs were resolved from (in any order)
+     */
+    public void store(BundleKey bundleKey, Collection<TranslationPack> translationPacks, Collection<UUID> sourceIDs) {
+
+        TranslationBundle translationBundle = TranslationBundle.builder()
+                .id(bundleKey.id())
+                .packNames(bundleKey.packNames())
+                .locale(bundleKey.locale())
+                .built(new Date())
+                .sourceIDs(normalizeSourceIDs(sourceIDs))
+                .packs(new ArrayList<>(translationPacks))
+                .build();
+
+        translationBundleDAO.save(translationBundle);
+    }
+
+    /**
+     * Deletes all bundle documents containing the given pack name, and returns the keys of all affected registered bundles,
+     * so they can be rebuilt by the caller.
+     *
+     * @param packName name of the changed pack
+     * @return list of {@link BundleKey} objects of the affected bundles
+     */
+    public List<BundleKey> invalidate(String packName) {
+
+        if (!bundleProperties.isEnabled()) {
+            return List.of();
+        }
+
+        Set<BundleKey> affectedBundles = new LinkedHashSet<>();
+        translationBundleDAO.findAllKeysByPackName(packName).forEach(translationBundle -> {
+            translationBundleDAO.delete(translationBundle.getId());
+            BundleKey bundleKey = toBundleKey(translationBundle);
+            detectedBundles.add(bundleKey);
+            affectedBundles.add(bundleKey);
+        });
+
+        configuredBundles.stream()
+                .filter(bundleKey -> bundleKey.packNames().contains(packName))
+                .forEach(affectedBundles::add);
+
+        return new ArrayList<>(affectedBundles);
+    }
+
+    private boolean isRegistered(BundleKey bundleKey) {
+
+        loadStoredBundles();
+
+        return configuredBundles.contains(bundleKey) || detectedBundles.contains(bundleKey);
+    }
+
+    private void loadStoredBundles() {
+
+        if (storedBundlesLoaded.get()) {
+            return;
+        }
+
+        try {
+            translationBundleDAO.findAllKeys().stream()
+                    .map(this::toBundleKey)
+                    .forEach(detectedBundles::add);
+            storedBundlesLoaded.set(true);
+        } catch (DataAccessException exception) {
+            LOGGER.warn("Failed to load stored bundles, retrying on next request", exception);
+        }
+    }
+
+    private boolean isBuiltFrom(TranslationBundle translationBundle, Collection<UUID> currentSourceIDs) {
+
+        boolean upToDate = normalizeSourceIDs(currentSourceIDs).equals(translationBundle.getSourceIDs());
+        if (!upToDate) {
+            LOGGER.debug("Bundle [{}] has been built from outdated source packs, ignoring it", translationBundle.getId());
+        }
+
+        return upToDate;
+    }
+
+    private List<UUID> normalizeSourceIDs(Collection<UUID> sourceIDs) {
+
+        return sourceIDs.stream()
+                .sorted()
+                .toList();
+    }
+
+    private BundleKey toBundleKey(TranslationBundle translationBundle) {
+        return BundleKey.of(translationBundle.getPackNames(), translationBundle.getLocale());
+    }
+
+    private static Set<BundleKey> expandDefinitions(List<BundleProperties.Definition> definitions) {
+
+        Set<BundleKey> bundleKeys = new LinkedHashSet<>();
+        definitions.forEach(definition -> definition.getLocales()
+                .forEach(locale -> bundleKeys.add(BundleKey.of(definition.getPacks(), locale))));
+
+        return Set.copyOf(bundleKeys);
+    }
+}
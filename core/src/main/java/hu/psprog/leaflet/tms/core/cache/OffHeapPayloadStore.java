@@ -0,0 +1,163 @@
+package hu.psprog.leaflet.tms.core.cache;
+
+import hu.psprog.leaflet.tms.core.config.CacheProperties;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.event.TranslationPackChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Off-heap store of serialized translation pack payloads, keyed by pack name, locale and payload mode
+ * (stored pack as is, or pack merged for a requested locale - the latter served from bundles as well, as they hold merged packs).
+ * Payloads are held in direct buffers, so their bytes are kept off the heap; the heap still holds a small key,
+ * entry and buffer reference per stored payload (thus grows with the number of stored pack variants), and every
+ * serialization allocates the full payload on the heap temporarily, before it is copied into its direct buffer.
+ * A stored payload is only served for the same pack version it was serialized from: a stored pack is identified by its ID
+ * and creation date, while a merged pack (reusing the ID of its most specific source) by the IDs of all of its source packs,
+ * otherwise it is serialized again.
+ * Payloads not fitting in the configured size limit are not stored, but served from a heap buffer for the given request only.
+ * Direct buffers are released by the garbage collector once they are replaced or evicted and no response is using them anymore.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class OffHeapPayloadStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OffHeapPayloadStore.class);
+
+    private final Map<PayloadKey, PayloadEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final CacheProperties cacheProperties;
+
+    @Autowired
+    public OffHeapPayloadStore(CacheProperties cacheProperties) {
+        this.cacheProperties = cacheProperties;
+    }
+
+    /**
+     * Returns the serialized payload of the given stored pack, serializing and storing it first if needed.
+     * The returned buffer is a read-only view with its own position, so it can be consumed independently of other requests.
+     *
+     * @param translationPack {@link TranslationPack} to return the payload of
+     * @param serializer function serializing the pack into its response payload
+     * @return payload of the pack as read-only {@link ByteBuffer}
+     */
+    public ByteBuffer getPayload(TranslationPack translationPack, Function<TranslationPack, byte[]> serializer) {
+        return getPayload(translationPack, PayloadMode.STORED, List.of(translationPack.getId()), serializer);
+    }
+
+    /**
+     * Returns the serialized payload of the given merged (locale-resolved) pack, serializing and storing it first if needed.
+     * Works as {@link #getPayload(TranslationPack, Function)}, except that the stored payload is validated against the IDs
+     * of the source packs the merged pack was built from.
+     *
+     * @param mergedPack merged {@link TranslationPack} to return the payload of
+     * @param sourceIDs IDs of the source packs of the merged pack, most specific first
+     * @param serializer function serializing the pack into its response payload
+     * @return payload of the pack as read-only {@link ByteBuffer}
+     */
+    public ByteBuffer getMergedPayload(TranslationPack mergedPack, List<UUID> sourceIDs, Function<TranslationPack, byte[]> serializer) {
+        return getPayload(mergedPack, PayloadMode.MERGED, sourceIDs, serializer);
+    }
+
+    /**
+     * Evicts the payloads of all locales of the changed pack.
+     *
+     * @param event {@link TranslationPackChangedEvent} holding the name of the changed pack
+     */
+    @EventListener
+    public void onTranslationPackChanged(TranslationPackChangedEvent event) {
+        entries.keySet().stream()
+                .filter(key -> key.packName().equals(event.packName()))
+                .toList()
+                .forEach(key -> release(entries.remove(key)));
+    }
+
+    /**
+     * Returns the number of stored payloads.
+     *
+     * @return number of stored payloads
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the total size of the stored payloads in bytes.
+     *
+     * @return total size of the stored payloads in bytes
+     */
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    private ByteBuffer getPayload(TranslationPack translationPack, PayloadMode mode, List<UUID> sourceIDs,
+                                  Function<TranslationPack, byte[]> serializer) {
+
+        if (!cacheProperties.getOffHeap().isEnabled()) {
+            return ByteBuffer.wrap(serializer.apply(translationPack)).asReadOnlyBuffer();
+        }
+
+        PayloadKey key = new PayloadKey(translationPack.getPackName(), translationPack.getLocale(), mode);
+        PayloadEntry entry = entries.get(key);
+        if (Objects.isNull(entry) || !entry.isPayloadOf(sourceIDs, translationPack.getCreated())) {
+            entry = store(key, sourceIDs, translationPack, serializer.apply(translationPack));
+        }
+
+        return entry.payload().duplicate();
+    }
+
+    private PayloadEntry store(PayloadKey key, List<UUID> sourceIDs, TranslationPack translationPack, byte[] payload) {
+
+        PayloadEntry transientEntry = new PayloadEntry(sourceIDs, translationPack.getCreated(), ByteBuffer.wrap(payload).asReadOnlyBuffer());
+
+        long maxSize = cacheProperties.getOffHeap().getMaxSize().toBytes();
+        if (usedBytes.addAndGet(payload.length) > maxSize) {
+            usedBytes.addAndGet(-payload.length);
+            LOGGER.debug("Off-heap payload store is full, serving pack [{}] in locale [{}] from heap", key.packName(), key.locale());
+            return transientEntry;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(payload.length);
+        buffer.put(payload).flip();
+        PayloadEntry entry = new PayloadEntry(sourceIDs, translationPack.getCreated(), buffer.asReadOnlyBuffer());
+        release(entries.put(key, entry));
+
+        return entry;
+    }
+
+    private void release(PayloadEntry entry) {
+
+        if (Objects.nonNull(entry)) {
+            usedBytes.addAndGet(-entry.payload().capacity());
+        }
+    }
+
+    private enum PayloadMode {
+        STORED,
+        MERGED
+    }
+
+    private record PayloadKey(String packName, Locale locale, PayloadMode mode) { }
+
+    private record PayloadEntry(List<UUID> sourceIDs, Date created, ByteBuffer payload) {
+
+        boolean isPayloadOf(List<UUID> currentSourceIDs, Date currentCreated) {
+            return sourceIDs.equals(currentSourceIDs) && Objects.equals(created, currentCreated);
+        }
+    }
+}
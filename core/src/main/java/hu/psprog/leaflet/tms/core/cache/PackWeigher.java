@@ -0,0 +1,65 @@
+package hu.psprog.leaflet.tms.core.cache;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+
+import java.util.Objects;
+
+/**
+ * Estimates the retained heap size of translation packs.
+ * The estimation is dominated by the definition keys and values: strings holding only Latin-1 characters are stored
+ * compactly (1 byte per character), any other string takes 2 bytes per character. Object headers, references and
+ * array headers are accounted for with fixed, 64-bit JVM (compressed references) based overheads.
+ *
+ * @author Peter Smith
+ */
+final class PackWeigher {
+
+    static final long PACK_OVERHEAD = 160;
+    static final long DEFINITION_OVERHEAD = 24;
+    static final long STRING_OVERHEAD = 40;
+
+    private static final char LATIN1_MAX = '\u00FF';
+
+    private PackWeigher() {
+    }
+
+    /**
+     * Returns the estimated retained size of the given pack in bytes.
+     * A {@code null} pack (a cached "not available" result) weighs the fixed pack overhead only.
+     *
+     * @param translationPack {@link TranslationPack} to weigh (may be {@code null})
+     * @return estimated retained size in bytes
+     */
+    static long weigh(TranslationPack translationPack) {
+
+        long weight = PACK_OVERHEAD;
+        if (Objects.isNull(translationPack) || Objects.isNull(translationPack.getDefinitions())) {
+            return weight;
+        }
+
+        weight += weigh(translationPack.getPackName());
+        for (TranslationDefinition definition : translationPack.getDefinitions()) {
+            weight += DEFINITION_OVERHEAD + weigh(definition.getKey()) + weigh(definition.getValue());
+        }
+
+        return weight;
+    }
+
+    private static long weigh(String value) {
+
+        if (Objects.isNull(value)) {
+            return 0;
+        }
+
+        int bytesPerChar = 1;
+        for (int index = 0; index < value.length(); index++) {
+            if (value.charAt(index) > LATIN1_MAX) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+
+        return STRING_OVERHEAD + (long) value.length() * bytesPerChar;
+    }
+}
@@ -0,0 +1,213 @@
+package hu.psprog.leaflet.tms.core.cache;
+
+import hu.psprog.leaflet.tms.core.config.CacheProperties;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.event.TranslationPackChangedEvent;
+import hu.psprog.leaflet.tms.core.locale.LocaleFallbackResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cache of locale-resolved (merged) translation packs, keyed by pack name and requested locale.
+ * Every entry remembers the IDs of the source packs it was merged from, so a merged pack is reused only as long as
+ * the latest enabled packs of its fallback chain are the same - no separate expiration is needed.
+ * The cache is bounded by the estimated retained size of its entries (see {@link PackWeigher}) instead of their count,
+ * so a few large packs cannot exhaust the heap while many small ones still fit. Once the configured budget is exceeded,
+ * the least recently used entries are evicted - and, if enabled, demoted to a soft reference overflow tier, from which
+ * they are promoted back on their next use, unless the garbage collector has reclaimed them in the meantime.
+ * Entries are stored whenever a resolution misses (no entry yet, or its sources have changed) and on promotion from the overflow tier.
+ * Entries are kept in access order under a single lock, held only for the map operations (merging happens outside of it),
+ * so the least recently used entry is always the eldest one; reclaimed overflow references are expunged via a reference queue.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class ResolvedPackCache {
+
+    private final Map<ResolvedPackKey, ResolvedPackEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<ResolvedPackKey, OverflowReference> overflowEntries = new HashMap<>();
+    private final ReferenceQueue<ResolvedPackEntry> reclaimedOverflowEntries = new ReferenceQueue<>();
+    private final LocaleFallbackResolver localeFallbackResolver;
+    private final CacheProperties cacheProperties;
+
+    private long weight;
+    private long evictionCount;
+
+    @Autowired
+    public ResolvedPackCache(LocaleFallbackResolver localeFallbackResolver, CacheProperties cacheProperties) {
+        this.localeFallbackResolver = localeFallbackResolver;
+        this.cacheProperties = cacheProperties;
+    }
+
+    /**
+     * Returns the merged pack of the given pack name for the given locale, resolving (and caching) it if needed.
+     *
+     * @param packName name of the pack to resolve
+     * @param locale requested {@link Locale}
+     * @param latestPacks latest enabled packs of the given pack name in all available locales
+     * @return merged {@link TranslationPack} wrapped as {@link Optional}, or empty {@link Optional} if no locale of the fallback chain is available
+     */
+    public Optional<TranslationPack> resolve(String packName, Locale locale, List<TranslationPack> latestPacks) {
+
+        List<TranslationPack> sources = localeFallbackResolver.selectSources(locale, latestPacks);
+        if (!cacheProperties.isEnabled()) {
+            return Optional.ofNullable(localeFallbackResolver.merge(locale, sources));
+        }
+
+        ResolvedPackKey key = new ResolvedPackKey(packName, locale);
+        List<UUID> sourceIDs = sources.stream()
+                .map(TranslationPack::getId)
+                .toList();
+
+        ResolvedPackEntry entry = lookup(key);
+        if (Objects.isNull(entry) || !entry.sourceIDs().equals(sourceIDs)) {
+            TranslationPack mergedPack = localeFallbackResolver.merge(locale, sources);
+            entry = new ResolvedPackEntry(sourceIDs, mergedPack, PackWeigher.weigh(mergedPack));
+            store(key, entry);
+        }
+
+        return Optional.ofNullable(entry.translationPack());
+    }
+
+    /**
+     * Evicts all resolved variants of the changed pack.
+     *
+     * @param event {@link TranslationPackChangedEvent} holding the name of the changed pack
+     */
+    @EventListener
+    public synchronized void onTranslationPackChanged(TranslationPackChangedEvent event) {
+
+        Iterator<Map.Entry<ResolvedPackKey, ResolvedPackEntry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<ResolvedPackKey, ResolvedPackEntry> entry = iterator.next();
+            if (entry.getKey().packName().equals(event.packName())) {
+                weight -= entry.getValue().weight();
+                iterator.remove();
+            }
+        }
+
+        overflowEntries.keySet().removeIf(key -> key.packName().equals(event.packName()));
+    }
+
+    /**
+     * Returns the number of cached resolved packs (not including the ones in the overflow tier).
+     *
+     * @return number of cached resolved packs
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the current footprint statistics of the cache.
+     *
+     * @return current {@link ResolvedPackCacheStats}
+     */
+    public synchronized ResolvedPackCacheStats getStats() {
+
+        expungeReclaimedOverflowEntries();
+        int overflowEntryCount = (int) overflowEntries.values().stream()
+                .filter(reference -> Objects.nonNull(reference.get()))
+                .count();
+
+        return new ResolvedPackCacheStats(entries.size(), weight, getMaxWeight(), overflowEntryCount, evictionCount);
+    }
+
+    private synchronized ResolvedPackEntry lookup(ResolvedPackKey key) {
+
+        ResolvedPackEntry entry = entries.get(key);
+        if (Objects.isNull(entry) && !overflowEntries.isEmpty()) {
+            expungeReclaimedOverflowEntries();
+            OverflowReference reference = overflowEntries.remove(key);
+            entry = Objects.nonNull(reference)
+                    ? reference.get()
+                    : null;
+            if (Objects.nonNull(entry)) {
+                put(key, entry);
+            }
+        }
+
+        return entry;
+    }
+
+    private synchronized void store(ResolvedPackKey key, ResolvedPackEntry entry) {
+
+        expungeReclaimedOverflowEntries();
+        overflowEntries.remove(key);
+        put(key, entry);
+    }
+
+    private void put(ResolvedPackKey key, ResolvedPackEntry entry) {
+
+        ResolvedPackEntry previousEntry = entries.remove(key);
+        if (Objects.nonNull(previousEntry)) {
+            weight -= previousEntry.weight();
+        }
+
+        long maxWeight = getMaxWeight();
+        if (entry.weight() > maxWeight) {
+            demote(key, entry);
+            return;
+        }
+
+        entries.put(key, entry);
+        weight += entry.weight();
+
+        Iterator<Map.Entry<ResolvedPackKey, ResolvedPackEntry>> leastRecentlyUsed = entries.entrySet().iterator();
+        while (weight > maxWeight) {
+            Map.Entry<ResolvedPackKey, ResolvedPackEntry> evictedEntry = leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            weight -= evictedEntry.getValue().weight();
+            evictionCount++;
+            demote(evictedEntry.getKey(), evictedEntry.getValue());
+        }
+    }
+
+    private void demote(ResolvedPackKey key, ResolvedPackEntry entry) {
+
+        if (cacheProperties.getResolvedPacks().isSoftReferenceOverflow()) {
+            overflowEntries.put(key, new OverflowReference(key, entry, reclaimedOverflowEntries));
+        }
+    }
+
+    private void expungeReclaimedOverflowEntries() {
+
+        Reference<? extends ResolvedPackEntry> reference;
+        while (Objects.nonNull(reference = reclaimedOverflowEntries.poll())) {
+            OverflowReference overflowReference = (OverflowReference) reference;
+            overflowEntries.remove(overflowReference.key, overflowReference);
+        }
+    }
+
+    private long getMaxWeight() {
+        return cacheProperties.getResolvedPacks().getMaxWeight().toBytes();
+    }
+
+    private record ResolvedPackKey(String packName, Locale locale) { }
+
+    private record ResolvedPackEntry(List<UUID> sourceIDs, TranslationPack translationPack, long weight) { }
+
+    private static final class OverflowReference extends SoftReference<ResolvedPackEntry> {
+
+        private final ResolvedPackKey key;
+
+        OverflowReference(ResolvedPackKey key, ResolvedPackEntry entry, ReferenceQueue<ResolvedPackEntry> queue) {
+            super(entry, queue);
+            this.key = key;
+        }
+    }
+}
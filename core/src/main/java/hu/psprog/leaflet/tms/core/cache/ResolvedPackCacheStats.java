@@ -0,0 +1,14 @@
+package hu.psprog.leaflet.tms.core.cache;
+
+/**
+ * Footprint statistics of the resolved pack cache.
+ *
+ * @param entryCount number of strongly held resolved packs
+ * @param weight estimated retained size of the strongly held resolved packs in bytes
+ * @param maxWeight configured heap budget of the cache in bytes
+ * @param overflowEntryCount number of evicted resolved packs still reachable via soft references
+ * @param evictionCount number of resolved packs evicted due to exceeding the heap budget since startup
+ * @author Peter Smith
+ */
+public record ResolvedPackCacheStats(int entryCount, long weight, long maxWeight, int overflowEntryCount, long evictionCount) {
+}
@@ -0,0 +1,73 @@
+package hu.psprog.leaflet.tms.core.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent executions of the same (keyed) call.
+ * While a call for a given key is in flight, further callers with an equal key do not execute the call again,
+ * but wait for and share the result (or failure) of the one already running.
+ * Results are not retained after the call finishes, so this is not a cache.
+ *
+ * @param <K> type of the call key
+ * @param <V> type of the call result
+ * @author Peter Smith
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlightCalls = new ConcurrentHashMap<>();
+
+    /**
+     * Executes the given call, or joins the execution already in flight for an equal key.
+     *
+     * @param key key identifying the call
+     * @param call call to execute
+     * @return result of the call
+     */
+    public V execute(K key, Supplier<V> call) {
+
+        CompletableFuture<V> newCall = new CompletableFuture<>();
+        CompletableFuture<V> inFlightCall = inFlightCalls.putIfAbsent(key, newCall);
+        if (inFlightCall != null) {
+            return join(inFlightCall);
+        }
+
+        try {
+            V result = call.get();
+            newCall.complete(result);
+            return result;
+        } catch (RuntimeException | Error exception) {
+            newCall.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlightCalls.remove(key, newCall);
+        }
+    }
+
+    /**
+     * Returns the number of calls currently in flight.
+     *
+     * @return number of calls in flight
+     */
+    public int inFlightCount() {
+        return inFlightCalls.size();
+    }
+
+    private V join(CompletableFuture<V> inFlightCall) {
+
+        try {
+            return inFlightCall.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (exception.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw exception;
+        }
+    }
+}
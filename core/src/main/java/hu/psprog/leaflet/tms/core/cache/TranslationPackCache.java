@@ -0,0 +1,404 @@
+package hu.psprog.leaflet.tms.core.cache;
+
+import hu.psprog.leaflet.tms.core.config.CacheProperties;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.event.TranslationPackChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory cache of the latest enabled {@link TranslationPack}s, keyed by pack name.
+ * Every entry holds the latest enabled version of each available locale of a pack (empty for non-existing packs).
+ * Entries expire after the configured time-to-live and are evicted right away when the pack changes on this node.
+ * In stale-while-revalidate read mode, entries past their soft time-to-live are served immediately and refreshed in the background,
+ * while expired entries are kept as fallback in case reloading them fails due to the database being unavailable.
+ * Packs loaded for locale-filtered requests are cached under locale-scoped keys (see {@link #localeScopedKey(String, Locale)}),
+ * holding the latest enabled version of a single locale of a pack, and are evicted together with the entry of their pack name.
+ * Every eviction increases the generation of the cache; packs loaded before an eviction of their pack name are returned,
+ * but not stored, so a load racing with a write cannot put the pre-write state back into the cache.
+ * The cache is bounded both by the number of entries and by their total weight (the estimated retained heap size of the cached packs,
+ * see {@link PackWeigher}): expired entries are swept at most once per time-to-live, and once either bound would be exceeded,
+ * expired entries and entries of non-existing packs are dropped to make room; if that is not enough, loaded packs are served uncached.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class TranslationPackCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TranslationPackCache.class);
+
+    private static final String REFRESH_THREAD_PREFIX = "tms-cache-refresh-";
+    private static final String LOCALE_KEY_SEPARATOR = "|";
+    private static final int REFRESH_QUEUE_CAPACITY = 64;
+
+    private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final Set<String> refreshesInProgress = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> evictionGenerations = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong lastSweep;
+    private final CacheProperties cacheProperties;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    @Autowired
+    public TranslationPackCache(CacheProperties cacheProperties) {
+        this(cacheProperties, createRefreshExecutor(cacheProperties), Clock.systemUTC());
+    }
+
+    TranslationPackCache(CacheProperties cacheProperties, Executor refreshExecutor, Clock clock) {
+        this.cacheProperties = cacheProperties;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.lastSweep = new AtomicLong(clock.millis());
+    }
+
+    /**
+     * Returns the cached latest enabled packs of the given pack names.
+     * Missing or expired pack names are loaded in a single call of the given loader, then stored in the cache.
+     * The loader must return an entry for every requested pack name.
+     *
+     * @param packNames pack names to return packs of
+     * @param loader function loading the latest enabled packs of the given pack names, grouped by pack name
+     * @return latest enabled packs of the given pack names as {@link List}
+     */
+    public List<TranslationPack> get(List<String> packNames, Function<List<String>, Map<String, List<TranslationPack>>> loader) {
+
+        if (!cacheProperties.isEnabled()) {
+            return flatten(loader.apply(packNames));
+        }
+
+        long now = clock.millis();
+        List<TranslationPack> packs = new ArrayList<>();
+        List<String> stalePackNames = new ArrayList<>();
+        List<String> missingPackNames = new ArrayList<>();
+        packNames.stream()
+                .distinct()
+                .forEach(packName -> {
+                    CacheEntry cacheEntry = entries.get(packName);
+                    switch (getFreshness(cacheEntry, now)) {
+                        case FRESH -> packs.addAll(cacheEntry.packs());
+                        case STALE -> {
+                            packs.addAll(cacheEntry.packs());
+                            stalePackNames.add(packName);
+                        }
+                        case EXPIRED -> missingPackNames.add(packName);
+                    }
+                });
+
+        if (!stalePackNames.isEmpty()) {
+            scheduleRefresh(stalePackNames, loader);
+        }
+
+        if (!missingPackNames.isEmpty()) {
+            packs.addAll(loadMissing(missingPackNames, loader));
+        }
+
+        return packs;
+    }
+
+    /**
+     * Returns the cached latest enabled packs of the given pack names, only if all of them are present and not yet expired.
+     * Unlike {@link #get(List, Function)}, this method never loads or refreshes entries.
+     *
+     * @param packNames pack names to return packs of
+     * @return latest enabled packs of the given pack names wrapped as {@link Optional}, or empty {@link Optional} if any of them is missing
+     */
+    public Optional<List<TranslationPack>> getIfPresent(List<String> packNames) {
+
+        if (!cacheProperties.isEnabled()) {
+            return Optional.empty();
+        }
+
+        long now = clock.millis();
+        List<TranslationPack> packs = new ArrayList<>();
+        for (String packName : packNames.stream().distinct().toList()) {
+            CacheEntry cacheEntry = entries.get(packName);
+            if (getFreshness(cacheEntry, now) == Freshness.EXPIRED) {
+                return Optional.empty();
+            }
+            packs.addAll(cacheEntry.packs());
+        }
+
+        return Optional.of(packs);
+    }
+
+    /**
+     * Removes the cached packs of the given pack name, including its locale-scoped entries.
+     *
+     * @param packName pack name to evict
+     */
+    public void evict(String packName) {
+        evictionGenerations.put(packName, generation.incrementAndGet());
+        entries.remove(packName);
+        entries.keySet().removeIf(key -> key.startsWith(packName + LOCALE_KEY_SEPARATOR));
+    }
+
+    /**
+     * Evicts the changed pack from the cache.
+     *
+     * @param event {@link TranslationPackChangedEvent} holding the name of the changed pack
+     */
+    @EventListener
+    public void onTranslationPackChanged(TranslationPackChangedEvent event) {
+        evict(event.packName());
+    }
+
+    /**
+     * Returns the current generation of the cache, increased by every eviction.
+     * Callers coalescing loads should include the generation in their call key,
+     * so loads started after an eviction are never joined to one started before it.
+     *
+     * @return current generation of the cache
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Returns the number of cached pack names and locale-scoped keys.
+     *
+     * @return number of cache entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the total estimated weight of the cached packs in bytes.
+     *
+     * @return total weight of cache entries
+     */
+    public long getWeight() {
+        return getWeightExcluding(null);
+    }
+
+    /**
+     * Returns the cache key of the given pack name restricted to the given locale.
+     * Locale-scoped keys can be used with {@link #get(List, Function)} just like pack names are.
+     *
+     * @param packName name of the pack
+     * @param locale {@link Locale} of the pack
+     * @return locale-scoped cache key
+     */
+    public static String localeScopedKey(String packName, Locale locale) {
+        return packName + LOCALE_KEY_SEPARATOR + locale.toLanguageTag();
+    }
+
+    /**
+     * Stops the background refresh executor.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private Freshness getFreshness(CacheEntry cacheEntry, long now) {
+
+        if (Objects.isNull(cacheEntry)) {
+            return Freshness.EXPIRED;
+        }
+
+        long age = now - cacheEntry.loadedAt();
+        Freshness freshness;
+        if (age >= cacheProperties.getTimeToLive().toMillis()) {
+            freshness = Freshness.EXPIRED;
+        } else if (isStaleWhileRevalidate() && age >= cacheProperties.getSoftTimeToLive().toMillis()) {
+            freshness = Freshness.STALE;
+        } else {
+            freshness = Freshness.FRESH;
+        }
+
+        return freshness;
+    }
+
+    private List<TranslationPack> loadMissing(List<String> missingPackNames, Function<List<String>, Map<String, List<TranslationPack>>> loader) {
+
+        try {
+            return flatten(load(missingPackNames, loader));
+        } catch (DataAccessException exception) {
+            List<CacheEntry> fallbackEntries = missingPackNames.stream()
+                    .map(entries::get)
+                    .toList();
+            if (!isStaleWhileRevalidate() || fallbackEntries.stream().anyMatch(Objects::isNull)) {
+                throw exception;
+            }
+
+            LOGGER.warn("Failed to reload translation packs {}, serving expired entries", missingPackNames, exception);
+            return fallbackEntries.stream()
+                    .flatMap(cacheEntry -> cacheEntry.packs().stream())
+                    .toList();
+        }
+    }
+
+    private void scheduleRefresh(List<String> stalePackNames, Function<List<String>, Map<String, List<TranslationPack>>> loader) {
+
+        List<String> packNamesToRefresh = stalePackNames.stream()
+                .filter(refreshesInProgress::add)
+                .toList();
+
+        if (packNamesToRefresh.isEmpty()) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> refresh(packNamesToRefresh, loader));
+        } catch (RejectedExecutionException exception) {
+            LOGGER.warn("Background refresh of translation packs {} rejected", packNamesToRefresh);
+            packNamesToRefresh.forEach(refreshesInProgress::remove);
+        }
+    }
+
+    private void refresh(List<String> packNames, Function<List<String>, Map<String, List<TranslationPack>>> loader) {
+
+        try {
+            load(packNames, loader);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Background refresh of translation packs {} failed, keeping stale entries", packNames, exception);
+        } finally {
+            packNames.forEach(refreshesInProgress::remove);
+        }
+    }
+
+    private Map<String, List<TranslationPack>> load(List<String> packNames, Function<List<String>, Map<String, List<TranslationPack>>> loader) {
+
+        long loadGeneration = generation.get();
+        Map<String, List<TranslationPack>> loadedPacks = loader.apply(packNames);
+        long loadedAt = clock.millis();
+        sweepIfDue(loadedAt);
+        loadedPacks.forEach((packName, packs) -> store(packName, createEntry(packs, loadedAt), loadGeneration));
+
+        return loadedPacks;
+    }
+
+    private void store(String key, CacheEntry cacheEntry, long loadGeneration) {
+
+        if (!hasRoomFor(key, cacheEntry) && !makeRoom(key, cacheEntry)) {
+            LOGGER.debug("Translation pack cache is full, not caching [{}]", key);
+            return;
+        }
+
+        // evict() increases the generation before removing entries, so checking it atomically with the update
+        // guarantees that a result loaded before the eviction is never stored after it
+        entries.compute(key, (cacheKey, currentEntry) -> isEvictedSince(cacheKey, loadGeneration)
+                ? currentEntry
+                : cacheEntry);
+    }
+
+    private boolean isEvictedSince(String key, long loadGeneration) {
+
+        int separatorIndex = key.indexOf(LOCALE_KEY_SEPARATOR);
+        String packName = separatorIndex == -1
+                ? key
+                : key.substring(0, separatorIndex);
+
+        return evictionGenerations.getOrDefault(packName, 0L) > loadGeneration;
+    }
+
+    private synchronized boolean makeRoom(String key, CacheEntry cacheEntry) {
+
+        long now = cacheEntry.loadedAt();
+        if (!hasRoomFor(key, cacheEntry)) {
+            entries.values().removeIf(currentEntry -> isExpired(currentEntry, now));
+        }
+
+        if (!hasRoomFor(key, cacheEntry)) {
+            entries.values().removeIf(currentEntry -> currentEntry.packs().isEmpty());
+        }
+
+        return hasRoomFor(key, cacheEntry);
+    }
+
+    private boolean hasRoomFor(String key, CacheEntry cacheEntry) {
+
+        boolean hasRoomForEntry = entries.containsKey(key) || entries.size() < cacheProperties.getMaxEntries();
+
+        // the current entry of the key is replaced, so only the weight of the other entries counts
+        return hasRoomForEntry && getWeightExcluding(key) + cacheEntry.weight() <= cacheProperties.getMaxWeight().toBytes();
+    }
+
+    private long getWeightExcluding(String excludedKey) {
+
+        return entries.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(excludedKey))
+                .mapToLong(entry -> entry.getValue().weight())
+                .sum();
+    }
+
+    private void sweepIfDue(long now) {
+
+        long previousSweep = lastSweep.get();
+        if (now - previousSweep < cacheProperties.getTimeToLive().toMillis() || !lastSweep.compareAndSet(previousSweep, now)) {
+            return;
+        }
+
+        // in stale-while-revalidate mode, expired entries of existing packs are kept as fallback until the cache gets full
+        entries.values().removeIf(cacheEntry -> isExpired(cacheEntry, now)
+                && (!isStaleWhileRevalidate() || cacheEntry.packs().isEmpty()));
+    }
+
+    private boolean isExpired(CacheEntry cacheEntry, long now) {
+        return now - cacheEntry.loadedAt() >= cacheProperties.getTimeToLive().toMillis();
+    }
+
+    private boolean isStaleWhileRevalidate() {
+        return cacheProperties.getReadMode() == CacheProperties.ReadMode.STALE_WHILE_REVALIDATE;
+    }
+
+    private CacheEntry createEntry(List<TranslationPack> packs, long loadedAt) {
+
+        long weight = packs.stream()
+                .mapToLong(PackWeigher::weigh)
+                .sum();
+
+        return new CacheEntry(List.copyOf(packs), loadedAt, weight);
+    }
+
+    private List<TranslationPack> flatten(Map<String, List<TranslationPack>> packsByName) {
+
+        return packsByName.values().stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private static Executor createRefreshExecutor(CacheProperties cacheProperties) {
+
+        int threads = cacheProperties.getRefreshThreads();
+
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+                Thread.ofPlatform().name(REFRESH_THREAD_PREFIX, 0).daemon().factory());
+    }
+
+    private enum Freshness {
+        FRESH,
+        STALE,
+        EXPIRED
+    }
+
+    private record CacheEntry(List<TranslationPack> packs, long loadedAt, long weight) { }
+}
@@ -0,0 +1,105 @@
+package hu.psprog.leaflet.tms.core.cache;
+
+import hu.psprog.leaflet.tms.core.config.CacheProperties;
+import hu.psprog.leaflet.tms.core.dao.TranslationPackDAO;
+import hu.psprog.leaflet.tms.core.service.TranslationManagementService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Preloads the latest enabled translation packs into {@link TranslationPackCache}.
+ * Either the configured packs or (if none configured) all existing packs are loaded, in batches, until the cache reaches its max weight,
+ * so warming up never loads more packs than the cache is able to hold.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class TranslationPackCacheWarmer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TranslationPackCacheWarmer.class);
+
+    private static final int WARM_UP_BATCH_SIZE = 16;
+
+    private final TranslationManagementService translationManagementService;
+    private final TranslationPackDAO translationPackDAO;
+    private final TranslationPackCache translationPackCache;
+    private final CacheProperties cacheProperties;
+
+    private volatile WarmUpState warmUpState = WarmUpState.PENDING;
+
+    @Autowired
+    public TranslationPackCacheWarmer(TranslationManagementService translationManagementService, TranslationPackDAO translationPackDAO,
+                                      TranslationPackCache translationPackCache, CacheProperties cacheProperties) {
+        this.translationManagementService = translationManagementService;
+        this.translationPackDAO = translationPackDAO;
+        this.translationPackCache = translationPackCache;
+        this.cacheProperties = cacheProperties;
+    }
+
+    /**
+     * Executes the warm-up process (if enabled). Failures are logged and recorded, but not propagated,
+     * as a cold cache does not prevent the service from working.
+     */
+    public void warmUp() {
+
+        if (!cacheProperties.isEnabled() || !cacheProperties.getWarmUp().isEnabled()) {
+            warmUpState = WarmUpState.DISABLED;
+            return;
+        }
+
+        warmUpState = WarmUpState.RUNNING;
+        long start = System.nanoTime();
+        try {
+            List<String> packNames = getPackNamesToWarmUp();
+            int warmedUpPacks = warmUpWithinMaxWeight(packNames);
+            warmUpState = new WarmUpState(WarmUpState.Status.COMPLETED, warmedUpPacks, elapsedSince(start), null);
+            LOGGER.info("Translation pack cache warmed up with {} pack(s) in {} ms", warmedUpPacks, warmUpState.duration().toMillis());
+            if (warmedUpPacks < packNames.size()) {
+                LOGGER.info("Translation pack cache reached its max weight, {} pack(s) will be loaded on demand", packNames.size() - warmedUpPacks);
+            }
+        } catch (Exception exception) {
+            warmUpState = new WarmUpState(WarmUpState.Status.FAILED, 0, elapsedSince(start), exception.getMessage());
+            LOGGER.error("Failed to warm up translation pack cache - packs will be loaded on demand", exception);
+        }
+    }
+
+    /**
+     * Returns the current state of the warm-up process.
+     *
+     * @return current {@link WarmUpState}
+     */
+    public WarmUpState getWarmUpState() {
+        return warmUpState;
+    }
+
+    private List<String> getPackNamesToWarmUp() {
+
+        List<String> configuredPacks = cacheProperties.getWarmUp().getPacks();
+
+        return configuredPacks.isEmpty()
+                ? translationPackDAO.findAllPackNames()
+                : configuredPacks;
+    }
+
+    private int warmUpWithinMaxWeight(List<String> packNames) {
+
+        long maxWeight = cacheProperties.getMaxWeight().toBytes();
+        int warmedUpPacks = 0;
+        while (warmedUpPacks < packNames.size() && translationPackCache.getWeight() < maxWeight) {
+            List<String> batch = packNames.subList(warmedUpPacks, Math.min(warmedUpPacks + WARM_UP_BATCH_SIZE, packNames.size()));
+            translationManagementService.retrieveLatestEnabledPacks(batch);
+            warmedUpPacks += batch.size();
+        }
+
+        return warmedUpPacks;
+    }
+
+    private Duration elapsedSince(long start) {
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,39 @@
+package hu.psprog.leaflet.tms.core.cache;
+
+import java.time.Duration;
+
+/**
+ * State of the startup cache warm-up.
+ *
+ * @param status current {@link Status} of the warm-up
+ * @param packCount number of pack names loaded into the cache
+ * @param duration duration of the warm-up process (zero until finished)
+ * @param failureMessage reason of the failure if the warm-up failed, {@code null} otherwise
+ * @author Peter Smith
+ */
+public record WarmUpState(Status status, int packCount, Duration duration, String failureMessage) {
+
+    static final WarmUpState PENDING = new WarmUpState(Status.PENDING, 0, Duration.ZERO, null);
+    static final WarmUpState RUNNING = new WarmUpState(Status.RUNNING, 0, Duration.ZERO, null);
+    static final WarmUpState DISABLED = new WarmUpState(Status.DISABLED, 0, Duration.ZERO, null);
+
+    /**
+     * Possible statuses of the warm-up process.
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        DISABLED
+    }
+
+    /**
+     * Indicates whether the warm-up process has already finished (successfully or not) or is not needed at all.
+     *
+     * @return {@code true} if the application does not have to wait for the warm-up anymore, {@code false} otherwise
+     */
+    public boolean isFinished() {
+        return status != Status.PENDING && status != Status.RUNNING;
+    }
+}
@@ -0,0 +1,48 @@
+package hu.psprog.leaflet.tms.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Configuration properties of materialized translation bundles.
+ * A bundle holds the locale-resolved latest enabled packs of a pack name combination for a single locale, stored as one document.
+ * Bundles can either be configured explicitly (every listed pack combination in every listed locale),
+ * or detected automatically, once a combination has been requested at least the configured number of times.
+ *
+ * @author Peter Smith
+ */
+@Data
+@ConfigurationProperties(prefix = "tms.bundles")
+public class BundleProperties {
+
+    private boolean enabled = false;
+    private List<Definition> definitions = new ArrayList<>();
+    private AutoDetection autoDetection = new AutoDetection();
+
+    /**
+     * Explicitly configured bundle definition.
+     */
+    @Data
+    public static class Definition {
+
+        private List<String> packs = new ArrayList<>();
+        private List<Locale> locales = new ArrayList<>();
+    }
+
+    /**
+     * Automatic bundle detection settings.
+     * The number of tracked combinations and the number of automatically detected bundles are both bounded.
+     */
+    @Data
+    public static class AutoDetection {
+
+        private boolean enabled = false;
+        private int threshold = 100;
+        private int maxTrackedCombinations = 1000;
+        private int maxBundles = 50;
+    }
+}
@@ -0,0 +1,84 @@
+package hu.psprog.leaflet.tms.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties of the latest enabled translation pack cache.
+ * In {@link ReadMode#STANDARD} mode, entries are reloaded synchronously once their time-to-live passes.
+ * In {@link ReadMode#STALE_WHILE_REVALIDATE} mode, entries older than the soft time-to-live are still served,
+ * while being refreshed in the background; the time-to-live acts as hard limit, after which entries are reloaded synchronously,
+ * and only served (as stale data) if reloading them fails.
+ * The cache holds at most the configured number of entries (pack names and locale-scoped keys), weighing at most the configured
+ * max weight (the heap budget of the cache, measured in the estimated retained bytes of the cached packs); expired entries are swept
+ * periodically, and once either bound would be exceeded, expired entries and entries of non-existing packs are dropped to make room.
+ * Resolved (locale-merged) packs are cached separately, bounded by their estimated heap footprint instead of entry count.
+ * Serialized response payloads of the served packs are kept outside the heap, in direct buffers.
+ *
+ * @author Peter Smith
+ */
+@Data
+@ConfigurationProperties(prefix = "tms.cache")
+public class CacheProperties {
+
+    private boolean enabled = true;
+    private ReadMode readMode = ReadMode.STANDARD;
+    private Duration softTimeToLive = Duration.ofSeconds(30);
+    private Duration timeToLive = Duration.ofMinutes(1);
+    private int maxEntries = 1000;
+    private DataSize maxWeight = DataSize.ofMegabytes(32);
+    private int refreshThreads = 1;
+    private WarmUp warmUp = new WarmUp();
+    private ResolvedPacks resolvedPacks = new ResolvedPacks();
+    private OffHeap offHeap = new OffHeap();
+
+    /**
+     * Available cache read modes.
+     */
+    public enum ReadMode {
+        STANDARD,
+        STALE_WHILE_REVALIDATE
+    }
+
+    /**
+     * Startup cache warm-up settings.
+     * Leaving the list of packs empty warms up the cache with all existing packs, but only until the cache reaches its max weight;
+     * the remaining packs are loaded on demand.
+     */
+    @Data
+    public static class WarmUp {
+
+        private boolean enabled = true;
+        private List<String> packs = new ArrayList<>();
+    }
+
+    /**
+     * Resolved pack cache settings.
+     * The max weight is the heap budget of the cache, measured in the estimated retained bytes of the cached packs.
+     * Entries evicted over the budget are kept as soft references if soft reference overflow is enabled,
+     * so they can still be reused until the garbage collector reclaims them.
+     */
+    @Data
+    public static class ResolvedPacks {
+
+        private DataSize maxWeight = DataSize.ofMegabytes(8);
+        private boolean softReferenceOverflow = false;
+    }
+
+    /**
+     * Off-heap payload store settings.
+     * Direct buffers are limited by the JVM as well (-XX:MaxDirectMemorySize, defaulting to the max heap size),
+     * so the max size has to stay below that limit.
+     */
+    @Data
+    public static class OffHeap {
+
+        private boolean enabled = true;
+        private DataSize maxSize = DataSize.ofMegabytes(32);
+    }
+}
@@ -0,0 +1,18 @@
+package hu.psprog.leaflet.tms.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Locale;
+
+/**
+ * Configuration properties of server-side locale fallback resolution.
+ *
+ * @author Peter Smith
+ */
+@Data
+@ConfigurationProperties(prefix = "tms.locale")
+public class LocaleProperties {
+
+    private Locale defaultLocale = Locale.ENGLISH;
+}
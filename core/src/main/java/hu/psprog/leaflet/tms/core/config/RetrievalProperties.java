@@ -0,0 +1,22 @@
+package hu.psprog.leaflet.tms.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of multi-pack retrieval.
+ * In parallel mode, the selected packs of requests for at least the configured number of packs are fetched per pack concurrently,
+ * and their response payloads are built concurrently as well, on a bounded pool of the configured number of threads.
+ * Once the work queue of the pool is full, further tasks are executed by the requesting thread itself.
+ *
+ * @author Peter Smith
+ */
+@Data
+@ConfigurationProperties(prefix = "tms.retrieval")
+public class RetrievalProperties {
+
+    private boolean parallel = false;
+    private int minPacks = 4;
+    private int threads = 4;
+    private int queueCapacity = 64;
+}
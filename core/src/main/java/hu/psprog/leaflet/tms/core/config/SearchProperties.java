@@ -0,0 +1,25 @@
+package hu.psprog.leaflet.tms.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of translation definition search.
+ * Index segments are rebuilt on local pack changes immediately (on next search), and after the configured
+ * time-to-live passes, so changes made through other instances of the service become searchable as well.
+ * The index holds at most the configured number of definitions: the oldest segments are dropped to make room for new ones,
+ * and packs too large to fit at all are searched without being kept in the index.
+ *
+ * @author Peter Smith
+ */
+@Data
+@ConfigurationProperties(prefix = "tms.search")
+public class SearchProperties {
+
+    private int defaultLimit = 100;
+    private int maxLimit = 1000;
+    private Duration segmentTimeToLive = Duration.ofMinutes(5);
+    private int maxIndexedDefinitions = 50_000;
+}
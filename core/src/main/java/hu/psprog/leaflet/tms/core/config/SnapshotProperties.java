@@ -0,0 +1,23 @@
+package hu.psprog.leaflet.tms.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties of the offline translation snapshot.
+ * When enabled, the latest enabled packs are periodically written to the given local file, which is served
+ * (memory-mapped) in place of the database whenever loading the packs from the database fails.
+ *
+ * @author Peter Smith
+ */
+@Data
+@ConfigurationProperties(prefix = "tms.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled = false;
+    private Path path = Path.of("tms-translations.snapshot");
+    private Duration interval = Duration.ofMinutes(5);
+}
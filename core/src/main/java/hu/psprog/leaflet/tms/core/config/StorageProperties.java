@@ -0,0 +1,116 @@
+package hu.psprog.leaflet.tms.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.zip.Deflater;
+
+/**
+ * Configuration properties of the translation pack storage layer.
+ *
+ * @author Peter Smith
+ */
+@Data
+@ConfigurationProperties(prefix = "tms.storage")
+public class StorageProperties {
+
+    private IndexVerification indexVerification = new IndexVerification();
+    private Compression compression = new Compression();
+    private Chunking chunking = new Chunking();
+    private OptimisticLocking optimisticLocking = new OptimisticLocking();
+    private Publishing publishing = new Publishing();
+    private ReadRouting readRouting = new ReadRouting();
+
+    /**
+     * Startup index verification settings.
+     * By default, indexes are ensured and the hot queries are explained on startup,
+     * but a query plan falling back to collection scan only produces a warning.
+     */
+    @Data
+    public static class IndexVerification {
+
+        private boolean enabled = true;
+        private boolean failOnCollectionScan = false;
+    }
+
+    /**
+     * Compressed definition storage settings.
+     * When enabled, definitions of packs with at least the configured number of definitions are stored
+     * as a single deflate-compressed binary field instead of an array of sub-documents.
+     * Existing uncompressed packs are migrated lazily, when they are read.
+     */
+    @Data
+    public static class Compression {
+
+        private boolean enabled = false;
+        private int minDefinitions = 50;
+        private int level = Deflater.BEST_SPEED;
+    }
+
+    /**
+     * Chunked storage settings.
+     * When enabled, definitions of packs with at least the configured number of definitions are split (ordered by key)
+     * across chunk documents of the configured size, lifting the document size limit off very large packs
+     * and allowing key range reads without loading the whole pack. Chunked storage takes precedence over compression.
+     */
+    @Data
+    public static class Chunking {
+
+        private boolean enabled = false;
+        private int minDefinitions = 5000;
+        private int chunkSize = 1000;
+    }
+
+    /**
+     * Optimistic locking settings.
+     * Read-modify-write updates are applied only if the version of the pack is still the one they were based on,
+     * and are retried (re-reading the current state) at most the configured number of times on conflict.
+     */
+    @Data
+    public static class OptimisticLocking {
+
+        private int maxRetries = 3;
+    }
+
+    /**
+     * Pack publishing settings.
+     * Every published pointer keeps at most the configured number of previously published versions to roll back to.
+     */
+    @Data
+    public static class Publishing {
+
+        private int historySize = 10;
+    }
+
+    /**
+     * Replica set read routing settings.
+     * Pack name, ID and listing queries of the public retrieval and listing endpoints are sent with the configured read mode,
+     * so they can be served by secondary members, lagging behind the primary by at most the configured max staleness
+     * (the server requires at least 90 seconds; not applicable to primary reads). Reads of packs changed within the max staleness
+     * period (by their names or IDs, e.g. bundle rebuilds and cache repopulation right after a change) are sent to the primary.
+     * Reads by ID of the admin endpoints, and the reads preceding conditional updates keep using the read preference of the connection,
+     * so they observe the preceding writes.
+     * Recent changes are tracked per node, so in a multi-node deployment, only the node accepting a change sends the subsequent reads
+     * of the changed pack to the primary; the other nodes may serve the previous state for up to the cache time-to-live plus the max staleness.
+     * Keep public reads on the primary ({@link ReadMode#DEFAULT} or {@link ReadMode#PRIMARY}) if every node has to observe changes right away.
+     */
+    @Data
+    public static class ReadRouting {
+
+        private ReadMode publicReads = ReadMode.DEFAULT;
+        private Duration maxStaleness = Duration.ofSeconds(90);
+    }
+
+    /**
+     * Available read modes - {@link ReadMode#DEFAULT} uses the read preference of the connection (primary, unless configured otherwise).
+     */
+    public enum ReadMode {
+        DEFAULT,
+        PRIMARY,
+        PRIMARY_PREFERRED,
+        SECONDARY,
+        SECONDARY_PREFERRED,
+        NEAREST
+    }
+}
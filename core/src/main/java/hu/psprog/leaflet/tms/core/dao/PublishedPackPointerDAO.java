@@ -0,0 +1,53 @@
+package hu.psprog.leaflet.tms.core.dao;
+
+import hu.psprog.leaflet.tms.core.entity.PublishedPackPointer;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * DAO interface for {@link PublishedPackPointer} persistence operations.
+ *
+ * @author Peter Smith
+ */
+public interface PublishedPackPointerDAO {
+
+    /**
+     * Returns the published pack pointers of the given pack names (in all locales).
+     *
+     * @param packs pack names to filter to
+     * @return list of {@link PublishedPackPointer} entries
+     */
+    List<PublishedPackPointer> findAllByPackNameIn(List<String> packs);
+
+    /**
+     * Points the published pointer of the pack name and locale of the given pack to the given pack,
+     * recording the previously published version in the history of the pointer.
+     *
+     * @param translationPack {@link TranslationPack} to publish
+     * @return updated {@link PublishedPackPointer}
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the pointer kept changing concurrently on every retry
+     */
+    PublishedPackPointer publish(TranslationPack translationPack);
+
+    /**
+     * Points the published pointer of the given pack name and locale back to the previously published version.
+     *
+     * @param packName name of the pack to roll back
+     * @param locale {@link Locale} of the pack to roll back
+     * @return updated {@link PublishedPackPointer}, or {@code null} if there is no previously published version
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the pointer kept changing concurrently on every retry
+     */
+    PublishedPackPointer rollback(String packName, Locale locale);
+
+    /**
+     * Removes the given pack from the published pointer of its pack name and locale.
+     * If the given pack is the published version, the pointer is pointed back to the previously published version,
+     * or removed if there is no previously published version; otherwise the pack is only dropped from the history of the pointer.
+     *
+     * @param translationPack {@link TranslationPack} to unpublish
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the pointer kept changing concurrently on every retry
+     */
+    void unpublish(TranslationPack translationPack);
+}
@@ -0,0 +1,51 @@
+package hu.psprog.leaflet.tms.core.dao;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationBundle;
+
+import java.util.List;
+
+/**
+ * DAO interface for {@link TranslationBundle} persistence operations.
+ *
+ * @author Peter Smith
+ */
+public interface TranslationBundleDAO {
+
+    /**
+     * Returns {@link TranslationBundle} identified by given bundle ID.
+     *
+     * @param bundleID ID of the bundle to return
+     * @return TranslationBundle object if found, {@code null} otherwise
+     */
+    TranslationBundle getByID(String bundleID);
+
+    /**
+     * Returns the bundles containing the given pack name, without their materialized packs.
+     *
+     * @param packName pack name to filter to
+     * @return list of {@link TranslationBundle} entries with only their key information populated
+     */
+    List<TranslationBundle> findAllKeysByPackName(String packName);
+
+    /**
+     * Returns all bundles, without their materialized packs.
+     *
+     * @return list of {@link TranslationBundle} entries with only their key information populated
+     */
+    List<TranslationBundle> findAllKeys();
+
+    /**
+     * Stores (creates or replaces) given {@link TranslationBundle} object.
+     *
+     * @param translationBundle {@link TranslationBundle} object to store
+     * @return stored {@link TranslationBundle}
+     */
+    TranslationBundle save(TranslationBundle translationBundle);
+
+    /**
+     * Deletes bundle identified by given bundle ID.
+     *
+     * @param bundleID ID of the bundle to delete
+     */
+    void delete(String bundleID);
+}
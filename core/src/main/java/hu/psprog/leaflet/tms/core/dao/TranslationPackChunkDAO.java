@@ -0,0 +1,55 @@
+package hu.psprog.leaflet.tms.core.dao;
+
+import hu.psprog.leaflet.tms.core.domain.KeyRange;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPackChunk;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * DAO interface for {@link TranslationPackChunk} persistence operations.
+ *
+ * @author Peter Smith
+ */
+public interface TranslationPackChunkDAO {
+
+    /**
+     * Splits the given definitions into chunks of the given size and stores them for the given pack.
+     * Definitions are consumed one chunk at a time, so the whole pack never needs to be held in memory.
+     *
+     * @param packID ID of the pack the definitions belong to
+     * @param definitions definitions to store, preferably ordered by key
+     * @param chunkSize maximum number of definitions per chunk
+     * @return number of stored chunks
+     */
+    int saveChunks(UUID packID, Iterator<TranslationDefinition> definitions, int chunkSize);
+
+    /**
+     * Streams the definitions of the given pack falling into the given key range, in chunk order.
+     * Only the chunks overlapping the range are loaded. The returned stream holds an open cursor, thus it must be closed.
+     *
+     * @param packID ID of the pack to stream definitions of
+     * @param keyRange {@link KeyRange} to filter definitions to
+     * @return definitions as {@link Stream}
+     */
+    Stream<TranslationDefinition> streamDefinitions(UUID packID, KeyRange keyRange);
+
+    /**
+     * Loads all definitions of the given packs by a single query, in chunk order.
+     *
+     * @param packIDs IDs of the packs to load definitions of
+     * @return definitions mapped by pack ID (packs without chunks are omitted)
+     */
+    Map<UUID, List<TranslationDefinition>> findAllDefinitionsByPackIdIn(List<UUID> packIDs);
+
+    /**
+     * Deletes all chunks of the given pack.
+     *
+     * @param packID ID of the pack to delete chunks of
+     */
+    void deleteChunks(UUID packID);
+}
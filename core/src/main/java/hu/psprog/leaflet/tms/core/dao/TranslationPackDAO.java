@@ -1,9 +1,14 @@
 package hu.psprog.leaflet.tms.core.dao;
 
+import hu.psprog.leaflet.tms.core.domain.KeyRange;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
 import hu.psprog.leaflet.tms.core.entity.TranslationPack;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * DAO interface for {@link TranslationPack} persistence operations.
@@ -13,19 +18,55 @@ import java.util.UUID;
 public interface TranslationPackDAO {
 
     /**
-     * Returns all {@link TranslationPack} records as {@link List}.
+     * Returns all {@link TranslationPack} records as {@link List}, without their definitions.
+     * Definitions are neither transferred nor decoded (chunked packs are not reassembled, uncompressed packs are not migrated).
      *
-     * @return list of {@link TranslationPack} entries
+     * @return list of {@link TranslationPack} entries, definitions not populated
      */
-    List<TranslationPack> findAll();
+    List<TranslationPack> findAllMetaInfo();
 
     /**
-     * Returns {@link TranslationPack} records as {@link List} where pack name is in the given collection.
+     * Returns the latest enabled {@link TranslationPack} of every locale of the given pack names, without their definitions.
+     * No other versions of the packs are loaded.
      *
      * @param packs pack names to filter to
-     * @return list of {@link TranslationPack} entries
+     * @return list of {@link TranslationPack} entries (one per pack name and locale) with only their meta information populated
      */
-    List<TranslationPack> findAllByPackNameIn(List<String> packs);
+    List<TranslationPack> findAllLatestEnabledMetaInfoByPackNameIn(List<String> packs);
+
+    /**
+     * Returns the latest enabled {@link TranslationPack} of the given pack names in each of the given locales, without their definitions.
+     * No other versions of the packs are loaded.
+     *
+     * @param packs pack names to filter to
+     * @param locales locales to filter to
+     * @return list of {@link TranslationPack} entries (one per pack name and locale) with only their meta information populated
+     */
+    List<TranslationPack> findAllLatestEnabledMetaInfoByPackNameInAndLocaleIn(List<String> packs, List<Locale> locales);
+
+    /**
+     * Returns {@link TranslationPack} records as {@link List} identified by the given IDs.
+     * Packs are decoded for the response only, uncompressed packs are not migrated (so the read never writes).
+     *
+     * @param packIDs IDs of the packs to return
+     * @return list of {@link TranslationPack} entries (missing packs are omitted)
+     */
+    List<TranslationPack> findAllByIdIn(List<UUID> packIDs);
+
+    /**
+     * Returns {@link TranslationPack} records as {@link List} identified by the given IDs, without their definitions.
+     *
+     * @param packIDs IDs of the packs to return
+     * @return list of {@link TranslationPack} entries with only their meta information populated (missing packs are omitted)
+     */
+    List<TranslationPack> findAllMetaInfoByIdIn(List<UUID> packIDs);
+
+    /**
+     * Returns the distinct names of all stored {@link TranslationPack}s.
+     *
+     * @return list of pack names
+     */
+    List<String> findAllPackNames();
 
     /**
      * Checks if given {@link TranslationPack} exists.
@@ -37,12 +78,21 @@ public interface TranslationPackDAO {
 
     /**
      * Returns {@link TranslationPack} identified by given pack ID.
+     * An uncompressed pack eligible for compression is migrated to compressed storage.
      *
      * @param packID ID of the pack to return
      * @return TranslationPack object if found, {@code null} otherwise
      */
     TranslationPack getByID(UUID packID);
 
+    /**
+     * Returns {@link TranslationPack} identified by given pack ID, without loading its definitions.
+     *
+     * @param packID ID of the pack to return
+     * @return TranslationPack object with only its meta information populated if found, {@code null} otherwise
+     */
+    TranslationPack getMetaInfoByID(UUID packID);
+
     /**
      * Stores given {@link TranslationPack} object.
      *
@@ -52,12 +102,49 @@ public interface TranslationPackDAO {
     TranslationPack save(TranslationPack translationPack);
 
     /**
-     * Updates status (enabled/disabled) of the given pack.
+     * Stores given {@link TranslationPack} header with its definitions provided as stream.
+     * Definitions are buffered up to the configured minimum of chunked storage: smaller packs are stored as a regular
+     * (possibly compressed) document, larger ones are written one chunk at a time, so they can be stored without holding them in memory.
+     * If chunked storage is disabled, all definitions are buffered and the pack is stored as a regular document.
+     *
+     * @param translationPack {@link TranslationPack} header (meta information) to store
+     * @param definitions definitions of the pack, preferably ordered by key
+     * @return created {@link TranslationPack} (header only, if stored in chunks)
+     */
+    TranslationPack save(TranslationPack translationPack, Iterator<TranslationDefinition> definitions);
+
+    /**
+     * Streams the definitions of the given pack falling into the given key range.
+     * For chunked packs, only the chunks overlapping the range are loaded.
+     * The returned stream may hold an open cursor, thus it must be closed.
+     *
+     * @param packID ID of the pack to stream definitions of
+     * @param keyRange {@link KeyRange} to filter definitions to
+     * @return definitions as {@link Stream}, empty stream if the pack does not exist
+     */
+    Stream<TranslationDefinition> streamDefinitions(UUID packID, KeyRange keyRange);
+
+    /**
+     * Streams all definitions of the given pack, ordered by key (null key first).
+     * Chunked packs stored in key order are streamed chunk by chunk, others are loaded and sorted in memory.
+     * The returned stream may hold an open cursor, thus it must be closed.
+     *
+     * @param packID ID of the pack to stream definitions of
+     * @return definitions as {@link Stream}, empty stream if the pack does not exist
+     */
+    Stream<TranslationDefinition> streamDefinitionsOrderedByKey(UUID packID);
+
+    /**
+     * Inverts status (enabled/disabled) of the given pack.
+     * The update is conditional on the version of the pack read before, and is retried on concurrent modification,
+     * so parallel toggles are never lost. Only the status and version fields are written, and only the meta information
+     * of the pack is read back (without its definitions).
      *
-     * @param packID ID of the pack to update status of
-     * @param enabled pass {@code true} to enable pack, {@code false} to disable
+     * @param packID ID of the pack to toggle status of
+     * @return updated {@link TranslationPack} (meta information only) if found, {@code null} otherwise
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the pack kept changing concurrently on every retry
      */
-    void setStatus(UUID packID, boolean enabled);
+    TranslationPack toggleStatus(UUID packID);
 
     /**
      * Deletes pack identified by given packID.
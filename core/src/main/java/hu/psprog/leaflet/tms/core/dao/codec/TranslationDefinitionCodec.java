@@ -0,0 +1,115 @@
+package hu.psprog.leaflet.tms.core.dao.codec;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encodes translation definitions into a single deflate-compressed binary blob and back.
+ * The uncompressed layout is a format version byte, the number of definitions, then every key and value
+ * as length-prefixed UTF-8 bytes (length -1 representing {@code null}).
+ *
+ * @author Peter Smith
+ */
+public final class TranslationDefinitionCodec {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int NULL_LENGTH = -1;
+
+    private TranslationDefinitionCodec() {
+    }
+
+    /**
+     * Encodes and compresses the given definitions.
+     *
+     * @param definitions list of {@link TranslationDefinition} objects to encode
+     * @param compressionLevel deflate compression level (0-9, or -1 for the default level)
+     * @return compressed definitions as byte array
+     */
+    public static byte[] encode(List<TranslationDefinition> definitions, int compressionLevel) {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(compressionLevel);
+        try (DataOutputStream dataOutputStream = new DataOutputStream(new DeflaterOutputStream(outputStream, deflater))) {
+            dataOutputStream.writeByte(FORMAT_VERSION);
+            dataOutputStream.writeInt(definitions.size());
+            for (TranslationDefinition definition : definitions) {
+                writeString(dataOutputStream, definition.getKey());
+                writeString(dataOutputStream, definition.getValue());
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to encode translation definitions", exception);
+        } finally {
+            deflater.end();
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Decompresses and decodes the given definitions.
+     *
+     * @param compressedDefinitions compressed definitions created by {@link #encode(List, int)}
+     * @return decoded list of {@link TranslationDefinition} objects
+     */
+    public static List<TranslationDefinition> decode(byte[] compressedDefinitions) {
+
+        Inflater inflater = new Inflater();
+        try (DataInputStream dataInputStream = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressedDefinitions), inflater))) {
+            byte formatVersion = dataInputStream.readByte();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported definition encoding format version " + formatVersion);
+            }
+
+            int count = dataInputStream.readInt();
+            List<TranslationDefinition> definitions = new ArrayList<>(count);
+            for (int index = 0; index < count; index++) {
+                definitions.add(new TranslationDefinition(readString(dataInputStream), readString(dataInputStream)));
+            }
+
+            return definitions;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Failed to decode translation definitions", exception);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeString(DataOutputStream dataOutputStream, String value) throws IOException {
+
+        if (Objects.isNull(value)) {
+            dataOutputStream.writeInt(NULL_LENGTH);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        dataOutputStream.writeInt(bytes.length);
+        dataOutputStream.write(bytes);
+    }
+
+    private static String readString(DataInputStream dataInputStream) throws IOException {
+
+        int length = dataInputStream.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        dataInputStream.readFully(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
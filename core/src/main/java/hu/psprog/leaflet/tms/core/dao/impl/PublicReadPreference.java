@@ -0,0 +1,100 @@
+package hu.psprog.leaflet.tms.core.dao.impl;
+
+import com.mongodb.ReadPreference;
+import hu.psprog.leaflet.tms.core.config.StorageProperties;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the configured read preference of the public (replica routable) reads to queries and aggregations.
+ * Queries are left untouched in {@link StorageProperties.ReadMode#DEFAULT} mode, so they use the read preference of the connection.
+ * Queries reading recently changed data are sent to the primary, so they observe the preceding writes.
+ *
+ * @author Peter Smith
+ */
+final class PublicReadPreference {
+
+    private PublicReadPreference() {
+    }
+
+    /**
+     * Applies the read preference of public reads to the given query.
+     *
+     * @param query {@link Query} to apply read preference to
+     * @param readRouting read routing settings
+     * @return the given {@link Query} (for chaining)
+     */
+    static Query apply(Query query, StorageProperties.ReadRouting readRouting) {
+
+        ReadPreference readPreference = resolve(readRouting);
+
+        return Objects.isNull(readPreference)
+                ? query
+                : query.withReadPreference(readPreference);
+    }
+
+    /**
+     * Applies the read preference of public reads to the given query, or the primary read preference,
+     * if the query reads data changed recently (unless in {@link StorageProperties.ReadMode#DEFAULT} mode).
+     *
+     * @param query {@link Query} to apply read preference to
+     * @param readRouting read routing settings
+     * @param followsWrite whether the query reads data changed recently
+     * @return the given {@link Query} (for chaining)
+     */
+    static Query apply(Query query, StorageProperties.ReadRouting readRouting, boolean followsWrite) {
+
+        ReadPreference readPreference = resolve(readRouting, followsWrite);
+
+        return Objects.isNull(readPreference)
+                ? query
+                : query.withReadPreference(readPreference);
+    }
+
+    /**
+     * Resolves the read preference of public reads, or the primary read preference,
+     * if the read concerns data changed recently (unless in {@link StorageProperties.ReadMode#DEFAULT} mode).
+     *
+     * @param readRouting read routing settings
+     * @param followsWrite whether the read concerns data changed recently
+     * @return resolved {@link ReadPreference}, or {@code null} in {@link StorageProperties.ReadMode#DEFAULT} mode
+     */
+    static ReadPreference resolve(StorageProperties.ReadRouting readRouting, boolean followsWrite) {
+
+        return followsWrite && readRouting.getPublicReads() != StorageProperties.ReadMode.DEFAULT
+                ? ReadPreference.primary()
+                : resolve(readRouting);
+    }
+
+    /**
+     * Resolves the read preference of public reads.
+     *
+     * @param readRouting read routing settings
+     * @return resolved {@link ReadPreference}, or {@code null} in {@link StorageProperties.ReadMode#DEFAULT} mode
+     */
+    static ReadPreference resolve(StorageProperties.ReadRouting readRouting) {
+
+        String name = switch (readRouting.getPublicReads()) {
+            case DEFAULT -> null;
+            case PRIMARY -> "primary";
+            case PRIMARY_PREFERRED -> "primaryPreferred";
+            case SECONDARY -> "secondary";
+            case SECONDARY_PREFERRED -> "secondaryPreferred";
+            case NEAREST -> "nearest";
+        };
+
+        if (Objects.isNull(name)) {
+            return null;
+        }
+
+        Duration maxStaleness = readRouting.getMaxStaleness();
+
+        return readRouting.getPublicReads() == StorageProperties.ReadMode.PRIMARY || Objects.isNull(maxStaleness)
+                ? ReadPreference.valueOf(name)
+                : ReadPreference.valueOf(name, List.of(), maxStaleness.toSeconds(), TimeUnit.SECONDS);
+    }
+}
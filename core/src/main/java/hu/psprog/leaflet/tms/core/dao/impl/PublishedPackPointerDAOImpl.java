@@ -0,0 +1,206 @@
+package hu.psprog.leaflet.tms.core.dao.impl;
+
+import hu.psprog.leaflet.tms.core.config.StorageProperties;
+import hu.psprog.leaflet.tms.core.dao.PublishedPackPointerDAO;
+import hu.psprog.leaflet.tms.core.entity.PublishedPackPointer;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.repository.PublishedPackPointerRepository;
+import hu.psprog.leaflet.tms.core.retrieval.RecentWriteTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Implementation of {@link PublishedPackPointerDAO}.
+ * Pointers are swapped (and removed) by conditional (version matching) updates, retried on concurrent modification; the first
+ * publication of a pack name and locale creates the pointer by insertion, which fails (and is retried as an update)
+ * if another publication created it in the meantime. Pointers are looked up for retrieval with the read preference of
+ * public reads (or from the primary, if their pack name changed recently), but always read with the read preference
+ * of the connection before being swapped.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class PublishedPackPointerDAOImpl implements PublishedPackPointerDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PublishedPackPointerDAOImpl.class);
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_PACK_NAME = "packName";
+    private static final String FIELD_PACK_ID = "packID";
+    private static final String FIELD_HISTORY = "history";
+    private static final String FIELD_PUBLISHED = "published";
+    private static final String FIELD_VERSION = "version";
+    private static final FindAndModifyOptions RETURN_UPDATED = FindAndModifyOptions.options().returnNew(true);
+
+    private final PublishedPackPointerRepository publishedPackPointerRepository;
+    private final MongoTemplate mongoTemplate;
+    private final StorageProperties storageProperties;
+    private final RecentWriteTracker recentWriteTracker;
+
+    @Autowired
+    public PublishedPackPointerDAOImpl(PublishedPackPointerRepository publishedPackPointerRepository, MongoTemplate mongoTemplate,
+                                       StorageProperties storageProperties, RecentWriteTracker recentWriteTracker) {
+        this.publishedPackPointerRepository = publishedPackPointerRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.storageProperties = storageProperties;
+        this.recentWriteTracker = recentWriteTracker;
+    }
+
+    @Override
+    public List<PublishedPackPointer> findAllByPackNameIn(List<String> packs) {
+
+        Query query = PublicReadPreference.apply(Query.query(Criteria.where(FIELD_PACK_NAME).in(packs)), storageProperties.getReadRouting(),
+                recentWriteTracker.isRecentlyWritten(packs));
+
+        return mongoTemplate.find(query, PublishedPackPointer.class);
+    }
+
+    @Override
+    public PublishedPackPointer publish(TranslationPack translationPack) {
+
+        String pointerID = PublishedPackPointer.pointerID(translationPack.getPackName(), translationPack.getLocale());
+        for (int attempt = 0; attempt <= getMaxRetries(); attempt++) {
+            PublishedPackPointer currentPointer = publishedPackPointerRepository.findById(pointerID).orElse(null);
+            if (Objects.nonNull(currentPointer) && translationPack.getId().equals(currentPointer.getPackID())) {
+                return currentPointer;
+            }
+
+            PublishedPackPointer updatedPointer = Objects.isNull(currentPointer)
+                    ? insert(pointerID, translationPack)
+                    : swap(currentPointer, translationPack.getId(), appendToHistory(currentPointer));
+            if (Objects.nonNull(updatedPointer)) {
+                return updatedPointer;
+            }
+
+            LOGGER.debug("Published pointer [{}] was modified concurrently (attempt {} of {})", pointerID, attempt + 1, getMaxRetries() + 1);
+        }
+
+        throw new OptimisticLockingFailureException(String.format("Failed to publish pack [%s] due to concurrent modifications", translationPack.getId()));
+    }
+
+    @Override
+    public PublishedPackPointer rollback(String packName, Locale locale) {
+
+        String pointerID = PublishedPackPointer.pointerID(packName, locale);
+        for (int attempt = 0; attempt <= getMaxRetries(); attempt++) {
+            PublishedPackPointer currentPointer = publishedPackPointerRepository.findById(pointerID).orElse(null);
+            if (Objects.isNull(currentPointer) || Objects.isNull(currentPointer.getHistory()) || currentPointer.getHistory().isEmpty()) {
+                return null;
+            }
+
+            List<UUID> history = new ArrayList<>(currentPointer.getHistory());
+            UUID previousPackID = history.removeLast();
+            PublishedPackPointer updatedPointer = swap(currentPointer, previousPackID, history);
+            if (Objects.nonNull(updatedPointer)) {
+                return updatedPointer;
+            }
+
+            LOGGER.debug("Published pointer [{}] was modified concurrently (attempt {} of {})", pointerID, attempt + 1, getMaxRetries() + 1);
+        }
+
+        throw new OptimisticLockingFailureException(String.format("Failed to roll back published pointer [%s] due to concurrent modifications", pointerID));
+    }
+
+    @Override
+    public void unpublish(TranslationPack translationPack) {
+
+        String pointerID = PublishedPackPointer.pointerID(translationPack.getPackName(), translationPack.getLocale());
+        for (int attempt = 0; attempt <= getMaxRetries(); attempt++) {
+            PublishedPackPointer currentPointer = publishedPackPointerRepository.findById(pointerID).orElse(null);
+            if (Objects.isNull(currentPointer)) {
+                return;
+            }
+
+            List<UUID> history = new ArrayList<>(Objects.requireNonNullElse(currentPointer.getHistory(), List.of()));
+            boolean removedFromHistory = history.removeIf(translationPack.getId()::equals);
+            boolean unpublished;
+            if (!translationPack.getId().equals(currentPointer.getPackID())) {
+                unpublished = !removedFromHistory
+                        || Objects.nonNull(swap(currentPointer, currentPointer.getPackID(), history));
+            } else if (history.isEmpty()) {
+                unpublished = remove(currentPointer);
+            } else {
+                UUID previousPackID = history.removeLast();
+                unpublished = Objects.nonNull(swap(currentPointer, previousPackID, history));
+            }
+
+            if (unpublished) {
+                return;
+            }
+
+            LOGGER.debug("Published pointer [{}] was modified concurrently (attempt {} of {})", pointerID, attempt + 1, getMaxRetries() + 1);
+        }
+
+        throw new OptimisticLockingFailureException(String.format("Failed to unpublish pack [%s] due to concurrent modifications", translationPack.getId()));
+    }
+
+    private PublishedPackPointer insert(String pointerID, TranslationPack translationPack) {
+
+        PublishedPackPointer publishedPackPointer = PublishedPackPointer.builder()
+                .id(pointerID)
+                .packName(translationPack.getPackName())
+                .locale(translationPack.getLocale())
+                .packID(translationPack.getId())
+                .history(List.of())
+                .published(new Date())
+                .build();
+
+        try {
+            return mongoTemplate.insert(publishedPackPointer);
+        } catch (DuplicateKeyException exception) {
+            return null;
+        }
+    }
+
+    private PublishedPackPointer swap(PublishedPackPointer currentPointer, UUID packID, List<UUID> history) {
+
+        Query query = Query.query(Criteria.where(FIELD_ID).is(currentPointer.getId())
+                .and(FIELD_VERSION).is(currentPointer.getVersion()));
+        Update update = new Update()
+                .set(FIELD_PACK_ID, packID)
+                .set(FIELD_HISTORY, history)
+                .set(FIELD_PUBLISHED, new Date())
+                .inc(FIELD_VERSION, 1);
+
+        return mongoTemplate.findAndModify(query, update, RETURN_UPDATED, PublishedPackPointer.class);
+    }
+
+    private boolean remove(PublishedPackPointer currentPointer) {
+
+        Query query = Query.query(Criteria.where(FIELD_ID).is(currentPointer.getId())
+                .and(FIELD_VERSION).is(currentPointer.getVersion()));
+
+        return mongoTemplate.remove(query, PublishedPackPointer.class).getDeletedCount() > 0;
+    }
+
+    private List<UUID> appendToHistory(PublishedPackPointer currentPointer) {
+
+        List<UUID> history = new ArrayList<>(Objects.requireNonNullElse(currentPointer.getHistory(), List.of()));
+        history.add(currentPointer.getPackID());
+        int historySize = storageProperties.getPublishing().getHistorySize();
+
+        return history.size() > historySize
+                ? List.copyOf(history.subList(history.size() - historySize, history.size()))
+                : history;
+    }
+
+    private int getMaxRetries() {
+        return storageProperties.getOptimisticLocking().getMaxRetries();
+    }
+}
@@ -0,0 +1,50 @@
+package hu.psprog.leaflet.tms.core.dao.impl;
+
+import hu.psprog.leaflet.tms.core.dao.TranslationBundleDAO;
+import hu.psprog.leaflet.tms.core.entity.TranslationBundle;
+import hu.psprog.leaflet.tms.core.repository.TranslationBundleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Implementation of {@link TranslationBundleDAO}.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class TranslationBundleDAOImpl implements TranslationBundleDAO {
+
+    private final TranslationBundleRepository translationBundleRepository;
+
+    @Autowired
+    public TranslationBundleDAOImpl(TranslationBundleRepository translationBundleRepository) {
+        this.translationBundleRepository = translationBundleRepository;
+    }
+
+    @Override
+    public TranslationBundle getByID(String bundleID) {
+        return translationBundleRepository.findById(bundleID).orElse(null);
+    }
+
+    @Override
+    public List<TranslationBundle> findAllKeysByPackName(String packName) {
+        return translationBundleRepository.findAllKeysByPackName(packName);
+    }
+
+    @Override
+    public List<TranslationBundle> findAllKeys() {
+        return translationBundleRepository.findAllKeys();
+    }
+
+    @Override
+    public TranslationBundle save(TranslationBundle translationBundle) {
+        return translationBundleRepository.save(translationBundle);
+    }
+
+    @Override
+    public void delete(String bundleID) {
+        translationBundleRepository.deleteById(bundleID);
+    }
+}
@@ -0,0 +1,125 @@
+package hu.psprog.leaflet.tms.core.dao.impl;
+
+import hu.psprog.leaflet.tms.core.dao.TranslationPackChunkDAO;
+import hu.psprog.leaflet.tms.core.domain.KeyRange;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPackChunk;
+import hu.psprog.leaflet.tms.core.repository.TranslationPackChunkRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@link TranslationPackChunkDAO}.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class TranslationPackChunkDAOImpl implements TranslationPackChunkDAO {
+
+    private static final String FIELD_PACK_ID = "packId";
+    private static final String FIELD_CHUNK_INDEX = "chunkIndex";
+    private static final String FIELD_FIRST_KEY = "firstKey";
+    private static final String FIELD_LAST_KEY = "lastKey";
+
+    private final TranslationPackChunkRepository translationPackChunkRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    public TranslationPackChunkDAOImpl(TranslationPackChunkRepository translationPackChunkRepository, MongoTemplate mongoTemplate) {
+        this.translationPackChunkRepository = translationPackChunkRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public int saveChunks(UUID packID, Iterator<TranslationDefinition> definitions, int chunkSize) {
+
+        int chunkIndex = 0;
+        List<TranslationDefinition> chunkDefinitions = new ArrayList<>(chunkSize);
+        while (definitions.hasNext()) {
+            chunkDefinitions.add(definitions.next());
+            if (chunkDefinitions.size() == chunkSize) {
+                insertChunk(packID, chunkIndex++, chunkDefinitions);
+                chunkDefinitions = new ArrayList<>(chunkSize);
+            }
+        }
+
+        if (!chunkDefinitions.isEmpty()) {
+            insertChunk(packID, chunkIndex++, chunkDefinitions);
+        }
+
+        return chunkIndex;
+    }
+
+    @Override
+    public Stream<TranslationDefinition> streamDefinitions(UUID packID, KeyRange keyRange) {
+
+        Criteria criteria = Criteria.where(FIELD_PACK_ID).is(packID);
+        if (Objects.nonNull(keyRange.from())) {
+            criteria = criteria.and(FIELD_LAST_KEY).gte(keyRange.from());
+        }
+        if (Objects.nonNull(keyRange.to())) {
+            criteria = criteria.and(FIELD_FIRST_KEY).lt(keyRange.to());
+        }
+
+        Query query = Query.query(criteria).with(Sort.by(FIELD_CHUNK_INDEX));
+        Stream<TranslationDefinition> definitions = mongoTemplate.stream(query, TranslationPackChunk.class)
+                .flatMap(chunk -> chunk.getDefinitions().stream());
+
+        return keyRange.isUnbounded()
+                ? definitions
+                : definitions.filter(definition -> keyRange.contains(definition.getKey()));
+    }
+
+    @Override
+    public Map<UUID, List<TranslationDefinition>> findAllDefinitionsByPackIdIn(List<UUID> packIDs) {
+
+        Query query = Query.query(Criteria.where(FIELD_PACK_ID).in(packIDs))
+                .with(Sort.by(FIELD_PACK_ID, FIELD_CHUNK_INDEX));
+
+        Map<UUID, List<TranslationDefinition>> definitionsByPackID = new HashMap<>();
+        mongoTemplate.find(query, TranslationPackChunk.class)
+                .forEach(chunk -> definitionsByPackID
+                        .computeIfAbsent(chunk.getPackId(), packID -> new ArrayList<>())
+                        .addAll(chunk.getDefinitions()));
+
+        return definitionsByPackID;
+    }
+
+    @Override
+    public void deleteChunks(UUID packID) {
+        translationPackChunkRepository.deleteAllByPackId(packID);
+    }
+
+    private void insertChunk(UUID packID, int chunkIndex, List<TranslationDefinition> definitions) {
+
+        List<String> keys = definitions.stream()
+                .map(TranslationDefinition::getKey)
+                .filter(Objects::nonNull)
+                .toList();
+
+        TranslationPackChunk chunk = TranslationPackChunk.builder()
+                .id(String.format("%s:%d", packID, chunkIndex))
+                .packId(packID)
+                .chunkIndex(chunkIndex)
+                .firstKey(keys.stream().min(Comparator.naturalOrder()).orElse(null))
+                .lastKey(keys.stream().max(Comparator.naturalOrder()).orElse(null))
+                .definitions(definitions)
+                .build();
+
+        translationPackChunkRepository.insert(chunk);
+    }
+}
@@ -1,37 +1,134 @@
 package hu.psprog.leaflet.tms.core.dao.impl;
 
+import com.mongodb.ReadPreference;
+import hu.psprog.leaflet.tms.core.config.StorageProperties;
+import hu.psprog.leaflet.tms.core.dao.TranslationPackChunkDAO;
 import hu.psprog.leaflet.tms.core.dao.TranslationPackDAO;
+import hu.psprog.leaflet.tms.core.dao.codec.TranslationDefinitionCodec;
+import hu.psprog.leaflet.tms.core.domain.KeyRange;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
 import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.id.TimeOrderedUUIDGenerator;
 import hu.psprog.leaflet.tms.core.repository.TranslationPackRepository;
+import hu.psprog.leaflet.tms.core.retrieval.RecentWriteTracker;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implementation of {@link TranslationPackDAO}.
+ * Transparently handles compressed and chunked definition storage: packs are compressed or split into chunks on save
+ * (if enabled and large enough), decoded or reassembled on read (chunks of multiple packs are loaded by a single query), and uncompressed packs eligible for compression
+ * are migrated in place when they are read one by one (by the admin endpoints). Bulk reads of the public endpoints never write. Status changes are written as partial updates (instead of replacing the
+ * whole document), guarded by the version field of the pack. The latest enabled pack of every pack name and locale is looked up
+ * by a single aggregation walking the pack lookup index, which materializes only the meta information of the latest pack per locale.
+ * Bulk reads serving the public retrieval and listing endpoints are sent with the configured read preference of public reads
+ * (see {@link StorageProperties.ReadRouting}), except the reads of recently changed packs (see {@link RecentWriteTracker}),
+ * those are sent to the primary.
  *
  * @author Peter Smith
  */
 @Component
 public class TranslationPackDAOImpl implements TranslationPackDAO {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(TranslationPackDAOImpl.class);
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_PACK_NAME = "packName";
+    private static final String FIELD_LOCALE = "locale";
+    private static final String FIELD_DEFINITIONS = "definitions";
+    private static final String FIELD_COMPRESSED_DEFINITIONS = "compressedDefinitions";
+    private static final String FIELD_ENABLED = "enabled";
+    private static final String FIELD_VERSION = "version";
+    private static final String FIELD_CREATED = "created";
+    private static final String FIELD_LATEST = "latest";
+    private static final Document LATEST_FIRST_STAGE = new Document("$sort", new Document(FIELD_PACK_NAME, 1)
+            .append(FIELD_LOCALE, 1)
+            .append(FIELD_ENABLED, 1)
+            .append(FIELD_CREATED, -1));
+    private static final Document GROUP_LATEST_STAGE = new Document("$group", new Document("_id", new Document(FIELD_PACK_NAME, "$" + FIELD_PACK_NAME)
+            .append(FIELD_LOCALE, "$" + FIELD_LOCALE))
+            .append(FIELD_LATEST, new Document("$first", "$$ROOT")));
+    private static final Document REPLACE_ROOT_WITH_LATEST_STAGE = new Document("$replaceRoot", new Document("newRoot", "$" + FIELD_LATEST));
+    private static final Document EXCLUDE_DEFINITIONS_STAGE = new Document("$project", new Document(FIELD_DEFINITIONS, 0)
+            .append(FIELD_COMPRESSED_DEFINITIONS, 0));
+    private static final FindAndModifyOptions RETURN_UPDATED = FindAndModifyOptions.options().returnNew(true);
+
+    private static final Comparator<TranslationDefinition> KEY_COMPARATOR = Comparator.comparing(TranslationDefinition::getKey,
+            Comparator.nullsFirst(Comparator.naturalOrder()));
+
     private final TranslationPackRepository translationPackRepository;
+    private final TranslationPackChunkDAO translationPackChunkDAO;
+    private final MongoTemplate mongoTemplate;
+    private final StorageProperties storageProperties;
+    private final RecentWriteTracker recentWriteTracker;
 
     @Autowired
-    public TranslationPackDAOImpl(TranslationPackRepository translationPackRepository) {
+    public TranslationPackDAOImpl(TranslationPackRepository translationPackRepository, TranslationPackChunkDAO translationPackChunkDAO,
+                                  MongoTemplate mongoTemplate, StorageProperties storageProperties, RecentWriteTracker recentWriteTracker) {
         this.translationPackRepository = translationPackRepository;
+        this.translationPackChunkDAO = translationPackChunkDAO;
+        this.mongoTemplate = mongoTemplate;
+        this.storageProperties = storageProperties;
+        this.recentWriteTracker = recentWriteTracker;
     }
 
     @Override
-    public List<TranslationPack> findAll() {
-        return translationPackRepository.findAll();
+    public List<TranslationPack> findAllMetaInfo() {
+        return findPublic(metaInfoOnly(new Query()), false);
     }
 
     @Override
-    public List<TranslationPack> findAllByPackNameIn(List<String> packs) {
-        return translationPackRepository.findAllByPackNameIn(packs);
+    public List<TranslationPack> findAllLatestEnabledMetaInfoByPackNameIn(List<String> packs) {
+        return findLatestEnabledMetaInfo(packs, Criteria.where(FIELD_PACK_NAME).in(packs)
+                .and(FIELD_ENABLED).is(true));
+    }
+
+    @Override
+    public List<TranslationPack> findAllLatestEnabledMetaInfoByPackNameInAndLocaleIn(List<String> packs, List<Locale> locales) {
+        return findLatestEnabledMetaInfo(packs, Criteria.where(FIELD_PACK_NAME).in(packs)
+                .and(FIELD_LOCALE).in(locales)
+                .and(FIELD_ENABLED).is(true));
+    }
+
+    @Override
+    public List<TranslationPack> findAllByIdIn(List<UUID> packIDs) {
+        return decode(findPublic(Query.query(Criteria.where(FIELD_ID).in(packIDs)), recentWriteTracker.isRecentlyWrittenByID(packIDs)));
+    }
+
+    @Override
+    public List<TranslationPack> findAllMetaInfoByIdIn(List<UUID> packIDs) {
+        return findPublic(metaInfoOnly(Query.query(Criteria.where(FIELD_ID).in(packIDs))), recentWriteTracker.isRecentlyWrittenByID(packIDs));
+    }
+
+    @Override
+    public List<String> findAllPackNames() {
+        return mongoTemplate.findDistinct(new Query(), FIELD_PACK_NAME, TranslationPack.class, String.class);
     }
 
     @Override
@@ -41,25 +138,292 @@ public class TranslationPackDAOImpl implements TranslationPackDAO {
 
     @Override
     public TranslationPack getByID(UUID packID) {
-        return translationPackRepository.findById(packID).orElse(null);
+        return translationPackRepository.findById(packID)
+                .map(this::decode)
+                .orElse(null);
+    }
+
+    @Override
+    public TranslationPack getMetaInfoByID(UUID packID) {
+        return translationPackRepository.findMetaInfoById(packID)
+                .orElse(null);
     }
 
     @Override
     public TranslationPack save(TranslationPack translationPack) {
-        return translationPackRepository.save(translationPack);
+
+        if (shouldChunk(translationPack)) {
+            List<TranslationDefinition> definitions = translationPack.getDefinitions().stream()
+                    .sorted(KEY_COMPARATOR)
+                    .toList();
+            TranslationPack storedPack = saveChunked(translationPack, definitions.iterator());
+
+            return Objects.isNull(storedPack)
+                    ? null
+                    : storedPack.toBuilder().definitions(definitions).build();
+        }
+
+        return decode(translationPackRepository.save(encode(translationPack)));
     }
 
     @Override
-    public void setStatus(UUID packID, boolean enabled) {
+    public TranslationPack save(TranslationPack translationPack, Iterator<TranslationDefinition> definitions) {
 
-        translationPackRepository.findById(packID).ifPresent(pack -> {
-            pack.setEnabled(enabled);
-            translationPackRepository.save(pack);
-        });
+        StorageProperties.Chunking chunking = storageProperties.getChunking();
+        List<TranslationDefinition> bufferedDefinitions = new ArrayList<>();
+        while (definitions.hasNext() && (!chunking.isEnabled() || bufferedDefinitions.size() < chunking.getMinDefinitions())) {
+            bufferedDefinitions.add(definitions.next());
+        }
+
+        if (!definitions.hasNext()) {
+            return save(translationPack.toBuilder()
+                    .definitions(bufferedDefinitions)
+                    .build());
+        }
+
+        Iterator<TranslationDefinition> remainingDefinitions = Stream.concat(bufferedDefinitions.stream(),
+                StreamSupport.stream(Spliterators.spliteratorUnknownSize(definitions, Spliterator.ORDERED), false)).iterator();
+
+        return saveChunked(translationPack, remainingDefinitions);
+    }
+
+    @Override
+    public Stream<TranslationDefinition> streamDefinitions(UUID packID, KeyRange keyRange) {
+
+        return translationPackRepository.findById(packID)
+                .map(storedPack -> storedPack.isChunked()
+                        ? translationPackChunkDAO.streamDefinitions(packID, keyRange)
+                        : Stream.ofNullable(decode(storedPack).getDefinitions())
+                                .flatMap(List::stream)
+                                .filter(definition -> keyRange.isUnbounded() || keyRange.contains(definition.getKey())))
+                .orElseGet(Stream::empty);
+    }
+
+    @Override
+    public Stream<TranslationDefinition> streamDefinitionsOrderedByKey(UUID packID) {
+
+        return translationPackRepository.findById(packID)
+                .map(storedPack -> storedPack.isChunked() && storedPack.isKeyOrdered()
+                        ? translationPackChunkDAO.streamDefinitions(packID, KeyRange.ALL)
+                        : Stream.ofNullable(decode(storedPack).getDefinitions())
+                                .flatMap(List::stream)
+                                .sorted(KEY_COMPARATOR))
+                .orElseGet(Stream::empty);
+    }
+
+    @Override
+    public TranslationPack toggleStatus(UUID packID) {
+
+        int maxRetries = storageProperties.getOptimisticLocking().getMaxRetries();
+        for (int attempt = 0; attempt <= maxRetries; attempt++) {
+            TranslationPack currentPack = getMetaInfoByID(packID);
+            if (Objects.isNull(currentPack)) {
+                return null;
+            }
+
+            Query query = metaInfoOnly(Query.query(Criteria.where(FIELD_ID).is(packID)
+                    .and(FIELD_VERSION).is(currentPack.getVersion())));
+            TranslationPack updatedPack = mongoTemplate.findAndModify(query, statusUpdate(!currentPack.isEnabled()), RETURN_UPDATED, TranslationPack.class);
+            if (Objects.nonNull(updatedPack)) {
+                return updatedPack;
+            }
+
+            LOGGER.debug("Pack [{}] was modified concurrently (attempt {} of {})", packID, attempt + 1, maxRetries + 1);
+        }
+
+        throw new OptimisticLockingFailureException(String.format("Failed to update status of pack [%s] due to concurrent modifications", packID));
     }
 
     @Override
     public void delete(UUID packID) {
         translationPackRepository.deleteById(packID);
+        translationPackChunkDAO.deleteChunks(packID);
+    }
+
+    private TranslationPack saveChunked(TranslationPack translationPack, Iterator<TranslationDefinition> definitions) {
+
+        UUID packID = Objects.requireNonNullElseGet(translationPack.getId(), TimeOrderedUUIDGenerator::generate);
+        KeyOrderTrackingIterator keyOrderTrackingIterator = new KeyOrderTrackingIterator(definitions);
+
+        try {
+            translationPackChunkDAO.saveChunks(packID, keyOrderTrackingIterator, storageProperties.getChunking().getChunkSize());
+            TranslationPack header = translationPack.toBuilder()
+                    .id(packID)
+                    .definitions(null)
+                    .compressedDefinitions(null)
+                    .chunked(true)
+                    .keyOrdered(keyOrderTrackingIterator.isKeyOrdered())
+                    .build();
+
+            return translationPackRepository.save(header);
+        } catch (RuntimeException exception) {
+            translationPackChunkDAO.deleteChunks(packID);
+            throw exception;
+        }
+    }
+
+    private List<TranslationPack> findPublic(Query query, boolean followsWrite) {
+        return mongoTemplate.find(PublicReadPreference.apply(query, storageProperties.getReadRouting(), followsWrite), TranslationPack.class);
+    }
+
+    private List<TranslationPack> findLatestEnabledMetaInfo(List<String> packs, Criteria criteria) {
+
+        TypedAggregation<TranslationPack> aggregation = Aggregation.newAggregation(TranslationPack.class,
+                Aggregation.match(criteria),
+                context -> LATEST_FIRST_STAGE,
+                context -> GROUP_LATEST_STAGE,
+                context -> REPLACE_ROOT_WITH_LATEST_STAGE,
+                context -> EXCLUDE_DEFINITIONS_STAGE);
+        ReadPreference readPreference = PublicReadPreference.resolve(storageProperties.getReadRouting(), recentWriteTracker.isRecentlyWritten(packs));
+        if (Objects.nonNull(readPreference)) {
+            aggregation = aggregation.withOptions(AggregationOptions.builder()
+                    .readPreference(readPreference)
+                    .build());
+        }
+
+        return mongoTemplate.aggregate(aggregation, TranslationPack.class).getMappedResults();
+    }
+
+    private Query metaInfoOnly(Query query) {
+
+        query.fields().exclude(FIELD_DEFINITIONS, FIELD_COMPRESSED_DEFINITIONS);
+
+        return query;
+    }
+
+    private List<TranslationPack> decode(List<TranslationPack> storedPacks) {
+
+        List<UUID> chunkedPackIDs = storedPacks.stream()
+                .filter(TranslationPack::isChunked)
+                .map(TranslationPack::getId)
+                .toList();
+        Map<UUID, List<TranslationDefinition>> chunkedDefinitions = chunkedPackIDs.isEmpty()
+                ? Map.of()
+                : translationPackChunkDAO.findAllDefinitionsByPackIdIn(chunkedPackIDs);
+
+        storedPacks.forEach(storedPack -> {
+            if (storedPack.isChunked()) {
+                storedPack.setDefinitions(chunkedDefinitions.getOrDefault(storedPack.getId(), List.of()));
+            } else {
+                decode(storedPack, false);
+            }
+        });
+
+        return storedPacks;
+    }
+
+    private TranslationPack decode(TranslationPack storedPack) {
+        return decode(storedPack, true);
+    }
+
+    private TranslationPack decode(TranslationPack storedPack, boolean migrate) {
+
+        if (Objects.isNull(storedPack)) {
+            return null;
+        }
+
+        if (storedPack.isChunked()) {
+            try (Stream<TranslationDefinition> definitions = translationPackChunkDAO.streamDefinitions(storedPack.getId(), KeyRange.ALL)) {
+                storedPack.setDefinitions(definitions.toList());
+            }
+        } else if (Objects.nonNull(storedPack.getCompressedDefinitions())) {
+            storedPack.setDefinitions(TranslationDefinitionCodec.decode(storedPack.getCompressedDefinitions()));
+            storedPack.setCompressedDefinitions(null);
+        } else if (migrate && shouldCompress(storedPack)) {
+            migrate(storedPack);
+        }
+
+        return storedPack;
+    }
+
+    private Update statusUpdate(boolean enabled) {
+
+        return new Update()
+                .set(FIELD_ENABLED, enabled)
+                .inc(FIELD_VERSION, 1);
+    }
+
+    private TranslationPack encode(TranslationPack translationPack) {
+
+        if (!shouldCompress(translationPack)) {
+            return translationPack;
+        }
+
+        return translationPack.toBuilder()
+                .compressedDefinitions(compress(translationPack))
+                .definitions(null)
+                .build();
+    }
+
+    private void migrate(TranslationPack translationPack) {
+
+        Query query = Query.query(Criteria.where(FIELD_ID).is(translationPack.getId())
+                .and(FIELD_COMPRESSED_DEFINITIONS).exists(false));
+        Update update = new Update()
+                .set(FIELD_COMPRESSED_DEFINITIONS, compress(translationPack))
+                .unset(FIELD_DEFINITIONS);
+
+        try {
+            mongoTemplate.updateFirst(query, update, TranslationPack.class);
+        } catch (DataAccessException exception) {
+            LOGGER.warn("Failed to migrate definitions of pack [{}] to compressed storage, retrying on next read", translationPack.getId(), exception);
+        }
+    }
+
+    private byte[] compress(TranslationPack translationPack) {
+        return TranslationDefinitionCodec.encode(translationPack.getDefinitions(), storageProperties.getCompression().getLevel());
+    }
+
+    private boolean shouldChunk(TranslationPack translationPack) {
+
+        StorageProperties.Chunking chunking = storageProperties.getChunking();
+
+        return chunking.isEnabled()
+                && Objects.nonNull(translationPack.getDefinitions())
+                && translationPack.getDefinitions().size() >= chunking.getMinDefinitions();
+    }
+
+    private boolean shouldCompress(TranslationPack translationPack) {
+
+        StorageProperties.Compression compression = storageProperties.getCompression();
+
+        return compression.isEnabled()
+                && Objects.nonNull(translationPack.getDefinitions())
+                && translationPack.getDefinitions().size() >= compression.getMinDefinitions();
+    }
+
+    /**
+     * Passes definitions through, while checking whether they arrive in key order.
+     */
+    private static final class KeyOrderTrackingIterator implements Iterator<TranslationDefinition> {
+
+        private final Iterator<TranslationDefinition> delegate;
+        private TranslationDefinition previous;
+        private boolean keyOrdered = true;
+
+        KeyOrderTrackingIterator(Iterator<TranslationDefinition> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public TranslationDefinition next() {
+
+            TranslationDefinition current = delegate.next();
+            if (Objects.nonNull(previous) && KEY_COMPARATOR.compare(previous, current) > 0) {
+                keyOrdered = false;
+            }
+            previous = current;
+
+            return current;
+        }
+
+        boolean isKeyOrdered() {
+            return keyOrdered;
+        }
     }
 }
@@ -0,0 +1,132 @@
+package hu.psprog.leaflet.tms.core.diff;
+
+import hu.psprog.leaflet.tms.core.domain.DefinitionDiffEntry;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Computes the differences of two key-ordered definition streams in a single linear (merge-join) pass.
+ * Only the current definition of each side is held in memory, so memory usage does not depend on the size of the packs.
+ *
+ * @author Peter Smith
+ */
+public final class DefinitionDiffer {
+
+    /**
+     * Key order the input streams are expected to follow.
+     */
+    public static final Comparator<String> KEY_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private DefinitionDiffer() {
+    }
+
+    /**
+     * Lazily diffs the given definition streams. Both streams must be ordered by {@link #KEY_ORDER}.
+     * Closing the returned stream closes both input streams.
+     *
+     * @param source definitions of the source (older) pack
+     * @param target definitions of the target (newer) pack
+     * @return differences as {@link Stream}, ordered by key
+     */
+    public static Stream<DefinitionDiffEntry> diff(Stream<TranslationDefinition> source, Stream<TranslationDefinition> target) {
+
+        Iterator<DefinitionDiffEntry> diffIterator = new DiffIterator(source.iterator(), target.iterator());
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(diffIterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(source::close)
+                .onClose(target::close);
+    }
+
+    private static final class DiffIterator implements Iterator<DefinitionDiffEntry> {
+
+        private final Iterator<TranslationDefinition> source;
+        private final Iterator<TranslationDefinition> target;
+        private TranslationDefinition currentSource;
+        private TranslationDefinition currentTarget;
+        private DefinitionDiffEntry next;
+        private boolean started;
+
+        DiffIterator(Iterator<TranslationDefinition> source, Iterator<TranslationDefinition> target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        public boolean hasNext() {
+
+            if (!started) {
+                currentSource = advance(source);
+                currentTarget = advance(target);
+                started = true;
+            }
+
+            while (Objects.isNull(next) && (Objects.nonNull(currentSource) || Objects.nonNull(currentTarget))) {
+                next = step();
+            }
+
+            return Objects.nonNull(next);
+        }
+
+        @Override
+        public DefinitionDiffEntry next() {
+
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            DefinitionDiffEntry entry = next;
+            next = null;
+
+            return entry;
+        }
+
+        private DefinitionDiffEntry step() {
+
+            DefinitionDiffEntry entry;
+            int comparison = compareCurrent();
+            if (comparison < 0) {
+                entry = new DefinitionDiffEntry(DefinitionDiffEntry.Type.REMOVED, currentSource.getKey(), currentSource.getValue(), null);
+                currentSource = advance(source);
+            } else if (comparison > 0) {
+                entry = new DefinitionDiffEntry(DefinitionDiffEntry.Type.ADDED, currentTarget.getKey(), null, currentTarget.getValue());
+                currentTarget = advance(target);
+            } else {
+                entry = Objects.equals(currentSource.getValue(), currentTarget.getValue())
+                        ? null
+                        : new DefinitionDiffEntry(DefinitionDiffEntry.Type.CHANGED, currentSource.getKey(), currentSource.getValue(), currentTarget.getValue());
+                currentSource = advance(source);
+                currentTarget = advance(target);
+            }
+
+            return entry;
+        }
+
+        private int compareCurrent() {
+
+            int comparison;
+            if (Objects.isNull(currentTarget)) {
+                comparison = -1;
+            } else if (Objects.isNull(currentSource)) {
+                comparison = 1;
+            } else {
+                comparison = KEY_ORDER.compare(currentSource.getKey(), currentTarget.getKey());
+            }
+
+            return comparison;
+        }
+
+        private static TranslationDefinition advance(Iterator<TranslationDefinition> iterator) {
+            return iterator.hasNext()
+                    ? iterator.next()
+                    : null;
+        }
+    }
+}
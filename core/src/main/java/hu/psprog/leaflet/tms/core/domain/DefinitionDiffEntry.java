@@ -0,0 +1,22 @@
+package hu.psprog.leaflet.tms.core.domain;
+
+/**
+ * Single difference between the definitions of two translation packs.
+ *
+ * @param type {@link Type} of the difference
+ * @param key key of the differing definition
+ * @param oldValue value in the source pack, {@code null} for added keys
+ * @param newValue value in the target pack, {@code null} for removed keys
+ * @author Peter Smith
+ */
+public record DefinitionDiffEntry(Type type, String key, String oldValue, String newValue) {
+
+    /**
+     * Difference types.
+     */
+    public enum Type {
+        ADDED,
+        REMOVED,
+        CHANGED
+    }
+}
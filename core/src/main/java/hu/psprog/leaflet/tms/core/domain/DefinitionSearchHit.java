@@ -0,0 +1,17 @@
+package hu.psprog.leaflet.tms.core.domain;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Single translation definition matching a {@link DefinitionSearchQuery}.
+ *
+ * @param packId ID of the pack containing the definition
+ * @param packName name of the pack containing the definition
+ * @param locale locale of the pack containing the definition
+ * @param key key of the matching definition
+ * @param value value of the matching definition
+ * @author Peter Smith
+ */
+public record DefinitionSearchHit(UUID packId, String packName, Locale locale, String key, String value) {
+}
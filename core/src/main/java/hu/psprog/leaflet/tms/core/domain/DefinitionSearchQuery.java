@@ -0,0 +1,28 @@
+package hu.psprog.leaflet.tms.core.domain;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Translation definition search query.
+ * Text is matched case-insensitively as substring of the keys and/or values (depending on the scope)
+ * of the latest enabled packs. Empty pack name and locale lists mean no filtering.
+ *
+ * @param text text to search for
+ * @param packNames pack names to search in, empty list for all packs
+ * @param locales locales to search in, empty list for all locales
+ * @param scope {@link Scope} of the search
+ * @param limit maximum number of hits to return
+ * @author Peter Smith
+ */
+public record DefinitionSearchQuery(String text, List<String> packNames, List<Locale> locales, Scope scope, int limit) {
+
+    /**
+     * Definition fields to search in.
+     */
+    public enum Scope {
+        KEYS,
+        VALUES,
+        ALL
+    }
+}
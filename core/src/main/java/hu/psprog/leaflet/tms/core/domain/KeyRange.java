@@ -0,0 +1,52 @@
+package hu.psprog.leaflet.tms.core.domain;
+
+import java.util.Objects;
+
+/**
+ * Range of translation definition keys, used for partial pack reads.
+ * The lower bound is inclusive, the upper bound is exclusive; a {@code null} bound leaves the range open on that side.
+ *
+ * @param from lowest key of the range (inclusive), or {@code null} for no lower bound
+ * @param to key the range ends before (exclusive), or {@code null} for no upper bound
+ * @author Peter Smith
+ */
+public record KeyRange(String from, String to) {
+
+    /**
+     * Range covering all keys.
+     */
+    public static final KeyRange ALL = new KeyRange(null, null);
+
+    private static final char MAX_CHARACTER = Character.MAX_VALUE;
+
+    /**
+     * Creates a range covering all keys starting with the given prefix.
+     *
+     * @param prefix key prefix
+     * @return {@link KeyRange} of the given prefix
+     */
+    public static KeyRange prefix(String prefix) {
+        return new KeyRange(prefix, prefix + MAX_CHARACTER);
+    }
+
+    /**
+     * Checks whether the given key falls into this range.
+     *
+     * @param key key to check
+     * @return {@code true} if the key is in the range, {@code false} otherwise
+     */
+    public boolean contains(String key) {
+        return Objects.nonNull(key)
+                && (Objects.isNull(from) || key.compareTo(from) >= 0)
+                && (Objects.isNull(to) || key.compareTo(to) < 0);
+    }
+
+    /**
+     * Checks whether this range is unbounded on both sides.
+     *
+     * @return {@code true} if the range covers all keys, {@code false} otherwise
+     */
+    public boolean isUnbounded() {
+        return Objects.isNull(from) && Objects.isNull(to);
+    }
+}
@@ -0,0 +1,54 @@
+package hu.psprog.leaflet.tms.core.entity;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Published pack pointer document class.
+ * Points to the published version of a pack name in a locale (identified by "packName|languageTag"), and keeps the
+ * previously published versions (oldest first) to roll back to. Publishing and rolling back swap the pointer with a single
+ * conditional update, thus readers either see the previous or the new version, never a state in between.
+ *
+ * @author Peter Smith
+ */
+@Document
+@Data
+@Builder(toBuilder = true)
+public class PublishedPackPointer {
+
+    private static final String ID_SEPARATOR = "|";
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String packName;
+
+    private Locale locale;
+    private UUID packID;
+    private List<UUID> history;
+    private Date published;
+
+    @Version
+    private Long version;
+
+    /**
+     * Creates the pointer ID of the given pack name and locale.
+     *
+     * @param packName name of the pack
+     * @param locale {@link Locale} of the pack
+     * @return pointer ID in "packName|languageTag" format
+     */
+    public static String pointerID(String packName, Locale locale) {
+        return packName + ID_SEPARATOR + locale.toLanguageTag();
+    }
+}
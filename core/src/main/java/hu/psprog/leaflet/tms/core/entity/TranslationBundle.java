@@ -0,0 +1,37 @@
+package hu.psprog.leaflet.tms.core.entity;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Materialized translation bundle document class.
+ * Holds the precomputed (locale-resolved) latest enabled packs of a frequently requested pack name combination,
+ * so such requests can be served by a single primary key lookup.
+ * The bundle remembers the IDs of the source packs it was built from, so a bundle built from outdated sources can be detected and rebuilt.
+ *
+ * @author Peter Smith
+ */
+@Document
+@Data
+@Builder
+public class TranslationBundle {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private List<String> packNames;
+
+    private Locale locale;
+    private Date built;
+    private List<UUID> sourceIDs;
+    private List<TranslationPack> packs;
+}
@@ -2,6 +2,8 @@ package hu.psprog.leaflet.tms.core.entity;
 
 import lombok.Builder;
 import lombok.Data;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
@@ -11,18 +13,35 @@ import java.util.UUID;
 
 /**
  * Translation pack document class.
+ * Pack lookups are always filtered by pack name first, so the compound index starts with packName,
+ * followed by the fields used for selecting the latest enabled version of each locale.
+ * Definitions are either stored as array of sub-documents, or (when compressed storage is enabled) as a single
+ * compressed binary field, or (for very large packs) in separate chunk documents, marked by the chunked flag
+ * (and the keyOrdered flag, if the chunks hold the definitions in key order).
+ * The DAO layer always exposes them decoded in the definitions field.
+ * Every update increments the version field, which conditional updates match on to detect concurrent modifications
+ * (documents stored before versioning was introduced have no version until their first update).
  *
  * @author Peter Smith
  */
 @Document
+@CompoundIndex(name = TranslationPack.INDEX_PACK_LOOKUP, def = "{'packName': 1, 'locale': 1, 'enabled': 1, 'created': -1}")
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class TranslationPack {
 
+    public static final String INDEX_PACK_LOOKUP = "packName_locale_enabled_created";
+
     private UUID id;
     private String packName;
     private Locale locale;
     private boolean enabled;
     private Date created;
     private List<TranslationDefinition> definitions;
+    private byte[] compressedDefinitions;
+    private boolean chunked;
+    private boolean keyOrdered;
+
+    @Version
+    private Long version;
 }
@@ -0,0 +1,35 @@
+package hu.psprog.leaflet.tms.core.entity;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Translation definition chunk document class.
+ * Definitions of chunked packs are split across chunk documents (keyed by pack ID and chunk index) instead of
+ * being stored in the pack document itself. Every chunk records its lowest and highest key, so key range reads
+ * only need to load the overlapping chunks.
+ *
+ * @author Peter Smith
+ */
+@Document
+@CompoundIndex(name = TranslationPackChunk.INDEX_CHUNK_LOOKUP, def = "{'packId': 1, 'chunkIndex': 1}", unique = true)
+@Data
+@Builder
+public class TranslationPackChunk {
+
+    public static final String INDEX_CHUNK_LOOKUP = "packId_chunkIndex";
+
+    @Id
+    private String id;
+    private UUID packId;
+    private int chunkIndex;
+    private String firstKey;
+    private String lastKey;
+    private List<TranslationDefinition> definitions;
+}
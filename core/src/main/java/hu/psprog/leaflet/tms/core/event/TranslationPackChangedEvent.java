@@ -0,0 +1,11 @@
+package hu.psprog.leaflet.tms.core.event;
+
+/**
+ * Application event published when a translation pack is created, its status is changed or it is deleted.
+ * Read-side structures derived from the latest enabled packs of the given pack name should be invalidated on receiving it.
+ *
+ * @param packName name of the changed pack
+ * @author Peter Smith
+ */
+public record TranslationPackChangedEvent(String packName) {
+}
@@ -1,5 +1,6 @@
 package hu.psprog.leaflet.tms.core.exception;
 
+import java.util.Locale;
 import java.util.UUID;
 
 /**
@@ -10,8 +11,13 @@ import java.util.UUID;
 public class TranslationPackNotFoundException extends Exception {
 
     private static final String EXCEPTION_MESSAGE = "Requested translation pack [%s] not found";
+    private static final String PUBLISHED_VERSION_EXCEPTION_MESSAGE = "No previously published version of translation pack [%s] in locale [%s] found";
 
     public TranslationPackNotFoundException(UUID packID) {
         super(String.format(EXCEPTION_MESSAGE, packID));
     }
+
+    public TranslationPackNotFoundException(String packName, Locale locale) {
+        super(String.format(PUBLISHED_VERSION_EXCEPTION_MESSAGE, packName, locale));
+    }
 }
@@ -0,0 +1,17 @@
+package hu.psprog.leaflet.tms.core.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception to throw when a translation pack could not be published.
+ *
+ * @author Peter Smith
+ */
+public class TranslationPackPublicationException extends Exception {
+
+    private static final String EXCEPTION_MESSAGE = "Translation pack [%s] is disabled, thus it cannot be published";
+
+    public TranslationPackPublicationException(UUID packID) {
+        super(String.format(EXCEPTION_MESSAGE, packID));
+    }
+}
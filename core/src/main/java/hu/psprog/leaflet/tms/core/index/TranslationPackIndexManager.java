@@ -0,0 +1,112 @@
+package hu.psprog.leaflet.tms.core.index;
+
+import hu.psprog.leaflet.tms.core.entity.PublishedPackPointer;
+import hu.psprog.leaflet.tms.core.entity.TranslationBundle;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.entity.TranslationPackChunk;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Ensures the declarative indexes of {@link TranslationPack} documents exist
+ * and verifies (via explain) that the hot queries are able to use them.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class TranslationPackIndexManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TranslationPackIndexManager.class);
+
+    private static final String FIELD_QUERY_PLANNER = "queryPlanner";
+    private static final String FIELD_WINNING_PLAN = "winningPlan";
+    private static final String FIELD_STAGE = "stage";
+    private static final String STAGE_COLLECTION_SCAN = "COLLSCAN";
+    private static final String PROBE_PACK_NAME = "__index-verification-probe__";
+
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(TranslationPack.class, TranslationPackChunk.class, TranslationBundle.class,
+            PublishedPackPointer.class);
+
+    private static final Map<String, Document> HOT_QUERIES = Map.of(
+            "findAllLatestEnabledMetaInfoByPackNameIn", new Document("packName", new Document("$in", List.of(PROBE_PACK_NAME)))
+                    .append("enabled", true));
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mongoMappingContext;
+
+    @Autowired
+    public TranslationPackIndexManager(MongoTemplate mongoTemplate, MongoMappingContext mongoMappingContext) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoMappingContext = mongoMappingContext;
+    }
+
+    /**
+     * Creates the indexes declared on {@link TranslationPack} (and its chunk, bundle and published pointer documents) if they do not exist yet.
+     * Index creation is idempotent on MongoDB side, so already existing indexes are left untouched.
+     */
+    public void ensureIndexes() {
+
+        IndexResolver indexResolver = IndexResolver.create(mongoMappingContext);
+        INDEXED_ENTITIES.forEach(entityClass -> {
+            IndexOperations indexOperations = mongoTemplate.indexOps(entityClass);
+            indexResolver.resolveIndexFor(entityClass)
+                    .forEach(indexDefinition -> {
+                        String indexName = indexOperations.createIndex(indexDefinition);
+                        LOGGER.info("Ensured index [{}] on collection of [{}]", indexName, entityClass.getSimpleName());
+                    });
+        });
+    }
+
+    /**
+     * Explains the hot queries of the service and returns the names of those, which are executed by collection scan.
+     *
+     * @return names of the queries not backed by an index, empty list if all queries use an index
+     */
+    public List<String> findQueriesWithCollectionScan() {
+
+        var collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(TranslationPack.class));
+
+        return HOT_QUERIES.entrySet().stream()
+                .filter(query -> {
+                    Document explanation = collection.find(query.getValue()).explain();
+                    LOGGER.debug("Query plan of [{}]: {}", query.getKey(), explanation.toJson());
+                    return usesCollectionScan(extractWinningPlan(explanation));
+                })
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+
+    private Document extractWinningPlan(Document explanation) {
+
+        Document queryPlanner = explanation.get(FIELD_QUERY_PLANNER, Document.class);
+
+        return Objects.nonNull(queryPlanner)
+                ? queryPlanner.get(FIELD_WINNING_PLAN, Document.class)
+                : null;
+    }
+
+    private boolean usesCollectionScan(Object planNode) {
+
+        boolean collectionScan = false;
+        if (planNode instanceof Document document) {
+            collectionScan = STAGE_COLLECTION_SCAN.equals(document.getString(FIELD_STAGE))
+                    || document.values().stream().anyMatch(this::usesCollectionScan);
+        } else if (planNode instanceof List<?> list) {
+            collectionScan = list.stream().anyMatch(this::usesCollectionScan);
+        }
+
+        return collectionScan;
+    }
+}
@@ -0,0 +1,120 @@
+package hu.psprog.leaflet.tms.core.locale;
+
+import hu.psprog.leaflet.tms.core.config.LocaleProperties;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves a single, merged translation pack for a requested locale by walking its fallback chain.
+ * The chain follows the standard resource bundle candidate list of the requested locale (e.g. hu_HU, hu),
+ * continued with the candidates of the configured default locale and finally the root locale.
+ * Definitions of more specific locales override those of the less specific ones.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class LocaleFallbackResolver {
+
+    private static final ResourceBundle.Control CANDIDATE_LOCALE_CONTROL = ResourceBundle.Control.getControl(ResourceBundle.Control.FORMAT_DEFAULT);
+    private static final String NO_BASE_NAME = "";
+
+    private final LocaleProperties localeProperties;
+
+    @Autowired
+    public LocaleFallbackResolver(LocaleProperties localeProperties) {
+        this.localeProperties = localeProperties;
+    }
+
+    /**
+     * Returns the fallback chain of the given locale, most specific first.
+     *
+     * @param locale requested {@link Locale}
+     * @return fallback chain as {@link List} of {@link Locale}s
+     */
+    public List<Locale> getFallbackChain(Locale locale) {
+
+        Set<Locale> chain = new LinkedHashSet<>(getCandidates(locale));
+        chain.addAll(getCandidates(localeProperties.getDefaultLocale()));
+        chain.add(Locale.ROOT);
+
+        return List.copyOf(chain);
+    }
+
+    /**
+     * Selects the packs participating in the resolution of the given locale, most specific first.
+     *
+     * @param locale requested {@link Locale}
+     * @param latestPacks latest enabled packs (of a single pack name) in all available locales
+     * @return packs matching the fallback chain of the given locale, most specific first
+     */
+    public List<TranslationPack> selectSources(Locale locale, List<TranslationPack> latestPacks) {
+
+        Map<Locale, TranslationPack> packsByLocale = latestPacks.stream()
+                .collect(Collectors.toMap(TranslationPack::getLocale, Function.identity(), (pack1, pack2) -> pack1));
+
+        return getFallbackChain(locale).stream()
+                .map(packsByLocale::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Merges the given source packs (as returned by {@link #selectSources(Locale, List)}) into a single pack of the given locale.
+     * The merged pack takes its ID from the most specific source and its creation date from the newest source.
+     *
+     * @param locale requested {@link Locale}
+     * @param sources source packs, most specific first
+     * @return merged {@link TranslationPack}, or {@code null} if there is no source pack to merge
+     */
+    public TranslationPack merge(Locale locale, List<TranslationPack> sources) {
+
+        if (sources.isEmpty()) {
+            return null;
+        }
+
+        Map<String, String> mergedDefinitions = new LinkedHashMap<>();
+        for (TranslationPack source : sources.reversed()) {
+            source.getDefinitions().forEach(definition -> mergedDefinitions.put(definition.getKey(), definition.getValue()));
+        }
+
+        List<TranslationDefinition> definitions = new ArrayList<>(mergedDefinitions.size());
+        mergedDefinitions.forEach((key, value) -> definitions.add(new TranslationDefinition(key, value)));
+
+        TranslationPack mostSpecificSource = sources.getFirst();
+
+        return TranslationPack.builder()
+                .id(mostSpecificSource.getId())
+                .packName(mostSpecificSource.getPackName())
+                .locale(locale)
+                .enabled(true)
+                .created(sources.stream()
+                        .map(TranslationPack::getCreated)
+                        .filter(Objects::nonNull)
+                        .max(Comparator.naturalOrder())
+                        .orElse(null))
+                .definitions(definitions)
+                .build();
+    }
+
+    private List<Locale> getCandidates(Locale locale) {
+
+        return CANDIDATE_LOCALE_CONTROL.getCandidateLocales(NO_BASE_NAME, locale).stream()
+                .filter(candidate -> !Locale.ROOT.equals(candidate))
+                .toList();
+    }
+}
@@ -0,0 +1,14 @@
+package hu.psprog.leaflet.tms.core.repository;
+
+import hu.psprog.leaflet.tms.core.entity.PublishedPackPointer;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link PublishedPackPointer} Mongo repository interface.
+ *
+ * @author Peter Smith
+ */
+@Repository
+public interface PublishedPackPointerRepository extends MongoRepository<PublishedPackPointer, String> {
+}
@@ -0,0 +1,34 @@
+package hu.psprog.leaflet.tms.core.repository;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationBundle;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * {@link TranslationBundle} Mongo repository interface.
+ *
+ * @author Peter Smith
+ */
+@Repository
+public interface TranslationBundleRepository extends MongoRepository<TranslationBundle, String> {
+
+    /**
+     * Returns the bundles containing the given pack name, without their materialized packs.
+     *
+     * @param packName pack name to return bundles by
+     * @return list of {@link TranslationBundle} objects with only their key information populated
+     */
+    @Query(value = "{ 'packNames': ?0 }", fields = "{ 'packs': 0 }")
+    List<TranslationBundle> findAllKeysByPackName(String packName);
+
+    /**
+     * Returns all bundles, without their materialized packs.
+     *
+     * @return list of {@link TranslationBundle} objects with only their key information populated
+     */
+    @Query(value = "{}", fields = "{ 'packs': 0 }")
+    List<TranslationBundle> findAllKeys();
+}
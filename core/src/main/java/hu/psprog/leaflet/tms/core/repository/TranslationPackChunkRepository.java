@@ -0,0 +1,23 @@
+package hu.psprog.leaflet.tms.core.repository;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationPackChunk;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * {@link TranslationPackChunk} Mongo repository interface.
+ *
+ * @author Peter Smith
+ */
+@Repository
+public interface TranslationPackChunkRepository extends MongoRepository<TranslationPackChunk, String> {
+
+    /**
+     * Deletes all chunks of the given pack.
+     *
+     * @param packId ID of the pack to delete chunks of
+     */
+    void deleteAllByPackId(UUID packId);
+}
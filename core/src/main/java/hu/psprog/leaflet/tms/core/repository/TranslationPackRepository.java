@@ -2,9 +2,10 @@ package hu.psprog.leaflet.tms.core.repository;
 
 import hu.psprog.leaflet.tms.core.entity.TranslationPack;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -16,10 +17,11 @@ import java.util.UUID;
 public interface TranslationPackRepository extends MongoRepository<TranslationPack, UUID> {
 
     /**
-     * Returns list of {@link TranslationPack} records by given list of pack names.
+     * Returns {@link TranslationPack} record identified by given ID, without loading its definitions.
      *
-     * @param packs pack names to return packs by
-     * @return list of {@link TranslationPack} objects
+     * @param id ID of the pack to return
+     * @return {@link TranslationPack} object with only its meta information populated wrapped in {@link Optional}
      */
-    List<TranslationPack> findAllByPackNameIn(List<String> packs);
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'definitions': 0, 'compressedDefinitions': 0 }")
+    Optional<TranslationPack> findMetaInfoById(UUID id);
 }
@@ -0,0 +1,128 @@
+package hu.psprog.leaflet.tms.core.retrieval;
+
+import hu.psprog.leaflet.tms.core.config.RetrievalProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Applies per-pack retrieval steps (fetching, converting) to multiple items, concurrently if parallel retrieval is enabled.
+ * Results are always returned in the order of the given items, regardless of the order the tasks finish in.
+ * Lists shorter than the configured minimum (and every list, if parallel retrieval is disabled) are processed sequentially
+ * on the calling thread, as the hand-off costs more than it saves for a few small packs.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class ParallelRetrievalExecutor {
+
+    private static final String RETRIEVAL_THREAD_PREFIX = "tms-retrieval-";
+
+    private final RetrievalProperties retrievalProperties;
+    private final ExecutorService executorService;
+
+    @Autowired
+    public ParallelRetrievalExecutor(RetrievalProperties retrievalProperties) {
+        this.retrievalProperties = retrievalProperties;
+        this.executorService = retrievalProperties.isParallel()
+                ? createExecutorService(retrievalProperties)
+                : null;
+    }
+
+    /**
+     * Tells whether the given number of items would be processed concurrently.
+     *
+     * @param itemCount number of items to process
+     * @return {@code true} if parallel retrieval is enabled and the item count reaches the configured minimum, {@code false} otherwise
+     */
+    public boolean isParallel(int itemCount) {
+        return Objects.nonNull(executorService) && itemCount >= retrievalProperties.getMinPacks();
+    }
+
+    /**
+     * Applies the given function to every item, and returns the results in the order of the items.
+     * If any of the tasks fails, the remaining ones are cancelled, and the failure is rethrown as is (if unchecked).
+     *
+     * @param items items to process
+     * @param mapper function to apply to each item
+     * @param <T> type of the items
+     * @param <R> type of the results
+     * @return results in the order of the given items
+     */
+    public <T, R> List<R> map(List<T> items, Function<? super T, ? extends R> mapper) {
+
+        if (!isParallel(items.size())) {
+            return items.stream()
+                    .<R>map(mapper)
+                    .toList();
+        }
+
+        List<Future<? extends R>> futures = new ArrayList<>(items.size());
+        items.forEach(item -> futures.add(executorService.submit(() -> mapper.apply(item))));
+
+        List<R> results = new ArrayList<>(items.size());
+        try {
+            for (Future<? extends R> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException exception) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for parallel retrieval", exception);
+        } catch (ExecutionException exception) {
+            cancel(futures);
+            throw unwrap(exception);
+        }
+
+        return results;
+    }
+
+    /**
+     * Stops the retrieval executor.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (Objects.nonNull(executorService)) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void cancel(List<? extends Future<?>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
+
+    private RuntimeException unwrap(ExecutionException exception) {
+
+        Throwable cause = exception.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+
+        if (cause instanceof Error error) {
+            throw error;
+        }
+
+        return new IllegalStateException("Parallel retrieval failed", cause);
+    }
+
+    private static ExecutorService createExecutorService(RetrievalProperties retrievalProperties) {
+
+        int threads = retrievalProperties.getThreads();
+
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(retrievalProperties.getQueueCapacity()),
+                Thread.ofPlatform().name(RETRIEVAL_THREAD_PREFIX, 0).daemon().factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
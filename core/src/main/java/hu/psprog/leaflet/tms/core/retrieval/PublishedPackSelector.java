@@ -0,0 +1,139 @@
+package hu.psprog.leaflet.tms.core.retrieval;
+
+import hu.psprog.leaflet.tms.core.dao.PublishedPackPointerDAO;
+import hu.psprog.leaflet.tms.core.dao.TranslationPackDAO;
+import hu.psprog.leaflet.tms.core.entity.PublishedPackPointer;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Selects the served packs of the given pack names: in every locale of a pack name, the published version of the pack
+ * if that locale has been published and the published version is still enabled, otherwise the latest enabled pack of the locale.
+ * Published packs are resolved via their pointers and loaded by ID, the latest enabled packs are looked up (by an indexed query
+ * returning a single pack per locale) only for the locales not served by a published pack, so no other versions are loaded.
+ * Shared by the live retrieval path and the offline snapshot writer, so both of them serve the same packs.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class PublishedPackSelector {
+
+    private final PublishedPackPointerDAO publishedPackPointerDAO;
+    private final TranslationPackDAO translationPackDAO;
+
+    @Autowired
+    public PublishedPackSelector(PublishedPackPointerDAO publishedPackPointerDAO, TranslationPackDAO translationPackDAO) {
+        this.publishedPackPointerDAO = publishedPackPointerDAO;
+        this.translationPackDAO = translationPackDAO;
+    }
+
+    /**
+     * Selects the served packs of the given pack names in all their locales.
+     * Selected packs are loaded by their IDs, using the given loader (so the caller decides whether definitions are loaded as well).
+     *
+     * @param packs pack names to select packs of
+     * @param packLoader loader of packs by their IDs
+     * @return selected packs grouped by pack name (every requested pack name is present, mapped to an empty list if no pack is selected)
+     */
+    public Map<String, List<TranslationPack>> select(List<String> packs, Function<List<UUID>, List<TranslationPack>> packLoader) {
+        return selectPacks(packs, null, packLoader);
+    }
+
+    /**
+     * Selects the served packs of the given pack names in the given locales.
+     * Selected packs are loaded by their IDs, using the given loader (so the caller decides whether definitions are loaded as well).
+     *
+     * @param packs pack names to select packs of
+     * @param locales locales to select packs in
+     * @param packLoader loader of packs by their IDs
+     * @return selected packs grouped by pack name (every requested pack name is present, mapped to an empty list if no pack is selected)
+     */
+    public Map<String, List<TranslationPack>> select(List<String> packs, List<Locale> locales,
+                                                     Function<List<UUID>, List<TranslationPack>> packLoader) {
+        return selectPacks(packs, locales, packLoader);
+    }
+
+    private Map<String, List<TranslationPack>> selectPacks(List<String> packs, List<Locale> locales,
+                                                           Function<List<UUID>, List<TranslationPack>> packLoader) {
+
+        List<String> distinctPacks = packs.stream()
+                .distinct()
+                .toList();
+        if (distinctPacks.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        List<UUID> publishedPackIDs = publishedPackPointerDAO.findAllByPackNameIn(distinctPacks).stream()
+                .filter(publishedPackPointer -> isRequestedLocale(publishedPackPointer.getLocale(), locales))
+                .map(PublishedPackPointer::getPackID)
+                .toList();
+
+        Map<List<Object>, TranslationPack> selectedPacks = new HashMap<>();
+        loadEnabledPacks(publishedPackIDs, locales, packLoader)
+                .forEach(translationPack -> selectedPacks.put(toSelectionKey(translationPack), translationPack));
+
+        if (!isEverySelected(distinctPacks, locales, selectedPacks)) {
+            List<UUID> latestEnabledPackIDs = findLatestEnabledMetaInfo(distinctPacks, locales).stream()
+                    .filter(translationPack -> !selectedPacks.containsKey(toSelectionKey(translationPack)))
+                    .map(TranslationPack::getId)
+                    .toList();
+            loadEnabledPacks(latestEnabledPackIDs, locales, packLoader)
+                    .forEach(translationPack -> selectedPacks.putIfAbsent(toSelectionKey(translationPack), translationPack));
+        }
+
+        Map<String, List<TranslationPack>> selectedPacksByName = distinctPacks.stream()
+                .collect(Collectors.toMap(Function.identity(), packName -> new ArrayList<>()));
+        selectedPacks.values()
+                .forEach(translationPack -> selectedPacksByName
+                        .computeIfAbsent(translationPack.getPackName(), packName -> new ArrayList<>())
+                        .add(translationPack));
+
+        return selectedPacksByName;
+    }
+
+    private List<TranslationPack> loadEnabledPacks(List<UUID> packIDs, List<Locale> locales, Function<List<UUID>, List<TranslationPack>> packLoader) {
+
+        if (packIDs.isEmpty()) {
+            return List.of();
+        }
+
+        return packLoader.apply(packIDs).stream()
+                .filter(TranslationPack::isEnabled)
+                .filter(translationPack -> isRequestedLocale(translationPack.getLocale(), locales))
+                .toList();
+    }
+
+    private List<TranslationPack> findLatestEnabledMetaInfo(List<String> packs, List<Locale> locales) {
+
+        return Objects.isNull(locales)
+                ? translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(packs)
+                : translationPackDAO.findAllLatestEnabledMetaInfoByPackNameInAndLocaleIn(packs, locales);
+    }
+
+    private boolean isEverySelected(List<String> packs, List<Locale> locales, Map<List<Object>, TranslationPack> selectedPacks) {
+
+        return Objects.nonNull(locales)
+                && packs.stream()
+                        .allMatch(packName -> locales.stream()
+                                .allMatch(locale -> selectedPacks.containsKey(List.of(packName, locale))));
+    }
+
+    private boolean isRequestedLocale(Locale locale, List<Locale> locales) {
+        return Objects.isNull(locales) || locales.contains(locale);
+    }
+
+    private List<Object> toSelectionKey(TranslationPack translationPack) {
+        return List.of(translationPack.getPackName(), translationPack.getLocale());
+    }
+}
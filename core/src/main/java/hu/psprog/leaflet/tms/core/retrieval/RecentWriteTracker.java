@@ -0,0 +1,103 @@
+package hu.psprog.leaflet.tms.core.retrieval;
+
+import hu.psprog.leaflet.tms.core.config.StorageProperties;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of the recently changed packs (by their names and IDs), so the reads following a change (bundle rebuilds and cache
+ * repopulation) can be sent to the primary instead of a possibly lagging secondary member. Reads of a pack are considered to follow
+ * a change for the configured max staleness of the read routing (secondaries lagging behind more are not eligible to serve
+ * replica routed reads), or for 90 seconds (the minimum max staleness accepted by the server) if no max staleness is configured.
+ * Changes are tracked per node, in memory: a node only knows about the changes written through itself. In a multi-node deployment,
+ * the other nodes keep serving their cached packs until the cache time-to-live passes (pack change events are not propagated either),
+ * then may reload them from a secondary lagging behind by at most the max staleness - so they converge within the cache time-to-live
+ * plus the max staleness. Admin reads by ID are not affected, as they always use the read preference of the connection.
+ * Deployments requiring read-your-writes across nodes should route public reads to the primary ({@code DEFAULT} or {@code PRIMARY} mode).
+ *
+ * @author Peter Smith
+ */
+@Component
+public class RecentWriteTracker {
+
+    private static final Duration DEFAULT_WINDOW = Duration.ofSeconds(90);
+
+    private final Map<Object, Long> lastWrites = new ConcurrentHashMap<>();
+    private final StorageProperties storageProperties;
+    private final Clock clock;
+
+    @Autowired
+    public RecentWriteTracker(StorageProperties storageProperties) {
+        this(storageProperties, Clock.systemUTC());
+    }
+
+    RecentWriteTracker(StorageProperties storageProperties, Clock clock) {
+        this.storageProperties = storageProperties;
+        this.clock = clock;
+    }
+
+    /**
+     * Records a change of the given pack (and so of its pack name).
+     * Must be called after the change has been written, but before any cache of the pack is evicted.
+     *
+     * @param translationPack the changed pack
+     */
+    public void recordWrite(TranslationPack translationPack) {
+
+        long now = clock.millis();
+        long window = getWindow();
+        lastWrites.values().removeIf(writtenAt -> now - writtenAt >= window);
+        lastWrites.put(translationPack.getPackName(), now);
+        if (Objects.nonNull(translationPack.getId())) {
+            lastWrites.put(translationPack.getId(), now);
+        }
+    }
+
+    /**
+     * Checks whether any of the given pack names has been changed recently.
+     *
+     * @param packNames pack names to check
+     * @return {@code true} if reads of the given pack names should be sent to the primary, {@code false} otherwise
+     */
+    public boolean isRecentlyWritten(Collection<String> packNames) {
+        return isAnyRecentlyWritten(packNames);
+    }
+
+    /**
+     * Checks whether any of the given packs has been changed recently.
+     *
+     * @param packIDs IDs of the packs to check
+     * @return {@code true} if reads of the given packs should be sent to the primary, {@code false} otherwise
+     */
+    public boolean isRecentlyWrittenByID(Collection<UUID> packIDs) {
+        return isAnyRecentlyWritten(packIDs);
+    }
+
+    private boolean isAnyRecentlyWritten(Collection<?> keys) {
+
+        if (lastWrites.isEmpty()) {
+            return false;
+        }
+
+        long now = clock.millis();
+        long window = getWindow();
+
+        return keys.stream()
+                .map(lastWrites::get)
+                .filter(Objects::nonNull)
+                .anyMatch(writtenAt -> now - writtenAt < window);
+    }
+
+    private long getWindow() {
+        return Objects.requireNonNullElse(storageProperties.getReadRouting().getMaxStaleness(), DEFAULT_WINDOW).toMillis();
+    }
+}
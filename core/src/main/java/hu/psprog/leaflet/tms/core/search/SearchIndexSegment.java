@@ -0,0 +1,196 @@
+package hu.psprog.leaflet.tms.core.search;
+
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchHit;
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchQuery;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Immutable trigram index over the definitions of the latest enabled packs of a single pack name, in all of their locales.
+ * Every key and value is indexed by all of its (lowercased) character trigrams; a query is answered by intersecting
+ * the posting lists of its trigrams, then verifying the candidates by substring matching.
+ * Queries shorter than a trigram fall back to scanning the segment.
+ *
+ * @author Peter Smith
+ */
+final class SearchIndexSegment {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final List<Entry> entries;
+    private final Map<Long, int[]> postings;
+
+    private SearchIndexSegment(List<Entry> entries, Map<Long, int[]> postings) {
+        this.entries = entries;
+        this.postings = postings;
+    }
+
+    /**
+     * Builds a segment of the given packs.
+     *
+     * @param translationPacks latest enabled packs of a single pack name (one per locale)
+     * @return built {@link SearchIndexSegment}
+     */
+    static SearchIndexSegment build(Collection<TranslationPack> translationPacks) {
+
+        List<Entry> entries = new ArrayList<>();
+        Map<Long, PostingListBuilder> postingListBuilders = new HashMap<>();
+        translationPacks.stream()
+                .sorted(Comparator.comparing(translationPack -> translationPack.getLocale().toLanguageTag()))
+                .forEach(translationPack -> Objects.requireNonNullElse(translationPack.getDefinitions(), List.<TranslationDefinition>of())
+                        .forEach(definition -> {
+                            Entry entry = new Entry(translationPack.getId(), translationPack.getPackName(), translationPack.getLocale(),
+                                    definition.getKey(), definition.getValue(), normalize(definition.getKey()), normalize(definition.getValue()));
+                            int entryID = entries.size();
+                            entries.add(entry);
+                            addGrams(postingListBuilders, entry.normalizedKey(), entryID);
+                            addGrams(postingListBuilders, entry.normalizedValue(), entryID);
+                        }));
+
+        Map<Long, int[]> postings = new HashMap<>(postingListBuilders.size());
+        postingListBuilders.forEach((gram, builder) -> postings.put(gram, builder.toArray()));
+
+        return new SearchIndexSegment(List.copyOf(entries), postings);
+    }
+
+    /**
+     * Collects the hits of the given query into the given list, until the list reaches the query limit.
+     *
+     * @param query {@link DefinitionSearchQuery} to answer
+     * @param normalizedText lowercased query text
+     * @param hits list to collect hits into
+     */
+    void search(DefinitionSearchQuery query, String normalizedText, List<DefinitionSearchHit> hits) {
+
+        if (normalizedText.length() < GRAM_LENGTH) {
+            for (int entryID = 0; entryID < entries.size() && hits.size() < query.limit(); entryID++) {
+                collect(query, normalizedText, entries.get(entryID), hits);
+            }
+            return;
+        }
+
+        int[] candidates = findCandidates(normalizedText);
+        for (int index = 0; index < candidates.length && hits.size() < query.limit(); index++) {
+            collect(query, normalizedText, entries.get(candidates[index]), hits);
+        }
+    }
+
+    /**
+     * Returns the number of indexed definitions.
+     *
+     * @return number of indexed definitions
+     */
+    int size() {
+        return entries.size();
+    }
+
+    static String normalize(String text) {
+        return Objects.isNull(text)
+                ? ""
+                : text.toLowerCase(Locale.ROOT);
+    }
+
+    private int[] findCandidates(String normalizedText) {
+
+        int[][] postingLists = new int[normalizedText.length() - GRAM_LENGTH + 1][];
+        for (int position = 0; position < postingLists.length; position++) {
+            int[] postingList = postings.getOrDefault(gramAt(normalizedText, position), NO_POSTINGS);
+            if (postingList.length == 0) {
+                return NO_POSTINGS;
+            }
+            postingLists[position] = postingList;
+        }
+
+        Arrays.sort(postingLists, Comparator.comparingInt(postingList -> postingList.length));
+        int[] candidates = postingLists[0];
+        for (int index = 1; index < postingLists.length && candidates.length > 0; index++) {
+            candidates = intersect(candidates, postingLists[index]);
+        }
+
+        return candidates;
+    }
+
+    private void collect(DefinitionSearchQuery query, String normalizedText, Entry entry, List<DefinitionSearchHit> hits) {
+
+        boolean keyMatches = query.scope() != DefinitionSearchQuery.Scope.VALUES && entry.normalizedKey().contains(normalizedText);
+        boolean valueMatches = query.scope() != DefinitionSearchQuery.Scope.KEYS && entry.normalizedValue().contains(normalizedText);
+        boolean localeMatches = query.locales().isEmpty() || query.locales().contains(entry.locale());
+
+        if ((keyMatches || valueMatches) && localeMatches) {
+            hits.add(new DefinitionSearchHit(entry.packId(), entry.packName(), entry.locale(), entry.key(), entry.value()));
+        }
+    }
+
+    private static void addGrams(Map<Long, PostingListBuilder> postingListBuilders, String normalizedText, int entryID) {
+        for (int position = 0; position <= normalizedText.length() - GRAM_LENGTH; position++) {
+            postingListBuilders.computeIfAbsent(gramAt(normalizedText, position), gram -> new PostingListBuilder()).add(entryID);
+        }
+    }
+
+    private static long gramAt(String text, int position) {
+        return ((long) text.charAt(position) << 32)
+                | ((long) text.charAt(position + 1) << 16)
+                | text.charAt(position + 2);
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+
+        int[] result = new int[Math.min(left.length, right.length)];
+        int leftIndex = 0;
+        int rightIndex = 0;
+        int count = 0;
+        while (leftIndex < left.length && rightIndex < right.length) {
+            if (left[leftIndex] < right[rightIndex]) {
+                leftIndex++;
+            } else if (left[leftIndex] > right[rightIndex]) {
+                rightIndex++;
+            } else {
+                result[count++] = left[leftIndex];
+                leftIndex++;
+                rightIndex++;
+            }
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    private record Entry(UUID packId, String packName, Locale locale, String key, String value, String normalizedKey, String normalizedValue) {
+    }
+
+    /**
+     * Growable, duplicate-free (as entry IDs are added in increasing order) posting list.
+     */
+    private static final class PostingListBuilder {
+
+        private int[] entryIDs = new int[4];
+        private int size;
+
+        void add(int entryID) {
+
+            if (size > 0 && entryIDs[size - 1] == entryID) {
+                return;
+            }
+
+            if (size == entryIDs.length) {
+                entryIDs = Arrays.copyOf(entryIDs, size * 2);
+            }
+            entryIDs[size++] = entryID;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(entryIDs, size);
+        }
+    }
+}
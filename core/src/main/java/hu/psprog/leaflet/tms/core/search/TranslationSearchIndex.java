@@ -0,0 +1,174 @@
+package hu.psprog.leaflet.tms.core.search;
+
+import hu.psprog.leaflet.tms.core.config.SearchProperties;
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchHit;
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchQuery;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.event.TranslationPackChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-process search index over the definitions of the latest enabled translation packs.
+ * The index consists of one trigram index segment per pack name (covering every locale of the pack, e.g. both hu and hu_HU),
+ * built lazily on first search of the pack name, and dropped (thus rebuilt on next search) when any pack of that name changes
+ * or the segment gets older than its time-to-live.
+ * A generation counter per pack name makes sure a segment built from data loaded before a change is never stored.
+ * The total number of indexed definitions is bounded: storing a segment drops the oldest ones over the limit,
+ * while a segment exceeding the limit on its own is only used for the search it was built for.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class TranslationSearchIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TranslationSearchIndex.class);
+
+    private final Map<String, SegmentEntry> segments = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Set<String> knownPackNames = ConcurrentHashMap.newKeySet();
+    private final Object packNamesLock = new Object();
+    private final SearchProperties searchProperties;
+    private final Clock clock;
+    private volatile boolean packNamesLoaded;
+
+    @Autowired
+    public TranslationSearchIndex(SearchProperties searchProperties) {
+        this(searchProperties, Clock.systemUTC());
+    }
+
+    TranslationSearchIndex(SearchProperties searchProperties, Clock clock) {
+        this.searchProperties = searchProperties;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the definitions matching the given query, ordered by pack name and locale, up to the query limit.
+     *
+     * @param query {@link DefinitionSearchQuery} to answer
+     * @param packNameSupplier supplier of all existing pack names (called once, when the query is not filtered by pack names)
+     * @param packLoader loader of the latest enabled packs of a pack name, in all available locales
+     * @return list of matching {@link DefinitionSearchHit} objects
+     */
+    public List<DefinitionSearchHit> search(DefinitionSearchQuery query, Supplier<List<String>> packNameSupplier,
+                                            Function<String, Collection<TranslationPack>> packLoader) {
+
+        String normalizedText = SearchIndexSegment.normalize(query.text());
+        List<String> packNames = query.packNames().isEmpty()
+                ? getAllPackNames(packNameSupplier)
+                : query.packNames().stream().distinct().sorted().toList();
+
+        List<DefinitionSearchHit> hits = new ArrayList<>();
+        for (String packName : packNames) {
+            if (hits.size() >= query.limit()) {
+                break;
+            }
+            getSegment(packName, packLoader).search(query, normalizedText, hits);
+        }
+
+        return hits;
+    }
+
+    /**
+     * Drops the segment of the changed pack, so it is rebuilt on next search.
+     *
+     * @param event {@link TranslationPackChangedEvent} holding the name of the changed pack
+     */
+    @EventListener
+    public synchronized void onTranslationPackChanged(TranslationPackChangedEvent event) {
+        generation(event.packName()).incrementAndGet();
+        segments.remove(event.packName());
+        knownPackNames.add(event.packName());
+    }
+
+    /**
+     * Returns the number of definitions in the currently built segments.
+     *
+     * @return number of indexed definitions
+     */
+    public int size() {
+        return segments.values().stream()
+                .mapToInt(segmentEntry -> segmentEntry.segment().size())
+                .sum();
+    }
+
+    private SearchIndexSegment getSegment(String packName, Function<String, Collection<TranslationPack>> packLoader) {
+
+        SegmentEntry segmentEntry = segments.get(packName);
+        long now = clock.millis();
+        if (Objects.nonNull(segmentEntry) && now - segmentEntry.builtAt() < searchProperties.getSegmentTimeToLive().toMillis()) {
+            return segmentEntry.segment();
+        }
+
+        long generationBeforeLoad = generation(packName).get();
+        SearchIndexSegment segment = SearchIndexSegment.build(packLoader.apply(packName));
+        store(packName, new SegmentEntry(segment, now), generationBeforeLoad);
+
+        return segment;
+    }
+
+    private synchronized void store(String packName, SegmentEntry segmentEntry, long generationBeforeLoad) {
+
+        int maxIndexedDefinitions = searchProperties.getMaxIndexedDefinitions();
+        if (generation(packName).get() != generationBeforeLoad) {
+            return;
+        }
+
+        if (segmentEntry.segment().size() > maxIndexedDefinitions) {
+            LOGGER.warn("Pack [{}] has {} definitions, exceeding the search index limit of {}, not indexing it",
+                    packName, segmentEntry.segment().size(), maxIndexedDefinitions);
+            segments.remove(packName);
+            return;
+        }
+
+        segments.put(packName, segmentEntry);
+        int indexedDefinitions = size();
+        while (indexedDefinitions > maxIndexedDefinitions) {
+            String oldestPackName = segments.entrySet().stream()
+                    .filter(entry -> !entry.getKey().equals(packName))
+                    .min(Comparator.comparingLong(entry -> entry.getValue().builtAt()))
+                    .map(Map.Entry::getKey)
+                    .orElseThrow();
+            indexedDefinitions -= segments.remove(oldestPackName).segment().size();
+        }
+    }
+
+    private List<String> getAllPackNames(Supplier<List<String>> packNameSupplier) {
+
+        if (!packNamesLoaded) {
+            synchronized (packNamesLock) {
+                if (!packNamesLoaded) {
+                    knownPackNames.addAll(packNameSupplier.get());
+                    packNamesLoaded = true;
+                }
+            }
+        }
+
+        return knownPackNames.stream()
+                .sorted()
+                .toList();
+    }
+
+    private AtomicLong generation(String packName) {
+        return generations.computeIfAbsent(packName, key -> new AtomicLong());
+    }
+
+    private record SegmentEntry(SearchIndexSegment segment, long builtAt) {
+    }
+}
@@ -1,12 +1,19 @@
 package hu.psprog.leaflet.tms.core.service;
 
+import hu.psprog.leaflet.tms.core.domain.DefinitionDiffEntry;
+import hu.psprog.leaflet.tms.core.domain.KeyRange;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
 import hu.psprog.leaflet.tms.core.entity.TranslationPack;
 import hu.psprog.leaflet.tms.core.exception.TranslationPackCreationException;
 import hu.psprog.leaflet.tms.core.exception.TranslationPackNotFoundException;
+import hu.psprog.leaflet.tms.core.exception.TranslationPackPublicationException;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Translation packs handling operations interface.
@@ -20,6 +27,8 @@ public interface TranslationManagementService {
      * Non-existing packs will simply be skipped.
      * If a pack exists with the given, it will be returned in all available, enabled languages.
      * If a pack has multiple versions, the latest enabled will be returned.
+     * Once a version of a pack has been published in a locale (see {@link #publishPack(UUID)}), the published version
+     * is returned instead in that locale, regardless of its creation date, as long as it is enabled.
      *
      * @param packs pack names to retrieve
      * @return available {@link TranslationPack}s as {@link Set}
@@ -27,9 +36,72 @@ public interface TranslationManagementService {
     Set<TranslationPack> retrieveLatestEnabledPacks(List<String> packs);
 
     /**
-     * Retrieves all available translation pack.
+     * Retrieves latest enabled translation packs by their names, in every available locale.
+     * Works as {@link #retrieveLatestEnabledPacks(List)}, except that packs are not collapsed by language,
+     * i.e. the latest enabled pack of every stored locale is returned (e.g. both of hu and hu_HU).
      *
-     * @return List of {@link TranslationPack} objects
+     * @param packs pack names to retrieve
+     * @return available {@link TranslationPack}s as {@link List}
+     */
+    List<TranslationPack> retrieveLatestEnabledPacksInAllLocales(List<String> packs);
+
+    /**
+     * Retrieves latest enabled translation packs by their names, resolved for the given locale.
+     * Every pack is returned once (if any locale of the fallback chain of the requested locale is available for it),
+     * holding the definitions of its fallback chain merged into a single key map, the most specific locale taking precedence.
+     * Non-existing packs will simply be skipped.
+     *
+     * @param packs pack names to retrieve
+     * @param locale requested {@link Locale}
+     * @return resolved {@link TranslationPack}s as {@link Set}
+     */
+    Set<TranslationPack> retrieveLatestEnabledPacks(List<String> packs, Locale locale);
+
+    /**
+     * Retrieves latest enabled translation packs by their names, restricted to the given locales.
+     * Works as {@link #retrieveLatestEnabledPacks(List)}, except that only the packs stored in exactly the requested locales
+     * are returned (without fallback resolution), and only those are loaded from the database.
+     *
+     * @param packs pack names to retrieve
+     * @param locales requested {@link Locale}s
+     * @return available {@link TranslationPack}s in the requested locales as {@link Set}
+     */
+    Set<TranslationPack> retrieveLatestEnabledPacksInLocales(List<String> packs, List<Locale> locales);
+
+    /**
+     * Retrieves the same translation packs as {@link #retrieveLatestEnabledPacks(List)}, but without guaranteeing their definitions to be loaded.
+     * Meant for deciding whether the selected packs have changed (e.g. for conditional HTTP requests) as cheap as possible.
+     *
+     * @param packs pack names to retrieve
+     * @return available {@link TranslationPack}s as {@link Set}, definitions possibly not populated
+     */
+    Set<TranslationPack> retrieveLatestEnabledPacksMetaInfo(List<String> packs);
+
+    /**
+     * Retrieves the source packs of the resolution done by {@link #retrieveLatestEnabledPacks(List, Locale)}, without guaranteeing their
+     * definitions to be loaded - i.e. the latest enabled packs of the fallback chain of the requested locale, for every pack name.
+     * Resolved packs change whenever any of their sources does, thus these are the packs to decide that on.
+     *
+     * @param packs pack names to retrieve
+     * @param locale requested {@link Locale}
+     * @return source {@link TranslationPack}s of the resolution as {@link List}, definitions possibly not populated
+     */
+    List<TranslationPack> retrieveLatestEnabledPacksMetaInfo(List<String> packs, Locale locale);
+
+    /**
+     * Retrieves the same translation packs as {@link #retrieveLatestEnabledPacksInLocales(List, List)},
+     * but without guaranteeing their definitions to be loaded.
+     *
+     * @param packs pack names to retrieve
+     * @param locales requested {@link Locale}s
+     * @return available {@link TranslationPack}s in the requested locales as {@link Set}, definitions possibly not populated
+     */
+    Set<TranslationPack> retrieveLatestEnabledPacksMetaInfoInLocales(List<String> packs, List<Locale> locales);
+
+    /**
+     * Retrieves all available translation pack, without loading their definitions.
+     *
+     * @return List of {@link TranslationPack} objects, definitions not populated
      */
     List<TranslationPack> retrieveAllTranslationPack();
 
@@ -42,6 +114,39 @@ public interface TranslationManagementService {
      */
     TranslationPack getPack(UUID packID) throws TranslationPackNotFoundException;
 
+    /**
+     * Retrieves pack identified by given ID as {@link UUID}, without loading its definitions.
+     *
+     * @param packID ID of the pack to return
+     * @return existing {@link TranslationPack} identified by given ID (definitions not populated) or exception if not found
+     * @throws TranslationPackNotFoundException if given translation pack not found
+     */
+    TranslationPack getPackMetaInfo(UUID packID) throws TranslationPackNotFoundException;
+
+    /**
+     * Retrieves the definitions of the pack identified by given ID, falling into the given key range.
+     * For chunked packs, only the chunks overlapping the range are loaded.
+     * The returned stream may hold an open database cursor, thus it must be closed.
+     *
+     * @param packID ID of the pack to return definitions of
+     * @param keyRange {@link KeyRange} to filter definitions to
+     * @return definitions as {@link Stream}
+     * @throws TranslationPackNotFoundException if given translation pack not found
+     */
+    Stream<TranslationDefinition> retrieveDefinitions(UUID packID, KeyRange keyRange) throws TranslationPackNotFoundException;
+
+    /**
+     * Computes the differences (added, removed and changed keys) between the definitions of the given packs.
+     * Differences are computed lazily in a single pass over the key-ordered definitions of both packs,
+     * thus the returned stream may hold open database cursors and must be closed.
+     *
+     * @param sourcePackID ID of the source (older) pack
+     * @param targetPackID ID of the target (newer) pack
+     * @return differences as {@link Stream}, ordered by key
+     * @throws TranslationPackNotFoundException if any of the given translation packs not found
+     */
+    Stream<DefinitionDiffEntry> diffPacks(UUID sourcePackID, UUID targetPackID) throws TranslationPackNotFoundException;
+
     /**
      * Creates a new translation pack.
      *
@@ -51,6 +156,18 @@ public interface TranslationManagementService {
      */
     TranslationPack createPack(TranslationPack translationPackCreationRequest) throws TranslationPackCreationException;
 
+    /**
+     * Creates a new translation pack, consuming its definitions incrementally from the given iterator.
+     * Definitions are written in chunks as they are consumed, so the pack is never materialized in memory as a whole.
+     * Failures raised by the iterator are propagated after the partially stored definitions are removed.
+     *
+     * @param translationPackHeader translation pack data to create (definitions are ignored)
+     * @param definitions definitions of the pack, preferably ordered by key
+     * @return created {@link TranslationPack} (definitions not populated)
+     * @throws TranslationPackCreationException if translation pack could not be created
+     */
+    TranslationPack createPack(TranslationPack translationPackHeader, Iterator<TranslationDefinition> definitions) throws TranslationPackCreationException;
+
     /**
      * Changes status (enabled/disabled) of the translation pack identified by given ID.
      *
@@ -62,9 +179,32 @@ public interface TranslationManagementService {
 
     /**
      * Deletes the translation pack identified by given ID.
+     * If the pack is the published version of its pack name and locale, the previously published version is restored
+     * (or the locale is served as never published if there is none).
      *
      * @param packID ID of the pack to delete
      * @throws TranslationPackNotFoundException if given translation pack not found
      */
     void deletePack(UUID packID) throws TranslationPackNotFoundException;
+
+    /**
+     * Publishes the translation pack identified by given ID, replacing the currently published version
+     * of the same pack name and locale in a single step.
+     *
+     * @param packID ID of the pack to publish
+     * @return published {@link TranslationPack} (definitions not populated)
+     * @throws TranslationPackNotFoundException if given translation pack not found
+     * @throws TranslationPackPublicationException if given translation pack is disabled
+     */
+    TranslationPack publishPack(UUID packID) throws TranslationPackNotFoundException, TranslationPackPublicationException;
+
+    /**
+     * Restores the previously published version of the given pack name and locale in a single step.
+     *
+     * @param packName name of the pack to roll back
+     * @param locale {@link Locale} of the pack to roll back
+     * @return restored {@link TranslationPack} (definitions not populated)
+     * @throws TranslationPackNotFoundException if there is no previously published version to restore
+     */
+    TranslationPack rollbackPack(String packName, Locale locale) throws TranslationPackNotFoundException;
 }
@@ -0,0 +1,24 @@
+package hu.psprog.leaflet.tms.core.service;
+
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchHit;
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchQuery;
+
+import java.util.List;
+
+/**
+ * Translation definition search operations interface.
+ *
+ * @author Peter Smith
+ */
+public interface TranslationSearchService {
+
+    /**
+     * Searches the definitions of the latest enabled translation packs.
+     * Query text is matched case-insensitively as substring of the definition keys and/or values.
+     * Query limit is capped at the configured maximum (non-positive limit falls back to the configured default).
+     *
+     * @param query {@link DefinitionSearchQuery} to answer
+     * @return list of matching {@link DefinitionSearchHit} objects, ordered by pack name and locale
+     */
+    List<DefinitionSearchHit> search(DefinitionSearchQuery query);
+}
@@ -1,20 +1,49 @@
 package hu.psprog.leaflet.tms.core.service.impl;
 
+import hu.psprog.leaflet.tms.core.bundle.BundleKey;
+import hu.psprog.leaflet.tms.core.bundle.TranslationBundleManager;
+import hu.psprog.leaflet.tms.core.cache.ResolvedPackCache;
+import hu.psprog.leaflet.tms.core.cache.SingleFlight;
+import hu.psprog.leaflet.tms.core.cache.TranslationPackCache;
+import hu.psprog.leaflet.tms.core.dao.PublishedPackPointerDAO;
 import hu.psprog.leaflet.tms.core.dao.TranslationPackDAO;
+import hu.psprog.leaflet.tms.core.diff.DefinitionDiffer;
+import hu.psprog.leaflet.tms.core.domain.DefinitionDiffEntry;
+import hu.psprog.leaflet.tms.core.domain.KeyRange;
+import hu.psprog.leaflet.tms.core.entity.PublishedPackPointer;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
 import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.event.TranslationPackChangedEvent;
 import hu.psprog.leaflet.tms.core.exception.TranslationPackCreationException;
 import hu.psprog.leaflet.tms.core.exception.TranslationPackNotFoundException;
+import hu.psprog.leaflet.tms.core.exception.TranslationPackPublicationException;
+import hu.psprog.leaflet.tms.core.locale.LocaleFallbackResolver;
+import hu.psprog.leaflet.tms.core.retrieval.ParallelRetrievalExecutor;
+import hu.psprog.leaflet.tms.core.retrieval.PublishedPackSelector;
+import hu.psprog.leaflet.tms.core.retrieval.RecentWriteTracker;
 import hu.psprog.leaflet.tms.core.service.TranslationManagementService;
+import hu.psprog.leaflet.tms.core.snapshot.TranslationSnapshotManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of {@link TranslationManagementService}.
@@ -24,29 +53,108 @@ import java.util.stream.Collectors;
 @Service
 public class TranslationManagementServiceImpl implements TranslationManagementService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(TranslationManagementServiceImpl.class);
+
     private static final Comparator<TranslationPack> TRANSLATION_PACK_COMPARATOR = Comparator
             .comparing(TranslationPack::getPackName)
             .thenComparing(translationPack -> translationPack.getLocale().getLanguage());
+    private static final Comparator<TranslationPack> CREATION_DATE_COMPARATOR = Comparator.comparing(TranslationPack::getCreated);
 
     private final TranslationPackDAO translationPackDAO;
+    private final PublishedPackPointerDAO publishedPackPointerDAO;
+    private final PublishedPackSelector publishedPackSelector;
+    private final TranslationPackCache translationPackCache;
+    private final ResolvedPackCache resolvedPackCache;
+    private final LocaleFallbackResolver localeFallbackResolver;
+    private final TranslationBundleManager translationBundleManager;
+    private final TranslationSnapshotManager translationSnapshotManager;
+    private final ParallelRetrievalExecutor parallelRetrievalExecutor;
+    private final RecentWriteTracker recentWriteTracker;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final SingleFlight<LoadKey, Map<String, List<TranslationPack>>> packLoaderSingleFlight = new SingleFlight<>();
 
     @Autowired
-    public TranslationManagementServiceImpl(TranslationPackDAO translationPackDAO) {
+    public TranslationManagementServiceImpl(TranslationPackDAO translationPackDAO, PublishedPackPointerDAO publishedPackPointerDAO,
+                                            PublishedPackSelector publishedPackSelector, TranslationPackCache translationPackCache,
+                                            ResolvedPackCache resolvedPackCache, LocaleFallbackResolver localeFallbackResolver,
+                                            TranslationBundleManager translationBundleManager,
+                                            TranslationSnapshotManager translationSnapshotManager, ParallelRetrievalExecutor parallelRetrievalExecutor,
+                                            RecentWriteTracker recentWriteTracker, ApplicationEventPublisher applicationEventPublisher) {
         this.translationPackDAO = translationPackDAO;
+        this.publishedPackPointerDAO = publishedPackPointerDAO;
+        this.publishedPackSelector = publishedPackSelector;
+        this.translationPackCache = translationPackCache;
+        this.resolvedPackCache = resolvedPackCache;
+        this.localeFallbackResolver = localeFallbackResolver;
+        this.translationBundleManager = translationBundleManager;
+        this.translationSnapshotManager = translationSnapshotManager;
+        this.parallelRetrievalExecutor = parallelRetrievalExecutor;
+        this.recentWriteTracker = recentWriteTracker;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     @Override
     public Set<TranslationPack> retrieveLatestEnabledPacks(List<String> packs) {
+        return selectLatestPerLanguage(translationPackCache.get(packs, this::loadLatestEnabledPacksCoalesced));
+    }
 
-        return translationPackDAO.findAllByPackNameIn(packs).stream()
-                .filter(TranslationPack::isEnabled)
-                .sorted(Comparator.comparing(TranslationPack::getCreated).reversed())
-                .collect(Collectors.toCollection(() -> new TreeSet<>(TRANSLATION_PACK_COMPARATOR)));
+    @Override
+    public List<TranslationPack> retrieveLatestEnabledPacksInAllLocales(List<String> packs) {
+        return translationPackCache.get(packs, this::loadLatestEnabledPacksCoalesced);
+    }
+
+    @Override
+    public Set<TranslationPack> retrieveLatestEnabledPacks(List<String> packs, Locale locale) {
+
+        BundleKey bundleKey = BundleKey.of(packs, locale);
+        Optional<List<TranslationPack>> bundledPacks = translationBundleManager.findBundle(bundleKey,
+                () -> toIDs(retrieveLatestEnabledPacksMetaInfo(packs, locale)));
+        if (bundledPacks.isPresent()) {
+            return toSortedSet(bundledPacks.get());
+        }
+
+        ResolvedPacks resolvedPacks = resolveLatestEnabledPacks(packs, locale);
+        if (translationBundleManager.shouldMaterialize(bundleKey)) {
+            translationBundleManager.store(bundleKey, resolvedPacks.packs(), resolvedPacks.sourceIDs());
+        }
+
+        return resolvedPacks.packs();
+    }
+
+    @Override
+    public Set<TranslationPack> retrieveLatestEnabledPacksInLocales(List<String> packs, List<Locale> locales) {
+
+        List<TranslationPack> latestEnabledPacks = translationPackCache.getIfPresent(packs)
+                .map(cachedPacks -> filterLocales(cachedPacks, locales))
+                .orElseGet(() -> translationPackCache.get(toLocaleScopedKeys(packs, locales),
+                        localeScopedKeys -> loadLatestEnabledPacksInLocalesCoalesced(localeScopedKeys, packs, locales)));
+
+        return selectLatestPerLanguage(latestEnabledPacks);
+    }
+
+    @Override
+    public Set<TranslationPack> retrieveLatestEnabledPacksMetaInfoInLocales(List<String> packs, List<Locale> locales) {
+        return selectLatestPerLanguage(filterLocales(getLatestEnabledPacksMetaInfo(packs), locales));
+    }
+
+    @Override
+    public Set<TranslationPack> retrieveLatestEnabledPacksMetaInfo(List<String> packs) {
+        return selectLatestPerLanguage(getLatestEnabledPacksMetaInfo(packs));
+    }
+
+    @Override
+    public List<TranslationPack> retrieveLatestEnabledPacksMetaInfo(List<String> packs, Locale locale) {
+
+        return getLatestEnabledPacksMetaInfo(packs).stream()
+                .collect(Collectors.groupingBy(TranslationPack::getPackName))
+                .values().stream()
+                .flatMap(latestPacks -> localeFallbackResolver.selectSources(locale, latestPacks).stream())
+                .toList();
     }
 
     @Override
     public List<TranslationPack> retrieveAllTranslationPack() {
-        return translationPackDAO.findAll();
+        return translationPackDAO.findAllMetaInfo();
     }
 
     @Override
@@ -57,6 +165,41 @@ public class TranslationManagementServiceImpl implements TranslationManagementSe
         return translationPackDAO.getByID(packID);
     }
 
+    @Override
+    public TranslationPack getPackMetaInfo(UUID packID) throws TranslationPackNotFoundException {
+
+        TranslationPack translationPack = translationPackDAO.getMetaInfoByID(packID);
+
+        if (Objects.isNull(translationPack)) {
+            throw new TranslationPackNotFoundException(packID);
+        }
+
+        return translationPack;
+    }
+
+    @Override
+    public Stream<TranslationDefinition> retrieveDefinitions(UUID packID, KeyRange keyRange) throws TranslationPackNotFoundException {
+
+        assertPackExistence(packID);
+
+        return translationPackDAO.streamDefinitions(packID, keyRange);
+    }
+
+    @Override
+    public Stream<DefinitionDiffEntry> diffPacks(UUID sourcePackID, UUID targetPackID) throws TranslationPackNotFoundException {
+
+        assertPackExistence(sourcePackID);
+        assertPackExistence(targetPackID);
+
+        Stream<TranslationDefinition> sourceDefinitions = translationPackDAO.streamDefinitionsOrderedByKey(sourcePackID);
+        try {
+            return DefinitionDiffer.diff(sourceDefinitions, translationPackDAO.streamDefinitionsOrderedByKey(targetPackID));
+        } catch (RuntimeException exception) {
+            sourceDefinitions.close();
+            throw exception;
+        }
+    }
+
     @Override
     public TranslationPack createPack(TranslationPack translationPackCreationRequest) throws TranslationPackCreationException {
 
@@ -66,23 +209,247 @@ public class TranslationManagementServiceImpl implements TranslationManagementSe
             throw new TranslationPackCreationException(translationPackCreationRequest);
         }
 
+        publishChange(createdTranslationPack);
+
+        return createdTranslationPack;
+    }
+
+    @Override
+    public TranslationPack createPack(TranslationPack translationPackHeader, Iterator<TranslationDefinition> definitions)
+            throws TranslationPackCreationException {
+
+        TranslationPack createdTranslationPack = translationPackDAO.save(translationPackHeader, definitions);
+
+        if (Objects.isNull(createdTranslationPack)) {
+            throw new TranslationPackCreationException(translationPackHeader);
+        }
+
+        publishChange(createdTranslationPack);
+
         return createdTranslationPack;
     }
 
     @Override
     public TranslationPack changeStatus(UUID packID) throws TranslationPackNotFoundException {
 
-        assertPackExistence(packID);
-        translationPackDAO.setStatus(packID, !translationPackDAO.getByID(packID).isEnabled());
+        TranslationPack modifiedTranslationPack = translationPackDAO.toggleStatus(packID);
+        if (Objects.isNull(modifiedTranslationPack)) {
+            throw new TranslationPackNotFoundException(packID);
+        }
 
-        return translationPackDAO.getByID(packID);
+        publishChange(modifiedTranslationPack);
+
+        return modifiedTranslationPack;
     }
 
     @Override
     public void deletePack(UUID packID) throws TranslationPackNotFoundException {
 
-        assertPackExistence(packID);
+        TranslationPack translationPack = getPackMetaInfo(packID);
+        publishedPackPointerDAO.unpublish(translationPack);
         translationPackDAO.delete(packID);
+        publishChange(translationPack);
+    }
+
+    @Override
+    public TranslationPack publishPack(UUID packID) throws TranslationPackNotFoundException, TranslationPackPublicationException {
+
+        TranslationPack translationPack = getPackMetaInfo(packID);
+        if (!translationPack.isEnabled()) {
+            throw new TranslationPackPublicationException(packID);
+        }
+
+        publishedPackPointerDAO.publish(translationPack);
+        publishChange(translationPack);
+
+        return translationPack;
+    }
+
+    @Override
+    public TranslationPack rollbackPack(String packName, Locale locale) throws TranslationPackNotFoundException {
+
+        PublishedPackPointer publishedPackPointer = publishedPackPointerDAO.rollback(packName, locale);
+        if (Objects.isNull(publishedPackPointer)) {
+            throw new TranslationPackNotFoundException(packName, locale);
+        }
+
+        TranslationPack translationPack = getPackMetaInfo(publishedPackPointer.getPackID());
+        publishChange(translationPack);
+
+        return translationPack;
+    }
+
+    private ResolvedPacks resolveLatestEnabledPacks(List<String> packs, Locale locale) {
+
+        Map<String, List<TranslationPack>> latestEnabledPacksByName = translationPackCache.get(packs, this::loadLatestEnabledPacksCoalesced).stream()
+                .collect(Collectors.groupingBy(TranslationPack::getPackName));
+        List<String> packNames = packs.stream()
+                .distinct()
+                .toList();
+
+        Set<TranslationPack> resolvedPacks = packNames.stream()
+                .map(packName -> resolvedPackCache.resolve(packName, locale, latestEnabledPacksByName.getOrDefault(packName, List.of())))
+                .flatMap(Optional::stream)
+                .collect(Collectors.toCollection(() -> new TreeSet<>(TRANSLATION_PACK_COMPARATOR)));
+        List<TranslationPack> sources = packNames.stream()
+                .flatMap(packName -> localeFallbackResolver.selectSources(locale, latestEnabledPacksByName.getOrDefault(packName, List.of())).stream())
+                .toList();
+
+        return new ResolvedPacks(resolvedPacks, toIDs(sources));
+    }
+
+    private List<UUID> toIDs(List<TranslationPack> translationPacks) {
+
+        return translationPacks.stream()
+                .map(TranslationPack::getId)
+                .toList();
+    }
+
+    private List<TranslationPack> getLatestEnabledPacksMetaInfo(List<String> packs) {
+
+        return translationPackCache.getIfPresent(packs)
+                .orElseGet(() -> loadLatestEnabledPacksMetaInfo(packs).values().stream()
+                        .flatMap(List::stream)
+                        .toList());
+    }
+
+    private Map<String, List<TranslationPack>> loadLatestEnabledPacksCoalesced(List<String> packs) {
+
+        List<String> distinctPacks = packs.stream()
+                .distinct()
+                .toList();
+        List<String> loadKey = distinctPacks.stream()
+                .sorted()
+                .toList();
+
+        return packLoaderSingleFlight.execute(new LoadKey(loadKey, translationPackCache.getGeneration()), () -> loadLatestEnabledPacks(distinctPacks));
+    }
+
+    private Map<String, List<TranslationPack>> loadLatestEnabledPacksInLocalesCoalesced(List<String> localeScopedKeys, List<String> packs,
+                                                                                       List<Locale> locales) {
+
+        List<String> loadKey = localeScopedKeys.stream()
+                .distinct()
+                .sorted()
+                .toList();
+
+        return packLoaderSingleFlight.execute(new LoadKey(loadKey, translationPackCache.getGeneration()),
+                () -> loadLatestEnabledPacksInLocales(Set.copyOf(loadKey), packs, locales));
+    }
+
+    private Map<String, List<TranslationPack>> loadLatestEnabledPacksInLocales(Set<String> localeScopedKeys, List<String> packs, List<Locale> locales) {
+
+        List<String> missingPacks = packs.stream()
+                .distinct()
+                .filter(packName -> locales.stream().anyMatch(locale -> localeScopedKeys.contains(TranslationPackCache.localeScopedKey(packName, locale))))
+                .toList();
+        List<Locale> missingLocales = locales.stream()
+                .distinct()
+                .filter(locale -> missingPacks.stream().anyMatch(packName -> localeScopedKeys.contains(TranslationPackCache.localeScopedKey(packName, locale))))
+                .toList();
+
+        Map<String, List<TranslationPack>> latestEnabledPacks;
+        try {
+            latestEnabledPacks = publishedPackSelector.select(missingPacks, missingLocales, this::findAllByIdIn);
+        } catch (DataAccessException exception) {
+            latestEnabledPacks = translationSnapshotManager.findLatestEnabledPacks(missingPacks)
+                    .orElseThrow(() -> exception);
+        }
+
+        Map<String, List<TranslationPack>> latestEnabledPacksByKey = new HashMap<>();
+        localeScopedKeys.forEach(localeScopedKey -> latestEnabledPacksByKey.put(localeScopedKey, new ArrayList<>()));
+        latestEnabledPacks.values().stream()
+                .flatMap(List::stream)
+                .forEach(translationPack -> {
+                    List<TranslationPack> packsOfKey = latestEnabledPacksByKey.get(
+                            TranslationPackCache.localeScopedKey(translationPack.getPackName(), translationPack.getLocale()));
+                    if (Objects.nonNull(packsOfKey)) {
+                        packsOfKey.add(translationPack);
+                    }
+                });
+
+        return latestEnabledPacksByKey;
+    }
+
+    private Map<String, List<TranslationPack>> loadLatestEnabledPacks(List<String> packs) {
+
+        try {
+            return publishedPackSelector.select(packs, this::findAllByIdIn);
+        } catch (DataAccessException exception) {
+            return translationSnapshotManager.findLatestEnabledPacks(packs)
+                    .orElseThrow(() -> exception);
+        }
+    }
+
+    private List<TranslationPack> findAllByIdIn(List<UUID> packIDs) {
+
+        if (!parallelRetrievalExecutor.isParallel(packIDs.size())) {
+            return translationPackDAO.findAllByIdIn(packIDs);
+        }
+
+        return parallelRetrievalExecutor.map(packIDs, packID -> translationPackDAO.findAllByIdIn(List.of(packID))).stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private Map<String, List<TranslationPack>> loadLatestEnabledPacksMetaInfo(List<String> packs) {
+
+        try {
+            return publishedPackSelector.select(packs, translationPackDAO::findAllMetaInfoByIdIn);
+        } catch (DataAccessException exception) {
+            return translationSnapshotManager.findLatestEnabledPacks(packs)
+                    .orElseThrow(() -> exception);
+        }
+    }
+
+    private Set<TranslationPack> selectLatestPerLanguage(List<TranslationPack> latestEnabledPacks) {
+
+        return latestEnabledPacks.stream()
+                .sorted(CREATION_DATE_COMPARATOR.reversed())
+                .collect(Collectors.toCollection(() -> new TreeSet<>(TRANSLATION_PACK_COMPARATOR)));
+    }
+
+    private List<TranslationPack> filterLocales(List<TranslationPack> translationPacks, List<Locale> locales) {
+
+        return translationPacks.stream()
+                .filter(translationPack -> locales.contains(translationPack.getLocale()))
+                .toList();
+    }
+
+    private List<String> toLocaleScopedKeys(List<String> packs, List<Locale> locales) {
+
+        return packs.stream()
+                .distinct()
+                .flatMap(packName -> locales.stream()
+                        .distinct()
+                        .map(locale -> TranslationPackCache.localeScopedKey(packName, locale)))
+                .toList();
+    }
+
+    private Set<TranslationPack> toSortedSet(List<TranslationPack> translationPacks) {
+
+        Set<TranslationPack> sortedPacks = new TreeSet<>(TRANSLATION_PACK_COMPARATOR);
+        sortedPacks.addAll(translationPacks);
+
+        return sortedPacks;
+    }
+
+    private void publishChange(TranslationPack translationPack) {
+        recentWriteTracker.recordWrite(translationPack);
+        applicationEventPublisher.publishEvent(new TranslationPackChangedEvent(translationPack.getPackName()));
+        rebuildBundles(translationPack.getPackName());
+    }
+
+    private void rebuildBundles(String packName) {
+
+        try {
+            translationBundleManager.invalidate(packName).forEach(bundleKey -> {
+                ResolvedPacks resolvedPacks = resolveLatestEnabledPacks(bundleKey.packNames(), bundleKey.locale());
+                translationBundleManager.store(bundleKey, resolvedPacks.packs(), resolvedPacks.sourceIDs());
+            });
+        } catch (DataAccessException exception) {
+            LOGGER.warn("Failed to rebuild bundles of pack [{}], they will be rebuilt on their next request", packName, exception);
+        }
     }
 
     private void assertPackExistence(UUID packID) throws TranslationPackNotFoundException {
@@ -90,4 +457,8 @@ public class TranslationManagementServiceImpl implements TranslationManagementSe
             throw new TranslationPackNotFoundException(packID);
         }
     }
+
+    private record LoadKey(List<String> keys, long cacheGeneration) { }
+
+    private record ResolvedPacks(Set<TranslationPack> packs, List<UUID> sourceIDs) { }
 }
@@ -0,0 +1,49 @@
+package hu.psprog.leaflet.tms.core.service.impl;
+
+import hu.psprog.leaflet.tms.core.config.SearchProperties;
+import hu.psprog.leaflet.tms.core.dao.TranslationPackDAO;
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchHit;
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchQuery;
+import hu.psprog.leaflet.tms.core.search.TranslationSearchIndex;
+import hu.psprog.leaflet.tms.core.service.TranslationManagementService;
+import hu.psprog.leaflet.tms.core.service.TranslationSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Implementation of {@link TranslationSearchService}.
+ * Index segments are built from the latest enabled packs of every locale, as returned (and cached) by {@link TranslationManagementService}.
+ *
+ * @author Peter Smith
+ */
+@Service
+public class TranslationSearchServiceImpl implements TranslationSearchService {
+
+    private final TranslationSearchIndex translationSearchIndex;
+    private final TranslationManagementService translationManagementService;
+    private final TranslationPackDAO translationPackDAO;
+    private final SearchProperties searchProperties;
+
+    @Autowired
+    public TranslationSearchServiceImpl(TranslationSearchIndex translationSearchIndex, TranslationManagementService translationManagementService,
+                                        TranslationPackDAO translationPackDAO, SearchProperties searchProperties) {
+        this.translationSearchIndex = translationSearchIndex;
+        this.translationManagementService = translationManagementService;
+        this.translationPackDAO = translationPackDAO;
+        this.searchProperties = searchProperties;
+    }
+
+    @Override
+    public List<DefinitionSearchHit> search(DefinitionSearchQuery query) {
+
+        int limit = query.limit() > 0
+                ? Math.min(query.limit(), searchProperties.getMaxLimit())
+                : searchProperties.getDefaultLimit();
+        DefinitionSearchQuery cappedQuery = new DefinitionSearchQuery(query.text(), query.packNames(), query.locales(), query.scope(), limit);
+
+        return translationSearchIndex.search(cappedQuery, translationPackDAO::findAllPackNames,
+                packName -> translationManagementService.retrieveLatestEnabledPacksInAllLocales(List.of(packName)));
+    }
+}
@@ -0,0 +1,198 @@
+package hu.psprog.leaflet.tms.core.snapshot;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Read-only, memory-mapped view of a translation snapshot file written by {@link TranslationSnapshotWriter}.
+ * Opening a snapshot only reads its index; packs are decoded from the mapped file on demand,
+ * so the snapshot itself does not occupy heap memory. Reads use absolute positions only, thus instances are thread-safe.
+ *
+ * @author Peter Smith
+ */
+public final class TranslationSnapshot {
+
+    private static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES + Long.BYTES;
+    private static final int TRAILER_SIZE = Integer.BYTES + Integer.BYTES;
+
+    private final ByteBuffer buffer;
+    private final Instant created;
+    private final Map<String, Integer> index;
+
+    private TranslationSnapshot(ByteBuffer buffer, Instant created, Map<String, Integer> index) {
+        this.buffer = buffer;
+        this.created = created;
+        this.index = index;
+    }
+
+    /**
+     * Maps the given snapshot file into memory and reads its index.
+     *
+     * @param path path of the snapshot file
+     * @return opened {@link TranslationSnapshot}
+     * @throws IOException if the file could not be read or is not a valid snapshot file
+     */
+    public static TranslationSnapshot open(Path path) throws IOException {
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE + TRAILER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(String.format("Invalid translation snapshot file [%s]: unexpected size", path));
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        int trailerOffset = buffer.limit() - TRAILER_SIZE;
+        if (buffer.getInt(0) != TranslationSnapshotWriter.MAGIC
+                || buffer.getInt(trailerOffset + Integer.BYTES) != TranslationSnapshotWriter.MAGIC
+                || buffer.get(Integer.BYTES) != TranslationSnapshotWriter.FORMAT_VERSION) {
+            throw new IOException(String.format("Invalid translation snapshot file [%s]: unknown format", path));
+        }
+
+        try {
+            Reader reader = new Reader(buffer, buffer.getInt(trailerOffset));
+            int indexSize = reader.readInt();
+            Map<String, Integer> index = new HashMap<>(indexSize * 2);
+            for (int entry = 0; entry < indexSize; entry++) {
+                index.put(reader.readString(), reader.readInt());
+            }
+
+            return new TranslationSnapshot(buffer, Instant.ofEpochMilli(buffer.getLong(Integer.BYTES + Byte.BYTES)), index);
+        } catch (IndexOutOfBoundsException exception) {
+            throw new IOException(String.format("Invalid translation snapshot file [%s]: corrupted index", path), exception);
+        }
+    }
+
+    /**
+     * Returns the creation timestamp of the snapshot.
+     *
+     * @return creation timestamp as {@link Instant}
+     */
+    public Instant getCreated() {
+        return created;
+    }
+
+    /**
+     * Returns the number of pack names stored in the snapshot.
+     *
+     * @return number of pack names
+     */
+    public int getPackNameCount() {
+        return index.size();
+    }
+
+    /**
+     * Checks whether the given pack name was captured by the snapshot.
+     *
+     * @param packName pack name to check
+     * @return {@code true} if the pack name is present in the snapshot, {@code false} otherwise
+     */
+    public boolean contains(String packName) {
+        return index.containsKey(packName);
+    }
+
+    /**
+     * Decodes the packs stored for the given pack name.
+     *
+     * @param packName pack name to return packs of
+     * @return stored packs of the given pack name as {@link List}, empty list if the pack name is not present in the snapshot
+     */
+    public List<TranslationPack> getPacks(String packName) {
+
+        Integer offset = index.get(packName);
+        if (Objects.isNull(offset)) {
+            return List.of();
+        }
+
+        Reader reader = new Reader(buffer, offset);
+        int packCount = reader.readInt();
+        List<TranslationPack> translationPacks = new ArrayList<>(packCount);
+        for (int pack = 0; pack < packCount; pack++) {
+            translationPacks.add(readPack(reader));
+        }
+
+        return translationPacks;
+    }
+
+    private static TranslationPack readPack(Reader reader) {
+
+        UUID id = new UUID(reader.readLong(), reader.readLong());
+        String packName = reader.readString();
+        String languageTag = reader.readString();
+        boolean enabled = reader.readBoolean();
+        long created = reader.readLong();
+
+        int definitionCount = reader.readInt();
+        List<TranslationDefinition> definitions = new ArrayList<>(definitionCount);
+        for (int definition = 0; definition < definitionCount; definition++) {
+            definitions.add(new TranslationDefinition(reader.readString(), reader.readString()));
+        }
+
+        return TranslationPack.builder()
+                .id(id)
+                .packName(packName)
+                .locale(Objects.isNull(languageTag) ? null : Locale.forLanguageTag(languageTag))
+                .enabled(enabled)
+                .created(created == TranslationSnapshotWriter.NULL_TIMESTAMP ? null : new Date(created))
+                .definitions(definitions)
+                .build();
+    }
+
+    private static final class Reader {
+
+        private final ByteBuffer buffer;
+        private int position;
+
+        private Reader(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        private int readInt() {
+            int value = buffer.getInt(position);
+            position += Integer.BYTES;
+            return value;
+        }
+
+        private long readLong() {
+            long value = buffer.getLong(position);
+            position += Long.BYTES;
+            return value;
+        }
+
+        private boolean readBoolean() {
+            return buffer.get(position++) != 0;
+        }
+
+        private String readString() {
+
+            int length = readInt();
+            if (length == TranslationSnapshotWriter.NULL_LENGTH) {
+                return null;
+            }
+
+            byte[] bytes = new byte[length];
+            buffer.get(position, bytes);
+            position += length;
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
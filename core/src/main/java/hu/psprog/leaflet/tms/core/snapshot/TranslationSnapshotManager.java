@@ -0,0 +1,149 @@
+package hu.psprog.leaflet.tms.core.snapshot;
+
+import hu.psprog.leaflet.tms.core.config.SnapshotProperties;
+import hu.psprog.leaflet.tms.core.dao.TranslationPackDAO;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.retrieval.PublishedPackSelector;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the offline snapshot of the latest enabled translation packs.
+ * Once started, the snapshot is rewritten periodically from the database. Whenever the packs cannot be loaded
+ * from the database, they are served from the memory-mapped snapshot instead - either the one written by this instance,
+ * or (e.g. right after startup) the one found on disk. Packs are selected by {@link PublishedPackSelector},
+ * so the snapshot holds the same packs as the ones served from the database.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class TranslationSnapshotManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TranslationSnapshotManager.class);
+
+    private static final String WRITER_THREAD_NAME = "tms-snapshot-writer";
+
+    private final SnapshotProperties snapshotProperties;
+    private final TranslationPackDAO translationPackDAO;
+    private final PublishedPackSelector publishedPackSelector;
+    private final Clock clock;
+
+    private volatile TranslationSnapshot snapshot;
+    private ScheduledExecutorService writerExecutor;
+
+    @Autowired
+    public TranslationSnapshotManager(SnapshotProperties snapshotProperties, TranslationPackDAO translationPackDAO,
+                                      PublishedPackSelector publishedPackSelector) {
+        this(snapshotProperties, translationPackDAO, publishedPackSelector, Clock.systemUTC());
+    }
+
+    TranslationSnapshotManager(SnapshotProperties snapshotProperties, TranslationPackDAO translationPackDAO,
+                               PublishedPackSelector publishedPackSelector, Clock clock) {
+        this.snapshotProperties = snapshotProperties;
+        this.translationPackDAO = translationPackDAO;
+        this.publishedPackSelector = publishedPackSelector;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts writing the snapshot periodically (if enabled), the first time right away.
+     * Subsequent calls have no effect.
+     */
+    public synchronized void start() {
+
+        if (!snapshotProperties.isEnabled() || Objects.nonNull(writerExecutor)) {
+            return;
+        }
+
+        writerExecutor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name(WRITER_THREAD_NAME).daemon().factory());
+        writerExecutor.scheduleWithFixedDelay(this::writeSnapshot, 0, snapshotProperties.getInterval().toMillis(), TimeUnit.MILLISECONDS);
+        LOGGER.info("Translation snapshot will be written to [{}] every {}", snapshotProperties.getPath(), snapshotProperties.getInterval());
+    }
+
+    /**
+     * Writes a new snapshot of the latest enabled packs of every existing pack name, then switches to serving the new one.
+     * Failures are logged, but not propagated - the previous snapshot remains in use.
+     */
+    public void writeSnapshot() {
+
+        long start = System.nanoTime();
+        try {
+            List<String> packNames = translationPackDAO.findAllPackNames();
+            TranslationSnapshotWriter.write(snapshotProperties.getPath(), clock.instant(), packNames, this::loadLatestEnabledPacks);
+            snapshot = TranslationSnapshot.open(snapshotProperties.getPath());
+            LOGGER.info("Translation snapshot of {} pack(s) written in {} ms", packNames.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception exception) {
+            LOGGER.error("Failed to write translation snapshot - previous snapshot (if any) remains in use", exception);
+        }
+    }
+
+    /**
+     * Returns the latest enabled packs of the given pack names from the snapshot.
+     * Meant to be used as fallback only, when loading the packs from the database fails.
+     * Returns an entry for every requested pack name (empty list for pack names not captured by the snapshot).
+     *
+     * @param packNames pack names to return packs of
+     * @return latest enabled packs grouped by pack name wrapped in {@link Optional}, or empty {@link Optional} if no snapshot is available
+     */
+    public Optional<Map<String, List<TranslationPack>>> findLatestEnabledPacks(List<String> packNames) {
+
+        return getSnapshot().map(currentSnapshot -> {
+            LOGGER.warn("Serving pack(s) {} from translation snapshot created at {}", packNames, currentSnapshot.getCreated());
+            return packNames.stream()
+                    .distinct()
+                    .collect(Collectors.toMap(Function.identity(), currentSnapshot::getPacks));
+        });
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        if (Objects.nonNull(writerExecutor)) {
+            writerExecutor.shutdownNow();
+        }
+    }
+
+    private Optional<TranslationSnapshot> getSnapshot() {
+
+        if (!snapshotProperties.isEnabled()) {
+            return Optional.empty();
+        }
+
+        if (Objects.isNull(snapshot) && Files.exists(snapshotProperties.getPath())) {
+            synchronized (this) {
+                if (Objects.isNull(snapshot)) {
+                    try {
+                        snapshot = TranslationSnapshot.open(snapshotProperties.getPath());
+                        LOGGER.info("Translation snapshot created at {} loaded from [{}]", snapshot.getCreated(), snapshotProperties.getPath());
+                    } catch (IOException exception) {
+                        LOGGER.error("Failed to open translation snapshot [{}]", snapshotProperties.getPath(), exception);
+                    }
+                }
+            }
+        }
+
+        return Optional.ofNullable(snapshot);
+    }
+
+    private List<TranslationPack> loadLatestEnabledPacks(String packName) {
+
+        return new ArrayList<>(publishedPackSelector.select(List.of(packName), translationPackDAO::findAllByIdIn)
+                .getOrDefault(packName, List.of()));
+    }
+}
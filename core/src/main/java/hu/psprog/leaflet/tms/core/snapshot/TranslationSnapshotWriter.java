@@ -0,0 +1,118 @@
+package hu.psprog.leaflet.tms.core.snapshot;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Writes translation snapshot files read by {@link TranslationSnapshot}.
+ * Layout (all numbers big-endian, strings as length-prefixed UTF-8 bytes, length -1 representing {@code null}):
+ *  - header: magic number, format version byte, creation timestamp (epoch millis)
+ *  - one record per pack name: number of packs, then for each pack its ID, pack name, locale (language tag),
+ *    enabled flag, creation timestamp (Long.MIN_VALUE representing {@code null}) and its definitions (count, then key-value pairs)
+ *  - index: number of pack names, then every pack name with the offset of its record
+ *  - trailer: offset of the index, magic number
+ * The file is written next to its final location, then atomically moved in place, so readers never see partial snapshots.
+ *
+ * @author Peter Smith
+ */
+final class TranslationSnapshotWriter {
+
+    static final int MAGIC = 0x544D5353;
+    static final byte FORMAT_VERSION = 1;
+    static final int NULL_LENGTH = -1;
+    static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private TranslationSnapshotWriter() {
+    }
+
+    /**
+     * Writes a snapshot of the given packs to the given path, replacing the existing snapshot (if any).
+     * Packs are requested from the given loader one pack name at a time, so only a single pack name's packs are held in memory.
+     *
+     * @param path path of the snapshot file
+     * @param created creation timestamp of the snapshot
+     * @param packNames pack names to include in the snapshot
+     * @param packLoader function returning the packs to store for a pack name
+     * @throws IOException if the snapshot could not be written
+     */
+    static void write(Path path, Instant created, List<String> packNames, Function<String, List<TranslationPack>> packLoader) throws IOException {
+
+        Path temporaryFile = path.resolveSibling(path.getFileName() + TEMPORARY_FILE_SUFFIX);
+        try {
+            try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                outputStream.writeInt(MAGIC);
+                outputStream.writeByte(FORMAT_VERSION);
+                outputStream.writeLong(created.toEpochMilli());
+
+                Map<String, Integer> index = new LinkedHashMap<>();
+                for (String packName : packNames) {
+                    index.put(packName, outputStream.size());
+                    writePacks(outputStream, packLoader.apply(packName));
+                }
+
+                int indexOffset = outputStream.size();
+                outputStream.writeInt(index.size());
+                for (Map.Entry<String, Integer> indexEntry : index.entrySet()) {
+                    writeString(outputStream, indexEntry.getKey());
+                    outputStream.writeInt(indexEntry.getValue());
+                }
+                outputStream.writeInt(indexOffset);
+                outputStream.writeInt(MAGIC);
+
+                if (outputStream.size() == Integer.MAX_VALUE) {
+                    throw new IOException("Translation snapshot exceeds the maximum size of 2 GB");
+                }
+            }
+            Files.move(temporaryFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static void writePacks(DataOutputStream outputStream, List<TranslationPack> translationPacks) throws IOException {
+
+        outputStream.writeInt(translationPacks.size());
+        for (TranslationPack translationPack : translationPacks) {
+            outputStream.writeLong(translationPack.getId().getMostSignificantBits());
+            outputStream.writeLong(translationPack.getId().getLeastSignificantBits());
+            writeString(outputStream, translationPack.getPackName());
+            writeString(outputStream, Objects.isNull(translationPack.getLocale()) ? null : translationPack.getLocale().toLanguageTag());
+            outputStream.writeBoolean(translationPack.isEnabled());
+            outputStream.writeLong(Objects.isNull(translationPack.getCreated()) ? NULL_TIMESTAMP : translationPack.getCreated().getTime());
+
+            List<TranslationDefinition> definitions = Objects.requireNonNullElse(translationPack.getDefinitions(), List.of());
+            outputStream.writeInt(definitions.size());
+            for (TranslationDefinition definition : definitions) {
+                writeString(outputStream, definition.getKey());
+                writeString(outputStream, definition.getValue());
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream outputStream, String value) throws IOException {
+
+        if (Objects.isNull(value)) {
+            outputStream.writeInt(NULL_LENGTH);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            outputStream.writeInt(bytes.length);
+            outputStream.write(bytes);
+        }
+    }
+}
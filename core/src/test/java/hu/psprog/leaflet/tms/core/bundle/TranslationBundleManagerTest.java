@@ -0,0 +1,225 @@
+package hu.psprog.leaflet.tms.core.bundle;
+
+import hu.psprog.leaflet.tms.core.config.BundleProperties;
+import hu.psprog.leaflet.tms.core.dao.TranslationBundleDAO;
+import hu.psprog.leaflet.tms.core.entity.TranslationBundle;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for {@link TranslationBundleManager}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class TranslationBundleManagerTest {
+
+    private static final String PACK_1 = "pack1";
+    private static final String PACK_2 = "pack2";
+    private static final Locale LOCALE = Locale.forLanguageTag("hu-HU");
+    private static final BundleKey BUNDLE_KEY = BundleKey.of(List.of(PACK_2, PACK_1, PACK_2), LOCALE);
+    private static final BundleKey OTHER_BUNDLE_KEY = BundleKey.of(List.of(PACK_1), Locale.ENGLISH);
+    private static final TranslationPack TRANSLATION_PACK = TranslationPack.builder().id(UUID.randomUUID()).packName(PACK_1).locale(LOCALE).build();
+    private static final List<UUID> SOURCE_IDS = List.of(TRANSLATION_PACK.getId());
+
+    @Mock
+    private TranslationBundleDAO translationBundleDAO;
+
+    @Test
+    public void shouldCreateBundleKeyWithNormalizedPackNames() {
+
+        // then
+        assertThat(BUNDLE_KEY.packNames(), equalTo(List.of(PACK_1, PACK_2)));
+        assertThat(BUNDLE_KEY.id(), equalTo("pack1,pack2@hu-HU"));
+    }
+
+    @Test
+    public void shouldFindBundleSkipDatabaseIfDisabled() {
+
+        // given
+        TranslationBundleManager translationBundleManager = new TranslationBundleManager(translationBundleDAO, new BundleProperties());
+
+        // when
+        Optional<List<TranslationPack>> result = translationBundleManager.findBundle(BUNDLE_KEY, () -> SOURCE_IDS);
+
+        // then
+        assertThat(result.isEmpty(), is(true));
+        verifyNoInteractions(translationBundleDAO);
+    }
+
+    @Test
+    public void shouldFindBundleForConfiguredBundle() {
+
+        // given
+        TranslationBundleManager translationBundleManager = new TranslationBundleManager(translationBundleDAO, prepareBundleProperties(true, false));
+        given(translationBundleDAO.findAllKeys()).willReturn(List.of());
+        given(translationBundleDAO.getByID(BUNDLE_KEY.id())).willReturn(TranslationBundle.builder().sourceIDs(SOURCE_IDS).packs(List.of(TRANSLATION_PACK)).build());
+
+        // when
+        Optional<List<TranslationPack>> result = translationBundleManager.findBundle(BUNDLE_KEY, () -> SOURCE_IDS);
+
+        // then
+        assertThat(result, equalTo(Optional.of(List.of(TRANSLATION_PACK))));
+    }
+
+    @Test
+    public void shouldFindBundleIgnoreBundleBuiltFromOutdatedSources() {
+
+        // given
+        TranslationBundleManager translationBundleManager = new TranslationBundleManager(translationBundleDAO, prepareBundleProperties(true, false));
+        given(translationBundleDAO.findAllKeys()).willReturn(List.of());
+        given(translationBundleDAO.getByID(BUNDLE_KEY.id())).willReturn(TranslationBundle.builder().sourceIDs(SOURCE_IDS).packs(List.of(TRANSLATION_PACK)).build());
+
+        // when
+        Optional<List<TranslationPack>> result = translationBundleManager.findBundle(BUNDLE_KEY, () -> List.of(UUID.randomUUID()));
+
+        // then
+        assertThat(result.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldFindBundleForBundleStoredByAnyInstance() {
+
+        // given
+        TranslationBundleManager translationBundleManager = new TranslationBundleManager(translationBundleDAO, prepareBundleProperties(false, false));
+        given(translationBundleDAO.findAllKeys()).willReturn(List.of(prepareBundle(OTHER_BUNDLE_KEY)));
+        given(translationBundleDAO.getByID(OTHER_BUNDLE_KEY.id())).willReturn(TranslationBundle.builder().sourceIDs(SOURCE_IDS).packs(List.of(TRANSLATION_PACK)).build());
+
+        // when
+        Optional<List<TranslationPack>> result = translationBundleManager.findBundle(OTHER_BUNDLE_KEY, () -> SOURCE_IDS);
+
+        // then
+        assertThat(result, equalTo(Optional.of(List.of(TRANSLATION_PACK))));
+    }
+
+    @Test
+    public void shouldFindBundleRetryLoadingStoredBundlesAfterFailure() {
+
+        // given
+        TranslationBundleManager translationBundleManager = new TranslationBundleManager(translationBundleDAO, prepareBundleProperties(false, false));
+        given(translationBundleDAO.findAllKeys())
+                .willThrow(new DataAccessResourceFailureException("unavailable"))
+                .willReturn(List.of(prepareBundle(OTHER_BUNDLE_KEY)));
+        given(translationBundleDAO.getByID(OTHER_BUNDLE_KEY.id())).willReturn(null);
+
+        // when
+        Optional<List<TranslationPack>> result1 = translationBundleManager.findBundle(OTHER_BUNDLE_KEY, () -> SOURCE_IDS);
+        Optional<List<TranslationPack>> result2 = translationBundleManager.findBundle(OTHER_BUNDLE_KEY, () -> SOURCE_IDS);
+
+        // then
+        assertThat(result1.isEmpty(), is(true));
+        assertThat(result2.isEmpty(), is(true));
+        verify(translationBundleDAO).getByID(OTHER_BUNDLE_KEY.id());
+    }
+
+    @Test
+    public void shouldMaterializeAfterReachingAutoDetectionThreshold() {
+
+        // given
+        TranslationBundleManager translationBundleManager = new TranslationBundleManager(translationBundleDAO, prepareBundleProperties(false, true));
+        given(translationBundleDAO.findAllKeys()).willReturn(List.of());
+
+        // when
+        boolean result1 = translationBundleManager.shouldMaterialize(OTHER_BUNDLE_KEY);
+        boolean result2 = translationBundleManager.shouldMaterialize(OTHER_BUNDLE_KEY);
+        boolean result3 = translationBundleManager.shouldMaterialize(OTHER_BUNDLE_KEY);
+
+        // then
+        assertThat(result1, is(false));
+        assertThat(result2, is(true));
+        assertThat(result3, is(true));
+    }
+
+    @Test
+    public void shouldNotMaterializeBeyondMaxTrackedCombinations() {
+
+        // given
+        BundleProperties bundleProperties = prepareBundleProperties(false, true);
+        bundleProperties.getAutoDetection().setThreshold(1);
+        bundleProperties.getAutoDetection().setMaxTrackedCombinations(0);
+        TranslationBundleManager translationBundleManager = new TranslationBundleManager(translationBundleDAO, bundleProperties);
+        given(translationBundleDAO.findAllKeys()).willReturn(List.of());
+
+        // when
+        boolean result = translationBundleManager.shouldMaterialize(OTHER_BUNDLE_KEY);
+
+        // then
+        assertThat(result, is(false));
+    }
+
+    @Test
+    public void shouldStoreBundle() {
+
+        // given
+        TranslationBundleManager translationBundleManager = new TranslationBundleManager(translationBundleDAO, prepareBundleProperties(true, false));
+        ArgumentCaptor<TranslationBundle> captor = ArgumentCaptor.forClass(TranslationBundle.class);
+
+        // when
+        translationBundleManager.store(BUNDLE_KEY, List.of(TRANSLATION_PACK), SOURCE_IDS);
+
+        // then
+        verify(translationBundleDAO).save(captor.capture());
+        assertThat(captor.getValue().getId(), equalTo(BUNDLE_KEY.id()));
+        assertThat(captor.getValue().getPackNames(), equalTo(List.of(PACK_1, PACK_2)));
+        assertThat(captor.getValue().getLocale(), equalTo(LOCALE));
+        assertThat(captor.getValue().getSourceIDs(), equalTo(SOURCE_IDS));
+        assertThat(captor.getValue().getPacks(), equalTo(List.of(TRANSLATION_PACK)));
+    }
+
+    @Test
+    public void shouldInvalidateStoredAndConfiguredBundles() {
+
+        // given
+        TranslationBundleManager translationBundleManager = new TranslationBundleManager(translationBundleDAO, prepareBundleProperties(true, false));
+        given(translationBundleDAO.findAllKeysByPackName(PACK_1)).willReturn(List.of(prepareBundle(OTHER_BUNDLE_KEY)));
+
+        // when
+        List<BundleKey> result = translationBundleManager.invalidate(PACK_1);
+
+        // then
+        assertThat(result, equalTo(List.of(OTHER_BUNDLE_KEY, BUNDLE_KEY)));
+        verify(translationBundleDAO).delete(OTHER_BUNDLE_KEY.id());
+    }
+
+    private static BundleProperties prepareBundleProperties(boolean withDefinition, boolean withAutoDetection) {
+
+        BundleProperties bundleProperties = new BundleProperties();
+        bundleProperties.setEnabled(true);
+        if (withDefinition) {
+            BundleProperties.Definition definition = new BundleProperties.Definition();
+            definition.setPacks(List.of(PACK_1, PACK_2));
+            definition.setLocales(List.of(LOCALE));
+            bundleProperties.setDefinitions(List.of(definition));
+        }
+        bundleProperties.getAutoDetection().setEnabled(withAutoDetection);
+        bundleProperties.getAutoDetection().setThreshold(2);
+
+        return bundleProperties;
+    }
+
+    private static TranslationBundle prepareBundle(BundleKey bundleKey) {
+
+        return TranslationBundle.builder()
+                .id(bundleKey.id())
+                .packNames(bundleKey.packNames())
+                .locale(bundleKey.locale())
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+package hu.psprog.leaflet.tms.core.cache;
+
+import hu.psprog.leaflet.tms.core.config.CacheProperties;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.event.TranslationPackChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link OffHeapPayloadStore}.
+ *
+ * @author Peter Smith
+ */
+public class OffHeapPayloadStoreTest {
+
+    private static final String PACK_NAME = "pack1";
+    private static final TranslationPack TRANSLATION_PACK = prepareTranslationPack(Locale.ENGLISH, new Date(1_700_000_000_000L));
+    private static final TranslationPack NEWER_TRANSLATION_PACK = prepareTranslationPack(Locale.ENGLISH, new Date(1_700_000_001_000L));
+    private static final TranslationPack OTHER_LOCALE_TRANSLATION_PACK = prepareTranslationPack(Locale.GERMAN, new Date(1_700_000_000_000L));
+
+    private final List<TranslationPack> serializerCalls = new ArrayList<>();
+
+    private CacheProperties cacheProperties;
+    private OffHeapPayloadStore offHeapPayloadStore;
+
+    @BeforeEach
+    public void setup() {
+        cacheProperties = new CacheProperties();
+        offHeapPayloadStore = new OffHeapPayloadStore(cacheProperties);
+        serializerCalls.clear();
+    }
+
+    @Test
+    public void shouldGetPayloadSerializePackOnlyOnce() {
+
+        // when
+        ByteBuffer result1 = offHeapPayloadStore.getPayload(TRANSLATION_PACK, this::serialize);
+        ByteBuffer result2 = offHeapPayloadStore.getPayload(TRANSLATION_PACK, this::serialize);
+
+        // then
+        assertThat(read(result1), equalTo(expectedPayload(TRANSLATION_PACK)));
+        assertThat(read(result2), equalTo(expectedPayload(TRANSLATION_PACK)));
+        assertThat(result2.isDirect(), equalTo(true));
+        assertThat(result2.isReadOnly(), equalTo(true));
+        assertThat(serializerCalls, equalTo(List.of(TRANSLATION_PACK)));
+        assertThat(offHeapPayloadStore.getUsedBytes(), equalTo((long) expectedPayload(TRANSLATION_PACK).length()));
+    }
+
+    @Test
+    public void shouldGetPayloadReplaceOutdatedPayload() {
+
+        // given
+        offHeapPayloadStore.getPayload(TRANSLATION_PACK, this::serialize);
+
+        // when
+        ByteBuffer result = offHeapPayloadStore.getPayload(NEWER_TRANSLATION_PACK, this::serialize);
+
+        // then
+        assertThat(read(result), equalTo(expectedPayload(NEWER_TRANSLATION_PACK)));
+        assertThat(offHeapPayloadStore.size(), equalTo(1));
+        assertThat(offHeapPayloadStore.getUsedBytes(), equalTo((long) expectedPayload(NEWER_TRANSLATION_PACK).length()));
+    }
+
+    @Test
+    public void shouldGetPayloadServeFromHeapWhenStoreIsFull() {
+
+        // given
+        cacheProperties.getOffHeap().setMaxSize(DataSize.ofBytes(expectedPayload(TRANSLATION_PACK).length() + 1));
+        offHeapPayloadStore.getPayload(TRANSLATION_PACK, this::serialize);
+
+        // when
+        ByteBuffer result = offHeapPayloadStore.getPayload(OTHER_LOCALE_TRANSLATION_PACK, this::serialize);
+
+        // then
+        assertThat(read(result), equalTo(expectedPayload(OTHER_LOCALE_TRANSLATION_PACK)));
+        assertThat(result.isDirect(), equalTo(false));
+        assertThat(offHeapPayloadStore.size(), equalTo(1));
+    }
+
+    @Test
+    public void shouldGetPayloadBypassStoreWhenDisabled() {
+
+        // given
+        cacheProperties.getOffHeap().setEnabled(false);
+
+        // when
+        offHeapPayloadStore.getPayload(TRANSLATION_PACK, this::serialize);
+        ByteBuffer result = offHeapPayloadStore.getPayload(TRANSLATION_PACK, this::serialize);
+
+        // then
+        assertThat(read(result), equalTo(expectedPayload(TRANSLATION_PACK)));
+        assertThat(serializerCalls.size(), equalTo(2));
+        assertThat(offHeapPayloadStore.size(), equalTo(0));
+    }
+
+    @Test
+    public void shouldGetMergedPayloadNotServeStoredPayloadOfSameLocale() {
+
+        // given
+        TranslationPack mergedPack = TRANSLATION_PACK.toBuilder().build();
+        offHeapPayloadStore.getPayload(TRANSLATION_PACK, this::serialize);
+
+        // when
+        offHeapPayloadStore.getMergedPayload(mergedPack, List.of(TRANSLATION_PACK.getId(), OTHER_LOCALE_TRANSLATION_PACK.getId()), this::serialize);
+        offHeapPayloadStore.getPayload(TRANSLATION_PACK, this::serialize);
+
+        // then
+        assertThat(serializerCalls, equalTo(List.of(TRANSLATION_PACK, mergedPack)));
+        assertThat(offHeapPayloadStore.size(), equalTo(2));
+    }
+
+    @Test
+    public void shouldGetMergedPayloadSerializeAgainWhenSourcesChange() {
+
+        // given
+        List<UUID> sourceIDs = List.of(TRANSLATION_PACK.getId(), UUID.randomUUID());
+        List<UUID> changedSourceIDs = List.of(TRANSLATION_PACK.getId(), UUID.randomUUID());
+        offHeapPayloadStore.getMergedPayload(TRANSLATION_PACK, sourceIDs, this::serialize);
+        offHeapPayloadStore.getMergedPayload(TRANSLATION_PACK, sourceIDs, this::serialize);
+
+        // when
+        offHeapPayloadStore.getMergedPayload(TRANSLATION_PACK, changedSourceIDs, this::serialize);
+
+        // then
+        assertThat(serializerCalls.size(), equalTo(2));
+        assertThat(offHeapPayloadStore.size(), equalTo(1));
+    }
+
+    @Test
+    public void shouldEvictPayloadsOfChangedPack() {
+
+        // given
+        offHeapPayloadStore.getPayload(TRANSLATION_PACK, this::serialize);
+        offHeapPayloadStore.getPayload(OTHER_LOCALE_TRANSLATION_PACK, this::serialize);
+
+        // when
+        offHeapPayloadStore.onTranslationPackChanged(new TranslationPackChangedEvent(PACK_NAME));
+
+        // then
+        assertThat(offHeapPayloadStore.size(), equalTo(0));
+        assertThat(offHeapPayloadStore.getUsedBytes(), equalTo(0L));
+    }
+
+    private byte[] serialize(TranslationPack translationPack) {
+
+        serializerCalls.add(translationPack);
+
+        return expectedPayload(translationPack).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String expectedPayload(TranslationPack translationPack) {
+        return "{\"locale\":\"%s\",\"created\":%d}".formatted(translationPack.getLocale(), translationPack.getCreated().getTime());
+    }
+
+    private static String read(ByteBuffer payload) {
+
+        byte[] content = new byte[payload.remaining()];
+        payload.get(content);
+
+        return new String(content, StandardCharsets.UTF_8);
+    }
+
+    private static TranslationPack prepareTranslationPack(Locale locale, Date created) {
+
+        return TranslationPack.builder()
+                .id(UUID.randomUUID())
+                .packName(PACK_NAME)
+                .locale(locale)
+                .created(created)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package hu.psprog.leaflet.tms.core.cache;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link PackWeigher}.
+ *
+ * @author Peter Smith
+ */
+public class PackWeigherTest {
+
+    @Test
+    public void shouldWeighLatin1StringsWithOneBytePerCharacter() {
+
+        // given
+        TranslationPack translationPack = TranslationPack.builder()
+                .packName("pack1")
+                .definitions(List.of(new TranslationDefinition("key1", "árví")))
+                .build();
+
+        // when
+        long result = PackWeigher.weigh(translationPack);
+
+        // then
+        assertThat(result, equalTo(PackWeigher.PACK_OVERHEAD + PackWeigher.STRING_OVERHEAD + 5
+                + PackWeigher.DEFINITION_OVERHEAD + PackWeigher.STRING_OVERHEAD + 4 + PackWeigher.STRING_OVERHEAD + 4));
+    }
+
+    @Test
+    public void shouldWeighNonLatin1StringsWithTwoBytesPerCharacter() {
+
+        // given
+        TranslationPack translationPack = TranslationPack.builder()
+                .packName("pack1")
+                .definitions(List.of(new TranslationDefinition("key1", "tűrő")))
+                .build();
+
+        // when
+        long result = PackWeigher.weigh(translationPack);
+
+        // then
+        assertThat(result, equalTo(PackWeigher.PACK_OVERHEAD + PackWeigher.STRING_OVERHEAD + 5
+                + PackWeigher.DEFINITION_OVERHEAD + PackWeigher.STRING_OVERHEAD + 4 + PackWeigher.STRING_OVERHEAD + 8));
+    }
+
+    @Test
+    public void shouldWeighMissingPackWithPackOverheadOnly() {
+
+        // when
+        long result = PackWeigher.weigh(null);
+
+        // then
+        assertThat(result, equalTo(PackWeigher.PACK_OVERHEAD));
+    }
+}
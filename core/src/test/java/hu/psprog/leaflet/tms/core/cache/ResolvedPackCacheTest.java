@@ -0,0 +1,231 @@
+package hu.psprog.leaflet.tms.core.cache;
+
+import hu.psprog.leaflet.tms.core.config.CacheProperties;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.event.TranslationPackChangedEvent;
+import hu.psprog.leaflet.tms.core.locale.LocaleFallbackResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link ResolvedPackCache}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class ResolvedPackCacheTest {
+
+    private static final String PACK_NAME = "pack1";
+    private static final Locale LOCALE = Locale.forLanguageTag("hu-HU");
+    private static final TranslationPack SOURCE_PACK = TranslationPack.builder().id(UUID.randomUUID()).packName(PACK_NAME).build();
+    private static final TranslationPack NEW_SOURCE_PACK = TranslationPack.builder().id(UUID.randomUUID()).packName(PACK_NAME).build();
+    private static final TranslationPack MERGED_PACK = TranslationPack.builder().id(SOURCE_PACK.getId()).packName(PACK_NAME).locale(LOCALE).build();
+    private static final TranslationPack NEW_MERGED_PACK = TranslationPack.builder().id(NEW_SOURCE_PACK.getId()).packName(PACK_NAME).locale(LOCALE).build();
+    private static final Locale OTHER_LOCALE = Locale.forLanguageTag("de-DE");
+    private static final TranslationPack MERGED_PACK_WITH_DEFINITIONS = prepareMergedPack(LOCALE, "Szia");
+    private static final TranslationPack OTHER_MERGED_PACK_WITH_DEFINITIONS = prepareMergedPack(OTHER_LOCALE, "Hallo");
+
+    @Mock
+    private LocaleFallbackResolver localeFallbackResolver;
+
+    private CacheProperties cacheProperties;
+    private ResolvedPackCache resolvedPackCache;
+
+    @BeforeEach
+    public void setup() {
+        cacheProperties = new CacheProperties();
+        resolvedPackCache = new ResolvedPackCache(localeFallbackResolver, cacheProperties);
+    }
+
+    @Test
+    public void shouldResolveMergeOnlyOnceForSameSources() {
+
+        // given
+        given(localeFallbackResolver.selectSources(LOCALE, List.of(SOURCE_PACK))).willReturn(List.of(SOURCE_PACK));
+        given(localeFallbackResolver.merge(LOCALE, List.of(SOURCE_PACK))).willReturn(MERGED_PACK);
+
+        // when
+        Optional<TranslationPack> result1 = resolvedPackCache.resolve(PACK_NAME, LOCALE, List.of(SOURCE_PACK));
+        Optional<TranslationPack> result2 = resolvedPackCache.resolve(PACK_NAME, LOCALE, List.of(SOURCE_PACK));
+
+        // then
+        assertThat(result1, equalTo(Optional.of(MERGED_PACK)));
+        assertThat(result2, equalTo(Optional.of(MERGED_PACK)));
+        verify(localeFallbackResolver, times(1)).merge(LOCALE, List.of(SOURCE_PACK));
+    }
+
+    @Test
+    public void shouldResolveMergeAgainWhenSourcesChange() {
+
+        // given
+        given(localeFallbackResolver.selectSources(LOCALE, List.of(SOURCE_PACK))).willReturn(List.of(SOURCE_PACK));
+        given(localeFallbackResolver.merge(LOCALE, List.of(SOURCE_PACK))).willReturn(MERGED_PACK);
+        given(localeFallbackResolver.selectSources(LOCALE, List.of(NEW_SOURCE_PACK))).willReturn(List.of(NEW_SOURCE_PACK));
+        given(localeFallbackResolver.merge(LOCALE, List.of(NEW_SOURCE_PACK))).willReturn(NEW_MERGED_PACK);
+        resolvedPackCache.resolve(PACK_NAME, LOCALE, List.of(SOURCE_PACK));
+
+        // when
+        Optional<TranslationPack> result = resolvedPackCache.resolve(PACK_NAME, LOCALE, List.of(NEW_SOURCE_PACK));
+
+        // then
+        assertThat(result, equalTo(Optional.of(NEW_MERGED_PACK)));
+        assertThat(resolvedPackCache.size(), equalTo(1));
+    }
+
+    @Test
+    public void shouldResolveReturnEmptyWithoutSources() {
+
+        // given
+        given(localeFallbackResolver.selectSources(LOCALE, List.of())).willReturn(List.of());
+
+        // when
+        Optional<TranslationPack> result = resolvedPackCache.resolve(PACK_NAME, LOCALE, List.of());
+
+        // then
+        assertThat(result, equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void shouldEvictResolvedVariantsOfChangedPack() {
+
+        // given
+        given(localeFallbackResolver.selectSources(LOCALE, List.of(SOURCE_PACK))).willReturn(List.of(SOURCE_PACK));
+        given(localeFallbackResolver.merge(LOCALE, List.of(SOURCE_PACK))).willReturn(MERGED_PACK);
+        resolvedPackCache.resolve(PACK_NAME, LOCALE, List.of(SOURCE_PACK));
+
+        // when
+        resolvedPackCache.onTranslationPackChanged(new TranslationPackChangedEvent(PACK_NAME));
+
+        // then
+        assertThat(resolvedPackCache.size(), equalTo(0));
+    }
+
+    @Test
+    public void shouldResolveEvictLeastRecentlyUsedEntryWhenWeightExceedsBudget() {
+
+        // given
+        givenMergedPacks();
+        setMaxWeight(PackWeigher.weigh(MERGED_PACK_WITH_DEFINITIONS) + PackWeigher.weigh(OTHER_MERGED_PACK_WITH_DEFINITIONS) - 1);
+        resolvedPackCache.resolve(PACK_NAME, LOCALE, List.of(SOURCE_PACK));
+
+        // when
+        resolvedPackCache.resolve(PACK_NAME, OTHER_LOCALE, List.of(SOURCE_PACK));
+        resolvedPackCache.resolve(PACK_NAME, LOCALE, List.of(SOURCE_PACK));
+
+        // then
+        ResolvedPackCacheStats stats = resolvedPackCache.getStats();
+        assertThat(stats.entryCount(), equalTo(1));
+        assertThat(stats.evictionCount(), equalTo(2L));
+        assertThat(stats.weight(), equalTo(PackWeigher.weigh(MERGED_PACK_WITH_DEFINITIONS)));
+        verify(localeFallbackResolver, times(2)).merge(LOCALE, List.of(SOURCE_PACK));
+    }
+
+    @Test
+    public void shouldResolveKeepEntriesWithinBudget() {
+
+        // given
+        givenMergedPacks();
+
+        // when
+        resolvedPackCache.resolve(PACK_NAME, LOCALE, List.of(SOURCE_PACK));
+        resolvedPackCache.resolve(PACK_NAME, OTHER_LOCALE, List.of(SOURCE_PACK));
+
+        // then
+        ResolvedPackCacheStats stats = resolvedPackCache.getStats();
+        assertThat(stats.entryCount(), equalTo(2));
+        assertThat(stats.evictionCount(), equalTo(0L));
+        assertThat(stats.weight(), equalTo(PackWeigher.weigh(MERGED_PACK_WITH_DEFINITIONS) + PackWeigher.weigh(OTHER_MERGED_PACK_WITH_DEFINITIONS)));
+        assertThat(stats.maxWeight(), equalTo(DataSize.ofMegabytes(8).toBytes()));
+    }
+
+    @Test
+    public void shouldResolvePromoteEvictedEntryFromOverflowTier() {
+
+        // given
+        givenMergedPacks();
+        cacheProperties.getResolvedPacks().setSoftReferenceOverflow(true);
+        setMaxWeight(PackWeigher.weigh(MERGED_PACK_WITH_DEFINITIONS) + PackWeigher.weigh(OTHER_MERGED_PACK_WITH_DEFINITIONS) - 1);
+        resolvedPackCache.resolve(PACK_NAME, LOCALE, List.of(SOURCE_PACK));
+        resolvedPackCache.resolve(PACK_NAME, OTHER_LOCALE, List.of(SOURCE_PACK));
+
+        // when
+        Optional<TranslationPack> result = resolvedPackCache.resolve(PACK_NAME, LOCALE, List.of(SOURCE_PACK));
+
+        // then
+        assertThat(result, equalTo(Optional.of(MERGED_PACK_WITH_DEFINITIONS)));
+        assertThat(resolvedPackCache.getStats().overflowEntryCount(), equalTo(1));
+        verify(localeFallbackResolver, times(1)).merge(LOCALE, List.of(SOURCE_PACK));
+    }
+
+    @Test
+    public void shouldResolveNotCacheEntryExceedingBudget() {
+
+        // given
+        given(localeFallbackResolver.selectSources(LOCALE, List.of(SOURCE_PACK))).willReturn(List.of(SOURCE_PACK));
+        given(localeFallbackResolver.merge(LOCALE, List.of(SOURCE_PACK))).willReturn(MERGED_PACK_WITH_DEFINITIONS);
+        setMaxWeight(PackWeigher.weigh(MERGED_PACK_WITH_DEFINITIONS) - 1);
+
+        // when
+        Optional<TranslationPack> result = resolvedPackCache.resolve(PACK_NAME, LOCALE, List.of(SOURCE_PACK));
+        resolvedPackCache.resolve(PACK_NAME, LOCALE, List.of(SOURCE_PACK));
+
+        // then
+        assertThat(result, equalTo(Optional.of(MERGED_PACK_WITH_DEFINITIONS)));
+        assertThat(resolvedPackCache.getStats().weight(), equalTo(0L));
+        verify(localeFallbackResolver, times(2)).merge(LOCALE, List.of(SOURCE_PACK));
+    }
+
+    @Test
+    public void shouldEvictResolvedVariantsOfChangedPackAndReleaseWeight() {
+
+        // given
+        givenMergedPacks();
+        resolvedPackCache.resolve(PACK_NAME, LOCALE, List.of(SOURCE_PACK));
+        resolvedPackCache.resolve(PACK_NAME, OTHER_LOCALE, List.of(SOURCE_PACK));
+
+        // when
+        resolvedPackCache.onTranslationPackChanged(new TranslationPackChangedEvent(PACK_NAME));
+
+        // then
+        ResolvedPackCacheStats stats = resolvedPackCache.getStats();
+        assertThat(stats.entryCount(), equalTo(0));
+        assertThat(stats.weight(), equalTo(0L));
+    }
+
+    private void givenMergedPacks() {
+        given(localeFallbackResolver.selectSources(LOCALE, List.of(SOURCE_PACK))).willReturn(List.of(SOURCE_PACK));
+        given(localeFallbackResolver.merge(LOCALE, List.of(SOURCE_PACK))).willReturn(MERGED_PACK_WITH_DEFINITIONS);
+        given(localeFallbackResolver.selectSources(OTHER_LOCALE, List.of(SOURCE_PACK))).willReturn(List.of(SOURCE_PACK));
+        given(localeFallbackResolver.merge(OTHER_LOCALE, List.of(SOURCE_PACK))).willReturn(OTHER_MERGED_PACK_WITH_DEFINITIONS);
+    }
+
+    private void setMaxWeight(long maxWeight) {
+        cacheProperties.getResolvedPacks().setMaxWeight(DataSize.ofBytes(maxWeight));
+    }
+
+    private static TranslationPack prepareMergedPack(Locale locale, String value) {
+
+        return TranslationPack.builder()
+                .id(SOURCE_PACK.getId())
+                .packName(PACK_NAME)
+                .locale(locale)
+                .definitions(List.of(new TranslationDefinition("greeting", value)))
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package hu.psprog.leaflet.tms.core.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link SingleFlight}.
+ *
+ * @author Peter Smith
+ */
+public class SingleFlightTest {
+
+    private static final int CONCURRENT_CALLERS = 8;
+    private static final List<String> KEY = List.of("pack1", "pack2");
+
+    private final SingleFlight<List<String>, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    public void shouldExecuteConcurrentCallsWithEqualKeyOnlyOnce() throws Exception {
+
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch callStarted = new CountDownLatch(1);
+        CountDownLatch releaseCall = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(CONCURRENT_CALLERS);
+
+        try {
+            // when
+            Future<String> leader = executorService.submit(() -> singleFlight.execute(KEY, () -> {
+                executions.incrementAndGet();
+                callStarted.countDown();
+                awaitQuietly(releaseCall);
+                return "result";
+            }));
+            callStarted.await(5, TimeUnit.SECONDS);
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 1; i < CONCURRENT_CALLERS; i++) {
+                followers.add(executorService.submit(() -> singleFlight.execute(List.of("pack1", "pack2"), () -> {
+                    executions.incrementAndGet();
+                    return "other result";
+                })));
+            }
+            waitUntilFollowersAreBlocked(followers);
+            releaseCall.countDown();
+
+            // then
+            assertThat(leader.get(5, TimeUnit.SECONDS), equalTo("result"));
+            for (Future<String> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS), equalTo("result"));
+            }
+            assertThat(executions.get(), equalTo(1));
+            assertThat(singleFlight.inFlightCount(), equalTo(0));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldExecuteAgainAfterPreviousCallFinished() {
+
+        // given
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        singleFlight.execute(KEY, () -> "first-" + executions.incrementAndGet());
+        String result = singleFlight.execute(KEY, () -> "second-" + executions.incrementAndGet());
+
+        // then
+        assertThat(result, equalTo("second-2"));
+        assertThat(singleFlight.inFlightCount(), equalTo(0));
+    }
+
+    @Test
+    public void shouldPropagateFailureAndReleaseKey() {
+
+        // when
+        Assertions.assertThrows(IllegalStateException.class, () -> singleFlight.execute(KEY, () -> {
+            throw new IllegalStateException("failure");
+        }));
+
+        // then
+        assertThat(singleFlight.inFlightCount(), equalTo(0));
+    }
+
+    private void waitUntilFollowersAreBlocked(List<Future<String>> followers) throws InterruptedException {
+
+        // followers cannot finish before the leader is released, so a short grace period lets them all join the in-flight call
+        Thread.sleep(200);
+        assertThat(followers.stream().noneMatch(Future::isDone), equalTo(true));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
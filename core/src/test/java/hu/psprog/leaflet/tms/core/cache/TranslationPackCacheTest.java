@@ -0,0 +1,431 @@
+package hu.psprog.leaflet.tms.core.cache;
+
+import hu.psprog.leaflet.tms.core.config.CacheProperties;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.event.TranslationPackChangedEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link TranslationPackCache}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class TranslationPackCacheTest {
+
+    private static final String PACK_1 = "pack1";
+    private static final String PACK_2 = "pack2";
+    private static final TranslationPack TRANSLATION_PACK_1 = prepareTranslationPack(PACK_1);
+    private static final TranslationPack TRANSLATION_PACK_2 = prepareTranslationPack(PACK_2);
+    private static final Map<String, TranslationPack> STORED_PACKS = Map.of(PACK_1, TRANSLATION_PACK_1, PACK_2, TRANSLATION_PACK_2);
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final List<List<String>> loaderCalls = new ArrayList<>();
+
+    private CacheProperties cacheProperties;
+    private MutableClock clock;
+    private TranslationPackCache translationPackCache;
+
+    @BeforeEach
+    public void setup() {
+        cacheProperties = new CacheProperties();
+        clock = new MutableClock(NOW);
+        translationPackCache = new TranslationPackCache(cacheProperties, Runnable::run, clock);
+        loaderCalls.clear();
+    }
+
+    @Test
+    public void shouldGetLoadMissingPacksOnlyOnce() {
+
+        // when
+        List<TranslationPack> firstResult = translationPackCache.get(List.of(PACK_1), this::load);
+        List<TranslationPack> secondResult = translationPackCache.get(List.of(PACK_1, PACK_2), this::load);
+
+        // then
+        assertThat(firstResult, equalTo(List.of(TRANSLATION_PACK_1)));
+        assertThat(secondResult, equalTo(List.of(TRANSLATION_PACK_1, TRANSLATION_PACK_2)));
+        assertThat(loaderCalls, equalTo(List.of(List.of(PACK_1), List.of(PACK_2))));
+        assertThat(translationPackCache.size(), equalTo(2));
+    }
+
+    @Test
+    public void shouldGetReloadExpiredPacks() {
+
+        // given
+        translationPackCache.get(List.of(PACK_1), this::load);
+        clock.advance(cacheProperties.getTimeToLive());
+
+        // when
+        List<TranslationPack> result = translationPackCache.get(List.of(PACK_1), this::load);
+
+        // then
+        assertThat(result, equalTo(List.of(TRANSLATION_PACK_1)));
+        assertThat(loaderCalls, equalTo(List.of(List.of(PACK_1), List.of(PACK_1))));
+    }
+
+    @Test
+    public void shouldGetServeStaleEntryAndRefreshInBackground() {
+
+        // given
+        cacheProperties.setReadMode(CacheProperties.ReadMode.STALE_WHILE_REVALIDATE);
+        List<Runnable> scheduledRefreshes = new ArrayList<>();
+        translationPackCache = new TranslationPackCache(cacheProperties, scheduledRefreshes::add, clock);
+        translationPackCache.get(List.of(PACK_1), this::load);
+        clock.advance(cacheProperties.getSoftTimeToLive());
+
+        // when
+        List<TranslationPack> staleResult = translationPackCache.get(List.of(PACK_1), this::load);
+        translationPackCache.get(List.of(PACK_1), this::load);
+
+        // then
+        assertThat(staleResult, equalTo(List.of(TRANSLATION_PACK_1)));
+        assertThat(loaderCalls.size(), equalTo(1));
+        assertThat(scheduledRefreshes.size(), equalTo(1));
+
+        // when
+        scheduledRefreshes.getFirst().run();
+        translationPackCache.get(List.of(PACK_1), this::load);
+
+        // then
+        assertThat(loaderCalls.size(), equalTo(2));
+        assertThat(scheduledRefreshes.size(), equalTo(1));
+    }
+
+    @Test
+    public void shouldGetFallBackToExpiredEntryWhenReloadFails() {
+
+        // given
+        cacheProperties.setReadMode(CacheProperties.ReadMode.STALE_WHILE_REVALIDATE);
+        translationPackCache.get(List.of(PACK_1), this::load);
+        clock.advance(cacheProperties.getTimeToLive());
+
+        // when
+        List<TranslationPack> result = translationPackCache.get(List.of(PACK_1), this::failingLoad);
+
+        // then
+        assertThat(result, equalTo(List.of(TRANSLATION_PACK_1)));
+    }
+
+    @Test
+    public void shouldGetPropagateReloadFailureWithoutFallbackEntry() {
+
+        // given
+        cacheProperties.setReadMode(CacheProperties.ReadMode.STALE_WHILE_REVALIDATE);
+
+        // when
+        Assertions.assertThrows(DataAccessResourceFailureException.class, () -> translationPackCache.get(List.of(PACK_1), this::failingLoad));
+
+        // then
+        // exception expected
+    }
+
+    @Test
+    public void shouldGetPropagateReloadFailureInStandardMode() {
+
+        // given
+        translationPackCache.get(List.of(PACK_1), this::load);
+        clock.advance(cacheProperties.getTimeToLive());
+
+        // when
+        Assertions.assertThrows(DataAccessResourceFailureException.class, () -> translationPackCache.get(List.of(PACK_1), this::failingLoad));
+
+        // then
+        // exception expected
+    }
+
+    @Test
+    public void shouldGetCacheNonExistingPacksAsEmpty() {
+
+        // given
+        translationPackCache.get(List.of("non-existing"), this::load);
+
+        // when
+        List<TranslationPack> result = translationPackCache.get(List.of("non-existing"), this::load);
+
+        // then
+        assertThat(result, equalTo(List.of()));
+        assertThat(loaderCalls.size(), equalTo(1));
+    }
+
+    @Test
+    public void shouldGetDropNonExistingPacksWhenCacheIsFull() {
+
+        // given
+        cacheProperties.setMaxEntries(2);
+        translationPackCache.get(List.of(PACK_1, "non-existing"), this::load);
+
+        // when
+        List<TranslationPack> result = translationPackCache.get(List.of(PACK_2), this::load);
+
+        // then
+        assertThat(result, equalTo(List.of(TRANSLATION_PACK_2)));
+        assertThat(translationPackCache.size(), equalTo(2));
+        assertThat(translationPackCache.getIfPresent(List.of(PACK_1, PACK_2)).isPresent(), equalTo(true));
+    }
+
+    @Test
+    public void shouldGetServeUncachedWhenCacheIsFullOfLivePacks() {
+
+        // given
+        cacheProperties.setMaxEntries(1);
+        translationPackCache.get(List.of(PACK_1), this::load);
+
+        // when
+        List<TranslationPack> firstResult = translationPackCache.get(List.of(PACK_2), this::load);
+        List<TranslationPack> secondResult = translationPackCache.get(List.of(PACK_2), this::load);
+
+        // then
+        assertThat(firstResult, equalTo(List.of(TRANSLATION_PACK_2)));
+        assertThat(secondResult, equalTo(List.of(TRANSLATION_PACK_2)));
+        assertThat(loaderCalls, equalTo(List.of(List.of(PACK_1), List.of(PACK_2), List.of(PACK_2))));
+        assertThat(translationPackCache.size(), equalTo(1));
+    }
+
+    @Test
+    public void shouldGetServeUncachedWhenCacheReachesMaxWeight() {
+
+        // given
+        cacheProperties.setMaxWeight(DataSize.ofBytes(PackWeigher.weigh(TRANSLATION_PACK_1)));
+        translationPackCache.get(List.of(PACK_1), this::load);
+
+        // when
+        List<TranslationPack> firstResult = translationPackCache.get(List.of(PACK_2), this::load);
+        List<TranslationPack> secondResult = translationPackCache.get(List.of(PACK_2), this::load);
+
+        // then
+        assertThat(firstResult, equalTo(List.of(TRANSLATION_PACK_2)));
+        assertThat(secondResult, equalTo(List.of(TRANSLATION_PACK_2)));
+        assertThat(loaderCalls, equalTo(List.of(List.of(PACK_1), List.of(PACK_2), List.of(PACK_2))));
+        assertThat(translationPackCache.size(), equalTo(1));
+        assertThat(translationPackCache.getWeight(), equalTo(PackWeigher.weigh(TRANSLATION_PACK_1)));
+    }
+
+    @Test
+    public void shouldGetReplaceEntryWithinMaxWeight() {
+
+        // given
+        cacheProperties.setMaxWeight(DataSize.ofBytes(PackWeigher.weigh(TRANSLATION_PACK_1)));
+        translationPackCache.get(List.of(PACK_1), this::load);
+        clock.advance(cacheProperties.getTimeToLive());
+
+        // when
+        translationPackCache.get(List.of(PACK_1), this::load);
+
+        // then
+        assertThat(loaderCalls, equalTo(List.of(List.of(PACK_1), List.of(PACK_1))));
+        assertThat(translationPackCache.getIfPresent(List.of(PACK_1)).isPresent(), equalTo(true));
+    }
+
+    @Test
+    public void shouldGetSweepExpiredEntries() {
+
+        // given
+        translationPackCache.get(List.of(PACK_1, "non-existing"), this::load);
+        clock.advance(cacheProperties.getTimeToLive());
+
+        // when
+        translationPackCache.get(List.of(PACK_2), this::load);
+
+        // then
+        assertThat(translationPackCache.size(), equalTo(1));
+        assertThat(translationPackCache.getIfPresent(List.of(PACK_2)).isPresent(), equalTo(true));
+    }
+
+    @Test
+    public void shouldGetKeepExpiredEntriesOfExistingPacksAsFallbackOnSweep() {
+
+        // given
+        cacheProperties.setReadMode(CacheProperties.ReadMode.STALE_WHILE_REVALIDATE);
+        translationPackCache.get(List.of(PACK_1, "non-existing"), this::load);
+        clock.advance(cacheProperties.getTimeToLive());
+
+        // when
+        translationPackCache.get(List.of(PACK_2), this::load);
+
+        // then
+        assertThat(translationPackCache.size(), equalTo(2));
+        assertThat(translationPackCache.get(List.of(PACK_1), this::failingLoad), equalTo(List.of(TRANSLATION_PACK_1)));
+    }
+
+    @Test
+    public void shouldGetBypassCacheWhenDisabled() {
+
+        // given
+        cacheProperties.setEnabled(false);
+
+        // when
+        translationPackCache.get(List.of(PACK_1), this::load);
+        translationPackCache.get(List.of(PACK_1), this::load);
+
+        // then
+        assertThat(loaderCalls.size(), equalTo(2));
+        assertThat(translationPackCache.size(), equalTo(0));
+    }
+
+    @Test
+    public void shouldGetIfPresentReturnPacksWhenAllPresent() {
+
+        // given
+        translationPackCache.get(List.of(PACK_1, PACK_2), this::load);
+
+        // when
+        Optional<List<TranslationPack>> result = translationPackCache.getIfPresent(List.of(PACK_2, PACK_1));
+
+        // then
+        assertThat(result, equalTo(Optional.of(List.of(TRANSLATION_PACK_2, TRANSLATION_PACK_1))));
+        assertThat(loaderCalls.size(), equalTo(1));
+    }
+
+    @Test
+    public void shouldGetIfPresentReturnEmptyWhenAnyMissing() {
+
+        // given
+        translationPackCache.get(List.of(PACK_1), this::load);
+
+        // when
+        Optional<List<TranslationPack>> result = translationPackCache.getIfPresent(List.of(PACK_1, PACK_2));
+
+        // then
+        assertThat(result, equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void shouldEvictChangedPack() {
+
+        // given
+        translationPackCache.get(List.of(PACK_1, PACK_2), this::load);
+
+        // when
+        translationPackCache.onTranslationPackChanged(new TranslationPackChangedEvent(PACK_1));
+        translationPackCache.get(List.of(PACK_1, PACK_2), this::load);
+
+        // then
+        assertThat(loaderCalls, equalTo(List.of(List.of(PACK_1, PACK_2), List.of(PACK_1))));
+    }
+
+    @Test
+    public void shouldEvictLocaleScopedEntriesOfChangedPack() {
+
+        // given
+        String localeScopedKey1 = TranslationPackCache.localeScopedKey(PACK_1, Locale.ENGLISH);
+        String localeScopedKey2 = TranslationPackCache.localeScopedKey(PACK_2, Locale.ENGLISH);
+        translationPackCache.get(List.of(localeScopedKey1, localeScopedKey2), this::load);
+
+        // when
+        translationPackCache.onTranslationPackChanged(new TranslationPackChangedEvent(PACK_1));
+
+        // then
+        assertThat(translationPackCache.size(), equalTo(1));
+        assertThat(translationPackCache.getIfPresent(List.of(localeScopedKey2)).isPresent(), equalTo(true));
+    }
+
+    @Test
+    public void shouldGetNotStoreResultOfLoadRacingWithEviction() {
+
+        // given
+        long generationBeforeEviction = translationPackCache.getGeneration();
+
+        // when
+        List<TranslationPack> result = translationPackCache.get(List.of(PACK_1, TranslationPackCache.localeScopedKey(PACK_1, Locale.ENGLISH), PACK_2),
+                packNames -> {
+                    translationPackCache.evict(PACK_1);
+                    return load(packNames);
+                });
+
+        // then
+        assertThat(result.size(), equalTo(2));
+        assertThat(translationPackCache.getGeneration(), equalTo(generationBeforeEviction + 1));
+        assertThat(translationPackCache.size(), equalTo(1));
+        assertThat(translationPackCache.getIfPresent(List.of(PACK_2)).isPresent(), equalTo(true));
+    }
+
+    @Test
+    public void shouldGetStoreResultOfLoadStartedAfterEviction() {
+
+        // given
+        translationPackCache.get(List.of(PACK_1), this::load);
+        translationPackCache.evict(PACK_1);
+
+        // when
+        translationPackCache.get(List.of(PACK_1), this::load);
+
+        // then
+        assertThat(translationPackCache.size(), equalTo(1));
+        assertThat(loaderCalls.size(), equalTo(2));
+    }
+
+    private Map<String, List<TranslationPack>> load(List<String> packNames) {
+
+        loaderCalls.add(List.copyOf(packNames));
+
+        return packNames.stream()
+                .collect(Collectors.toMap(Function.identity(), packName -> STORED_PACKS.containsKey(packName)
+                        ? List.of(STORED_PACKS.get(packName))
+                        : List.of()));
+    }
+
+    private Map<String, List<TranslationPack>> failingLoad(List<String> packNames) {
+        throw new DataAccessResourceFailureException("mongo unavailable");
+    }
+
+    private static TranslationPack prepareTranslationPack(String packName) {
+
+        return TranslationPack.builder()
+                .id(UUID.randomUUID())
+                .packName(packName)
+                .locale(Locale.ENGLISH)
+                .enabled(true)
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
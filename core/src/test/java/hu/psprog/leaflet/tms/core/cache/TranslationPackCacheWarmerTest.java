@@ -0,0 +1,135 @@
+package hu.psprog.leaflet.tms.core.cache;
+
+import hu.psprog.leaflet.tms.core.config.CacheProperties;
+import hu.psprog.leaflet.tms.core.dao.TranslationPackDAO;
+import hu.psprog.leaflet.tms.core.service.TranslationManagementService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for {@link TranslationPackCacheWarmer}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class TranslationPackCacheWarmerTest {
+
+    private static final List<String> ALL_PACKS = List.of("pack1", "pack2", "pack3");
+    private static final List<String> CONFIGURED_PACKS = List.of("pack1");
+
+    @Mock
+    private TranslationManagementService translationManagementService;
+
+    @Mock
+    private TranslationPackDAO translationPackDAO;
+
+    @Mock
+    private TranslationPackCache translationPackCache;
+
+    private CacheProperties cacheProperties;
+    private TranslationPackCacheWarmer translationPackCacheWarmer;
+
+    @BeforeEach
+    public void setup() {
+        cacheProperties = new CacheProperties();
+        translationPackCacheWarmer = new TranslationPackCacheWarmer(translationManagementService, translationPackDAO, translationPackCache, cacheProperties);
+    }
+
+    @Test
+    public void shouldWarmUpWithAllPacks() {
+
+        // given
+        given(translationPackDAO.findAllPackNames()).willReturn(ALL_PACKS);
+
+        // when
+        translationPackCacheWarmer.warmUp();
+
+        // then
+        verify(translationManagementService).retrieveLatestEnabledPacks(ALL_PACKS);
+        assertThat(translationPackCacheWarmer.getWarmUpState().status(), equalTo(WarmUpState.Status.COMPLETED));
+        assertThat(translationPackCacheWarmer.getWarmUpState().packCount(), equalTo(3));
+    }
+
+    @Test
+    public void shouldWarmUpStopWhenCacheReachesMaxWeight() {
+
+        // given
+        List<String> packs = IntStream.range(0, 40)
+                .mapToObj(index -> "pack" + index)
+                .toList();
+        cacheProperties.setMaxWeight(DataSize.ofKilobytes(1));
+        given(translationPackDAO.findAllPackNames()).willReturn(packs);
+        given(translationPackCache.getWeight()).willReturn(0L, 512L, 1024L);
+
+        // when
+        translationPackCacheWarmer.warmUp();
+
+        // then
+        verify(translationManagementService).retrieveLatestEnabledPacks(packs.subList(0, 16));
+        verify(translationManagementService).retrieveLatestEnabledPacks(packs.subList(16, 32));
+        verify(translationManagementService, never()).retrieveLatestEnabledPacks(packs.subList(32, 40));
+        assertThat(translationPackCacheWarmer.getWarmUpState().status(), equalTo(WarmUpState.Status.COMPLETED));
+        assertThat(translationPackCacheWarmer.getWarmUpState().packCount(), equalTo(32));
+    }
+
+    @Test
+    public void shouldWarmUpWithConfiguredPacks() {
+
+        // given
+        cacheProperties.getWarmUp().setPacks(CONFIGURED_PACKS);
+
+        // when
+        translationPackCacheWarmer.warmUp();
+
+        // then
+        verify(translationManagementService).retrieveLatestEnabledPacks(CONFIGURED_PACKS);
+        verifyNoInteractions(translationPackDAO);
+        assertThat(translationPackCacheWarmer.getWarmUpState().status(), equalTo(WarmUpState.Status.COMPLETED));
+    }
+
+    @Test
+    public void shouldWarmUpRecordFailure() {
+
+        // given
+        given(translationPackDAO.findAllPackNames()).willReturn(ALL_PACKS);
+        given(translationManagementService.retrieveLatestEnabledPacks(anyList())).willThrow(new IllegalStateException("mongo unavailable"));
+
+        // when
+        translationPackCacheWarmer.warmUp();
+
+        // then
+        assertThat(translationPackCacheWarmer.getWarmUpState().status(), equalTo(WarmUpState.Status.FAILED));
+        assertThat(translationPackCacheWarmer.getWarmUpState().failureMessage(), equalTo("mongo unavailable"));
+        assertThat(translationPackCacheWarmer.getWarmUpState().isFinished(), is(true));
+    }
+
+    @Test
+    public void shouldWarmUpSkipWhenDisabled() {
+
+        // given
+        cacheProperties.getWarmUp().setEnabled(false);
+
+        // when
+        translationPackCacheWarmer.warmUp();
+
+        // then
+        verifyNoInteractions(translationManagementService, translationPackDAO, translationPackCache);
+        assertThat(translationPackCacheWarmer.getWarmUpState().status(), equalTo(WarmUpState.Status.DISABLED));
+    }
+}
@@ -0,0 +1,65 @@
+package hu.psprog.leaflet.tms.core.dao.codec;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link TranslationDefinitionCodec}.
+ *
+ * @author Peter Smith
+ */
+public class TranslationDefinitionCodecTest {
+
+    @Test
+    public void shouldEncodeAndDecodeDefinitions() {
+
+        // given
+        List<TranslationDefinition> definitions = List.of(
+                new TranslationDefinition("greeting", "Szia, világ! ✓"),
+                new TranslationDefinition("empty", ""),
+                new TranslationDefinition("missing", null));
+
+        // when
+        List<TranslationDefinition> result = TranslationDefinitionCodec.decode(TranslationDefinitionCodec.encode(definitions, 1));
+
+        // then
+        assertThat(result, equalTo(definitions));
+    }
+
+    @Test
+    public void shouldEncodeRepetitiveDefinitionsCompactly() {
+
+        // given
+        List<TranslationDefinition> definitions = IntStream.range(0, 1000)
+                .mapToObj(index -> new TranslationDefinition("section.page.label" + index, "Label of item number " + index))
+                .toList();
+        int rawSize = definitions.stream()
+                .mapToInt(definition -> definition.getKey().length() + definition.getValue().length())
+                .sum();
+
+        // when
+        byte[] result = TranslationDefinitionCodec.encode(definitions, 1);
+
+        // then
+        assertThat(result.length < rawSize / 2, is(true));
+    }
+
+    @Test
+    public void shouldDecodeThrowExceptionForCorruptData() {
+
+        // when
+        Assertions.assertThrows(UncheckedIOException.class, () -> TranslationDefinitionCodec.decode(new byte[] {1, 2, 3}));
+
+        // then
+        // exception expected
+    }
+}
@@ -0,0 +1,108 @@
+package hu.psprog.leaflet.tms.core.dao.impl;
+
+import com.mongodb.ReadPreference;
+import hu.psprog.leaflet.tms.core.config.StorageProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link PublicReadPreference}.
+ *
+ * @author Peter Smith
+ */
+public class PublicReadPreferenceTest {
+
+    private StorageProperties.ReadRouting readRouting;
+
+    @BeforeEach
+    public void setup() {
+        readRouting = new StorageProperties.ReadRouting();
+    }
+
+    @Test
+    public void shouldApplyLeaveQueryUntouchedInDefaultMode() {
+
+        // given
+        Query query = new Query();
+
+        // when
+        Query result = PublicReadPreference.apply(query, readRouting);
+
+        // then
+        assertThat(result.hasReadPreference(), is(false));
+        assertThat(PublicReadPreference.resolve(readRouting), nullValue());
+    }
+
+    @Test
+    public void shouldApplyReadPreferenceWithMaxStaleness() {
+
+        // given
+        readRouting.setPublicReads(StorageProperties.ReadMode.SECONDARY);
+        readRouting.setMaxStaleness(Duration.ofMinutes(2));
+
+        // when
+        Query result = PublicReadPreference.apply(new Query(), readRouting);
+
+        // then
+        assertThat(result.getReadPreference(), equalTo(ReadPreference.secondary(120, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    public void shouldApplyPrimaryReadPreferenceFollowingWrite() {
+
+        // given
+        readRouting.setPublicReads(StorageProperties.ReadMode.SECONDARY);
+
+        // when
+        Query result = PublicReadPreference.apply(new Query(), readRouting, true);
+
+        // then
+        assertThat(result.getReadPreference(), equalTo(ReadPreference.primary()));
+    }
+
+    @Test
+    public void shouldApplyLeaveQueryFollowingWriteUntouchedInDefaultMode() {
+
+        // when
+        Query result = PublicReadPreference.apply(new Query(), readRouting, true);
+
+        // then
+        assertThat(result.hasReadPreference(), is(false));
+    }
+
+    @Test
+    public void shouldResolveReadPreferenceWithoutMaxStaleness() {
+
+        // given
+        readRouting.setPublicReads(StorageProperties.ReadMode.PRIMARY_PREFERRED);
+        readRouting.setMaxStaleness(null);
+
+        // when
+        ReadPreference result = PublicReadPreference.resolve(readRouting);
+
+        // then
+        assertThat(result, equalTo(ReadPreference.primaryPreferred()));
+    }
+
+    @Test
+    public void shouldResolvePrimaryReadPreferenceIgnoringMaxStaleness() {
+
+        // given
+        readRouting.setPublicReads(StorageProperties.ReadMode.PRIMARY);
+
+        // when
+        ReadPreference result = PublicReadPreference.resolve(readRouting);
+
+        // then
+        assertThat(result, equalTo(ReadPreference.primary()));
+    }
+}
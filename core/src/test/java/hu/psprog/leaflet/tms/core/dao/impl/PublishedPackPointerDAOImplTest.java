@@ -0,0 +1,317 @@
+package hu.psprog.leaflet.tms.core.dao.impl;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.client.result.DeleteResult;
+import hu.psprog.leaflet.tms.core.config.StorageProperties;
+import hu.psprog.leaflet.tms.core.entity.PublishedPackPointer;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.repository.PublishedPackPointerRepository;
+import hu.psprog.leaflet.tms.core.retrieval.RecentWriteTracker;
+import org.bson.Document;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for {@link PublishedPackPointerDAOImpl}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class PublishedPackPointerDAOImplTest {
+
+    private static final String PACK_NAME = "app";
+    private static final Locale LOCALE = Locale.forLanguageTag("hu-HU");
+    private static final String POINTER_ID = "app|hu-HU";
+    private static final UUID PREVIOUS_PACK_ID = UUID.randomUUID();
+    private static final UUID CURRENT_PACK_ID = UUID.randomUUID();
+    private static final UUID NEW_PACK_ID = UUID.randomUUID();
+    private static final TranslationPack NEW_TRANSLATION_PACK = TranslationPack.builder()
+            .id(NEW_PACK_ID)
+            .packName(PACK_NAME)
+            .locale(LOCALE)
+            .build();
+    private static final PublishedPackPointer CURRENT_POINTER = PublishedPackPointer.builder()
+            .id(POINTER_ID)
+            .packName(PACK_NAME)
+            .locale(LOCALE)
+            .packID(CURRENT_PACK_ID)
+            .history(List.of(PREVIOUS_PACK_ID))
+            .version(3L)
+            .build();
+    private static final PublishedPackPointer UPDATED_POINTER = CURRENT_POINTER.toBuilder().version(4L).build();
+
+    @Mock
+    private PublishedPackPointerRepository publishedPackPointerRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Spy
+    private StorageProperties storageProperties = new StorageProperties();
+
+    @Mock
+    private RecentWriteTracker recentWriteTracker;
+
+    @InjectMocks
+    private PublishedPackPointerDAOImpl publishedPackPointerDAO;
+
+    @Test
+    public void shouldFindAllByPackNameIn() {
+
+        // given
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        storageProperties.getReadRouting().setPublicReads(StorageProperties.ReadMode.NEAREST);
+        given(mongoTemplate.find(captor.capture(), eq(PublishedPackPointer.class))).willReturn(List.of(CURRENT_POINTER));
+
+        // when
+        List<PublishedPackPointer> result = publishedPackPointerDAO.findAllByPackNameIn(List.of(PACK_NAME));
+
+        // then
+        assertThat(result, equalTo(List.of(CURRENT_POINTER)));
+        assertThat(captor.getValue().getQueryObject(), equalTo(new Document("packName", new Document("$in", List.of(PACK_NAME)))));
+        assertThat(captor.getValue().getReadPreference(), equalTo(ReadPreference.nearest(90, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    public void shouldFindAllByPackNameInOnPrimaryAfterRecentWrite() {
+
+        // given
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        storageProperties.getReadRouting().setPublicReads(StorageProperties.ReadMode.NEAREST);
+        given(recentWriteTracker.isRecentlyWritten(List.of(PACK_NAME))).willReturn(true);
+        given(mongoTemplate.find(captor.capture(), eq(PublishedPackPointer.class))).willReturn(List.of(CURRENT_POINTER));
+
+        // when
+        publishedPackPointerDAO.findAllByPackNameIn(List.of(PACK_NAME));
+
+        // then
+        assertThat(captor.getValue().getReadPreference(), equalTo(ReadPreference.primary()));
+    }
+
+    @Test
+    public void shouldPublishCreatePointerOnFirstPublication() {
+
+        // given
+        ArgumentCaptor<PublishedPackPointer> captor = ArgumentCaptor.forClass(PublishedPackPointer.class);
+        given(publishedPackPointerRepository.findById(POINTER_ID)).willReturn(Optional.empty());
+        given(mongoTemplate.insert(captor.capture())).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        PublishedPackPointer result = publishedPackPointerDAO.publish(NEW_TRANSLATION_PACK);
+
+        // then
+        assertThat(result, equalTo(captor.getValue()));
+        assertThat(result.getId(), equalTo(POINTER_ID));
+        assertThat(result.getPackID(), equalTo(NEW_PACK_ID));
+        assertThat(result.getHistory(), equalTo(List.of()));
+    }
+
+    @Test
+    public void shouldPublishSwapPointerAppendingCurrentVersionToHistory() {
+
+        // given
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        given(publishedPackPointerRepository.findById(POINTER_ID)).willReturn(Optional.of(CURRENT_POINTER));
+        given(mongoTemplate.findAndModify(queryCaptor.capture(), updateCaptor.capture(), any(FindAndModifyOptions.class), eq(PublishedPackPointer.class)))
+                .willReturn(UPDATED_POINTER);
+
+        // when
+        PublishedPackPointer result = publishedPackPointerDAO.publish(NEW_TRANSLATION_PACK);
+
+        // then
+        assertThat(result, equalTo(UPDATED_POINTER));
+        assertThat(queryCaptor.getValue().getQueryObject().get("version"), equalTo(3L));
+        assertThat(getSetValue(updateCaptor.getValue(), "packID"), equalTo(NEW_PACK_ID));
+        assertThat(getSetValue(updateCaptor.getValue(), "history"), equalTo(List.of(PREVIOUS_PACK_ID, CURRENT_PACK_ID)));
+    }
+
+    @Test
+    public void shouldPublishTrimHistoryToConfiguredSize() {
+
+        // given
+        storageProperties.getPublishing().setHistorySize(1);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        given(publishedPackPointerRepository.findById(POINTER_ID)).willReturn(Optional.of(CURRENT_POINTER));
+        given(mongoTemplate.findAndModify(any(Query.class), updateCaptor.capture(), any(FindAndModifyOptions.class), eq(PublishedPackPointer.class)))
+                .willReturn(UPDATED_POINTER);
+
+        // when
+        publishedPackPointerDAO.publish(NEW_TRANSLATION_PACK);
+
+        // then
+        assertThat(getSetValue(updateCaptor.getValue(), "history"), equalTo(List.of(CURRENT_PACK_ID)));
+    }
+
+    @Test
+    public void shouldPublishLeavePointerUntouchedWhenAlreadyPublished() {
+
+        // given
+        given(publishedPackPointerRepository.findById(POINTER_ID)).willReturn(Optional.of(CURRENT_POINTER));
+
+        // when
+        PublishedPackPointer result = publishedPackPointerDAO.publish(NEW_TRANSLATION_PACK.toBuilder().id(CURRENT_PACK_ID).build());
+
+        // then
+        assertThat(result, equalTo(CURRENT_POINTER));
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void shouldPublishRetryWhenPointerIsCreatedConcurrently() {
+
+        // given
+        given(publishedPackPointerRepository.findById(POINTER_ID)).willReturn(Optional.empty(), Optional.of(CURRENT_POINTER));
+        given(mongoTemplate.insert(any(PublishedPackPointer.class))).willThrow(new DuplicateKeyException("duplicate key"));
+        given(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(PublishedPackPointer.class)))
+                .willReturn(UPDATED_POINTER);
+
+        // when
+        PublishedPackPointer result = publishedPackPointerDAO.publish(NEW_TRANSLATION_PACK);
+
+        // then
+        assertThat(result, equalTo(UPDATED_POINTER));
+    }
+
+    @Test
+    public void shouldPublishFailAfterExhaustingRetries() {
+
+        // given
+        storageProperties.getOptimisticLocking().setMaxRetries(1);
+        given(publishedPackPointerRepository.findById(POINTER_ID)).willReturn(Optional.of(CURRENT_POINTER));
+
+        // when
+        Assertions.assertThrows(OptimisticLockingFailureException.class, () -> publishedPackPointerDAO.publish(NEW_TRANSLATION_PACK));
+
+        // then
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(PublishedPackPointer.class));
+    }
+
+    @Test
+    public void shouldRollbackRestorePreviouslyPublishedVersion() {
+
+        // given
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        given(publishedPackPointerRepository.findById(POINTER_ID)).willReturn(Optional.of(CURRENT_POINTER));
+        given(mongoTemplate.findAndModify(any(Query.class), updateCaptor.capture(), any(FindAndModifyOptions.class), eq(PublishedPackPointer.class)))
+                .willReturn(UPDATED_POINTER);
+
+        // when
+        PublishedPackPointer result = publishedPackPointerDAO.rollback(PACK_NAME, LOCALE);
+
+        // then
+        assertThat(result, equalTo(UPDATED_POINTER));
+        assertThat(getSetValue(updateCaptor.getValue(), "packID"), equalTo(PREVIOUS_PACK_ID));
+        assertThat(getSetValue(updateCaptor.getValue(), "history"), equalTo(List.of()));
+    }
+
+    @Test
+    public void shouldRollbackReturnNullWithoutHistory() {
+
+        // given
+        given(publishedPackPointerRepository.findById(POINTER_ID)).willReturn(Optional.of(CURRENT_POINTER.toBuilder().history(List.of()).build()));
+
+        // when
+        PublishedPackPointer result = publishedPackPointerDAO.rollback(PACK_NAME, LOCALE);
+
+        // then
+        assertThat(result, nullValue());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void shouldUnpublishRestorePreviouslyPublishedVersionOfPublishedPack() {
+
+        // given
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        given(publishedPackPointerRepository.findById(POINTER_ID)).willReturn(Optional.of(CURRENT_POINTER));
+        given(mongoTemplate.findAndModify(any(Query.class), updateCaptor.capture(), any(FindAndModifyOptions.class), eq(PublishedPackPointer.class)))
+                .willReturn(UPDATED_POINTER);
+
+        // when
+        publishedPackPointerDAO.unpublish(NEW_TRANSLATION_PACK.toBuilder().id(CURRENT_PACK_ID).build());
+
+        // then
+        assertThat(getSetValue(updateCaptor.getValue(), "packID"), equalTo(PREVIOUS_PACK_ID));
+        assertThat(getSetValue(updateCaptor.getValue(), "history"), equalTo(List.of()));
+    }
+
+    @Test
+    public void shouldUnpublishRemovePointerOfPublishedPackWithoutHistory() {
+
+        // given
+        ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+        given(publishedPackPointerRepository.findById(POINTER_ID)).willReturn(Optional.of(CURRENT_POINTER.toBuilder().history(List.of()).build()));
+        given(mongoTemplate.remove(queryCaptor.capture(), eq(PublishedPackPointer.class))).willReturn(DeleteResult.acknowledged(1));
+
+        // when
+        publishedPackPointerDAO.unpublish(NEW_TRANSLATION_PACK.toBuilder().id(CURRENT_PACK_ID).build());
+
+        // then
+        assertThat(queryCaptor.getValue().getQueryObject(), equalTo(new Document("id", POINTER_ID).append("version", 3L)));
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(PublishedPackPointer.class));
+    }
+
+    @Test
+    public void shouldUnpublishDropPreviouslyPublishedPackFromHistory() {
+
+        // given
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        given(publishedPackPointerRepository.findById(POINTER_ID)).willReturn(Optional.of(CURRENT_POINTER));
+        given(mongoTemplate.findAndModify(any(Query.class), updateCaptor.capture(), any(FindAndModifyOptions.class), eq(PublishedPackPointer.class)))
+                .willReturn(UPDATED_POINTER);
+
+        // when
+        publishedPackPointerDAO.unpublish(NEW_TRANSLATION_PACK.toBuilder().id(PREVIOUS_PACK_ID).build());
+
+        // then
+        assertThat(getSetValue(updateCaptor.getValue(), "packID"), equalTo(CURRENT_PACK_ID));
+        assertThat(getSetValue(updateCaptor.getValue(), "history"), equalTo(List.of()));
+    }
+
+    @Test
+    public void shouldUnpublishIgnoreNeverPublishedPack() {
+
+        // given
+        given(publishedPackPointerRepository.findById(POINTER_ID)).willReturn(Optional.of(CURRENT_POINTER));
+
+        // when
+        publishedPackPointerDAO.unpublish(NEW_TRANSLATION_PACK);
+
+        // then
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private Object getSetValue(Update update, String field) {
+        return update.getUpdateObject().get("$set", Document.class).get(field);
+    }
+}
@@ -0,0 +1,80 @@
+package hu.psprog.leaflet.tms.core.dao.impl;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationBundle;
+import hu.psprog.leaflet.tms.core.repository.TranslationBundleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link TranslationBundleDAOImpl}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class TranslationBundleDAOImplTest {
+
+    private static final String BUNDLE_ID = "pack1,pack2@hu";
+    private static final String PACK_NAME = "pack1";
+    private static final TranslationBundle TRANSLATION_BUNDLE = TranslationBundle.builder().id(BUNDLE_ID).build();
+
+    @Mock
+    private TranslationBundleRepository translationBundleRepository;
+
+    @InjectMocks
+    private TranslationBundleDAOImpl translationBundleDAO;
+
+    @Test
+    public void shouldGetByID() {
+
+        // when
+        translationBundleDAO.getByID(BUNDLE_ID);
+
+        // then
+        verify(translationBundleRepository).findById(BUNDLE_ID);
+    }
+
+    @Test
+    public void shouldFindAllKeysByPackName() {
+
+        // when
+        translationBundleDAO.findAllKeysByPackName(PACK_NAME);
+
+        // then
+        verify(translationBundleRepository).findAllKeysByPackName(PACK_NAME);
+    }
+
+    @Test
+    public void shouldFindAllKeys() {
+
+        // when
+        translationBundleDAO.findAllKeys();
+
+        // then
+        verify(translationBundleRepository).findAllKeys();
+    }
+
+    @Test
+    public void shouldSave() {
+
+        // when
+        translationBundleDAO.save(TRANSLATION_BUNDLE);
+
+        // then
+        verify(translationBundleRepository).save(TRANSLATION_BUNDLE);
+    }
+
+    @Test
+    public void shouldDelete() {
+
+        // when
+        translationBundleDAO.delete(BUNDLE_ID);
+
+        // then
+        verify(translationBundleRepository).deleteById(BUNDLE_ID);
+    }
+}
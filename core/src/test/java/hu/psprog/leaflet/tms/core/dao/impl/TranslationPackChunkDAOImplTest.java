@@ -0,0 +1,143 @@
+package hu.psprog.leaflet.tms.core.dao.impl;
+
+import hu.psprog.leaflet.tms.core.domain.KeyRange;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPackChunk;
+import hu.psprog.leaflet.tms.core.repository.TranslationPackChunkRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link TranslationPackChunkDAOImpl}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class TranslationPackChunkDAOImplTest {
+
+    private static final UUID PACK_ID = UUID.randomUUID();
+    private static final TranslationDefinition DEFINITION_A = new TranslationDefinition("a.key", "A");
+    private static final TranslationDefinition DEFINITION_B = new TranslationDefinition("b.key", "B");
+    private static final TranslationDefinition DEFINITION_C = new TranslationDefinition("c.key", "C");
+
+    @Mock
+    private TranslationPackChunkRepository translationPackChunkRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private TranslationPackChunkDAOImpl translationPackChunkDAO;
+
+    @Test
+    public void shouldSaveChunks() {
+
+        // given
+        ArgumentCaptor<TranslationPackChunk> captor = ArgumentCaptor.forClass(TranslationPackChunk.class);
+
+        // when
+        int result = translationPackChunkDAO.saveChunks(PACK_ID, List.of(DEFINITION_A, DEFINITION_B, DEFINITION_C).iterator(), 2);
+
+        // then
+        assertThat(result, equalTo(2));
+        verify(translationPackChunkRepository, times(2)).insert(captor.capture());
+        TranslationPackChunk firstChunk = captor.getAllValues().get(0);
+        TranslationPackChunk secondChunk = captor.getAllValues().get(1);
+        assertThat(firstChunk.getId(), equalTo(PACK_ID + ":0"));
+        assertThat(firstChunk.getChunkIndex(), equalTo(0));
+        assertThat(firstChunk.getFirstKey(), equalTo(DEFINITION_A.getKey()));
+        assertThat(firstChunk.getLastKey(), equalTo(DEFINITION_B.getKey()));
+        assertThat(firstChunk.getDefinitions(), equalTo(List.of(DEFINITION_A, DEFINITION_B)));
+        assertThat(secondChunk.getChunkIndex(), equalTo(1));
+        assertThat(secondChunk.getDefinitions(), equalTo(List.of(DEFINITION_C)));
+    }
+
+    @Test
+    public void shouldStreamDefinitionsInKeyRange() {
+
+        // given
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        given(mongoTemplate.stream(any(Query.class), eq(TranslationPackChunk.class))).willReturn(Stream.of(
+                prepareChunk(0, DEFINITION_A, DEFINITION_B),
+                prepareChunk(1, DEFINITION_C)));
+
+        // when
+        List<TranslationDefinition> result;
+        try (Stream<TranslationDefinition> definitions = translationPackChunkDAO.streamDefinitions(PACK_ID, KeyRange.prefix("b."))) {
+            result = definitions.toList();
+        }
+
+        // then
+        assertThat(result, equalTo(List.of(DEFINITION_B)));
+        verify(mongoTemplate).stream(captor.capture(), eq(TranslationPackChunk.class));
+        Document queryObject = captor.getValue().getQueryObject();
+        assertThat(queryObject.get("lastKey"), equalTo(new Document("$gte", "b.")));
+        assertThat(queryObject.get("firstKey"), equalTo(new Document("$lt", "b." + Character.MAX_VALUE)));
+    }
+
+    @Test
+    public void shouldFindAllDefinitionsByPackIDListInSingleQuery() {
+
+        // given
+        UUID otherPackID = UUID.randomUUID();
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        given(mongoTemplate.find(any(Query.class), eq(TranslationPackChunk.class))).willReturn(List.of(
+                prepareChunk(0, DEFINITION_A, DEFINITION_B),
+                prepareChunk(1, DEFINITION_C),
+                prepareChunk(otherPackID, 0, DEFINITION_B)));
+
+        // when
+        Map<UUID, List<TranslationDefinition>> result = translationPackChunkDAO.findAllDefinitionsByPackIdIn(List.of(PACK_ID, otherPackID));
+
+        // then
+        assertThat(result, equalTo(Map.of(
+                PACK_ID, List.of(DEFINITION_A, DEFINITION_B, DEFINITION_C),
+                otherPackID, List.of(DEFINITION_B))));
+        verify(mongoTemplate).find(captor.capture(), eq(TranslationPackChunk.class));
+        assertThat(captor.getValue().getQueryObject(), equalTo(new Document("packId", new Document("$in", List.of(PACK_ID, otherPackID)))));
+        assertThat(captor.getValue().getSortObject(), equalTo(new Document("packId", 1).append("chunkIndex", 1)));
+    }
+
+    @Test
+    public void shouldDeleteChunks() {
+
+        // when
+        translationPackChunkDAO.deleteChunks(PACK_ID);
+
+        // then
+        verify(translationPackChunkRepository).deleteAllByPackId(PACK_ID);
+    }
+
+    private static TranslationPackChunk prepareChunk(int chunkIndex, TranslationDefinition... definitions) {
+        return prepareChunk(PACK_ID, chunkIndex, definitions);
+    }
+
+    private static TranslationPackChunk prepareChunk(UUID packID, int chunkIndex, TranslationDefinition... definitions) {
+
+        return TranslationPackChunk.builder()
+                .packId(packID)
+                .chunkIndex(chunkIndex)
+                .definitions(List.of(definitions))
+                .build();
+    }
+}
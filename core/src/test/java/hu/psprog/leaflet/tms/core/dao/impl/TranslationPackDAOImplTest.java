@@ -1,22 +1,55 @@
 package hu.psprog.leaflet.tms.core.dao.impl;
 
+import com.mongodb.ReadPreference;
+import hu.psprog.leaflet.tms.core.config.StorageProperties;
+import hu.psprog.leaflet.tms.core.dao.TranslationPackChunkDAO;
+import hu.psprog.leaflet.tms.core.dao.codec.TranslationDefinitionCodec;
+import hu.psprog.leaflet.tms.core.domain.KeyRange;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
 import hu.psprog.leaflet.tms.core.entity.TranslationPack;
 import hu.psprog.leaflet.tms.core.repository.TranslationPackRepository;
+import hu.psprog.leaflet.tms.core.retrieval.RecentWriteTracker;
+import org.bson.Document;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
+import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
  * Unit tests for {@link TranslationPackDAOImpl}.
@@ -28,34 +61,182 @@ public class TranslationPackDAOImplTest {
 
     private static final UUID PACK_ID = UUID.randomUUID();
     private static final TranslationPack TRANSLATION_PACK = TranslationPack.builder().id(PACK_ID).build();
+    private static final List<TranslationDefinition> DEFINITIONS = List.of(
+            new TranslationDefinition("key1", "value1"),
+            new TranslationDefinition("key2", "value2"));
 
     @Mock
     private TranslationPackRepository translationPackRepository;
 
+    @Mock
+    private TranslationPackChunkDAO translationPackChunkDAO;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Spy
+    private StorageProperties storageProperties = new StorageProperties();
+
+    @Mock
+    private RecentWriteTracker recentWriteTracker;
+
     @InjectMocks
     private TranslationPackDAOImpl translationPackDAO;
 
     @Test
-    public void shouldFindAll() {
+    public void shouldFindAllMetaInfo() {
+
+        // when
+        translationPackDAO.findAllMetaInfo();
+
+        // then
+        Query query = captureFindQuery();
+        assertThat(query.getQueryObject(), equalTo(new Document()));
+        assertThat(query.getFieldsObject(), equalTo(new Document("definitions", 0).append("compressedDefinitions", 0)));
+        verifyNoInteractions(translationPackChunkDAO);
+    }
+
+    @Test
+    public void shouldFindAllLatestEnabledMetaInfoByPackNameList() {
+
+        // given
+        List<String> packs = Arrays.asList("pack1", "pack2");
+        givenAggregationResult();
 
         // when
-        translationPackDAO.findAll();
+        List<TranslationPack> result = translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(packs);
 
         // then
-        verify(translationPackRepository).findAll();
+        assertThat(result, equalTo(List.of(TRANSLATION_PACK)));
+        TypedAggregation<?> aggregation = captureAggregation();
+        assertThat(aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT), equalTo(List.of(
+                new Document("$match", new Document("packName", new Document("$in", packs)).append("enabled", true)),
+                new Document("$sort", new Document("packName", 1).append("locale", 1).append("enabled", 1).append("created", -1)),
+                new Document("$group", new Document("_id", new Document("packName", "$packName").append("locale", "$locale"))
+                        .append("latest", new Document("$first", "$$ROOT"))),
+                new Document("$replaceRoot", new Document("newRoot", "$latest")),
+                new Document("$project", new Document("definitions", 0).append("compressedDefinitions", 0)))));
+        assertThat(aggregation.getOptions().getReadPreference(), nullValue());
+        verifyNoInteractions(translationPackChunkDAO);
     }
 
     @Test
-    public void shouldFindAllByPackNameList() {
+    public void shouldFindAllLatestEnabledMetaInfoByPackNameAndLocaleList() {
 
         // given
         List<String> packs = Arrays.asList("pack1", "pack2");
+        List<Locale> locales = List.of(Locale.ENGLISH);
+        givenAggregationResult();
+
+        // when
+        translationPackDAO.findAllLatestEnabledMetaInfoByPackNameInAndLocaleIn(packs, locales);
+
+        // then
+        assertThat(captureAggregation().toPipeline(Aggregation.DEFAULT_CONTEXT).get(0), equalTo(new Document("$match",
+                new Document("packName", new Document("$in", packs))
+                        .append("locale", new Document("$in", locales))
+                        .append("enabled", true))));
+    }
+
+    @Test
+    public void shouldFindAllLatestEnabledMetaInfoWithReadPreferenceOfPublicReads() {
+
+        // given
+        List<String> packs = Arrays.asList("pack1", "pack2");
+        storageProperties.getReadRouting().setPublicReads(StorageProperties.ReadMode.SECONDARY_PREFERRED);
+        givenAggregationResult();
+
+        // when
+        translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(packs);
+
+        // then
+        assertThat(captureAggregation().getOptions().getReadPreference(), equalTo(ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    public void shouldFindAllLatestEnabledMetaInfoOnPrimaryAfterRecentWrite() {
+
+        // given
+        List<String> packs = Arrays.asList("pack1", "pack2");
+        storageProperties.getReadRouting().setPublicReads(StorageProperties.ReadMode.SECONDARY_PREFERRED);
+        given(recentWriteTracker.isRecentlyWritten(packs)).willReturn(true);
+        givenAggregationResult();
+
+        // when
+        translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(packs);
+
+        // then
+        assertThat(captureAggregation().getOptions().getReadPreference(), equalTo(ReadPreference.primary()));
+    }
+
+    @Test
+    public void shouldFindAllByIDList() {
+
+        // given
+        List<UUID> packIDs = List.of(PACK_ID);
+
+        // when
+        translationPackDAO.findAllByIdIn(packIDs);
+
+        // then
+        assertThat(captureFindQuery().getQueryObject(), equalTo(new Document("id", new Document("$in", packIDs))));
+    }
+
+    @Test
+    public void shouldFindAllByIDListWithReadPreferenceOfPublicReads() {
+
+        // given
+        List<UUID> packIDs = List.of(PACK_ID);
+        storageProperties.getReadRouting().setPublicReads(StorageProperties.ReadMode.NEAREST);
+
+        // when
+        translationPackDAO.findAllByIdIn(packIDs);
+
+        // then
+        assertThat(captureFindQuery().getReadPreference(), equalTo(ReadPreference.nearest(90, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    public void shouldFindAllByIDListOnPrimaryAfterRecentWrite() {
+
+        // given
+        List<UUID> packIDs = List.of(PACK_ID);
+        storageProperties.getReadRouting().setPublicReads(StorageProperties.ReadMode.NEAREST);
+        given(recentWriteTracker.isRecentlyWrittenByID(packIDs)).willReturn(true);
+
+        // when
+        translationPackDAO.findAllByIdIn(packIDs);
+
+        // then
+        assertThat(captureFindQuery().getReadPreference(), equalTo(ReadPreference.primary()));
+    }
+
+    @Test
+    public void shouldFindAllMetaInfoByIDList() {
+
+        // given
+        List<UUID> packIDs = List.of(PACK_ID);
+
+        // when
+        translationPackDAO.findAllMetaInfoByIdIn(packIDs);
+
+        // then
+        Query query = captureFindQuery();
+        assertThat(query.getQueryObject(), equalTo(new Document("id", new Document("$in", packIDs))));
+        assertThat(query.getFieldsObject(), equalTo(new Document("definitions", 0).append("compressedDefinitions", 0)));
+    }
+
+    @Test
+    public void shouldFindAllPackNames() {
+
+        // given
+        given(mongoTemplate.findDistinct(new Query(), "packName", TranslationPack.class, String.class)).willReturn(List.of("pack1", "pack2"));
 
         // when
-        translationPackDAO.findAllByPackNameIn(packs);
+        List<String> result = translationPackDAO.findAllPackNames();
 
         // then
-        verify(translationPackRepository).findAllByPackNameIn(packs);
+        assertThat(result, equalTo(List.of("pack1", "pack2")));
     }
 
     @Test
@@ -78,6 +259,19 @@ public class TranslationPackDAOImplTest {
         verify(translationPackRepository).findById(PACK_ID);
     }
 
+    @Test
+    public void shouldGetMetaInfoByID() {
+
+        // given
+        given(translationPackRepository.findMetaInfoById(PACK_ID)).willReturn(Optional.of(TRANSLATION_PACK));
+
+        // when
+        TranslationPack result = translationPackDAO.getMetaInfoByID(PACK_ID);
+
+        // then
+        assertThat(result, equalTo(TRANSLATION_PACK));
+    }
+
     @Test
     public void shouldSave() {
 
@@ -89,17 +283,363 @@ public class TranslationPackDAOImplTest {
     }
 
     @Test
-    public void shouldSetStatus() {
+    public void shouldSaveWithCompressedDefinitions() {
 
         // given
-        given(translationPackRepository.findById(PACK_ID)).willReturn(Optional.of(TRANSLATION_PACK));
+        givenCompressionEnabled();
+        TranslationPack translationPack = TranslationPack.builder().id(PACK_ID).definitions(DEFINITIONS).build();
+        ArgumentCaptor<TranslationPack> captor = ArgumentCaptor.forClass(TranslationPack.class);
+        given(translationPackRepository.save(any(TranslationPack.class))).willAnswer(invocation -> invocation.<TranslationPack>getArgument(0).toBuilder().build());
 
         // when
-        translationPackDAO.setStatus(PACK_ID, true);
+        TranslationPack result = translationPackDAO.save(translationPack);
 
         // then
-        assertThat(TRANSLATION_PACK.isEnabled(), is(true));
-        verify(translationPackRepository).save(TRANSLATION_PACK);
+        verify(translationPackRepository).save(captor.capture());
+        assertThat(captor.getValue().getDefinitions(), nullValue());
+        assertThat(captor.getValue().getCompressedDefinitions(), notNullValue());
+        assertThat(result.getDefinitions(), equalTo(DEFINITIONS));
+        assertThat(result.getCompressedDefinitions(), nullValue());
+        assertThat(translationPack.getDefinitions(), equalTo(DEFINITIONS));
+    }
+
+    @Test
+    public void shouldSaveWithoutCompressionBelowMinDefinitions() {
+
+        // given
+        givenCompressionEnabled();
+        storageProperties.getCompression().setMinDefinitions(3);
+        TranslationPack translationPack = TranslationPack.builder().id(PACK_ID).definitions(DEFINITIONS).build();
+
+        // when
+        translationPackDAO.save(translationPack);
+
+        // then
+        verify(translationPackRepository).save(translationPack);
+    }
+
+    @Test
+    public void shouldGetByIDDecodeCompressedDefinitions() {
+
+        // given
+        TranslationPack storedPack = TranslationPack.builder()
+                .id(PACK_ID)
+                .compressedDefinitions(TranslationDefinitionCodec.encode(DEFINITIONS, 1))
+                .build();
+        given(translationPackRepository.findById(PACK_ID)).willReturn(Optional.of(storedPack));
+
+        // when
+        TranslationPack result = translationPackDAO.getByID(PACK_ID);
+
+        // then
+        assertThat(result.getDefinitions(), equalTo(DEFINITIONS));
+        assertThat(result.getCompressedDefinitions(), nullValue());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    public void shouldFindAllByIDListNotMigrateUncompressedPacks() {
+
+        // given
+        givenCompressionEnabled();
+        TranslationPack storedPack = TranslationPack.builder().id(PACK_ID).definitions(DEFINITIONS).build();
+        given(mongoTemplate.find(any(Query.class), eq(TranslationPack.class))).willReturn(List.of(storedPack));
+
+        // when
+        List<TranslationPack> result = translationPackDAO.findAllByIdIn(List.of(PACK_ID));
+
+        // then
+        assertThat(result.get(0).getDefinitions(), equalTo(DEFINITIONS));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(TranslationPack.class));
+    }
+
+    @Test
+    public void shouldGetByIDMigrateUncompressedPack() {
+
+        // given
+        givenCompressionEnabled();
+        TranslationPack storedPack = TranslationPack.builder().id(PACK_ID).definitions(DEFINITIONS).build();
+        given(translationPackRepository.findById(PACK_ID)).willReturn(Optional.of(storedPack));
+        ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+
+        // when
+        TranslationPack result = translationPackDAO.getByID(PACK_ID);
+
+        // then
+        assertThat(result.getDefinitions(), equalTo(DEFINITIONS));
+        verify(mongoTemplate).updateFirst(any(Query.class), captor.capture(), eq(TranslationPack.class));
+        assertThat(captor.getValue().getUpdateObject().containsKey("$set"), is(true));
+        assertThat(captor.getValue().getUpdateObject().containsKey("$unset"), is(true));
+    }
+
+    @Test
+    public void shouldSaveChunkedOrderedByKey() {
+
+        // given
+        storageProperties.getChunking().setEnabled(true);
+        storageProperties.getChunking().setMinDefinitions(2);
+        List<TranslationDefinition> definitions = List.of(DEFINITIONS.get(1), DEFINITIONS.get(0));
+        TranslationPack translationPack = TranslationPack.builder().id(PACK_ID).definitions(definitions).build();
+        ArgumentCaptor<TranslationPack> captor = ArgumentCaptor.forClass(TranslationPack.class);
+        ArgumentCaptor<Iterator<TranslationDefinition>> iteratorCaptor = ArgumentCaptor.captor();
+        given(translationPackRepository.save(any(TranslationPack.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        TranslationPack result = translationPackDAO.save(translationPack);
+
+        // then
+        verify(translationPackChunkDAO).saveChunks(eq(PACK_ID), iteratorCaptor.capture(), eq(1000));
+        List<TranslationDefinition> chunkedDefinitions = new ArrayList<>();
+        iteratorCaptor.getValue().forEachRemaining(chunkedDefinitions::add);
+        assertThat(chunkedDefinitions, equalTo(DEFINITIONS));
+        verify(translationPackRepository).save(captor.capture());
+        assertThat(captor.getValue().isChunked(), is(true));
+        assertThat(captor.getValue().getDefinitions(), nullValue());
+        assertThat(result.getDefinitions(), equalTo(DEFINITIONS));
+    }
+
+    @Test
+    public void shouldSaveStreamChunkedAboveMinDefinitions() {
+
+        // given
+        storageProperties.getChunking().setEnabled(true);
+        storageProperties.getChunking().setMinDefinitions(1);
+        TranslationPack translationPack = TranslationPack.builder().id(PACK_ID).build();
+        List<TranslationDefinition> chunkedDefinitions = new ArrayList<>();
+        ArgumentCaptor<TranslationPack> captor = ArgumentCaptor.forClass(TranslationPack.class);
+        given(translationPackChunkDAO.saveChunks(eq(PACK_ID), any(), eq(1000))).willAnswer(invocation -> {
+            invocation.<Iterator<TranslationDefinition>>getArgument(1).forEachRemaining(chunkedDefinitions::add);
+            return 1;
+        });
+
+        // when
+        translationPackDAO.save(translationPack, DEFINITIONS.iterator());
+
+        // then
+        assertThat(chunkedDefinitions, equalTo(DEFINITIONS));
+        verify(translationPackRepository).save(captor.capture());
+        assertThat(captor.getValue().isChunked(), is(true));
+        assertThat(captor.getValue().isKeyOrdered(), is(true));
+    }
+
+    @Test
+    public void shouldSaveStreamAsRegularPackBelowMinDefinitions() {
+
+        // given
+        storageProperties.getChunking().setEnabled(true);
+        storageProperties.getChunking().setMinDefinitions(3);
+        givenCompressionEnabled();
+        TranslationPack translationPack = TranslationPack.builder().id(PACK_ID).build();
+        ArgumentCaptor<TranslationPack> captor = ArgumentCaptor.forClass(TranslationPack.class);
+        given(translationPackRepository.save(any(TranslationPack.class))).willAnswer(invocation -> invocation.<TranslationPack>getArgument(0).toBuilder().build());
+
+        // when
+        TranslationPack result = translationPackDAO.save(translationPack, DEFINITIONS.iterator());
+
+        // then
+        verify(translationPackRepository).save(captor.capture());
+        assertThat(captor.getValue().isChunked(), is(false));
+        assertThat(captor.getValue().getCompressedDefinitions(), notNullValue());
+        assertThat(result.getDefinitions(), equalTo(DEFINITIONS));
+        verifyNoInteractions(translationPackChunkDAO);
+    }
+
+    @Test
+    public void shouldSaveStreamAsRegularPackIfChunkingIsDisabled() {
+
+        // given
+        storageProperties.getChunking().setMinDefinitions(1);
+        TranslationPack translationPack = TranslationPack.builder().id(PACK_ID).build();
+        ArgumentCaptor<TranslationPack> captor = ArgumentCaptor.forClass(TranslationPack.class);
+
+        // when
+        translationPackDAO.save(translationPack, DEFINITIONS.iterator());
+
+        // then
+        verify(translationPackRepository).save(captor.capture());
+        assertThat(captor.getValue().isChunked(), is(false));
+        assertThat(captor.getValue().getDefinitions(), equalTo(DEFINITIONS));
+        verifyNoInteractions(translationPackChunkDAO);
+    }
+
+    @Test
+    public void shouldSaveStreamDeleteChunksOnFailure() {
+
+        // given
+        storageProperties.getChunking().setEnabled(true);
+        storageProperties.getChunking().setMinDefinitions(1);
+        TranslationPack translationPack = TranslationPack.builder().id(PACK_ID).build();
+        given(translationPackRepository.save(any(TranslationPack.class))).willThrow(new IllegalStateException("failure"));
+
+        // when
+        Assertions.assertThrows(IllegalStateException.class, () -> translationPackDAO.save(translationPack, DEFINITIONS.iterator()));
+
+        // then
+        verify(translationPackChunkDAO).deleteChunks(PACK_ID);
+    }
+
+    @Test
+    public void shouldGetByIDReassembleChunkedPack() {
+
+        // given
+        TranslationPack storedPack = TranslationPack.builder().id(PACK_ID).chunked(true).build();
+        given(translationPackRepository.findById(PACK_ID)).willReturn(Optional.of(storedPack));
+        given(translationPackChunkDAO.streamDefinitions(PACK_ID, KeyRange.ALL)).willReturn(DEFINITIONS.stream());
+
+        // when
+        TranslationPack result = translationPackDAO.getByID(PACK_ID);
+
+        // then
+        assertThat(result.getDefinitions(), equalTo(DEFINITIONS));
+    }
+
+    @Test
+    public void shouldFindAllByIDListReassembleChunkedPacksInSingleQuery() {
+
+        // given
+        UUID otherPackID = UUID.randomUUID();
+        TranslationPack chunkedPack = TranslationPack.builder().id(PACK_ID).chunked(true).build();
+        TranslationPack otherChunkedPack = TranslationPack.builder().id(otherPackID).chunked(true).build();
+        given(mongoTemplate.find(any(Query.class), eq(TranslationPack.class))).willReturn(List.of(chunkedPack, otherChunkedPack));
+        given(translationPackChunkDAO.findAllDefinitionsByPackIdIn(List.of(PACK_ID, otherPackID))).willReturn(Map.of(PACK_ID, DEFINITIONS));
+
+        // when
+        List<TranslationPack> result = translationPackDAO.findAllByIdIn(List.of(PACK_ID, otherPackID));
+
+        // then
+        assertThat(result.get(0).getDefinitions(), equalTo(DEFINITIONS));
+        assertThat(result.get(1).getDefinitions(), equalTo(List.of()));
+        verify(translationPackChunkDAO, never()).streamDefinitions(any(), any());
+    }
+
+    @Test
+    public void shouldStreamDefinitionsOfChunkedPack() {
+
+        // given
+        KeyRange keyRange = KeyRange.prefix("key2");
+        given(translationPackRepository.findById(PACK_ID)).willReturn(Optional.of(TranslationPack.builder().id(PACK_ID).chunked(true).build()));
+        given(translationPackChunkDAO.streamDefinitions(PACK_ID, keyRange)).willReturn(Stream.of(DEFINITIONS.get(1)));
+
+        // when
+        List<TranslationDefinition> result = translationPackDAO.streamDefinitions(PACK_ID, keyRange).toList();
+
+        // then
+        assertThat(result, equalTo(List.of(DEFINITIONS.get(1))));
+    }
+
+    @Test
+    public void shouldStreamDefinitionsOfRegularPack() {
+
+        // given
+        given(translationPackRepository.findById(PACK_ID)).willReturn(Optional.of(TranslationPack.builder().id(PACK_ID).definitions(DEFINITIONS).build()));
+
+        // when
+        List<TranslationDefinition> result = translationPackDAO.streamDefinitions(PACK_ID, new KeyRange("key2", null)).toList();
+
+        // then
+        assertThat(result, equalTo(List.of(DEFINITIONS.get(1))));
+        verifyNoInteractions(translationPackChunkDAO);
+    }
+
+    @Test
+    public void shouldStreamDefinitionsOrderedByKeyOfKeyOrderedChunkedPack() {
+
+        // given
+        given(translationPackRepository.findById(PACK_ID)).willReturn(Optional.of(TranslationPack.builder().id(PACK_ID).chunked(true).keyOrdered(true).build()));
+        given(translationPackChunkDAO.streamDefinitions(PACK_ID, KeyRange.ALL)).willReturn(DEFINITIONS.stream());
+
+        // when
+        List<TranslationDefinition> result = translationPackDAO.streamDefinitionsOrderedByKey(PACK_ID).toList();
+
+        // then
+        assertThat(result, equalTo(DEFINITIONS));
+    }
+
+    @Test
+    public void shouldStreamDefinitionsOrderedByKeyOfRegularPack() {
+
+        // given
+        List<TranslationDefinition> definitions = List.of(DEFINITIONS.get(1), DEFINITIONS.get(0));
+        given(translationPackRepository.findById(PACK_ID)).willReturn(Optional.of(TranslationPack.builder().id(PACK_ID).definitions(definitions).build()));
+
+        // when
+        List<TranslationDefinition> result = translationPackDAO.streamDefinitionsOrderedByKey(PACK_ID).toList();
+
+        // then
+        assertThat(result, equalTo(DEFINITIONS));
+        verifyNoInteractions(translationPackChunkDAO);
+    }
+
+    @Test
+    public void shouldToggleStatusConditionallyOnVersion() {
+
+        // given
+        TranslationPack currentPack = TranslationPack.builder().id(PACK_ID).enabled(false).version(4L).build();
+        TranslationPack updatedPack = TranslationPack.builder().id(PACK_ID).enabled(true).version(5L).build();
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+        given(translationPackRepository.findMetaInfoById(PACK_ID)).willReturn(Optional.of(currentPack));
+        given(mongoTemplate.findAndModify(captor.capture(), updateCaptor.capture(), any(FindAndModifyOptions.class), eq(TranslationPack.class)))
+                .willReturn(updatedPack);
+
+        // when
+        TranslationPack result = translationPackDAO.toggleStatus(PACK_ID);
+
+        // then
+        assertThat(result, equalTo(updatedPack));
+        assertThat(captor.getValue().getQueryObject().get("version"), equalTo(4L));
+        assertThat(captor.getValue().getFieldsObject(), equalTo(new Document("definitions", 0).append("compressedDefinitions", 0)));
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$set", Document.class).get("enabled"), equalTo(true));
+        assertThat(updateCaptor.getValue().getUpdateObject().get("$inc", Document.class).get("version"), equalTo(1));
+        verify(translationPackRepository, never()).save(any(TranslationPack.class));
+        verifyNoInteractions(translationPackChunkDAO);
+    }
+
+    @Test
+    public void shouldToggleStatusRetryOnConcurrentModification() {
+
+        // given
+        TranslationPack stalePack = TranslationPack.builder().id(PACK_ID).enabled(false).version(4L).build();
+        TranslationPack currentPack = TranslationPack.builder().id(PACK_ID).enabled(true).version(5L).build();
+        TranslationPack updatedPack = TranslationPack.builder().id(PACK_ID).enabled(false).version(6L).build();
+        given(translationPackRepository.findMetaInfoById(PACK_ID)).willReturn(Optional.of(stalePack), Optional.of(currentPack));
+        given(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TranslationPack.class)))
+                .willReturn(null, updatedPack);
+
+        // when
+        TranslationPack result = translationPackDAO.toggleStatus(PACK_ID);
+
+        // then
+        assertThat(result, equalTo(updatedPack));
+        verify(translationPackRepository, times(2)).findMetaInfoById(PACK_ID);
+    }
+
+    @Test
+    public void shouldToggleStatusFailAfterExhaustingRetries() {
+
+        // given
+        storageProperties.getOptimisticLocking().setMaxRetries(1);
+        given(translationPackRepository.findMetaInfoById(PACK_ID)).willReturn(Optional.of(TranslationPack.builder().id(PACK_ID).version(4L).build()));
+
+        // when
+        Assertions.assertThrows(OptimisticLockingFailureException.class, () -> translationPackDAO.toggleStatus(PACK_ID));
+
+        // then
+        verify(mongoTemplate, times(2)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(TranslationPack.class));
+    }
+
+    @Test
+    public void shouldToggleStatusReturnNullForMissingPack() {
+
+        // given
+        given(translationPackRepository.findMetaInfoById(PACK_ID)).willReturn(Optional.empty());
+
+        // when
+        TranslationPack result = translationPackDAO.toggleStatus(PACK_ID);
+
+        // then
+        assertThat(result, nullValue());
+        verifyNoInteractions(mongoTemplate);
     }
 
     @Test
@@ -110,5 +650,33 @@ public class TranslationPackDAOImplTest {
 
         // then
         verify(translationPackRepository).deleteById(PACK_ID);
+        verify(translationPackChunkDAO).deleteChunks(PACK_ID);
+    }
+
+    private Query captureFindQuery() {
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(captor.capture(), eq(TranslationPack.class));
+
+        return captor.getValue();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private TypedAggregation<?> captureAggregation() {
+
+        ArgumentCaptor<TypedAggregation<?>> captor = ArgumentCaptor.forClass((Class) TypedAggregation.class);
+        verify(mongoTemplate).aggregate(captor.capture(), eq(TranslationPack.class));
+
+        return captor.getValue();
+    }
+
+    private void givenAggregationResult() {
+        given(mongoTemplate.aggregate(any(TypedAggregation.class), eq(TranslationPack.class)))
+                .willReturn(new AggregationResults<>(List.of(TRANSLATION_PACK), new Document()));
+    }
+
+    private void givenCompressionEnabled() {
+        storageProperties.getCompression().setEnabled(true);
+        storageProperties.getCompression().setMinDefinitions(2);
     }
-}
\ No newline at end of file
+}
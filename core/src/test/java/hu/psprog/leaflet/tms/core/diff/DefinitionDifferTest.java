@@ -0,0 +1,82 @@
+package hu.psprog.leaflet.tms.core.diff;
+
+import hu.psprog.leaflet.tms.core.domain.DefinitionDiffEntry;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link DefinitionDiffer}.
+ *
+ * @author Peter Smith
+ */
+public class DefinitionDifferTest {
+
+    @Test
+    public void shouldDiffKeyOrderedStreams() {
+
+        // given
+        Stream<TranslationDefinition> source = Stream.of(
+                new TranslationDefinition("a", "1"),
+                new TranslationDefinition("b", "2"),
+                new TranslationDefinition("d", "4"),
+                new TranslationDefinition("e", "5"));
+        Stream<TranslationDefinition> target = Stream.of(
+                new TranslationDefinition("b", "2"),
+                new TranslationDefinition("c", "3"),
+                new TranslationDefinition("d", "four"),
+                new TranslationDefinition("f", "6"));
+
+        // when
+        List<DefinitionDiffEntry> result = DefinitionDiffer.diff(source, target).toList();
+
+        // then
+        assertThat(result, equalTo(List.of(
+                new DefinitionDiffEntry(DefinitionDiffEntry.Type.REMOVED, "a", "1", null),
+                new DefinitionDiffEntry(DefinitionDiffEntry.Type.ADDED, "c", null, "3"),
+                new DefinitionDiffEntry(DefinitionDiffEntry.Type.CHANGED, "d", "4", "four"),
+                new DefinitionDiffEntry(DefinitionDiffEntry.Type.REMOVED, "e", "5", null),
+                new DefinitionDiffEntry(DefinitionDiffEntry.Type.ADDED, "f", null, "6"))));
+    }
+
+    @Test
+    public void shouldDiffReturnEmptyStreamForIdenticalPacks() {
+
+        // given
+        List<TranslationDefinition> definitions = IntStream.range(0, 100_000)
+                .mapToObj(index -> new TranslationDefinition(String.format("key.%06d", index), "value" + index))
+                .toList();
+
+        // when
+        long result = DefinitionDiffer.diff(definitions.stream(), definitions.stream()).count();
+
+        // then
+        assertThat(result, equalTo(0L));
+    }
+
+    @Test
+    public void shouldDiffCloseInputStreams() {
+
+        // given
+        AtomicInteger closeCount = new AtomicInteger();
+        Stream<TranslationDefinition> source = Stream.<TranslationDefinition>empty().onClose(closeCount::incrementAndGet);
+        Stream<TranslationDefinition> target = Stream.of(new TranslationDefinition("a", "1")).onClose(closeCount::incrementAndGet);
+
+        // when
+        List<DefinitionDiffEntry> result;
+        try (Stream<DefinitionDiffEntry> diff = DefinitionDiffer.diff(source, target)) {
+            result = diff.toList();
+        }
+
+        // then
+        assertThat(result, equalTo(List.of(new DefinitionDiffEntry(DefinitionDiffEntry.Type.ADDED, "a", null, "1"))));
+        assertThat(closeCount.get(), equalTo(2));
+    }
+}
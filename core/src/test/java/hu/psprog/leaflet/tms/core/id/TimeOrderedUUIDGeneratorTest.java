@@ -0,0 +1,79 @@
+package hu.psprog.leaflet.tms.core.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Unit tests for {@link TimeOrderedUUIDGenerator}.
+ *
+ * @author Peter Smith
+ */
+public class TimeOrderedUUIDGeneratorTest {
+
+    private static final int NUMBER_OF_IDS = 10_000;
+
+    @Test
+    public void shouldGenerateVersion7UUID() {
+
+        // when
+        UUID result = TimeOrderedUUIDGenerator.generate();
+
+        // then
+        assertThat(result.version(), equalTo(7));
+        assertThat(result.variant(), equalTo(2));
+    }
+
+    @Test
+    public void shouldGenerateUUIDWithCurrentTimestamp() {
+
+        // given
+        long before = System.currentTimeMillis();
+
+        // when
+        UUID result = TimeOrderedUUIDGenerator.generate();
+
+        // then
+        long timestamp = TimeOrderedUUIDGenerator.extractTimestamp(result);
+        assertThat(timestamp, greaterThanOrEqualTo(before));
+        assertThat(timestamp, lessThanOrEqualTo(System.currentTimeMillis() + 1));
+    }
+
+    @Test
+    public void shouldGenerateUniqueAndMonotonicUUIDs() {
+
+        // when
+        List<UUID> result = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_IDS; i++) {
+            result.add(TimeOrderedUUIDGenerator.generate());
+        }
+
+        // then
+        assertThat(new HashSet<>(result).size(), equalTo(NUMBER_OF_IDS));
+        for (int i = 1; i < NUMBER_OF_IDS; i++) {
+            assertThat(Long.compareUnsigned(result.get(i - 1).getMostSignificantBits(), result.get(i).getMostSignificantBits()) < 0, is(true));
+        }
+    }
+
+    @Test
+    public void shouldGenerateUUIDParsableFromString() {
+
+        // given
+        UUID generated = TimeOrderedUUIDGenerator.generate();
+
+        // when
+        UUID result = UUID.fromString(generated.toString());
+
+        // then
+        assertThat(result, equalTo(generated));
+    }
+}
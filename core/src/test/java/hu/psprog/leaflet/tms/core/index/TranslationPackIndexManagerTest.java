@@ -0,0 +1,110 @@
+package hu.psprog.leaflet.tms.core.index;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.entity.TranslationPackChunk;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link TranslationPackIndexManager}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class TranslationPackIndexManagerTest {
+
+    private static final String COLLECTION_NAME = "translationPack";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private FindIterable<Document> findIterable;
+
+    private TranslationPackIndexManager translationPackIndexManager;
+
+    @BeforeEach
+    public void setup() {
+        translationPackIndexManager = new TranslationPackIndexManager(mongoTemplate, new MongoMappingContext());
+    }
+
+    @Test
+    public void shouldEnsureIndexes() {
+
+        // given
+        given(mongoTemplate.indexOps(any(Class.class))).willReturn(indexOperations);
+        ArgumentCaptor<IndexDefinition> indexDefinitionCaptor = ArgumentCaptor.forClass(IndexDefinition.class);
+
+        // when
+        translationPackIndexManager.ensureIndexes();
+
+        // then
+        verify(indexOperations, times(4)).createIndex(indexDefinitionCaptor.capture());
+        assertThat(indexDefinitionCaptor.getAllValues().stream()
+                .map(indexDefinition -> indexDefinition.getIndexOptions().getString("name"))
+                .toList(), equalTo(List.of(TranslationPack.INDEX_PACK_LOOKUP, TranslationPackChunk.INDEX_CHUNK_LOOKUP, "packNames", "packName")));
+    }
+
+    @Test
+    public void shouldFindQueriesWithCollectionScanReturnEmptyListForIndexScan() {
+
+        // given
+        prepareExplanation(new Document("queryPlanner", new Document("winningPlan", new Document("stage", "FETCH")
+                .append("inputStage", new Document("stage", "IXSCAN")
+                        .append("indexName", TranslationPack.INDEX_PACK_LOOKUP)))));
+
+        // when
+        List<String> result = translationPackIndexManager.findQueriesWithCollectionScan();
+
+        // then
+        assertThat(result, equalTo(List.of()));
+    }
+
+    @Test
+    public void shouldFindQueriesWithCollectionScanReturnQueryNamesForCollectionScan() {
+
+        // given
+        prepareExplanation(new Document("queryPlanner", new Document("winningPlan", new Document("queryPlan", new Document("stage", "COLLSCAN")))));
+
+        // when
+        List<String> result = translationPackIndexManager.findQueriesWithCollectionScan();
+
+        // then
+        assertThat(result, equalTo(List.of("findAllLatestEnabledMetaInfoByPackNameIn")));
+    }
+
+    private void prepareExplanation(Document explanation) {
+
+        given(mongoTemplate.getCollectionName(TranslationPack.class)).willReturn(COLLECTION_NAME);
+        given(mongoTemplate.getCollection(COLLECTION_NAME)).willReturn(collection);
+        given(collection.find(any(Bson.class))).willReturn(findIterable);
+        given(findIterable.explain()).willReturn(explanation);
+    }
+}
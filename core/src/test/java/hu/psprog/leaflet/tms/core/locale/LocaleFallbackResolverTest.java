@@ -0,0 +1,116 @@
+package hu.psprog.leaflet.tms.core.locale;
+
+import hu.psprog.leaflet.tms.core.config.LocaleProperties;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link LocaleFallbackResolver}.
+ *
+ * @author Peter Smith
+ */
+public class LocaleFallbackResolverTest {
+
+    private static final String PACK_NAME = "pack1";
+    private static final Locale LOCALE_HU = Locale.forLanguageTag("hu");
+    private static final Locale LOCALE_HU_HU = Locale.forLanguageTag("hu-HU");
+
+    private static final TranslationPack PACK_EN = preparePack(Locale.ENGLISH, 3_000L,
+            new TranslationDefinition("key1", "en-value1"),
+            new TranslationDefinition("key2", "en-value2"),
+            new TranslationDefinition("key3", "en-value3"));
+    private static final TranslationPack PACK_HU = preparePack(LOCALE_HU, 1_000L,
+            new TranslationDefinition("key1", "hu-value1"),
+            new TranslationDefinition("key2", "hu-value2"));
+    private static final TranslationPack PACK_HU_HU = preparePack(LOCALE_HU_HU, 2_000L,
+            new TranslationDefinition("key1", "hu-HU-value1"));
+    private static final TranslationPack PACK_DE = preparePack(Locale.GERMAN, 4_000L,
+            new TranslationDefinition("key1", "de-value1"));
+
+    private LocaleFallbackResolver localeFallbackResolver;
+
+    @BeforeEach
+    public void setup() {
+        localeFallbackResolver = new LocaleFallbackResolver(new LocaleProperties());
+    }
+
+    @Test
+    public void shouldGetFallbackChain() {
+
+        // when
+        List<Locale> result = localeFallbackResolver.getFallbackChain(LOCALE_HU_HU);
+
+        // then
+        assertThat(result, equalTo(List.of(LOCALE_HU_HU, LOCALE_HU, Locale.ENGLISH, Locale.ROOT)));
+    }
+
+    @Test
+    public void shouldGetFallbackChainForDefaultLocale() {
+
+        // when
+        List<Locale> result = localeFallbackResolver.getFallbackChain(Locale.ENGLISH);
+
+        // then
+        assertThat(result, equalTo(List.of(Locale.ENGLISH, Locale.ROOT)));
+    }
+
+    @Test
+    public void shouldSelectSourcesInFallbackOrder() {
+
+        // when
+        List<TranslationPack> result = localeFallbackResolver.selectSources(LOCALE_HU_HU, List.of(PACK_DE, PACK_EN, PACK_HU, PACK_HU_HU));
+
+        // then
+        assertThat(result, equalTo(List.of(PACK_HU_HU, PACK_HU, PACK_EN)));
+    }
+
+    @Test
+    public void shouldMergeMostSpecificDefinitionsWinning() {
+
+        // when
+        TranslationPack result = localeFallbackResolver.merge(LOCALE_HU_HU, List.of(PACK_HU_HU, PACK_HU, PACK_EN));
+
+        // then
+        assertThat(result.getId(), equalTo(PACK_HU_HU.getId()));
+        assertThat(result.getPackName(), equalTo(PACK_NAME));
+        assertThat(result.getLocale(), equalTo(LOCALE_HU_HU));
+        assertThat(result.getCreated(), equalTo(new Date(3_000L)));
+        assertThat(result.getDefinitions(), equalTo(List.of(
+                new TranslationDefinition("key1", "hu-HU-value1"),
+                new TranslationDefinition("key2", "hu-value2"),
+                new TranslationDefinition("key3", "en-value3"))));
+    }
+
+    @Test
+    public void shouldMergeReturnNullWithoutSources() {
+
+        // when
+        TranslationPack result = localeFallbackResolver.merge(LOCALE_HU_HU, List.of());
+
+        // then
+        assertThat(result, nullValue());
+    }
+
+    private static TranslationPack preparePack(Locale locale, long created, TranslationDefinition... definitions) {
+
+        return TranslationPack.builder()
+                .id(UUID.randomUUID())
+                .packName(PACK_NAME)
+                .locale(locale)
+                .enabled(true)
+                .created(new Date(created))
+                .definitions(List.of(definitions))
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package hu.psprog.leaflet.tms.core.retrieval;
+
+import hu.psprog.leaflet.tms.core.config.RetrievalProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link ParallelRetrievalExecutor}.
+ *
+ * @author Peter Smith
+ */
+public class ParallelRetrievalExecutorTest {
+
+    private static final List<Integer> ITEMS = List.of(1, 2, 3, 4);
+
+    private final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+    private RetrievalProperties retrievalProperties;
+    private ParallelRetrievalExecutor parallelRetrievalExecutor;
+
+    @BeforeEach
+    public void setup() {
+        retrievalProperties = new RetrievalProperties();
+        retrievalProperties.setParallel(true);
+        retrievalProperties.setMinPacks(2);
+        retrievalProperties.setThreads(ITEMS.size());
+        threadNames.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        parallelRetrievalExecutor.shutdown();
+    }
+
+    @Test
+    public void shouldMapItemsConcurrentlyInItemOrder() {
+
+        // given
+        parallelRetrievalExecutor = new ParallelRetrievalExecutor(retrievalProperties);
+        CountDownLatch allStarted = new CountDownLatch(ITEMS.size());
+
+        // when
+        List<String> result = parallelRetrievalExecutor.map(ITEMS, item -> {
+            allStarted.countDown();
+            awaitQuietly(allStarted);
+            threadNames.add(Thread.currentThread().getName());
+            return "item-" + item;
+        });
+
+        // then
+        assertThat(result, equalTo(List.of("item-1", "item-2", "item-3", "item-4")));
+        assertThat(threadNames.size(), equalTo(ITEMS.size()));
+        assertThat(threadNames.stream().allMatch(threadName -> threadName.startsWith("tms-retrieval-")), equalTo(true));
+    }
+
+    @Test
+    public void shouldMapItemsSequentiallyBelowMinimumItemCount() {
+
+        // given
+        retrievalProperties.setMinPacks(ITEMS.size() + 1);
+        parallelRetrievalExecutor = new ParallelRetrievalExecutor(retrievalProperties);
+
+        // when
+        List<String> result = parallelRetrievalExecutor.map(ITEMS, this::mapOnCurrentThread);
+
+        // then
+        assertThat(result, equalTo(List.of("item-1", "item-2", "item-3", "item-4")));
+        assertThat(threadNames, equalTo(Set.of(Thread.currentThread().getName())));
+        assertThat(parallelRetrievalExecutor.isParallel(ITEMS.size()), equalTo(false));
+    }
+
+    @Test
+    public void shouldMapItemsSequentiallyWhenDisabled() {
+
+        // given
+        retrievalProperties.setParallel(false);
+        parallelRetrievalExecutor = new ParallelRetrievalExecutor(retrievalProperties);
+
+        // when
+        List<String> result = parallelRetrievalExecutor.map(ITEMS, this::mapOnCurrentThread);
+
+        // then
+        assertThat(result, equalTo(List.of("item-1", "item-2", "item-3", "item-4")));
+        assertThat(threadNames, equalTo(Set.of(Thread.currentThread().getName())));
+    }
+
+    @Test
+    public void shouldMapRethrowFailureOfAnyItem() {
+
+        // given
+        parallelRetrievalExecutor = new ParallelRetrievalExecutor(retrievalProperties);
+
+        // when
+        Assertions.assertThrows(DataAccessResourceFailureException.class, () -> parallelRetrievalExecutor.map(ITEMS, item -> {
+            if (item == 3) {
+                throw new DataAccessResourceFailureException("mongo unavailable");
+            }
+            return item;
+        }));
+
+        // then
+        // exception expected
+    }
+
+    private String mapOnCurrentThread(Integer item) {
+
+        threadNames.add(Thread.currentThread().getName());
+
+        return "item-" + item;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package hu.psprog.leaflet.tms.core.retrieval;
+
+import hu.psprog.leaflet.tms.core.dao.PublishedPackPointerDAO;
+import hu.psprog.leaflet.tms.core.dao.TranslationPackDAO;
+import hu.psprog.leaflet.tms.core.entity.PublishedPackPointer;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for {@link PublishedPackSelector}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class PublishedPackSelectorTest {
+
+    private static final String PACK_SHARED = "shared";
+    private static final String PACK_APP = "app";
+    private static final Locale LOCALE_HU = Locale.forLanguageTag("hu");
+
+    private static final TranslationPack SHARED_EN_PUBLISHED = preparePack(PACK_SHARED, Locale.ENGLISH, 1, true);
+    private static final TranslationPack APP_EN_PREVIOUS = preparePack(PACK_APP, Locale.ENGLISH, 1, true);
+    private static final TranslationPack APP_EN_LATEST = preparePack(PACK_APP, Locale.ENGLISH, 2, true);
+    private static final TranslationPack APP_EN_DISABLED = preparePack(PACK_APP, Locale.ENGLISH, 3, false);
+    private static final TranslationPack APP_HU = preparePack(PACK_APP, LOCALE_HU, 1, true);
+
+    private static final List<TranslationPack> STORED_PACKS = List.of(SHARED_EN_PUBLISHED, APP_EN_PREVIOUS, APP_EN_LATEST, APP_EN_DISABLED, APP_HU);
+
+    @Mock
+    private PublishedPackPointerDAO publishedPackPointerDAO;
+
+    @Mock
+    private TranslationPackDAO translationPackDAO;
+
+    @InjectMocks
+    private PublishedPackSelector publishedPackSelector;
+
+    @Test
+    public void shouldSelectLatestEnabledPackOfEveryLocaleOfUnpublishedPacks() {
+
+        // given
+        given(publishedPackPointerDAO.findAllByPackNameIn(List.of(PACK_APP))).willReturn(List.of());
+        given(translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(List.of(PACK_APP))).willReturn(List.of(APP_EN_LATEST, APP_HU));
+        List<List<UUID>> loadedPackIDs = new ArrayList<>();
+
+        // when
+        Map<String, List<TranslationPack>> result = publishedPackSelector.select(List.of(PACK_APP), recordingLoader(loadedPackIDs));
+
+        // then
+        assertThat(result.keySet(), equalTo(Set.of(PACK_APP)));
+        assertThat(Set.copyOf(result.get(PACK_APP)), equalTo(Set.of(APP_EN_LATEST, APP_HU)));
+        assertThat(loadedPackIDs, equalTo(List.of(List.of(APP_EN_LATEST.getId(), APP_HU.getId()))));
+    }
+
+    @Test
+    public void shouldSelectPublishedPackInPublishedLocaleOnly() {
+
+        // given
+        given(publishedPackPointerDAO.findAllByPackNameIn(List.of(PACK_APP))).willReturn(List.of(preparePointer(APP_EN_PREVIOUS)));
+        given(translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(List.of(PACK_APP))).willReturn(List.of(APP_EN_LATEST, APP_HU));
+        List<List<UUID>> loadedPackIDs = new ArrayList<>();
+
+        // when
+        Map<String, List<TranslationPack>> result = publishedPackSelector.select(List.of(PACK_APP), recordingLoader(loadedPackIDs));
+
+        // then
+        assertThat(Set.copyOf(result.get(PACK_APP)), equalTo(Set.of(APP_EN_PREVIOUS, APP_HU)));
+        assertThat(loadedPackIDs, equalTo(List.of(List.of(APP_EN_PREVIOUS.getId()), List.of(APP_HU.getId()))));
+    }
+
+    @Test
+    public void shouldSelectLatestEnabledPackInLocaleOfDisabledPublishedPack() {
+
+        // given
+        given(publishedPackPointerDAO.findAllByPackNameIn(List.of(PACK_APP))).willReturn(List.of(preparePointer(APP_EN_DISABLED)));
+        given(translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(List.of(PACK_APP))).willReturn(List.of(APP_EN_LATEST, APP_HU));
+
+        // when
+        Map<String, List<TranslationPack>> result = publishedPackSelector.select(List.of(PACK_APP), recordingLoader(new ArrayList<>()));
+
+        // then
+        assertThat(Set.copyOf(result.get(PACK_APP)), equalTo(Set.of(APP_EN_LATEST, APP_HU)));
+    }
+
+    @Test
+    public void shouldSelectPublishedPacksWithoutLookingUpLatestPacksIfEveryRequestedLocaleIsPublished() {
+
+        // given
+        given(publishedPackPointerDAO.findAllByPackNameIn(List.of(PACK_SHARED, PACK_APP)))
+                .willReturn(List.of(preparePointer(SHARED_EN_PUBLISHED), preparePointer(APP_EN_PREVIOUS), preparePointer(APP_HU)));
+        List<List<UUID>> loadedPackIDs = new ArrayList<>();
+
+        // when
+        Map<String, List<TranslationPack>> result = publishedPackSelector.select(List.of(PACK_SHARED, PACK_APP), List.of(Locale.ENGLISH),
+                recordingLoader(loadedPackIDs));
+
+        // then
+        assertThat(result, equalTo(Map.of(
+                PACK_SHARED, List.of(SHARED_EN_PUBLISHED),
+                PACK_APP, List.of(APP_EN_PREVIOUS))));
+        assertThat(loadedPackIDs, equalTo(List.of(List.of(SHARED_EN_PUBLISHED.getId(), APP_EN_PREVIOUS.getId()))));
+        verifyNoInteractions(translationPackDAO);
+    }
+
+    @Test
+    public void shouldLookUpLatestPacksInRequestedLocalesNotPublished() {
+
+        // given
+        given(publishedPackPointerDAO.findAllByPackNameIn(List.of(PACK_SHARED, PACK_APP))).willReturn(List.of(preparePointer(SHARED_EN_PUBLISHED)));
+        given(translationPackDAO.findAllLatestEnabledMetaInfoByPackNameInAndLocaleIn(List.of(PACK_SHARED, PACK_APP), List.of(Locale.ENGLISH, LOCALE_HU)))
+                .willReturn(List.of(SHARED_EN_PUBLISHED, APP_EN_LATEST, APP_HU));
+        List<List<UUID>> loadedPackIDs = new ArrayList<>();
+
+        // when
+        Map<String, List<TranslationPack>> result = publishedPackSelector.select(List.of(PACK_SHARED, PACK_APP), List.of(Locale.ENGLISH, LOCALE_HU),
+                recordingLoader(loadedPackIDs));
+
+        // then
+        assertThat(result.get(PACK_SHARED), equalTo(List.of(SHARED_EN_PUBLISHED)));
+        assertThat(Set.copyOf(result.get(PACK_APP)), equalTo(Set.of(APP_EN_LATEST, APP_HU)));
+        assertThat(loadedPackIDs, equalTo(List.of(List.of(SHARED_EN_PUBLISHED.getId()), List.of(APP_EN_LATEST.getId(), APP_HU.getId()))));
+    }
+
+    @Test
+    public void shouldSelectEmptyListForPackWithoutEnabledPacks() {
+
+        // given
+        given(publishedPackPointerDAO.findAllByPackNameIn(List.of(PACK_APP))).willReturn(List.of());
+        given(translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(List.of(PACK_APP))).willReturn(List.of());
+        List<List<UUID>> loadedPackIDs = new ArrayList<>();
+
+        // when
+        Map<String, List<TranslationPack>> result = publishedPackSelector.select(List.of(PACK_APP), recordingLoader(loadedPackIDs));
+
+        // then
+        assertThat(result, equalTo(Map.of(PACK_APP, List.of())));
+        assertThat(loadedPackIDs.isEmpty(), is(true));
+    }
+
+    private static Function<List<UUID>, List<TranslationPack>> recordingLoader(List<List<UUID>> loadedPackIDs) {
+
+        return packIDs -> {
+            loadedPackIDs.add(packIDs);
+            return STORED_PACKS.stream()
+                    .filter(translationPack -> packIDs.contains(translationPack.getId()))
+                    .toList();
+        };
+    }
+
+    private static PublishedPackPointer preparePointer(TranslationPack translationPack) {
+
+        return PublishedPackPointer.builder()
+                .id(PublishedPackPointer.pointerID(translationPack.getPackName(), translationPack.getLocale()))
+                .packName(translationPack.getPackName())
+                .locale(translationPack.getLocale())
+                .packID(translationPack.getId())
+                .history(List.of())
+                .build();
+    }
+
+    private static TranslationPack preparePack(String packName, Locale locale, long created, boolean enabled) {
+
+        return TranslationPack.builder()
+                .id(UUID.randomUUID())
+                .packName(packName)
+                .locale(locale)
+                .created(new Date(created))
+                .enabled(enabled)
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package hu.psprog.leaflet.tms.core.retrieval;
+
+import hu.psprog.leaflet.tms.core.config.StorageProperties;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link RecentWriteTracker}.
+ *
+ * @author Peter Smith
+ */
+public class RecentWriteTrackerTest {
+
+    private static final String PACK_APP = "app";
+    private static final String PACK_SHARED = "shared";
+    private static final UUID PACK_ID = UUID.randomUUID();
+    private static final TranslationPack APP_PACK = TranslationPack.builder().id(PACK_ID).packName(PACK_APP).build();
+
+    private StorageProperties storageProperties;
+    private MutableClock clock;
+    private RecentWriteTracker recentWriteTracker;
+
+    @BeforeEach
+    public void setup() {
+        storageProperties = new StorageProperties();
+        clock = new MutableClock(Instant.parse("2026-10-19T10:00:00Z"));
+        recentWriteTracker = new RecentWriteTracker(storageProperties, clock);
+    }
+
+    @Test
+    public void shouldReportRecentlyWrittenPackWithinMaxStaleness() {
+
+        // given
+        recentWriteTracker.recordWrite(APP_PACK);
+        clock.advance(Duration.ofSeconds(89));
+
+        // when
+        boolean result = recentWriteTracker.isRecentlyWritten(List.of(PACK_SHARED, PACK_APP));
+
+        // then
+        assertThat(result, is(true));
+    }
+
+    @Test
+    public void shouldReportRecentlyWrittenPackByID() {
+
+        // given
+        recentWriteTracker.recordWrite(APP_PACK);
+        clock.advance(Duration.ofSeconds(89));
+
+        // when
+        boolean result = recentWriteTracker.isRecentlyWrittenByID(List.of(UUID.randomUUID(), PACK_ID));
+
+        // then
+        assertThat(result, is(true));
+    }
+
+    @Test
+    public void shouldNotReportPacksWrittenThroughOtherNode() {
+
+        // given
+        RecentWriteTracker otherNodeRecentWriteTracker = new RecentWriteTracker(storageProperties, clock);
+        otherNodeRecentWriteTracker.recordWrite(APP_PACK);
+
+        // when
+        boolean result = recentWriteTracker.isRecentlyWritten(List.of(PACK_APP));
+
+        // then
+        assertThat(result, is(false));
+    }
+
+    @Test
+    public void shouldNotReportPacksNotWritten() {
+
+        // given
+        recentWriteTracker.recordWrite(APP_PACK);
+
+        // when
+        boolean result = recentWriteTracker.isRecentlyWritten(List.of(PACK_SHARED));
+
+        // then
+        assertThat(result, is(false));
+    }
+
+    @Test
+    public void shouldNotReportPackWrittenBeforeMaxStaleness() {
+
+        // given
+        storageProperties.getReadRouting().setMaxStaleness(Duration.ofMinutes(2));
+        recentWriteTracker.recordWrite(APP_PACK);
+        clock.advance(Duration.ofMinutes(2));
+
+        // when
+        boolean result = recentWriteTracker.isRecentlyWritten(List.of(PACK_APP));
+
+        // then
+        assertThat(result, is(false));
+    }
+
+    @Test
+    public void shouldUseDefaultWindowWithoutMaxStaleness() {
+
+        // given
+        storageProperties.getReadRouting().setMaxStaleness(null);
+        recentWriteTracker.recordWrite(APP_PACK);
+        clock.advance(Duration.ofSeconds(90));
+
+        // when
+        boolean result = recentWriteTracker.isRecentlyWritten(List.of(PACK_APP));
+
+        // then
+        assertThat(result, is(false));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package hu.psprog.leaflet.tms.core.search;
+
+import hu.psprog.leaflet.tms.core.config.SearchProperties;
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchHit;
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchQuery;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.event.TranslationPackChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link TranslationSearchIndex}.
+ *
+ * @author Peter Smith
+ */
+public class TranslationSearchIndexTest {
+
+    private static final String PACK_SHARED = "shared";
+    private static final String PACK_APP = "app";
+    private static final Locale LOCALE_HU = Locale.forLanguageTag("hu");
+
+    private static final TranslationPack SHARED_EN = preparePack(PACK_SHARED, Locale.ENGLISH,
+            new TranslationDefinition("button.save", "Save changes"),
+            new TranslationDefinition("button.cancel", "Cancel"));
+    private static final TranslationPack SHARED_HU = preparePack(PACK_SHARED, LOCALE_HU,
+            new TranslationDefinition("button.save", "Változások mentése"),
+            new TranslationDefinition("button.cancel", "Mégse"));
+    private static final TranslationPack APP_EN = preparePack(PACK_APP, Locale.ENGLISH,
+            new TranslationDefinition("page.title", "Saved articles"));
+
+    private static final Map<String, List<TranslationPack>> STORED_PACKS = Map.of(
+            PACK_SHARED, List.of(SHARED_EN, SHARED_HU),
+            PACK_APP, List.of(APP_EN));
+
+    private final AtomicInteger loadCount = new AtomicInteger();
+    private final Function<String, Collection<TranslationPack>> packLoader = packName -> {
+        loadCount.incrementAndGet();
+        return STORED_PACKS.getOrDefault(packName, List.of());
+    };
+
+    private SearchProperties searchProperties;
+    private TranslationSearchIndex translationSearchIndex;
+
+    @BeforeEach
+    public void setup() {
+        searchProperties = new SearchProperties();
+        translationSearchIndex = new TranslationSearchIndex(searchProperties, Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void shouldSearchSubstringCaseInsensitivelyInAllPacks() {
+
+        // when
+        List<DefinitionSearchHit> result = translationSearchIndex.search(prepareQuery("SAVE", List.of(), List.of(), DefinitionSearchQuery.Scope.ALL, 10),
+                () -> List.of(PACK_SHARED, PACK_APP), packLoader);
+
+        // then
+        assertThat(result, equalTo(List.of(
+                prepareHit(APP_EN, 0),
+                prepareHit(SHARED_EN, 0),
+                prepareHit(SHARED_HU, 0))));
+    }
+
+    @Test
+    public void shouldSearchWithScopeAndLocaleFilter() {
+
+        // when
+        List<DefinitionSearchHit> result = translationSearchIndex.search(prepareQuery("mentés", List.of(PACK_SHARED), List.of(LOCALE_HU), DefinitionSearchQuery.Scope.VALUES, 10),
+                List::of, packLoader);
+        List<DefinitionSearchHit> keyOnlyResult = translationSearchIndex.search(prepareQuery("mentés", List.of(PACK_SHARED), List.of(), DefinitionSearchQuery.Scope.KEYS, 10),
+                List::of, packLoader);
+
+        // then
+        assertThat(result, equalTo(List.of(prepareHit(SHARED_HU, 0))));
+        assertThat(keyOnlyResult, equalTo(List.of()));
+    }
+
+    @Test
+    public void shouldSearchShortTextByScanning() {
+
+        // when
+        List<DefinitionSearchHit> result = translationSearchIndex.search(prepareQuery("ng", List.of(PACK_SHARED), List.of(), DefinitionSearchQuery.Scope.ALL, 10),
+                List::of, packLoader);
+
+        // then
+        assertThat(result, equalTo(List.of(prepareHit(SHARED_EN, 0))));
+    }
+
+    @Test
+    public void shouldSearchStopAtLimit() {
+
+        // when
+        List<DefinitionSearchHit> result = translationSearchIndex.search(prepareQuery("button", List.of(PACK_SHARED), List.of(), DefinitionSearchQuery.Scope.KEYS, 3),
+                List::of, packLoader);
+
+        // then
+        assertThat(result.size(), equalTo(3));
+    }
+
+    @Test
+    public void shouldSearchReuseSegmentsUntilPackChanges() {
+
+        // given
+        DefinitionSearchQuery query = prepareQuery("cancel", List.of(PACK_SHARED), List.of(), DefinitionSearchQuery.Scope.ALL, 10);
+
+        // when
+        translationSearchIndex.search(query, List::of, packLoader);
+        translationSearchIndex.search(query, List::of, packLoader);
+        translationSearchIndex.onTranslationPackChanged(new TranslationPackChangedEvent(PACK_SHARED));
+        translationSearchIndex.search(query, List::of, packLoader);
+
+        // then
+        assertThat(loadCount.get(), equalTo(2));
+        assertThat(translationSearchIndex.size(), equalTo(4));
+    }
+
+    @Test
+    public void shouldSearchRebuildExpiredSegments() {
+
+        // given
+        searchProperties.setSegmentTimeToLive(Duration.ZERO);
+        DefinitionSearchQuery query = prepareQuery("cancel", List.of(PACK_SHARED), List.of(), DefinitionSearchQuery.Scope.ALL, 10);
+
+        // when
+        translationSearchIndex.search(query, List::of, packLoader);
+        translationSearchIndex.search(query, List::of, packLoader);
+
+        // then
+        assertThat(loadCount.get(), equalTo(2));
+    }
+
+    @Test
+    public void shouldSearchNotStoreSegmentBuiltBeforeChange() {
+
+        // given
+        DefinitionSearchQuery query = prepareQuery("cancel", List.of(PACK_SHARED), List.of(), DefinitionSearchQuery.Scope.ALL, 10);
+        Function<String, Collection<TranslationPack>> concurrentlyChangedLoader = packName -> {
+            Collection<TranslationPack> packs = packLoader.apply(packName);
+            translationSearchIndex.onTranslationPackChanged(new TranslationPackChangedEvent(packName));
+            return packs;
+        };
+
+        // when
+        List<DefinitionSearchHit> result = translationSearchIndex.search(query, List::of, concurrentlyChangedLoader);
+
+        // then
+        assertThat(result.size(), equalTo(2));
+        assertThat(translationSearchIndex.size(), equalTo(0));
+    }
+
+    @Test
+    public void shouldSearchPacksOfEveryLocaleOfTheSameLanguage() {
+
+        // given
+        TranslationPack sharedHuHU = preparePack(PACK_SHARED, Locale.forLanguageTag("hu-HU"),
+                new TranslationDefinition("button.cancel", "Mégsem"));
+        DefinitionSearchQuery query = prepareQuery("mégse", List.of(PACK_SHARED), List.of(), DefinitionSearchQuery.Scope.VALUES, 10);
+
+        // when
+        List<DefinitionSearchHit> result = translationSearchIndex.search(query, List::of, packName -> List.of(SHARED_HU, sharedHuHU));
+
+        // then
+        assertThat(result, equalTo(List.of(prepareHit(SHARED_HU, 1), prepareHit(sharedHuHU, 0))));
+    }
+
+    @Test
+    public void shouldSearchEvictOldestSegmentsOverLimit() {
+
+        // given
+        searchProperties.setMaxIndexedDefinitions(4);
+        DefinitionSearchQuery query = prepareQuery("save", List.of(), List.of(), DefinitionSearchQuery.Scope.ALL, 10);
+
+        // when
+        translationSearchIndex.search(prepareQuery("save", List.of(PACK_SHARED), List.of(), DefinitionSearchQuery.Scope.ALL, 10), List::of, packLoader);
+        translationSearchIndex.search(prepareQuery("save", List.of(PACK_APP), List.of(), DefinitionSearchQuery.Scope.ALL, 10), List::of, packLoader);
+
+        // then
+        assertThat(translationSearchIndex.size(), equalTo(1));
+        assertThat(translationSearchIndex.search(query, () -> List.of(PACK_APP), packLoader), equalTo(List.of(prepareHit(APP_EN, 0))));
+        assertThat(loadCount.get(), equalTo(2));
+    }
+
+    @Test
+    public void shouldSearchNotStoreSegmentExceedingLimit() {
+
+        // given
+        searchProperties.setMaxIndexedDefinitions(3);
+        DefinitionSearchQuery query = prepareQuery("cancel", List.of(PACK_SHARED), List.of(), DefinitionSearchQuery.Scope.ALL, 10);
+
+        // when
+        List<DefinitionSearchHit> result = translationSearchIndex.search(query, List::of, packLoader);
+
+        // then
+        assertThat(result.size(), equalTo(2));
+        assertThat(translationSearchIndex.size(), equalTo(0));
+    }
+
+    @Test
+    public void shouldSearchLargeSegment() {
+
+        // given
+        TranslationDefinition[] definitions = IntStream.range(0, 10_000)
+                .mapToObj(index -> new TranslationDefinition("generated.key." + index, "Generated value number " + index))
+                .toArray(TranslationDefinition[]::new);
+        TranslationPack largePack = preparePack(PACK_APP, Locale.ENGLISH, definitions);
+
+        // when
+        List<DefinitionSearchHit> result = translationSearchIndex.search(prepareQuery("number 9999", List.of(PACK_APP), List.of(), DefinitionSearchQuery.Scope.VALUES, 10),
+                List::of, packName -> List.of(largePack));
+
+        // then
+        assertThat(result, equalTo(List.of(prepareHit(largePack, 9999))));
+    }
+
+    private static DefinitionSearchQuery prepareQuery(String text, List<String> packNames, List<Locale> locales, DefinitionSearchQuery.Scope scope, int limit) {
+        return new DefinitionSearchQuery(text, packNames, locales, scope, limit);
+    }
+
+    private static DefinitionSearchHit prepareHit(TranslationPack translationPack, int definitionIndex) {
+
+        TranslationDefinition definition = translationPack.getDefinitions().get(definitionIndex);
+
+        return new DefinitionSearchHit(translationPack.getId(), translationPack.getPackName(), translationPack.getLocale(), definition.getKey(), definition.getValue());
+    }
+
+    private static TranslationPack preparePack(String packName, Locale locale, TranslationDefinition... definitions) {
+
+        return TranslationPack.builder()
+                .id(UUID.randomUUID())
+                .packName(packName)
+                .locale(locale)
+                .definitions(List.of(definitions))
+                .build();
+    }
+}
@@ -1,31 +1,66 @@
 package hu.psprog.leaflet.tms.core.service.impl;
 
+import hu.psprog.leaflet.tms.core.bundle.BundleKey;
+import hu.psprog.leaflet.tms.core.bundle.TranslationBundleManager;
+import hu.psprog.leaflet.tms.core.cache.ResolvedPackCache;
+import hu.psprog.leaflet.tms.core.cache.TranslationPackCache;
+import hu.psprog.leaflet.tms.core.config.LocaleProperties;
+import hu.psprog.leaflet.tms.core.config.RetrievalProperties;
+import hu.psprog.leaflet.tms.core.dao.PublishedPackPointerDAO;
 import hu.psprog.leaflet.tms.core.dao.TranslationPackDAO;
+import hu.psprog.leaflet.tms.core.domain.DefinitionDiffEntry;
+import hu.psprog.leaflet.tms.core.domain.KeyRange;
+import hu.psprog.leaflet.tms.core.entity.PublishedPackPointer;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
 import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.event.TranslationPackChangedEvent;
 import hu.psprog.leaflet.tms.core.exception.TranslationPackCreationException;
 import hu.psprog.leaflet.tms.core.exception.TranslationPackNotFoundException;
+import hu.psprog.leaflet.tms.core.exception.TranslationPackPublicationException;
+import hu.psprog.leaflet.tms.core.locale.LocaleFallbackResolver;
+import hu.psprog.leaflet.tms.core.retrieval.ParallelRetrievalExecutor;
+import hu.psprog.leaflet.tms.core.retrieval.PublishedPackSelector;
+import hu.psprog.leaflet.tms.core.retrieval.RecentWriteTracker;
+import hu.psprog.leaflet.tms.core.snapshot.TranslationSnapshotManager;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentMatcher;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
 
 import java.sql.Timestamp;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
  * Unit tests for {@link TranslationManagementServiceImpl}.
@@ -63,18 +98,57 @@ public class TranslationManagementServiceImplTest {
             TRANSLATION_PACK_SHARED_HU_PREVIOUS_ENABLED,
             TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED,
             TRANSLATION_PACK_SHARED_HU_FIRST_DISABLED);
+    private static final List<TranslationPack> LATEST_ENABLED_TRANSLATION_PACKS = Arrays.asList(
+            TRANSLATION_PACK_APP1_HU_LATEST_ENABLED,
+            TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED,
+            TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED,
+            TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED);
 
     @Mock
     private TranslationPackDAO translationPackDAO;
 
-    @InjectMocks
+    @Mock
+    private PublishedPackPointerDAO publishedPackPointerDAO;
+
+    @Mock
+    private TranslationPackCache translationPackCache;
+
+    @Mock
+    private ResolvedPackCache resolvedPackCache;
+
+    @Mock
+    private TranslationBundleManager translationBundleManager;
+
+    @Mock
+    private TranslationSnapshotManager translationSnapshotManager;
+
+    @Spy
+    private LocaleFallbackResolver localeFallbackResolver = new LocaleFallbackResolver(new LocaleProperties());
+
+    @Spy
+    private ParallelRetrievalExecutor parallelRetrievalExecutor = new ParallelRetrievalExecutor(new RetrievalProperties());
+
+    @Mock
+    private RecentWriteTracker recentWriteTracker;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
     private TranslationManagementServiceImpl translationManagementService;
 
+    @BeforeEach
+    public void setup() {
+        translationManagementService = new TranslationManagementServiceImpl(translationPackDAO, publishedPackPointerDAO,
+                new PublishedPackSelector(publishedPackPointerDAO, translationPackDAO), translationPackCache, resolvedPackCache, localeFallbackResolver,
+                translationBundleManager, translationSnapshotManager, parallelRetrievalExecutor, recentWriteTracker, applicationEventPublisher);
+    }
+
     @Test
     public void shouldReturnLatestEnabledPacks() {
 
         // given
-        given(translationPackDAO.findAllByPackNameIn(PACKS)).willReturn(EXISTING_TRANSLATION_PACKS);
+        givenLatestEnabledPacks();
+        givenCacheMiss();
 
         // when
         Set<TranslationPack> result = translationManagementService.retrieveLatestEnabledPacks(PACKS);
@@ -88,11 +162,298 @@ public class TranslationManagementServiceImplTest {
                 TRANSLATION_PACK_APP1_HU_LATEST_ENABLED)), is(true));
     }
 
+    @Test
+    public void shouldReturnEnabledPublishedPacksInPublishedLocales() {
+
+        // given
+        given(publishedPackPointerDAO.findAllByPackNameIn(PACKS)).willReturn(List.of(
+                preparePublishedPackPointer(TRANSLATION_PACK_SHARED_EN_LATEST_DISABLED),
+                preparePublishedPackPointer(TRANSLATION_PACK_SHARED_HU_PREVIOUS_ENABLED)));
+        givenLatestEnabledPacks();
+        givenCacheMiss();
+
+        // when
+        Set<TranslationPack> result = translationManagementService.retrieveLatestEnabledPacks(PACKS);
+
+        // then
+        assertThat(result.size(), equalTo(4));
+        assertThat(result.containsAll(Arrays.asList(
+                TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED,
+                TRANSLATION_PACK_SHARED_HU_PREVIOUS_ENABLED,
+                TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED,
+                TRANSLATION_PACK_APP1_HU_LATEST_ENABLED)), is(true));
+        verify(translationPackDAO).findAllByIdIn(List.of(TRANSLATION_PACK_SHARED_EN_LATEST_DISABLED.getId(), TRANSLATION_PACK_SHARED_HU_PREVIOUS_ENABLED.getId()));
+        verify(translationPackDAO).findAllByIdIn(List.of(TRANSLATION_PACK_APP1_HU_LATEST_ENABLED.getId(), TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED.getId(),
+                TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED.getId()));
+    }
+
+    @Test
+    public void shouldReturnLatestEnabledPacksFetchedPerPackInParallelMode() {
+
+        // given
+        RetrievalProperties retrievalProperties = new RetrievalProperties();
+        retrievalProperties.setParallel(true);
+        retrievalProperties.setMinPacks(2);
+        ParallelRetrievalExecutor parallelExecutor = new ParallelRetrievalExecutor(retrievalProperties);
+        TranslationManagementServiceImpl parallelTranslationManagementService = new TranslationManagementServiceImpl(translationPackDAO,
+                publishedPackPointerDAO, new PublishedPackSelector(publishedPackPointerDAO, translationPackDAO), translationPackCache, resolvedPackCache, localeFallbackResolver, translationBundleManager, translationSnapshotManager,
+                parallelExecutor, recentWriteTracker, applicationEventPublisher);
+        givenLatestEnabledPacks();
+        givenCacheMiss();
+
+        // when
+        Set<TranslationPack> result;
+        try {
+            result = parallelTranslationManagementService.retrieveLatestEnabledPacks(PACKS);
+        } finally {
+            parallelExecutor.shutdown();
+        }
+
+        // then
+        assertThat(List.copyOf(result), equalTo(List.of(
+                TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED,
+                TRANSLATION_PACK_APP1_HU_LATEST_ENABLED,
+                TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED,
+                TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED)));
+        LATEST_ENABLED_TRANSLATION_PACKS.forEach(translationPack -> verify(translationPackDAO).findAllByIdIn(List.of(translationPack.getId())));
+        verify(translationPackDAO, never()).findAllByIdIn(argThat(packIDs -> packIDs.size() > 1));
+    }
+
+    @Test
+    public void shouldReturnLatestEnabledPacksInLocalesLoadedByLocaleFilteredQuery() {
+
+        // given
+        List<String> localeScopedKeys = List.of(
+                TranslationPackCache.localeScopedKey(PACK_SHARED, LANGUAGE_HU),
+                TranslationPackCache.localeScopedKey(PACK_APP_1, LANGUAGE_HU));
+        given(translationPackDAO.findAllLatestEnabledMetaInfoByPackNameInAndLocaleIn(PACKS, List.of(LANGUAGE_HU)))
+                .willReturn(List.of(TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED, TRANSLATION_PACK_APP1_HU_LATEST_ENABLED));
+        given(translationPackDAO.findAllByIdIn(anyList())).willAnswer(invocation -> findExistingPacks(invocation.getArgument(0)));
+        given(translationPackCache.get(eq(localeScopedKeys), any())).willAnswer(invocation -> invocation
+                .<Function<List<String>, Map<String, List<TranslationPack>>>>getArgument(1)
+                .apply(invocation.getArgument(0))
+                .values().stream()
+                .flatMap(List::stream)
+                .toList());
+
+        // when
+        Set<TranslationPack> result = translationManagementService.retrieveLatestEnabledPacksInLocales(PACKS, List.of(LANGUAGE_HU));
+
+        // then
+        assertThat(List.copyOf(result), equalTo(List.of(TRANSLATION_PACK_APP1_HU_LATEST_ENABLED, TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED)));
+        verify(translationPackDAO, never()).findAllLatestEnabledMetaInfoByPackNameIn(any());
+    }
+
+    @Test
+    public void shouldReturnLatestEnabledPacksInLocalesFilteredFromCachedPacks() {
+
+        // given
+        given(translationPackCache.getIfPresent(PACKS)).willReturn(Optional.of(List.of(
+                TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED,
+                TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED,
+                TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED,
+                TRANSLATION_PACK_APP1_HU_LATEST_ENABLED)));
+
+        // when
+        Set<TranslationPack> result = translationManagementService.retrieveLatestEnabledPacksInLocales(PACKS, List.of(Locale.ENGLISH));
+
+        // then
+        assertThat(List.copyOf(result), equalTo(List.of(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED, TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED)));
+        verifyNoInteractions(translationPackDAO);
+    }
+
+    @Test
+    public void shouldReturnLatestEnabledPacksMetaInfoInLocales() {
+
+        // given
+        given(translationPackCache.getIfPresent(PACKS)).willReturn(Optional.of(List.of(
+                TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED,
+                TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED)));
+
+        // when
+        Set<TranslationPack> result = translationManagementService.retrieveLatestEnabledPacksMetaInfoInLocales(PACKS, List.of(LANGUAGE_HU));
+
+        // then
+        assertThat(List.copyOf(result), equalTo(List.of(TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED)));
+    }
+
+    @Test
+    public void shouldReturnLatestEnabledPacksMetaInfoInLocalesFilteringBeforeCollapsingLanguages() {
+
+        // given
+        TranslationPack sharedHuHUPack = prepareTranslationPack(PACK_SHARED, Locale.forLanguageTag("hu-HU"), prepareTimestamp(28), true);
+        given(translationPackCache.getIfPresent(PACKS)).willReturn(Optional.of(List.of(
+                TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED,
+                sharedHuHUPack)));
+
+        // when
+        Set<TranslationPack> result = translationManagementService.retrieveLatestEnabledPacksMetaInfoInLocales(PACKS, List.of(LANGUAGE_HU));
+
+        // then
+        assertThat(List.copyOf(result), equalTo(List.of(TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED)));
+    }
+
+    @Test
+    public void shouldReturnLatestEnabledPacksResolvedForLocale() {
+
+        // given
+        TranslationPack resolvedSharedPack = prepareTranslationPack(PACK_SHARED, LANGUAGE_HU, prepareTimestamp(27), true);
+        givenLatestEnabledPacks();
+        givenCacheMiss();
+        given(resolvedPackCache.resolve(eq(PACK_SHARED), eq(LANGUAGE_HU), argThat(containsExactly(TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED, TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED))))
+                .willReturn(Optional.of(resolvedSharedPack));
+        given(resolvedPackCache.resolve(eq(PACK_APP_1), eq(LANGUAGE_HU), argThat(containsExactly(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED, TRANSLATION_PACK_APP1_HU_LATEST_ENABLED))))
+                .willReturn(Optional.empty());
+
+        // when
+        Set<TranslationPack> result = translationManagementService.retrieveLatestEnabledPacks(PACKS, LANGUAGE_HU);
+
+        // then
+        assertThat(result, equalTo(Set.of(resolvedSharedPack)));
+    }
+
+    @Test
+    public void shouldReturnLatestEnabledPacksResolvedForLocaleFromBundle() {
+
+        // given
+        given(translationBundleManager.findBundle(eq(BundleKey.of(PACKS, LANGUAGE_HU)), any()))
+                .willReturn(Optional.of(List.of(TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED, TRANSLATION_PACK_APP1_HU_LATEST_ENABLED)));
+
+        // when
+        Set<TranslationPack> result = translationManagementService.retrieveLatestEnabledPacks(PACKS, LANGUAGE_HU);
+
+        // then
+        assertThat(result, equalTo(Set.of(TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED, TRANSLATION_PACK_APP1_HU_LATEST_ENABLED)));
+        verifyNoInteractions(translationPackCache, resolvedPackCache);
+    }
+
+    @Test
+    public void shouldMaterializeLatestEnabledPacksResolvedForLocale() {
+
+        // given
+        BundleKey bundleKey = BundleKey.of(PACKS, LANGUAGE_HU);
+        TranslationPack resolvedSharedPack = prepareTranslationPack(PACK_SHARED, LANGUAGE_HU, prepareTimestamp(27), true);
+        givenLatestEnabledPacks();
+        givenCacheMiss();
+        given(resolvedPackCache.resolve(eq(PACK_SHARED), eq(LANGUAGE_HU), any())).willReturn(Optional.of(resolvedSharedPack));
+        given(resolvedPackCache.resolve(eq(PACK_APP_1), eq(LANGUAGE_HU), any())).willReturn(Optional.empty());
+        given(translationBundleManager.shouldMaterialize(bundleKey)).willReturn(true);
+
+        // when
+        Set<TranslationPack> result = translationManagementService.retrieveLatestEnabledPacks(PACKS, LANGUAGE_HU);
+
+        // then
+        assertThat(result, equalTo(Set.of(resolvedSharedPack)));
+        verify(translationBundleManager).store(bundleKey, result, List.of(TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED.getId(),
+                TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED.getId(), TRANSLATION_PACK_APP1_HU_LATEST_ENABLED.getId(), TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED.getId()));
+    }
+
+    @Test
+    public void shouldRetrieveLatestEnabledPacksMetaInfoFromCache() {
+
+        // given
+        given(translationPackCache.getIfPresent(PACKS)).willReturn(Optional.of(List.of(TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED, TRANSLATION_PACK_APP1_HU_LATEST_ENABLED)));
+
+        // when
+        Set<TranslationPack> result = translationManagementService.retrieveLatestEnabledPacksMetaInfo(PACKS);
+
+        // then
+        assertThat(result, equalTo(Set.of(TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED, TRANSLATION_PACK_APP1_HU_LATEST_ENABLED)));
+        verifyNoInteractions(translationPackDAO);
+    }
+
+    @Test
+    public void shouldRetrieveLatestEnabledPacksMetaInfoOfFallbackChainSources() {
+
+        // given
+        Locale hungaryLocale = Locale.forLanguageTag("hu-HU");
+        TranslationPack sharedHungaryPack = prepareTranslationPack(PACK_SHARED, hungaryLocale, prepareTimestamp(20), true);
+        given(translationPackCache.getIfPresent(PACKS)).willReturn(Optional.of(List.of(sharedHungaryPack, TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED,
+                TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED, TRANSLATION_PACK_APP1_HU_LATEST_ENABLED)));
+
+        // when
+        List<TranslationPack> result = translationManagementService.retrieveLatestEnabledPacksMetaInfo(PACKS, hungaryLocale);
+
+        // then
+        assertThat(result.size(), equalTo(4));
+        assertThat(Set.copyOf(result), equalTo(Set.of(sharedHungaryPack, TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED,
+                TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED, TRANSLATION_PACK_APP1_HU_LATEST_ENABLED)));
+        verifyNoInteractions(translationPackDAO);
+    }
+
+    @Test
+    public void shouldRetrieveLatestEnabledPacksMetaInfoFromDatabaseOnCacheMiss() {
+
+        // given
+        given(translationPackCache.getIfPresent(PACKS)).willReturn(Optional.empty());
+        given(translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(PACKS)).willReturn(LATEST_ENABLED_TRANSLATION_PACKS);
+        given(translationPackDAO.findAllMetaInfoByIdIn(anyList())).willAnswer(invocation -> findExistingPacks(invocation.getArgument(0)));
+
+        // when
+        Set<TranslationPack> result = translationManagementService.retrieveLatestEnabledPacksMetaInfo(PACKS);
+
+        // then
+        assertThat(result, equalTo(Set.of(
+                TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED,
+                TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED,
+                TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED,
+                TRANSLATION_PACK_APP1_HU_LATEST_ENABLED)));
+    }
+
+    @Test
+    public void shouldRetrieveLatestEnabledPacksMetaInfoFromSnapshotOnDatabaseFailure() {
+
+        // given
+        given(translationPackCache.getIfPresent(PACKS)).willReturn(Optional.empty());
+        given(translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(PACKS)).willThrow(new DataAccessResourceFailureException("unavailable"));
+        given(translationSnapshotManager.findLatestEnabledPacks(PACKS)).willReturn(Optional.of(Map.of(
+                PACK_SHARED, List.of(TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED),
+                PACK_APP_1, List.of())));
+
+        // when
+        Set<TranslationPack> result = translationManagementService.retrieveLatestEnabledPacksMetaInfo(PACKS);
+
+        // then
+        assertThat(result, equalTo(Set.of(TRANSLATION_PACK_SHARED_EN_FIRST_ENABLED)));
+    }
+
+    @Test
+    public void shouldRetrieveLatestEnabledPacksFromSnapshotOnDatabaseFailure() {
+
+        // given
+        givenCacheMiss();
+        given(translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(PACKS)).willThrow(new DataAccessResourceFailureException("unavailable"));
+        given(translationSnapshotManager.findLatestEnabledPacks(PACKS)).willReturn(Optional.of(Map.of(
+                PACK_SHARED, List.of(TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED),
+                PACK_APP_1, List.of(TRANSLATION_PACK_APP1_HU_LATEST_ENABLED))));
+
+        // when
+        Set<TranslationPack> result = translationManagementService.retrieveLatestEnabledPacks(PACKS);
+
+        // then
+        assertThat(result, equalTo(Set.of(TRANSLATION_PACK_SHARED_HU_LATEST_ENABLED, TRANSLATION_PACK_APP1_HU_LATEST_ENABLED)));
+    }
+
+    @Test
+    public void shouldRetrieveLatestEnabledPacksRethrowDatabaseFailureWithoutSnapshot() {
+
+        // given
+        givenCacheMiss();
+        given(translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(PACKS)).willThrow(new DataAccessResourceFailureException("unavailable"));
+        given(translationSnapshotManager.findLatestEnabledPacks(PACKS)).willReturn(Optional.empty());
+
+        // when
+        Assertions.assertThrows(DataAccessResourceFailureException.class, () -> translationManagementService.retrieveLatestEnabledPacks(PACKS));
+
+        // then
+        // exception expected
+    }
+
     @Test
     public void shouldRetrievePackMetaInfo() {
 
         // given
-        given(translationPackDAO.findAll()).willReturn(Collections.singletonList(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED));
+        given(translationPackDAO.findAllMetaInfo()).willReturn(Collections.singletonList(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED));
 
         // when
         List<TranslationPack> result = translationManagementService.retrieveAllTranslationPack();
@@ -130,6 +491,94 @@ public class TranslationManagementServiceImplTest {
         // exception expected
     }
 
+    @Test
+    public void shouldGetPackMetaInfo() throws TranslationPackNotFoundException {
+
+        // given
+        given(translationPackDAO.getMetaInfoByID(PACK_ID)).willReturn(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED);
+
+        // when
+        TranslationPack result = translationManagementService.getPackMetaInfo(PACK_ID);
+
+        // then
+        assertThat(result, equalTo(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED));
+        verify(translationPackDAO, never()).getByID(PACK_ID);
+    }
+
+    @Test
+    public void shouldGetPackMetaInfoThrowException() {
+
+        // given
+        given(translationPackDAO.getMetaInfoByID(PACK_ID)).willReturn(null);
+
+        // when
+        Assertions.assertThrows(TranslationPackNotFoundException.class, () -> translationManagementService.getPackMetaInfo(PACK_ID));
+
+        // then
+        // exception expected
+    }
+
+    @Test
+    public void shouldRetrieveDefinitions() throws TranslationPackNotFoundException {
+
+        // given
+        KeyRange keyRange = KeyRange.prefix("key");
+        TranslationDefinition definition = new TranslationDefinition("key1", "value1");
+        given(translationPackDAO.exists(PACK_ID)).willReturn(true);
+        given(translationPackDAO.streamDefinitions(PACK_ID, keyRange)).willReturn(Stream.of(definition));
+
+        // when
+        List<TranslationDefinition> result = translationManagementService.retrieveDefinitions(PACK_ID, keyRange).toList();
+
+        // then
+        assertThat(result, equalTo(List.of(definition)));
+    }
+
+    @Test
+    public void shouldRetrieveDefinitionsThrowException() {
+
+        // given
+        given(translationPackDAO.exists(PACK_ID)).willReturn(false);
+
+        // when
+        Assertions.assertThrows(TranslationPackNotFoundException.class, () -> translationManagementService.retrieveDefinitions(PACK_ID, KeyRange.ALL));
+
+        // then
+        // exception expected
+    }
+
+    @Test
+    public void shouldDiffPacks() throws TranslationPackNotFoundException {
+
+        // given
+        UUID targetPackID = UUID.randomUUID();
+        given(translationPackDAO.exists(PACK_ID)).willReturn(true);
+        given(translationPackDAO.exists(targetPackID)).willReturn(true);
+        given(translationPackDAO.streamDefinitionsOrderedByKey(PACK_ID)).willReturn(Stream.of(new TranslationDefinition("key1", "value1")));
+        given(translationPackDAO.streamDefinitionsOrderedByKey(targetPackID)).willReturn(Stream.of(new TranslationDefinition("key1", "value2")));
+
+        // when
+        List<DefinitionDiffEntry> result = translationManagementService.diffPacks(PACK_ID, targetPackID).toList();
+
+        // then
+        assertThat(result, equalTo(List.of(new DefinitionDiffEntry(DefinitionDiffEntry.Type.CHANGED, "key1", "value1", "value2"))));
+    }
+
+    @Test
+    public void shouldDiffPacksThrowExceptionForMissingTargetPack() {
+
+        // given
+        UUID targetPackID = UUID.randomUUID();
+        given(translationPackDAO.exists(PACK_ID)).willReturn(true);
+        given(translationPackDAO.exists(targetPackID)).willReturn(false);
+
+        // when
+        Assertions.assertThrows(TranslationPackNotFoundException.class, () -> translationManagementService.diffPacks(PACK_ID, targetPackID));
+
+        // then
+        // exception expected
+    }
+
     @Test
     public void shouldCreatePack() throws TranslationPackCreationException {
 
@@ -141,6 +590,41 @@ public class TranslationManagementServiceImplTest {
 
         // then
         assertThat(result, equalTo(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED));
+        verify(applicationEventPublisher).publishEvent(new TranslationPackChangedEvent(PACK_APP_1));
+    }
+
+    @Test
+    public void shouldCreatePackAndRebuildAffectedBundles() throws TranslationPackCreationException {
+
+        // given
+        BundleKey bundleKey = BundleKey.of(PACKS, LANGUAGE_HU);
+        TranslationPack resolvedAppPack = prepareTranslationPack(PACK_APP_1, LANGUAGE_HU, prepareTimestamp(27), true);
+        given(translationPackDAO.save(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED)).willReturn(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED);
+        given(translationBundleManager.invalidate(PACK_APP_1)).willReturn(List.of(bundleKey));
+        given(translationPackCache.get(eq(bundleKey.packNames()), any())).willReturn(List.of(TRANSLATION_PACK_APP1_HU_LATEST_ENABLED));
+        given(resolvedPackCache.resolve(PACK_APP_1, LANGUAGE_HU, List.of(TRANSLATION_PACK_APP1_HU_LATEST_ENABLED))).willReturn(Optional.of(resolvedAppPack));
+        given(resolvedPackCache.resolve(PACK_SHARED, LANGUAGE_HU, List.of())).willReturn(Optional.empty());
+
+        // when
+        translationManagementService.createPack(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED);
+
+        // then
+        verify(translationBundleManager).store(bundleKey, Set.of(resolvedAppPack), List.of(TRANSLATION_PACK_APP1_HU_LATEST_ENABLED.getId()));
+    }
+
+    @Test
+    public void shouldCreatePackIgnoringBundleRebuildFailure() throws TranslationPackCreationException {
+
+        // given
+        given(translationPackDAO.save(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED)).willReturn(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED);
+        given(translationBundleManager.invalidate(PACK_APP_1)).willThrow(new DataAccessResourceFailureException("unavailable"));
+
+        // when
+        TranslationPack result = translationManagementService.createPack(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED);
+
+        // then
+        assertThat(result, equalTo(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED));
+        verify(applicationEventPublisher).publishEvent(new TranslationPackChangedEvent(PACK_APP_1));
     }
 
     @Test
@@ -157,38 +641,55 @@ public class TranslationManagementServiceImplTest {
     }
 
     @Test
-    public void shouldChangeStatusWithDisabledPack() throws TranslationPackNotFoundException {
+    public void shouldCreatePackFromDefinitionIterator() throws TranslationPackCreationException {
 
         // given
-        given(translationPackDAO.exists(PACK_ID)).willReturn(true);
-        given(translationPackDAO.getByID(PACK_ID)).willReturn(TRANSLATION_PACK_APP1_EN_LATEST_DISABLED);
+        Iterator<TranslationDefinition> definitions = List.of(new TranslationDefinition("key1", "value1")).iterator();
+        given(translationPackDAO.save(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED, definitions)).willReturn(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED);
 
         // when
-        translationManagementService.changeStatus(PACK_ID);
+        TranslationPack result = translationManagementService.createPack(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED, definitions);
 
         // then
-        verify(translationPackDAO).setStatus(PACK_ID, true);
+        assertThat(result, equalTo(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED));
+        verify(applicationEventPublisher).publishEvent(new TranslationPackChangedEvent(PACK_APP_1));
     }
 
     @Test
-    public void shouldChangeStatusWithEnabledPack() throws TranslationPackNotFoundException {
+    public void shouldCreatePackFromDefinitionIteratorThrowException() {
 
         // given
-        given(translationPackDAO.exists(PACK_ID)).willReturn(true);
-        given(translationPackDAO.getByID(PACK_ID)).willReturn(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED);
+        Iterator<TranslationDefinition> definitions = Collections.emptyIterator();
+        given(translationPackDAO.save(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED, definitions)).willReturn(null);
+
+        // when
+        Assertions.assertThrows(TranslationPackCreationException.class,
+                () -> translationManagementService.createPack(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED, definitions));
+
+        // then
+        // exception expected
+    }
+
+    @Test
+    public void shouldChangeStatus() throws TranslationPackNotFoundException {
+
+        // given
+        given(translationPackDAO.toggleStatus(PACK_ID)).willReturn(TRANSLATION_PACK_APP1_HU_LATEST_ENABLED);
 
         // when
-        translationManagementService.changeStatus(PACK_ID);
+        TranslationPack result = translationManagementService.changeStatus(PACK_ID);
 
         // then
-        verify(translationPackDAO).setStatus(PACK_ID, false);
+        assertThat(result, equalTo(TRANSLATION_PACK_APP1_HU_LATEST_ENABLED));
+        verify(translationPackDAO, never()).getByID(PACK_ID);
+        verify(applicationEventPublisher).publishEvent(new TranslationPackChangedEvent(PACK_APP_1));
     }
 
     @Test
     public void shouldChangeStatusThrowException() {
 
         // given
-        given(translationPackDAO.exists(PACK_ID)).willReturn(false);
+        given(translationPackDAO.toggleStatus(PACK_ID)).willReturn(null);
 
         // when
         Assertions.assertThrows(TranslationPackNotFoundException.class, () -> translationManagementService.changeStatus(PACK_ID));
@@ -197,24 +698,100 @@ public class TranslationManagementServiceImplTest {
         // exception expected
     }
 
+    @Test
+    public void shouldPublishPack() throws TranslationPackNotFoundException, TranslationPackPublicationException {
+
+        // given
+        given(translationPackDAO.getMetaInfoByID(PACK_ID)).willReturn(TRANSLATION_PACK_APP1_HU_LATEST_ENABLED);
+
+        // when
+        TranslationPack result = translationManagementService.publishPack(PACK_ID);
+
+        // then
+        assertThat(result, equalTo(TRANSLATION_PACK_APP1_HU_LATEST_ENABLED));
+        InOrder inOrder = inOrder(publishedPackPointerDAO, recentWriteTracker, applicationEventPublisher);
+        inOrder.verify(publishedPackPointerDAO).publish(TRANSLATION_PACK_APP1_HU_LATEST_ENABLED);
+        inOrder.verify(recentWriteTracker).recordWrite(TRANSLATION_PACK_APP1_HU_LATEST_ENABLED);
+        inOrder.verify(applicationEventPublisher).publishEvent(new TranslationPackChangedEvent(PACK_APP_1));
+    }
+
+    @Test
+    public void shouldPublishPackThrowException() {
+
+        // given
+        given(translationPackDAO.getMetaInfoByID(PACK_ID)).willReturn(null);
+
+        // when
+        Assertions.assertThrows(TranslationPackNotFoundException.class, () -> translationManagementService.publishPack(PACK_ID));
+
+        // then
+        verifyNoInteractions(publishedPackPointerDAO);
+    }
+
+    @Test
+    public void shouldPublishPackRejectDisabledPack() {
+
+        // given
+        given(translationPackDAO.getMetaInfoByID(PACK_ID)).willReturn(TRANSLATION_PACK_APP1_EN_LATEST_DISABLED);
+
+        // when
+        Assertions.assertThrows(TranslationPackPublicationException.class, () -> translationManagementService.publishPack(PACK_ID));
+
+        // then
+        verifyNoInteractions(publishedPackPointerDAO, applicationEventPublisher);
+    }
+
+    @Test
+    public void shouldRollbackPack() throws TranslationPackNotFoundException {
+
+        // given
+        given(publishedPackPointerDAO.rollback(PACK_APP_1, LANGUAGE_HU))
+                .willReturn(preparePublishedPackPointer(TRANSLATION_PACK_APP1_HU_PREVIOUS_DISABLED));
+        given(translationPackDAO.getMetaInfoByID(TRANSLATION_PACK_APP1_HU_PREVIOUS_DISABLED.getId()))
+                .willReturn(TRANSLATION_PACK_APP1_HU_PREVIOUS_DISABLED);
+
+        // when
+        TranslationPack result = translationManagementService.rollbackPack(PACK_APP_1, LANGUAGE_HU);
+
+        // then
+        assertThat(result, equalTo(TRANSLATION_PACK_APP1_HU_PREVIOUS_DISABLED));
+        verify(applicationEventPublisher).publishEvent(new TranslationPackChangedEvent(PACK_APP_1));
+    }
+
+    @Test
+    public void shouldRollbackPackThrowExceptionWithoutPreviouslyPublishedVersion() {
+
+        // given
+        given(publishedPackPointerDAO.rollback(PACK_APP_1, LANGUAGE_HU)).willReturn(null);
+
+        // when
+        Assertions.assertThrows(TranslationPackNotFoundException.class, () -> translationManagementService.rollbackPack(PACK_APP_1, LANGUAGE_HU));
+
+        // then
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
     @Test
     public void shouldDeletePack() throws TranslationPackNotFoundException {
 
         // given
-        given(translationPackDAO.exists(PACK_ID)).willReturn(true);
+        given(translationPackDAO.getMetaInfoByID(PACK_ID)).willReturn(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED);
 
         // when
         translationManagementService.deletePack(PACK_ID);
 
         // then
+        verify(publishedPackPointerDAO).unpublish(TRANSLATION_PACK_APP1_EN_PREVIOUS_ENABLED);
         verify(translationPackDAO).delete(PACK_ID);
+        verify(translationPackDAO, never()).getByID(PACK_ID);
+        verify(applicationEventPublisher).publishEvent(new TranslationPackChangedEvent(PACK_APP_1));
     }
 
     @Test
     public void shouldDeletePackThrowException() {
 
         // given
-        given(translationPackDAO.exists(PACK_ID)).willReturn(false);
+        given(translationPackDAO.getMetaInfoByID(PACK_ID)).willReturn(null);
 
         // when
         Assertions.assertThrows(TranslationPackNotFoundException.class, () -> translationManagementService.deletePack(PACK_ID));
@@ -223,6 +800,41 @@ public class TranslationManagementServiceImplTest {
         // exception expected
     }
 
+    private static ArgumentMatcher<List<TranslationPack>> containsExactly(TranslationPack... translationPacks) {
+        return list -> list.size() == translationPacks.length && list.containsAll(Arrays.asList(translationPacks));
+    }
+
+    private static PublishedPackPointer preparePublishedPackPointer(TranslationPack translationPack) {
+
+        return PublishedPackPointer.builder()
+                .id(PublishedPackPointer.pointerID(translationPack.getPackName(), translationPack.getLocale()))
+                .packName(translationPack.getPackName())
+                .locale(translationPack.getLocale())
+                .packID(translationPack.getId())
+                .build();
+    }
+
+    private void givenCacheMiss() {
+        given(translationPackCache.get(eq(PACKS), any())).willAnswer(invocation -> invocation
+                .<Function<List<String>, Map<String, List<TranslationPack>>>>getArgument(1)
+                .apply(invocation.getArgument(0))
+                .values().stream()
+                .flatMap(List::stream)
+                .toList());
+    }
+
+    private void givenLatestEnabledPacks() {
+        given(translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(PACKS)).willReturn(LATEST_ENABLED_TRANSLATION_PACKS);
+        given(translationPackDAO.findAllByIdIn(anyList())).willAnswer(invocation -> findExistingPacks(invocation.getArgument(0)));
+    }
+
+    private static List<TranslationPack> findExistingPacks(List<UUID> packIDs) {
+
+        return EXISTING_TRANSLATION_PACKS.stream()
+                .filter(translationPack -> packIDs.contains(translationPack.getId()))
+                .toList();
+    }
+
     private static Timestamp prepareTimestamp(int day) {
 
         long time = new Calendar.Builder()
@@ -0,0 +1,93 @@
+package hu.psprog.leaflet.tms.core.service.impl;
+
+import hu.psprog.leaflet.tms.core.config.SearchProperties;
+import hu.psprog.leaflet.tms.core.dao.TranslationPackDAO;
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchHit;
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchQuery;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.search.TranslationSearchIndex;
+import hu.psprog.leaflet.tms.core.service.TranslationManagementService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link TranslationSearchServiceImpl}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class TranslationSearchServiceImplTest {
+
+    private static final String PACK_NAME = "pack1";
+    private static final DefinitionSearchHit SEARCH_HIT = new DefinitionSearchHit(UUID.randomUUID(), PACK_NAME, Locale.ENGLISH, "key1", "value1");
+    private static final TranslationPack TRANSLATION_PACK = TranslationPack.builder().packName(PACK_NAME).build();
+
+    @Mock
+    private TranslationSearchIndex translationSearchIndex;
+
+    @Mock
+    private TranslationManagementService translationManagementService;
+
+    @Mock
+    private TranslationPackDAO translationPackDAO;
+
+    @Spy
+    private SearchProperties searchProperties = new SearchProperties();
+
+    @InjectMocks
+    private TranslationSearchServiceImpl translationSearchService;
+
+    @Test
+    public void shouldSearchWithCappedLimitLoadingLatestEnabledPacks() {
+
+        // given
+        ArgumentCaptor<DefinitionSearchQuery> queryCaptor = ArgumentCaptor.forClass(DefinitionSearchQuery.class);
+        ArgumentCaptor<Supplier<List<String>>> packNameSupplierCaptor = ArgumentCaptor.captor();
+        ArgumentCaptor<Function<String, Collection<TranslationPack>>> packLoaderCaptor = ArgumentCaptor.captor();
+        given(translationSearchIndex.search(any(), any(), any())).willReturn(List.of(SEARCH_HIT));
+        given(translationManagementService.retrieveLatestEnabledPacksInAllLocales(List.of(PACK_NAME))).willReturn(List.of(TRANSLATION_PACK));
+        given(translationPackDAO.findAllPackNames()).willReturn(List.of(PACK_NAME));
+
+        // when
+        List<DefinitionSearchHit> result = translationSearchService.search(new DefinitionSearchQuery("value", List.of(), List.of(), DefinitionSearchQuery.Scope.ALL, 5000));
+
+        // then
+        assertThat(result, equalTo(List.of(SEARCH_HIT)));
+        verify(translationSearchIndex).search(queryCaptor.capture(), packNameSupplierCaptor.capture(), packLoaderCaptor.capture());
+        assertThat(queryCaptor.getValue().limit(), equalTo(1000));
+        assertThat(packNameSupplierCaptor.getValue().get(), equalTo(List.of(PACK_NAME)));
+        assertThat(packLoaderCaptor.getValue().apply(PACK_NAME), equalTo(List.of(TRANSLATION_PACK)));
+    }
+
+    @Test
+    public void shouldSearchWithDefaultLimit() {
+
+        // given
+        ArgumentCaptor<DefinitionSearchQuery> queryCaptor = ArgumentCaptor.forClass(DefinitionSearchQuery.class);
+
+        // when
+        translationSearchService.search(new DefinitionSearchQuery("value", List.of(), List.of(), DefinitionSearchQuery.Scope.ALL, 0));
+
+        // then
+        verify(translationSearchIndex).search(queryCaptor.capture(), any(), any());
+        assertThat(queryCaptor.getValue().limit(), equalTo(100));
+    }
+}
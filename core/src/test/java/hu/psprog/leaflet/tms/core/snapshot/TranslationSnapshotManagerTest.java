@@ -0,0 +1,186 @@
+package hu.psprog.leaflet.tms.core.snapshot;
+
+import hu.psprog.leaflet.tms.core.config.SnapshotProperties;
+import hu.psprog.leaflet.tms.core.dao.PublishedPackPointerDAO;
+import hu.psprog.leaflet.tms.core.dao.TranslationPackDAO;
+import hu.psprog.leaflet.tms.core.entity.PublishedPackPointer;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.retrieval.PublishedPackSelector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link TranslationSnapshotManager}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class TranslationSnapshotManagerTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T10:00:00Z");
+    private static final String PACK_APP = "app";
+    private static final String PACK_SHARED = "shared";
+    private static final TranslationPack PACK_APP_EN_PREVIOUS = preparePack(Locale.ENGLISH, 1, true);
+    private static final TranslationPack PACK_APP_EN_LATEST = preparePack(Locale.ENGLISH, 2, true);
+    private static final TranslationPack PACK_APP_EN_DISABLED = preparePack(Locale.ENGLISH, 3, false);
+    private static final TranslationPack PACK_APP_HU_LATEST = preparePack(Locale.forLanguageTag("hu"), 1, true);
+
+    @Mock
+    private TranslationPackDAO translationPackDAO;
+
+    @Mock
+    private PublishedPackPointerDAO publishedPackPointerDAO;
+
+    @TempDir
+    private Path tempDir;
+
+    private SnapshotProperties snapshotProperties;
+    private TranslationSnapshotManager translationSnapshotManager;
+
+    @BeforeEach
+    public void setup() {
+
+        snapshotProperties = new SnapshotProperties();
+        snapshotProperties.setEnabled(true);
+        snapshotProperties.setPath(tempDir.resolve("translations.snapshot"));
+        translationSnapshotManager = new TranslationSnapshotManager(snapshotProperties, translationPackDAO, new PublishedPackSelector(publishedPackPointerDAO, translationPackDAO), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void shouldWriteSnapshotOfLatestEnabledPacks() throws IOException {
+
+        // given
+        given(translationPackDAO.findAllPackNames()).willReturn(List.of(PACK_APP, PACK_SHARED));
+        given(translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(List.of(PACK_APP))).willReturn(List.of(PACK_APP_EN_LATEST, PACK_APP_HU_LATEST));
+        given(translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(List.of(PACK_SHARED))).willReturn(List.of());
+        given(translationPackDAO.findAllByIdIn(List.of(PACK_APP_EN_LATEST.getId(), PACK_APP_HU_LATEST.getId())))
+                .willReturn(List.of(PACK_APP_EN_LATEST, PACK_APP_HU_LATEST));
+
+        // when
+        translationSnapshotManager.writeSnapshot();
+
+        // then
+        TranslationSnapshot snapshot = TranslationSnapshot.open(snapshotProperties.getPath());
+        assertThat(snapshot.getCreated(), equalTo(NOW));
+        assertThat(snapshot.getPacks(PACK_APP).size(), equalTo(2));
+        assertThat(snapshot.getPacks(PACK_APP).containsAll(List.of(PACK_APP_EN_LATEST, PACK_APP_HU_LATEST)), is(true));
+        assertThat(snapshot.getPacks(PACK_SHARED), equalTo(List.of()));
+    }
+
+    @Test
+    public void shouldWriteSnapshotOfPublishedPacks() throws IOException {
+
+        // given
+        given(translationPackDAO.findAllPackNames()).willReturn(List.of(PACK_APP));
+        given(publishedPackPointerDAO.findAllByPackNameIn(List.of(PACK_APP))).willReturn(List.of(PublishedPackPointer.builder()
+                .packName(PACK_APP)
+                .locale(Locale.ENGLISH)
+                .packID(PACK_APP_EN_PREVIOUS.getId())
+                .build()));
+        given(translationPackDAO.findAllByIdIn(List.of(PACK_APP_EN_PREVIOUS.getId()))).willReturn(List.of(PACK_APP_EN_PREVIOUS));
+        given(translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(List.of(PACK_APP))).willReturn(List.of(PACK_APP_EN_LATEST, PACK_APP_HU_LATEST));
+        given(translationPackDAO.findAllByIdIn(List.of(PACK_APP_HU_LATEST.getId()))).willReturn(List.of(PACK_APP_HU_LATEST));
+
+        // when
+        translationSnapshotManager.writeSnapshot();
+
+        // then
+        TranslationSnapshot snapshot = TranslationSnapshot.open(snapshotProperties.getPath());
+        assertThat(snapshot.getPacks(PACK_APP).size(), equalTo(2));
+        assertThat(snapshot.getPacks(PACK_APP).containsAll(List.of(PACK_APP_EN_PREVIOUS, PACK_APP_HU_LATEST)), is(true));
+        verify(translationPackDAO, never()).findAllByIdIn(List.of(PACK_APP_EN_LATEST.getId()));
+    }
+
+    @Test
+    public void shouldWriteSnapshotKeepPreviousSnapshotOnFailure() {
+
+        // given
+        given(translationPackDAO.findAllPackNames()).willReturn(List.of(PACK_APP));
+        given(translationPackDAO.findAllLatestEnabledMetaInfoByPackNameIn(List.of(PACK_APP))).willReturn(List.of(PACK_APP_HU_LATEST));
+        given(translationPackDAO.findAllByIdIn(List.of(PACK_APP_HU_LATEST.getId()))).willReturn(List.of(PACK_APP_HU_LATEST));
+        translationSnapshotManager.writeSnapshot();
+        given(translationPackDAO.findAllPackNames()).willThrow(new DataAccessResourceFailureException("unavailable"));
+
+        // when
+        translationSnapshotManager.writeSnapshot();
+
+        // then
+        assertThat(translationSnapshotManager.findLatestEnabledPacks(List.of(PACK_APP)), equalTo(Optional.of(Map.of(PACK_APP, List.of(PACK_APP_HU_LATEST)))));
+    }
+
+    @Test
+    public void shouldFindLatestEnabledPacksFromSnapshotOnDisk() throws IOException {
+
+        // given
+        TranslationSnapshotWriter.write(snapshotProperties.getPath(), NOW, List.of(PACK_APP), packName -> List.of(PACK_APP_EN_LATEST));
+
+        // when
+        Optional<Map<String, List<TranslationPack>>> result = translationSnapshotManager.findLatestEnabledPacks(List.of(PACK_APP, PACK_SHARED, PACK_APP));
+
+        // then
+        assertThat(result, equalTo(Optional.of(Map.of(PACK_APP, List.of(PACK_APP_EN_LATEST), PACK_SHARED, List.of()))));
+    }
+
+    @Test
+    public void shouldFindLatestEnabledPacksReturnEmptyWithoutSnapshot() {
+
+        // when
+        Optional<Map<String, List<TranslationPack>>> result = translationSnapshotManager.findLatestEnabledPacks(List.of(PACK_APP));
+
+        // then
+        assertThat(result, equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void shouldFindLatestEnabledPacksReturnEmptyIfDisabled() throws IOException {
+
+        // given
+        TranslationSnapshotWriter.write(snapshotProperties.getPath(), NOW, List.of(PACK_APP), packName -> List.of(PACK_APP_EN_LATEST));
+        snapshotProperties.setEnabled(false);
+
+        // when
+        Optional<Map<String, List<TranslationPack>>> result = translationSnapshotManager.findLatestEnabledPacks(List.of(PACK_APP));
+
+        // then
+        assertThat(result, equalTo(Optional.empty()));
+        assertThat(Files.exists(snapshotProperties.getPath()), is(true));
+    }
+
+    private static TranslationPack preparePack(Locale locale, int day, boolean enabled) {
+
+        return TranslationPack.builder()
+                .id(UUID.randomUUID())
+                .packName(PACK_APP)
+                .locale(locale)
+                .enabled(enabled)
+                .created(new Date(1_700_000_000_000L + day * 86_400_000L))
+                .definitions(List.of(new TranslationDefinition("key", locale.toLanguageTag() + day)))
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package hu.psprog.leaflet.tms.core.snapshot;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link TranslationSnapshot} and {@link TranslationSnapshotWriter}.
+ *
+ * @author Peter Smith
+ */
+public class TranslationSnapshotTest {
+
+    private static final Instant CREATED = Instant.parse("2026-10-19T10:00:00Z");
+    private static final TranslationPack PACK_APP_EN = TranslationPack.builder()
+            .id(UUID.randomUUID())
+            .packName("app")
+            .locale(Locale.ENGLISH)
+            .enabled(true)
+            .created(new Date(1_700_000_000_000L))
+            .definitions(List.of(new TranslationDefinition("app.title", "Title"), new TranslationDefinition("app.empty", null)))
+            .build();
+    private static final TranslationPack PACK_APP_HU = TranslationPack.builder()
+            .id(UUID.randomUUID())
+            .packName("app")
+            .locale(Locale.forLanguageTag("hu-HU"))
+            .enabled(true)
+            .created(new Date(1_700_000_100_000L))
+            .definitions(List.of(new TranslationDefinition("app.title", "Cím")))
+            .build();
+    private static final Map<String, List<TranslationPack>> PACKS = Map.of(
+            "app", List.of(PACK_APP_EN, PACK_APP_HU),
+            "shared", List.of());
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void shouldWriteAndReadSnapshot() throws IOException {
+
+        // given
+        Path path = tempDir.resolve("translations.snapshot");
+        TranslationSnapshotWriter.write(path, CREATED, List.of("app", "shared"), PACKS::get);
+
+        // when
+        TranslationSnapshot result = TranslationSnapshot.open(path);
+
+        // then
+        assertThat(result.getCreated(), equalTo(CREATED));
+        assertThat(result.getPackNameCount(), equalTo(2));
+        assertThat(result.contains("shared"), is(true));
+        assertThat(result.contains("missing"), is(false));
+        assertThat(result.getPacks("app"), equalTo(List.of(PACK_APP_EN, PACK_APP_HU)));
+        assertThat(result.getPacks("shared"), equalTo(List.of()));
+        assertThat(result.getPacks("missing"), equalTo(List.of()));
+    }
+
+    @Test
+    public void shouldWriteReplaceExistingSnapshot() throws IOException {
+
+        // given
+        Path path = tempDir.resolve("translations.snapshot");
+        TranslationSnapshotWriter.write(path, CREATED, List.of("app", "shared"), PACKS::get);
+        TranslationSnapshot previousSnapshot = TranslationSnapshot.open(path);
+
+        // when
+        TranslationSnapshotWriter.write(path, CREATED.plusSeconds(60), List.of("shared"), PACKS::get);
+
+        // then
+        assertThat(TranslationSnapshot.open(path).contains("app"), is(false));
+        assertThat(previousSnapshot.getPacks("app"), equalTo(List.of(PACK_APP_EN, PACK_APP_HU)));
+        assertThat(Files.exists(tempDir.resolve("translations.snapshot.tmp")), is(false));
+    }
+
+    @Test
+    public void shouldOpenRejectInvalidFile() throws IOException {
+
+        // given
+        Path path = tempDir.resolve("invalid.snapshot");
+        Files.writeString(path, "definitely not a translation snapshot");
+
+        // when
+        Assertions.assertThrows(IOException.class, () -> TranslationSnapshot.open(path));
+
+        // then
+        // exception expected
+    }
+}
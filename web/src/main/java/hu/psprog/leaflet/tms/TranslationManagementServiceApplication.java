@@ -2,6 +2,7 @@ package hu.psprog.leaflet.tms;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * Spring Boot entry point.
@@ -9,6 +10,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @author Peter Smith
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class TranslationManagementServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,125 @@
+package hu.psprog.leaflet.tms.web.admission;
+
+import hu.psprog.leaflet.tms.web.config.AdmissionControlProperties;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token bucket rate limiter.
+ * Buckets are implemented by the generic cell rate algorithm: the whole state of a bucket is its theoretical arrival time,
+ * updated by compare-and-set, so admitting a request takes no lock. A bucket whose theoretical arrival time has passed
+ * is full, thus equivalent to a new one - such idle buckets are purged (at most once per second) when the number of
+ * tracked clients reaches the configured limit. While the limit is still reached, new clients get their own overflow bucket,
+ * kept in a bounded least recently used map, so a flood of new clients evicts each other's buckets instead of starving the rest.
+ *
+ * @author Peter Smith
+ */
+public class ClientRateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long PURGE_INTERVAL = NANOS_PER_SECOND;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> overflowBuckets = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AtomicLong> eldest) {
+            return size() > admissionControlProperties.getMaxOverflowClients();
+        }
+    };
+    private final AtomicLong lastPurge = new AtomicLong();
+    private final AdmissionControlProperties admissionControlProperties;
+    private final Clock clock;
+
+    public ClientRateLimiter(AdmissionControlProperties admissionControlProperties) {
+        this(admissionControlProperties, Clock.systemUTC());
+    }
+
+    ClientRateLimiter(AdmissionControlProperties admissionControlProperties, Clock clock) {
+        this.admissionControlProperties = admissionControlProperties;
+        this.clock = clock;
+    }
+
+    /**
+     * Tries to take a token from the bucket of the given client.
+     *
+     * @param clientID identifier of the client
+     * @return 0 if the request of the client is admitted, otherwise the time (in nanoseconds) until it could be admitted
+     */
+    public long tryAcquire(String clientID) {
+
+        long now = nanoTime();
+        long emissionInterval = (long) (NANOS_PER_SECOND / admissionControlProperties.getRequestsPerSecond());
+        long capacity = emissionInterval * admissionControlProperties.getBurstCapacity();
+        AtomicLong bucket = getBucket(clientID, now);
+
+        while (true) {
+            long theoreticalArrivalTime = bucket.get();
+            long updatedArrivalTime = Math.max(theoreticalArrivalTime, now) + emissionInterval;
+            long excess = updatedArrivalTime - now - capacity;
+            if (excess > 0) {
+                return excess;
+            }
+
+            if (bucket.compareAndSet(theoreticalArrivalTime, updatedArrivalTime)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of currently tracked clients.
+     *
+     * @return number of tracked clients
+     */
+    public int getTrackedClients() {
+
+        synchronized (overflowBuckets) {
+            return buckets.size() + overflowBuckets.size();
+        }
+    }
+
+    private AtomicLong getBucket(String clientID, long now) {
+
+        AtomicLong bucket = buckets.get(clientID);
+        if (Objects.nonNull(bucket)) {
+            return bucket;
+        }
+
+        if (buckets.size() >= admissionControlProperties.getMaxClients() && !purgeIdleBuckets(now)) {
+            return getOverflowBucket(clientID);
+        }
+
+        return buckets.computeIfAbsent(clientID, key -> new AtomicLong());
+    }
+
+    private AtomicLong getOverflowBucket(String clientID) {
+
+        synchronized (overflowBuckets) {
+            return overflowBuckets.computeIfAbsent(clientID, key -> new AtomicLong());
+        }
+    }
+
+    private boolean purgeIdleBuckets(long now) {
+
+        long previousPurge = lastPurge.get();
+        if (now - previousPurge >= PURGE_INTERVAL && lastPurge.compareAndSet(previousPurge, now)) {
+            buckets.values().removeIf(bucket -> bucket.get() <= now);
+        }
+
+        return buckets.size() < admissionControlProperties.getMaxClients();
+    }
+
+    private long nanoTime() {
+
+        Instant instant = clock.instant();
+
+        return instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+    }
+}
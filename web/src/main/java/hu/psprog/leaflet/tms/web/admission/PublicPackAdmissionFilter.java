@@ -0,0 +1,196 @@
+package hu.psprog.leaflet.tms.web.admission;
+
+import hu.psprog.leaflet.tms.web.config.AdmissionControlProperties;
+import hu.psprog.leaflet.tms.web.security.PublicPackRequestMatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control of the public translation pack retrieval requests (GET /translations?packs=...).
+ * Requests are first checked against the rate limit of their client (see {@link ClientRateLimiter}), then against the
+ * global concurrency limit. Requests over either limit are rejected immediately (without waiting for capacity) with
+ * HTTP 429 and a Retry-After header. As the packs are streamed asynchronously, the concurrency permit of an admitted
+ * request is held until its asynchronous processing completes. Clients are identified by their remote address, or by the
+ * configured client ID header if the request comes from a trusted proxy (parsed once, when the filter is created).
+ * Rejections are counted per reason by the tms.admission.rejections counter, while the tms.admission.active.requests
+ * and tms.admission.tracked.clients gauges expose the current number of admitted requests and rate limited clients.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class PublicPackAdmissionFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PublicPackAdmissionFilter.class);
+
+    private static final String METRIC_REJECTIONS = "tms.admission.rejections";
+    private static final String METRIC_ACTIVE_REQUESTS = "tms.admission.active.requests";
+    private static final String METRIC_TRACKED_CLIENTS = "tms.admission.tracked.clients";
+    private static final String TAG_REASON = "reason";
+    private static final String REASON_RATE_LIMITED = "RATE_LIMITED";
+    private static final String REASON_CONCURRENCY_LIMITED = "CONCURRENCY_LIMITED";
+    private static final int MAX_CLIENT_ID_LENGTH = 64;
+    private static final long MIN_RETRY_AFTER_SECONDS = 1;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RequestMatcher publicPackRequestMatcher = new PublicPackRequestMatcher();
+    private final AdmissionControlProperties admissionControlProperties;
+    private final ClientRateLimiter clientRateLimiter;
+    private final List<IpAddressMatcher> trustedProxyMatchers;
+    private final Semaphore concurrencyLimit;
+    private final Counter rateLimitedCounter;
+    private final Counter concurrencyLimitedCounter;
+
+    @Autowired
+    public PublicPackAdmissionFilter(AdmissionControlProperties admissionControlProperties, MeterRegistry meterRegistry) {
+        this(admissionControlProperties, new ClientRateLimiter(admissionControlProperties), meterRegistry);
+    }
+
+    PublicPackAdmissionFilter(AdmissionControlProperties admissionControlProperties, ClientRateLimiter clientRateLimiter,
+                              MeterRegistry meterRegistry) {
+        this.admissionControlProperties = admissionControlProperties;
+        this.clientRateLimiter = clientRateLimiter;
+        this.trustedProxyMatchers = admissionControlProperties.getTrustedProxies().stream()
+                .map(IpAddressMatcher::new)
+                .toList();
+        this.concurrencyLimit = new Semaphore(admissionControlProperties.getMaxConcurrentRequests());
+        this.rateLimitedCounter = registerRejectionCounter(meterRegistry, REASON_RATE_LIMITED);
+        this.concurrencyLimitedCounter = registerRejectionCounter(meterRegistry, REASON_CONCURRENCY_LIMITED);
+
+        int maxConcurrentRequests = admissionControlProperties.getMaxConcurrentRequests();
+        Gauge.builder(METRIC_ACTIVE_REQUESTS, concurrencyLimit, semaphore -> maxConcurrentRequests - semaphore.availablePermits())
+                .description("Number of admitted public pack retrieval requests in progress")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_TRACKED_CLIENTS, clientRateLimiter, ClientRateLimiter::getTrackedClients)
+                .description("Number of clients tracked by the public pack retrieval rate limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !admissionControlProperties.isEnabled() || !publicPackRequestMatcher.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String clientID = getClientID(request);
+        long waitTime = clientRateLimiter.tryAcquire(clientID);
+        if (waitTime > 0) {
+            LOGGER.debug("Rate limit of client [{}] exceeded", clientID);
+            rateLimitedCounter.increment();
+            reject(response, TimeUnit.NANOSECONDS.toSeconds(waitTime + NANOS_PER_SECOND - 1));
+            return;
+        }
+
+        if (!concurrencyLimit.tryAcquire()) {
+            LOGGER.debug("Concurrency limit of {} requests reached - rejecting request of client [{}]",
+                    admissionControlProperties.getMaxConcurrentRequests(), clientID);
+            concurrencyLimitedCounter.increment();
+            reject(response, MIN_RETRY_AFTER_SECONDS);
+            return;
+        }
+
+        PermitReleasingListener permit = new PermitReleasingListener();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    private String getClientID(HttpServletRequest request) {
+
+        String remoteAddress = request.getRemoteAddr();
+        String clientIdHeader = admissionControlProperties.getClientIdHeader();
+        String clientID = Objects.nonNull(clientIdHeader) && isTrustedProxy(remoteAddress)
+                ? request.getHeader(clientIdHeader)
+                : null;
+
+        if (Objects.isNull(clientID) || clientID.isEmpty()) {
+            clientID = remoteAddress;
+        }
+
+        return clientID.length() > MAX_CLIENT_ID_LENGTH
+                ? clientID.substring(0, MAX_CLIENT_ID_LENGTH)
+                : clientID;
+    }
+
+    private boolean isTrustedProxy(String remoteAddress) {
+
+        return trustedProxyMatchers.stream()
+                .anyMatch(trustedProxyMatcher -> trustedProxyMatcher.matches(remoteAddress));
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds) {
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(retryAfterSeconds, MIN_RETRY_AFTER_SECONDS)));
+    }
+
+    private static Counter registerRejectionCounter(MeterRegistry meterRegistry, String reason) {
+
+        return Counter.builder(METRIC_REJECTIONS)
+                .tag(TAG_REASON, reason)
+                .description("Number of rejected public pack retrieval requests")
+                .register(meterRegistry);
+    }
+
+    private final class PermitReleasingListener implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                concurrencyLimit.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package hu.psprog.leaflet.tms.web.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Admission control configuration properties of the public translation pack retrieval endpoint.
+ * Admission control is disabled by default, as identifying clients by their remote address only works if the service receives
+ * requests directly from its clients: behind a reverse proxy (or with host networking, depending on the proxy setup) every request
+ * may come from the same address, so all clients would share a single rate limit. Before enabling it, configure the trusted proxies
+ * and the client ID header they set, unless clients connect to the service directly.
+ * Every client may send the configured number of requests per second on average, with bursts up to the configured capacity.
+ * Clients are identified by their remote address. The configured client ID header is only honored on requests coming from
+ * one of the configured trusted proxies (addresses or CIDR ranges), as it is chosen by the client otherwise.
+ * At most the configured number of clients are tracked; clients beyond that get their own overflow allowance, out of which
+ * the configured number of most recently active ones are tracked.
+ * Independently of the client, at most the configured number of public requests are processed concurrently.
+ * Requests over either limit are rejected immediately with HTTP 429.
+ *
+ * @author Peter Smith
+ */
+@ConfigurationProperties(prefix = "tms.admission-control")
+public class AdmissionControlProperties {
+
+    private boolean enabled = false;
+    private int maxConcurrentRequests = 64;
+    private double requestsPerSecond = 20;
+    private int burstCapacity = 40;
+    private int maxClients = 10000;
+    private int maxOverflowClients = 1000;
+    private String clientIdHeader;
+    private List<String> trustedProxies = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public void setRequestsPerSecond(double requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    public int getBurstCapacity() {
+        return burstCapacity;
+    }
+
+    public void setBurstCapacity(int burstCapacity) {
+        this.burstCapacity = burstCapacity;
+    }
+
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(int maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    public int getMaxOverflowClients() {
+        return maxOverflowClients;
+    }
+
+    public void setMaxOverflowClients(int maxOverflowClients) {
+        this.maxOverflowClients = maxOverflowClients;
+    }
+
+    public String getClientIdHeader() {
+        return clientIdHeader;
+    }
+
+    public void setClientIdHeader(String clientIdHeader) {
+        this.clientIdHeader = clientIdHeader;
+    }
+
+    public List<String> getTrustedProxies() {
+        return trustedProxies;
+    }
+
+    public void setTrustedProxies(List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+}
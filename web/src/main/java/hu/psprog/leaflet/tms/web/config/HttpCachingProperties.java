@@ -0,0 +1,165 @@
+package hu.psprog.leaflet.tms.web.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * HTTP caching configuration properties.
+ * Cache-Control policies are configured per endpoint, keyed by the endpoint names defined in the controllers, e.g.:
+ *
+ * <pre>
+ * tms.http-caching.policies:
+ *   retrieve-packs:
+ *     max-age: 5m
+ *     cache-public: true
+ *     stale-while-revalidate: 1m
+ * </pre>
+ *
+ * Endpoints without configured policy send no Cache-Control header.
+ *
+ * @author Peter Smith
+ */
+@ConfigurationProperties(prefix = "tms.http-caching")
+public class HttpCachingProperties {
+
+    private Map<String, CacheControlPolicy> policies = new HashMap<>();
+
+    public Map<String, CacheControlPolicy> getPolicies() {
+        return policies;
+    }
+
+    public void setPolicies(Map<String, CacheControlPolicy> policies) {
+        this.policies = policies;
+    }
+
+    /**
+     * Returns the {@link CacheControl} configuration of the given endpoint.
+     *
+     * @param endpoint name of the endpoint
+     * @return configured {@link CacheControl} or {@link CacheControl#empty()} if no policy is configured for the given endpoint
+     */
+    public CacheControl getCacheControl(String endpoint) {
+
+        CacheControlPolicy policy = policies.get(endpoint);
+
+        return Objects.nonNull(policy)
+                ? policy.toCacheControl()
+                : CacheControl.empty();
+    }
+
+    /**
+     * Cache-Control policy of a single endpoint.
+     */
+    public static class CacheControlPolicy {
+
+        private Duration maxAge;
+        private boolean noCache;
+        private boolean noStore;
+        private boolean cachePublic;
+        private boolean cachePrivate;
+        private boolean mustRevalidate;
+        private Duration staleWhileRevalidate;
+        private Duration staleIfError;
+
+        public Duration getMaxAge() {
+            return maxAge;
+        }
+
+        public void setMaxAge(Duration maxAge) {
+            this.maxAge = maxAge;
+        }
+
+        public boolean isNoCache() {
+            return noCache;
+        }
+
+        public void setNoCache(boolean noCache) {
+            this.noCache = noCache;
+        }
+
+        public boolean isNoStore() {
+            return noStore;
+        }
+
+        public void setNoStore(boolean noStore) {
+            this.noStore = noStore;
+        }
+
+        public boolean isCachePublic() {
+            return cachePublic;
+        }
+
+        public void setCachePublic(boolean cachePublic) {
+            this.cachePublic = cachePublic;
+        }
+
+        public boolean isCachePrivate() {
+            return cachePrivate;
+        }
+
+        public void setCachePrivate(boolean cachePrivate) {
+            this.cachePrivate = cachePrivate;
+        }
+
+        public boolean isMustRevalidate() {
+            return mustRevalidate;
+        }
+
+        public void setMustRevalidate(boolean mustRevalidate) {
+            this.mustRevalidate = mustRevalidate;
+        }
+
+        public Duration getStaleWhileRevalidate() {
+            return staleWhileRevalidate;
+        }
+
+        public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+        }
+
+        public Duration getStaleIfError() {
+            return staleIfError;
+        }
+
+        public void setStaleIfError(Duration staleIfError) {
+            this.staleIfError = staleIfError;
+        }
+
+        CacheControl toCacheControl() {
+
+            CacheControl cacheControl;
+            if (noStore) {
+                cacheControl = CacheControl.noStore();
+            } else if (noCache) {
+                cacheControl = CacheControl.noCache();
+            } else if (Objects.nonNull(maxAge)) {
+                cacheControl = CacheControl.maxAge(maxAge);
+            } else {
+                cacheControl = CacheControl.empty();
+            }
+
+            if (cachePublic) {
+                cacheControl = cacheControl.cachePublic();
+            }
+            if (cachePrivate) {
+                cacheControl = cacheControl.cachePrivate();
+            }
+            if (mustRevalidate) {
+                cacheControl = cacheControl.mustRevalidate();
+            }
+            if (Objects.nonNull(staleWhileRevalidate)) {
+                cacheControl = cacheControl.staleWhileRevalidate(staleWhileRevalidate);
+            }
+            if (Objects.nonNull(staleIfError)) {
+                cacheControl = cacheControl.staleIfError(staleIfError);
+            }
+
+            return cacheControl;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package hu.psprog.leaflet.tms.web.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Decoded JWT caching configuration properties.
+ * When enabled, successfully decoded and validated access tokens are reused until they expire,
+ * so repeated requests with the same token skip signature verification and claim validation.
+ * At most the configured number of tokens are cached; new tokens are not cached while the cache is full of unexpired ones.
+ *
+ * @author Peter Smith
+ */
+@ConfigurationProperties(prefix = "tms.security.jwt-caching")
+public class JwtCachingProperties {
+
+    private boolean enabled = true;
+    private int maxEntries = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+}
@@ -1,18 +1,25 @@
 package hu.psprog.leaflet.tms.web.config;
 
+import hu.psprog.leaflet.tms.web.security.CachingJwtDecoder;
+import hu.psprog.leaflet.tms.web.security.PublicPackRequestMatcher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.web.DefaultSecurityFilterChain;
 import org.springframework.security.web.SecurityFilterChain;
 
-import static org.springframework.security.web.util.matcher.RegexRequestMatcher.regexMatcher;
-
 /**
  * Spring Web Security configuration.
+ * Public translation pack retrieval requests (GET /translations?packs=...) are served by a dedicated, empty filter chain,
+ * thus skip security context handling, header writing and authorization entirely. Every other request goes through
+ * the OAuth2 resource server chain, where decoded access tokens are cached until they expire.
  *
  * @author Peter Smith
  */
@@ -20,7 +27,6 @@ import static org.springframework.security.web.util.matcher.RegexRequestMatcher.
 @EnableWebSecurity
 public class SecurityConfiguration {
 
-    private static final String ENDPOINT_TRANSLATION_PACKS = "/translations\\?packs=.+$";
     private static final String ENDPOINT_TRANSLATIONS = "/translations/**";
     private static final String ENDPOINT_ACTUATOR = "/actuator/**";
 
@@ -28,12 +34,18 @@ public class SecurityConfiguration {
     private static final String SCOPE_WRITE_TRANSLATIONS = "SCOPE_write:translations";
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityFilterChain publicPackRetrievalFilterChain() {
+        return new DefaultSecurityFilterChain(new PublicPackRequestMatcher());
+    }
+
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder, JwtCachingProperties jwtCachingProperties)
+            throws Exception {
 
         return http
                 .authorizeHttpRequests(registry -> registry
-                        .requestMatchers(regexMatcher(HttpMethod.GET, ENDPOINT_TRANSLATION_PACKS))
-                            .permitAll()
                         .requestMatchers(HttpMethod.GET, ENDPOINT_ACTUATOR)
                             .permitAll()
                         .requestMatchers(HttpMethod.GET, ENDPOINT_TRANSLATIONS)
@@ -47,7 +59,8 @@ public class SecurityConfiguration {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
                 .oauth2ResourceServer(resourceServer -> resourceServer
-                        .jwt(jwtConfigurer -> {}))
+                        .jwt(jwtConfigurer -> jwtConfigurer
+                                .decoder(new CachingJwtDecoder(jwtDecoder, jwtCachingProperties))))
 
                 .build();
     }
@@ -0,0 +1,39 @@
+package hu.psprog.leaflet.tms.web.config;
+
+import hu.psprog.leaflet.translation.api.domain.TranslationPackCreationRequest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.core.StreamReadFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+/**
+ * Request body parsing configuration of translation pack uploads.
+ * Pack creation requests (POST /translations) are parsed with strict duplicate detection enabled, as their definitions
+ * are read into a map, where a repeated key would otherwise silently overwrite the previous one.
+ * Every other request body is parsed by the default mapper.
+ *
+ * @author Peter Smith
+ */
+@Configuration
+public class UploadParsingConfiguration implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+
+        converters.stream()
+                .filter(JacksonJsonHttpMessageConverter.class::isInstance)
+                .map(JacksonJsonHttpMessageConverter.class::cast)
+                .forEach(converter -> {
+                    JsonMapper strictMapper = converter.getMapper().rebuild()
+                            .enable(StreamReadFeature.STRICT_DUPLICATE_DETECTION)
+                            .build();
+                    converter.registerMappersForType(TranslationPackCreationRequest.class,
+                            mappers -> mappers.put(MediaType.APPLICATION_JSON, strictMapper));
+                });
+    }
+}
@@ -0,0 +1,71 @@
+package hu.psprog.leaflet.tms.web.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Translation pack upload validation configuration properties.
+ * Request bodies of pack creation and import requests larger than the configured request size are rejected before
+ * being read. The definitions of accepted requests are checked against the count, key and value length and total
+ * (UTF-8 encoded) size limits, as well as for duplicate and invalid keys, while they are being consumed.
+ *
+ * @author Peter Smith
+ */
+@ConfigurationProperties(prefix = "tms.upload-validation")
+public class UploadValidationProperties {
+
+    private boolean enabled = true;
+    private DataSize maxRequestSize = DataSize.ofMegabytes(4);
+    private DataSize maxPackSize = DataSize.ofMegabytes(2);
+    private int maxDefinitions = 20000;
+    private int maxKeyLength = 256;
+    private int maxValueLength = 8192;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getMaxRequestSize() {
+        return maxRequestSize;
+    }
+
+    public void setMaxRequestSize(DataSize maxRequestSize) {
+        this.maxRequestSize = maxRequestSize;
+    }
+
+    public DataSize getMaxPackSize() {
+        return maxPackSize;
+    }
+
+    public void setMaxPackSize(DataSize maxPackSize) {
+        this.maxPackSize = maxPackSize;
+    }
+
+    public int getMaxDefinitions() {
+        return maxDefinitions;
+    }
+
+    public void setMaxDefinitions(int maxDefinitions) {
+        this.maxDefinitions = maxDefinitions;
+    }
+
+    public int getMaxKeyLength() {
+        return maxKeyLength;
+    }
+
+    public void setMaxKeyLength(int maxKeyLength) {
+        this.maxKeyLength = maxKeyLength;
+    }
+
+    public int getMaxValueLength() {
+        return maxValueLength;
+    }
+
+    public void setMaxValueLength(int maxValueLength) {
+        this.maxValueLength = maxValueLength;
+    }
+}
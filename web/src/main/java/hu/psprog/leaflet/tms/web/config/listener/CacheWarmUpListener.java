@@ -0,0 +1,35 @@
+package hu.psprog.leaflet.tms.web.config.listener;
+
+import hu.psprog.leaflet.tms.core.cache.TranslationPackCacheWarmer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Startup listener triggering the translation pack cache warm-up.
+ * Warm-up runs on context refresh, thus before the application reports itself ready to accept traffic.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class CacheWarmUpListener implements ApplicationListener<ContextRefreshedEvent> {
+
+    private final TranslationPackCacheWarmer translationPackCacheWarmer;
+    private final AtomicBoolean triggered = new AtomicBoolean(false);
+
+    @Autowired
+    public CacheWarmUpListener(TranslationPackCacheWarmer translationPackCacheWarmer) {
+        this.translationPackCacheWarmer = translationPackCacheWarmer;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+
+        if (triggered.compareAndSet(false, true)) {
+            translationPackCacheWarmer.warmUp();
+        }
+    }
+}
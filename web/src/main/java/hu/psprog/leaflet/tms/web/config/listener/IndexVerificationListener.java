@@ -0,0 +1,61 @@
+package hu.psprog.leaflet.tms.web.config.listener;
+
+import hu.psprog.leaflet.tms.core.config.StorageProperties;
+import hu.psprog.leaflet.tms.core.index.TranslationPackIndexManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Startup listener ensuring translation pack indexes and verifying the query plans of the hot queries.
+ * Depending on configuration, a query falling back to collection scan either stops the application or produces a warning.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class IndexVerificationListener implements ApplicationListener<ContextRefreshedEvent> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexVerificationListener.class);
+    private static final String COLLECTION_SCAN_MESSAGE = "Translation pack queries %s are executed by collection scan - check indexes of the translation pack collection";
+
+    private final TranslationPackIndexManager translationPackIndexManager;
+    private final StorageProperties storageProperties;
+    private final AtomicBoolean verified = new AtomicBoolean(false);
+
+    @Autowired
+    public IndexVerificationListener(TranslationPackIndexManager translationPackIndexManager, StorageProperties storageProperties) {
+        this.translationPackIndexManager = translationPackIndexManager;
+        this.storageProperties = storageProperties;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+
+        var indexVerification = storageProperties.getIndexVerification();
+        if (indexVerification.isEnabled() && verified.compareAndSet(false, true)) {
+            translationPackIndexManager.ensureIndexes();
+            handleCollectionScans(translationPackIndexManager.findQueriesWithCollectionScan(), indexVerification.isFailOnCollectionScan());
+        }
+    }
+
+    private void handleCollectionScans(List<String> queriesWithCollectionScan, boolean failOnCollectionScan) {
+
+        if (queriesWithCollectionScan.isEmpty()) {
+            LOGGER.info("Index verification finished, all translation pack queries are backed by index");
+            return;
+        }
+
+        String message = String.format(COLLECTION_SCAN_MESSAGE, queriesWithCollectionScan);
+        if (failOnCollectionScan) {
+            throw new IllegalStateException(message);
+        }
+
+        LOGGER.warn("!!! {} !!!", message);
+    }
+}
@@ -0,0 +1,28 @@
+package hu.psprog.leaflet.tms.web.config.listener;
+
+import hu.psprog.leaflet.tms.core.snapshot.TranslationSnapshotManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Startup listener starting the periodic offline translation snapshot writes.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class TranslationSnapshotListener implements ApplicationListener<ContextRefreshedEvent> {
+
+    private final TranslationSnapshotManager translationSnapshotManager;
+
+    @Autowired
+    public TranslationSnapshotListener(TranslationSnapshotManager translationSnapshotManager) {
+        this.translationSnapshotManager = translationSnapshotManager;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        translationSnapshotManager.start();
+    }
+}
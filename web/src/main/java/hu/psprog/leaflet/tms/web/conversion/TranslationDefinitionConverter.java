@@ -0,0 +1,23 @@
+package hu.psprog.leaflet.tms.web.conversion;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts a {@link TranslationDefinition} (internal domain) object to {@link hu.psprog.leaflet.translation.api.domain.TranslationDefinition} (API domain).
+ *
+ * @author Peter Smith
+ */
+@Component
+public class TranslationDefinitionConverter implements Converter<TranslationDefinition, hu.psprog.leaflet.translation.api.domain.TranslationDefinition> {
+
+    @Override
+    public hu.psprog.leaflet.translation.api.domain.TranslationDefinition convert(TranslationDefinition source) {
+
+        return hu.psprog.leaflet.translation.api.domain.TranslationDefinition.getBuilder()
+                .withKey(source.getKey())
+                .withValue(source.getValue())
+                .build();
+    }
+}
@@ -2,10 +2,12 @@ package hu.psprog.leaflet.tms.web.conversion;
 
 import hu.psprog.leaflet.tms.core.entity.TranslationPack;
 import hu.psprog.leaflet.translation.api.domain.TranslationDefinition;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Converts a {@link TranslationPack} (internal domain) object to {@link hu.psprog.leaflet.translation.api.domain.TranslationPack} (API domain).
@@ -15,6 +17,13 @@ import java.util.List;
 @Component
 public class TranslationPackConverter implements Converter<TranslationPack, hu.psprog.leaflet.translation.api.domain.TranslationPack> {
 
+    private final TranslationDefinitionConverter translationDefinitionConverter;
+
+    @Autowired
+    public TranslationPackConverter(TranslationDefinitionConverter translationDefinitionConverter) {
+        this.translationDefinitionConverter = translationDefinitionConverter;
+    }
+
     @Override
     public hu.psprog.leaflet.translation.api.domain.TranslationPack convert(TranslationPack source) {
 
@@ -30,12 +39,9 @@ public class TranslationPackConverter implements Converter<TranslationPack, hu.p
 
     private List<TranslationDefinition> convertDefinitions(TranslationPack source) {
 
-        return source.getDefinitions()
-                .stream()
-                .map(translationDefinition -> TranslationDefinition.getBuilder()
-                        .withKey(translationDefinition.getKey())
-                        .withValue(translationDefinition.getValue())
-                        .build())
+        return Stream.ofNullable(source.getDefinitions())
+                .flatMap(List::stream)
+                .map(translationDefinitionConverter::convert)
                 .toList();
     }
 }
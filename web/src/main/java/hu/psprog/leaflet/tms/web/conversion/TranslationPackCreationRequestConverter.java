@@ -2,18 +2,18 @@ package hu.psprog.leaflet.tms.web.conversion;
 
 import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
 import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.id.TimeOrderedUUIDGenerator;
 import hu.psprog.leaflet.translation.api.domain.TranslationPackCreationRequest;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * Converts {@link TranslationPackCreationRequest} to {@link TranslationPack}.
  * Defaults set:
- *  - id: random UUID
+ *  - id: time-ordered (version 7) UUID
  *  - enabled: every pack is created with enabled status by default
  *  - created: current time
  *
@@ -28,7 +28,7 @@ public class TranslationPackCreationRequestConverter implements Converter<Transl
     public TranslationPack convert(TranslationPackCreationRequest source) {
 
         return TranslationPack.builder()
-                .id(UUID.randomUUID())
+                .id(TimeOrderedUUIDGenerator.generate())
                 .packName(source.getPackName())
                 .locale(source.getLocale())
                 .definitions(source.getDefinitions().entrySet().stream()
@@ -0,0 +1,52 @@
+package hu.psprog.leaflet.tms.web.health;
+
+import hu.psprog.leaflet.tms.core.cache.TranslationPackCacheWarmer;
+import hu.psprog.leaflet.tms.core.cache.WarmUpState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Health indicator reporting the state of the translation pack cache warm-up.
+ * Reports OUT_OF_SERVICE until the warm-up finishes, so the instance is not considered ready while its cache is still cold.
+ * A failed warm-up is reported as UP (with the failure details), as packs are still served by on-demand loading.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class CacheWarmUpHealthIndicator implements HealthIndicator {
+
+    private static final String DETAIL_STATUS = "status";
+    private static final String DETAIL_PACK_COUNT = "packCount";
+    private static final String DETAIL_DURATION = "durationMillis";
+    private static final String DETAIL_FAILURE = "failure";
+
+    private final TranslationPackCacheWarmer translationPackCacheWarmer;
+
+    @Autowired
+    public CacheWarmUpHealthIndicator(TranslationPackCacheWarmer translationPackCacheWarmer) {
+        this.translationPackCacheWarmer = translationPackCacheWarmer;
+    }
+
+    @Override
+    public Health health() {
+
+        WarmUpState warmUpState = translationPackCacheWarmer.getWarmUpState();
+        Health.Builder builder = warmUpState.isFinished()
+                ? Health.up()
+                : Health.outOfService();
+
+        builder.withDetail(DETAIL_STATUS, warmUpState.status())
+                .withDetail(DETAIL_PACK_COUNT, warmUpState.packCount())
+                .withDetail(DETAIL_DURATION, warmUpState.duration().toMillis());
+
+        if (Objects.nonNull(warmUpState.failureMessage())) {
+            builder.withDetail(DETAIL_FAILURE, warmUpState.failureMessage());
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,45 @@
+package hu.psprog.leaflet.tms.web.health;
+
+import hu.psprog.leaflet.tms.core.cache.ResolvedPackCache;
+import hu.psprog.leaflet.tms.core.cache.ResolvedPackCacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health indicator reporting the heap footprint of the resolved pack cache.
+ * Always reports UP, as exceeding the budget only causes evictions - the details show how close the cache is to its budget.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class ResolvedPackCacheHealthIndicator implements HealthIndicator {
+
+    private static final String DETAIL_ENTRY_COUNT = "entryCount";
+    private static final String DETAIL_WEIGHT = "weightBytes";
+    private static final String DETAIL_MAX_WEIGHT = "maxWeightBytes";
+    private static final String DETAIL_OVERFLOW_ENTRY_COUNT = "overflowEntryCount";
+    private static final String DETAIL_EVICTION_COUNT = "evictionCount";
+
+    private final ResolvedPackCache resolvedPackCache;
+
+    @Autowired
+    public ResolvedPackCacheHealthIndicator(ResolvedPackCache resolvedPackCache) {
+        this.resolvedPackCache = resolvedPackCache;
+    }
+
+    @Override
+    public Health health() {
+
+        ResolvedPackCacheStats stats = resolvedPackCache.getStats();
+
+        return Health.up()
+                .withDetail(DETAIL_ENTRY_COUNT, stats.entryCount())
+                .withDetail(DETAIL_WEIGHT, stats.weight())
+                .withDetail(DETAIL_MAX_WEIGHT, stats.maxWeight())
+                .withDetail(DETAIL_OVERFLOW_ENTRY_COUNT, stats.overflowEntryCount())
+                .withDetail(DETAIL_EVICTION_COUNT, stats.evictionCount())
+                .build();
+    }
+}
@@ -3,19 +3,36 @@ package hu.psprog.leaflet.tms.web.rest.controller;
 import hu.psprog.leaflet.bridge.client.domain.error.ErrorMessageResponse;
 import hu.psprog.leaflet.bridge.client.domain.error.ValidationErrorMessageListResponse;
 import hu.psprog.leaflet.bridge.client.domain.error.ValidationErrorMessageResponse;
+import hu.psprog.leaflet.tms.core.cache.OffHeapPayloadStore;
+import hu.psprog.leaflet.tms.core.domain.DefinitionDiffEntry;
+import hu.psprog.leaflet.tms.core.domain.KeyRange;
 import hu.psprog.leaflet.tms.core.exception.TranslationPackCreationException;
 import hu.psprog.leaflet.tms.core.exception.TranslationPackNotFoundException;
+import hu.psprog.leaflet.tms.core.exception.TranslationPackPublicationException;
+import hu.psprog.leaflet.tms.core.retrieval.ParallelRetrievalExecutor;
 import hu.psprog.leaflet.tms.core.service.TranslationManagementService;
+import hu.psprog.leaflet.tms.web.config.HttpCachingProperties;
+import hu.psprog.leaflet.tms.web.rest.support.CacheValidators;
+import hu.psprog.leaflet.tms.web.validation.RejectionReason;
+import hu.psprog.leaflet.tms.web.validation.TranslationPackValidationException;
+import hu.psprog.leaflet.tms.web.validation.TranslationPackValidator;
+import hu.psprog.leaflet.translation.api.domain.TranslationDefinition;
 import hu.psprog.leaflet.translation.api.domain.TranslationPack;
 import hu.psprog.leaflet.translation.api.domain.TranslationPackCreationRequest;
 import hu.psprog.leaflet.translation.api.domain.TranslationPackMetaInfo;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.CollectionUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -24,9 +41,23 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.exc.StreamReadException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -43,42 +74,129 @@ public class TranslationController {
     private static final Logger LOGGER = LoggerFactory.getLogger(TranslationController.class);
 
     private static final String UNEXPECTED_EXCEPTION_OCCURRED = "Unexpected exception occurred";
+    private static final String DUPLICATE_PROPERTY_MESSAGE_PREFIX = "Duplicate";
 
     private static final String PATH_PACK_ID = "/{packID}";
     private static final String PATH_STATUS = PATH_PACK_ID + "/status";
+    private static final String PATH_DEFINITIONS = PATH_PACK_ID + "/definitions";
+    private static final String PATH_DIFF = PATH_PACK_ID + "/diff/{targetPackID}";
+    private static final String PATH_PUBLISH = PATH_PACK_ID + "/publish";
+    private static final String PATH_ROLLBACK = "/rollback";
     private static final String PARAMETER_PACKS = "packs";
+    private static final String PARAMETER_LOCALE = "locale";
+    private static final String PARAMETER_LOCALES = "locales";
     private static final String PARAMETER_PACK_ID = "packID";
+    private static final String PARAMETER_PACK_NAME = "packName";
+    private static final String PARAMETER_TARGET_PACK_ID = "targetPackID";
+    private static final String PARAMETER_PREFIX = "prefix";
+    private static final String PARAMETER_FROM = "from";
+    private static final String PARAMETER_TO = "to";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_OLD_VALUE = "oldValue";
+    private static final String FIELD_NEW_VALUE = "newValue";
+    private static final String NO_ROOT_VALUE_SEPARATOR = "";
+    private static final char JSON_LINE_END = '\n';
+    private static final byte JSON_ARRAY_START = '[';
+    private static final byte JSON_ARRAY_SEPARATOR = ',';
+    private static final byte JSON_ARRAY_END = ']';
 
     static final String PATH_TRANSLATIONS = "/translations";
+    static final String ENDPOINT_RETRIEVE_PACKS = "retrieve-packs";
+    static final String ENDPOINT_LIST_STORED_PACKS = "list-stored-packs";
+    static final String ENDPOINT_GET_PACK_BY_ID = "get-pack-by-id";
+    static final String ENDPOINT_GET_PACK_DEFINITIONS = "get-pack-definitions";
+    static final String ENDPOINT_DIFF_PACKS = "diff-packs";
 
     private final TranslationManagementService translationManagementService;
     private final ConversionService conversionService;
+    private final HttpCachingProperties httpCachingProperties;
+    private final OffHeapPayloadStore offHeapPayloadStore;
+    private final JsonMapper jsonMapper;
+    private final ParallelRetrievalExecutor parallelRetrievalExecutor;
+    private final TranslationPackValidator translationPackValidator;
 
     @Autowired
-    public TranslationController(TranslationManagementService translationManagementService, ConversionService conversionService) {
+    public TranslationController(TranslationManagementService translationManagementService, ConversionService conversionService,
+                                 HttpCachingProperties httpCachingProperties, OffHeapPayloadStore offHeapPayloadStore, JsonMapper jsonMapper,
+                                 ParallelRetrievalExecutor parallelRetrievalExecutor, TranslationPackValidator translationPackValidator) {
         this.translationManagementService = translationManagementService;
         this.conversionService = conversionService;
+        this.httpCachingProperties = httpCachingProperties;
+        this.offHeapPayloadStore = offHeapPayloadStore;
+        this.jsonMapper = jsonMapper;
+        this.parallelRetrievalExecutor = parallelRetrievalExecutor;
+        this.translationPackValidator = translationPackValidator;
     }
 
     /**
-     * GET /translations?packs=pack1[,pack2,...]
+     * GET /translations?packs=pack1[,pack2,...][&locale=hu_HU | &locales=hu_HU[,en,...]]
      *
      * Returns latest enabled packs in all available languages by given pack names.
      * Directly for message source usage.
+     * If a locale is specified, every pack is returned only once, resolved for the requested locale
+     * (definitions of its fallback chain, e.g. hu_HU - hu - default locale, merged into a single key map).
+     * Otherwise, if a list of locales is specified, only the packs stored in exactly those locales are returned
+     * (and loaded from the database), without fallback resolution.
+     * Responses carry ETag and Last-Modified validators of the selected packs (of the source packs of the fallback chain,
+     * if a locale is specified, so a change of any of them is detected); conditional requests
+     * (If-None-Match / If-Modified-Since) are answered with HTTP 304 without loading the pack definitions.
+     * The serialized packs are kept in the off-heap payload store (packs resolved for a locale validated by the IDs of their
+     * source packs, which are read before the packs themselves, so a payload is never stored under newer sources than its content),
+     * and the response (a JSON array of the packs) is written straight from its buffers. Packs missing from the store are converted and serialized concurrently
+     * in parallel retrieval mode, while the packs are always written in the same (pack name, language) order.
      *
      * @param packs pack names to retrieve
-     * @return set of available translation packs
+     * @param locale optional locale to resolve packs for
+     * @param locales optional locales to filter packs to (ignored if locale is specified)
+     * @param webRequest current request for conditional request evaluation
+     * @return set of available translation packs as streaming response body
      */
     @RequestMapping(method = RequestMethod.GET, params = PARAMETER_PACKS)
-    public ResponseEntity<Set<TranslationPack>> retrievePacks(@RequestParam(value = PARAMETER_PACKS) List<String> packs) {
+    public ResponseEntity<StreamingResponseBody> retrievePacks(@RequestParam(value = PARAMETER_PACKS) List<String> packs,
+                                                               @RequestParam(value = PARAMETER_LOCALE, required = false) Locale locale,
+                                                               @RequestParam(value = PARAMETER_LOCALES, required = false) List<Locale> locales,
+                                                               WebRequest webRequest) {
+
+        boolean localeFiltered = Objects.isNull(locale) && !CollectionUtils.isEmpty(locales);
+        CacheControl cacheControl = httpCachingProperties.getCacheControl(ENDPOINT_RETRIEVE_PACKS);
+        if (isConditionalRequest(webRequest)) {
+            var cacheValidators = CacheValidators.of(retrieveSelectedPacksMetaInfo(packs, locale, locales, localeFiltered));
+            if (webRequest.checkNotModified(cacheValidators.eTag(), cacheValidators.lastModified())) {
+                return cacheValidators.applyTo(ResponseEntity.status(HttpStatus.NOT_MODIFIED))
+                        .cacheControl(cacheControl)
+                        .build();
+            }
+        }
 
-        var translationPacks = translationManagementService.retrieveLatestEnabledPacks(packs)
-                .stream()
-                .map(translationPack -> conversionService.convert(translationPack, TranslationPack.class))
-                .collect(Collectors.toSet());
+        Set<hu.psprog.leaflet.tms.core.entity.TranslationPack> selectedPacks;
+        CacheValidators cacheValidators;
+        Map<String, List<UUID>> sourceIDsByPackName = null;
+        if (localeFiltered) {
+            selectedPacks = translationManagementService.retrieveLatestEnabledPacksInLocales(packs, locales);
+            cacheValidators = CacheValidators.of(selectedPacks);
+        } else if (Objects.isNull(locale)) {
+            selectedPacks = translationManagementService.retrieveLatestEnabledPacks(packs);
+            cacheValidators = CacheValidators.of(selectedPacks);
+        } else {
+            var sourcePacks = translationManagementService.retrieveLatestEnabledPacksMetaInfo(packs, locale);
+            selectedPacks = translationManagementService.retrieveLatestEnabledPacks(packs, locale);
+            cacheValidators = CacheValidators.of(sourcePacks);
+            sourceIDsByPackName = sourcePacks.stream()
+                    .collect(Collectors.groupingBy(hu.psprog.leaflet.tms.core.entity.TranslationPack::getPackName,
+                            Collectors.mapping(hu.psprog.leaflet.tms.core.entity.TranslationPack::getId, Collectors.toList())));
+        }
 
-        return ResponseEntity
-                .ok(translationPacks);
+        var mergedSourceIDs = sourceIDsByPackName;
+        var payloads = parallelRetrievalExecutor.map(List.copyOf(selectedPacks), translationPack -> Objects.isNull(mergedSourceIDs)
+                ? offHeapPayloadStore.getPayload(translationPack, this::serialize)
+                : offHeapPayloadStore.getMergedPayload(translationPack, mergedSourceIDs.getOrDefault(translationPack.getPackName(), List.of()),
+                        this::serialize));
+
+        return cacheValidators.applyTo(ResponseEntity.ok())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> writeJsonArray(outputStream, payloads));
     }
 
     /**
@@ -96,7 +214,9 @@ public class TranslationController {
                 .toList();
 
         return ResponseEntity
-                .ok(translationPacks);
+                .ok()
+                .cacheControl(httpCachingProperties.getCacheControl(ENDPOINT_LIST_STORED_PACKS))
+                .body(translationPacks);
     }
 
     /**
@@ -113,12 +233,96 @@ public class TranslationController {
         var translationPack = translationManagementService.getPack(packID);
 
         return ResponseEntity
-                .ok(conversionService.convert(translationPack, TranslationPack.class));
+                .ok()
+                .cacheControl(httpCachingProperties.getCacheControl(ENDPOINT_GET_PACK_BY_ID))
+                .body(conversionService.convert(translationPack, TranslationPack.class));
+    }
+
+    /**
+     * GET /translations/{packID}/definitions[?prefix=key.prefix | ?from=key1&to=key2]
+     * Returns the definitions of the translation pack identified by given ID, optionally narrowed down to a key prefix
+     * or a key range (from inclusive, to exclusive, both optional). Prefix takes precedence over range parameters.
+     * For chunked packs, only the chunks overlapping the requested keys are loaded, and the definitions are written
+     * to the response (as a JSON array) one by one, as they are read, without collecting them in memory.
+     *
+     * @param packID ID of the translation pack to return definitions of
+     * @param prefix optional key prefix
+     * @param from optional lowest key (inclusive)
+     * @param to optional key to end before (exclusive)
+     * @return definitions of the pack falling into the requested key range as streaming response body
+     * @throws TranslationPackNotFoundException if given translation pack does not exist
+     */
+    @RequestMapping(method = RequestMethod.GET, path = PATH_DEFINITIONS)
+    public ResponseEntity<StreamingResponseBody> getPackDefinitions(@PathVariable(PARAMETER_PACK_ID) UUID packID,
+                                                                    @RequestParam(value = PARAMETER_PREFIX, required = false) String prefix,
+                                                                    @RequestParam(value = PARAMETER_FROM, required = false) String from,
+                                                                    @RequestParam(value = PARAMETER_TO, required = false) String to)
+            throws TranslationPackNotFoundException {
+
+        var keyRange = Objects.nonNull(prefix)
+                ? KeyRange.prefix(prefix)
+                : new KeyRange(from, to);
+
+        var storedDefinitions = translationManagementService.retrieveDefinitions(packID, keyRange);
+        StreamingResponseBody responseBody = outputStream -> {
+            try (storedDefinitions; var generator = jsonMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                var iterator = storedDefinitions.iterator();
+                while (iterator.hasNext()) {
+                    generator.writePOJO(conversionService.convert(iterator.next(), TranslationDefinition.class));
+                }
+                generator.writeEndArray();
+            }
+        };
+
+        return ResponseEntity
+                .ok()
+                .cacheControl(httpCachingProperties.getCacheControl(ENDPOINT_GET_PACK_DEFINITIONS))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(responseBody);
+    }
+
+    /**
+     * GET /translations/{packID}/diff/{targetPackID}
+     * Returns the differences (added, removed and changed keys) between the definitions of the given packs,
+     * streamed as JSON lines (one {"type", "key", "oldValue", "newValue"} object per line, ordered by key).
+     * Differences are computed in a single pass over the key-ordered definitions of both packs,
+     * so memory usage stays bounded regardless of the pack sizes.
+     *
+     * @param packID ID of the source (older) translation pack
+     * @param targetPackID ID of the target (newer) translation pack
+     * @return differences as streaming response body
+     * @throws TranslationPackNotFoundException if any of the given translation packs does not exist
+     */
+    @RequestMapping(method = RequestMethod.GET, path = PATH_DIFF)
+    public ResponseEntity<StreamingResponseBody> diffPacks(@PathVariable(PARAMETER_PACK_ID) UUID packID,
+                                                           @PathVariable(PARAMETER_TARGET_PACK_ID) UUID targetPackID)
+            throws TranslationPackNotFoundException {
+
+        var differences = translationManagementService.diffPacks(packID, targetPackID);
+        StreamingResponseBody responseBody = outputStream -> {
+            try (differences; var generator = jsonMapper.writer()
+                    .withRootValueSeparator(NO_ROOT_VALUE_SEPARATOR)
+                    .createGenerator(outputStream)) {
+                var iterator = differences.iterator();
+                while (iterator.hasNext()) {
+                    writeDiffEntry(generator, iterator.next());
+                }
+            }
+        };
+
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .cacheControl(httpCachingProperties.getCacheControl(ENDPOINT_DIFF_PACKS))
+                .body(responseBody);
     }
 
     /**
      * POST /translations
      * Creates a new translation pack.
+     * Definitions are checked against the upload limits (see {@link TranslationPackValidator}) before conversion;
+     * repeated keys are detected while the request body is parsed (see {@link hu.psprog.leaflet.tms.web.config.UploadParsingConfiguration}).
      *
      * @param translationPackCreationRequest translation pack data (locale, pack name and definitions)
      * @param bindingResult validation results
@@ -135,6 +339,7 @@ public class TranslationController {
                     .badRequest()
                     .body(buildValidationErrorMessage(translationPackCreationRequest, bindingResult));
         } else {
+            translationPackValidator.validate(translationPackCreationRequest.getDefinitions());
             var translationPack = conversionService.convert(translationPackCreationRequest, hu.psprog.leaflet.tms.core.entity.TranslationPack.class);
             var savedTranslationPack = translationManagementService.createPack(translationPack);
 
@@ -149,6 +354,7 @@ public class TranslationController {
     /**
      * PUT /translations/{packID}/status
      * Changes status (enabled/disabled) of given translation pack.
+     * Returned pack carries only the meta information of the pack, its definitions are not included.
      *
      * @param packID ID of the translation pack to change status of
      * @return modified {@link TranslationPack}
@@ -164,6 +370,47 @@ public class TranslationController {
                 .body(conversionService.convert(translationPack, TranslationPack.class));
     }
 
+    /**
+     * PUT /translations/{packID}/publish
+     * Publishes given translation pack, atomically replacing the published version of its pack name and locale.
+     * Once a locale of a pack name has a published version, retrieval requests return its published version in that locale, while it is enabled.
+     * Disabled packs cannot be published.
+     *
+     * @param packID ID of the translation pack to publish
+     * @return meta information of the published pack
+     * @throws TranslationPackNotFoundException if given translation pack does not exist
+     * @throws TranslationPackPublicationException if given translation pack is disabled
+     */
+    @RequestMapping(method = RequestMethod.PUT, path = PATH_PUBLISH)
+    public ResponseEntity<TranslationPackMetaInfo> publishPack(@PathVariable(PARAMETER_PACK_ID) UUID packID)
+            throws TranslationPackNotFoundException, TranslationPackPublicationException {
+
+        var translationPack = translationManagementService.publishPack(packID);
+
+        return ResponseEntity
+                .ok(conversionService.convert(translationPack, TranslationPackMetaInfo.class));
+    }
+
+    /**
+     * PUT /translations/rollback?packName=pack1&locale=hu_HU
+     * Atomically restores the previously published version of the given pack name and locale.
+     *
+     * @param packName name of the pack to roll back
+     * @param locale locale of the pack to roll back
+     * @return meta information of the restored pack
+     * @throws TranslationPackNotFoundException if there is no previously published version to restore
+     */
+    @RequestMapping(method = RequestMethod.PUT, path = PATH_ROLLBACK)
+    public ResponseEntity<TranslationPackMetaInfo> rollbackPack(@RequestParam(PARAMETER_PACK_NAME) String packName,
+                                                                @RequestParam(PARAMETER_LOCALE) Locale locale)
+            throws TranslationPackNotFoundException {
+
+        var translationPack = translationManagementService.rollbackPack(packName, locale);
+
+        return ResponseEntity
+                .ok(conversionService.convert(translationPack, TranslationPackMetaInfo.class));
+    }
+
     /**
      * DELETE /translations/{packID}
      * Deletes given translation pack.
@@ -215,6 +462,61 @@ public class TranslationController {
                 .body(buildExceptionMessageForResponse(exception));
     }
 
+    /**
+     * Exception handler for translation pack publication exceptions.
+     *
+     * @param exception exception that has been thrown
+     * @return exception message with HTTP status 409
+     */
+    @ExceptionHandler(TranslationPackPublicationException.class)
+    ResponseEntity<ErrorMessageResponse> publicationExceptionHandler(TranslationPackPublicationException exception) {
+
+        LOGGER.warn(exception.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(buildExceptionMessageForResponse(exception));
+    }
+
+    /**
+     * Exception handler for rejected translation pack uploads.
+     *
+     * @param exception exception that has been thrown
+     * @return exception message with HTTP status 413 for oversized requests, 400 otherwise
+     */
+    @ExceptionHandler(TranslationPackValidationException.class)
+    ResponseEntity<ErrorMessageResponse> uploadValidationExceptionHandler(TranslationPackValidationException exception) {
+
+        LOGGER.warn(exception.getMessage());
+
+        return ResponseEntity
+                .status(exception.getReason() == RejectionReason.REQUEST_TOO_LARGE
+                        ? HttpStatus.CONTENT_TOO_LARGE
+                        : HttpStatus.BAD_REQUEST)
+                .body(buildExceptionMessageForResponse(exception));
+    }
+
+    /**
+     * Exception handler for unreadable request bodies.
+     * Request bodies rejected by the strict duplicate detection of the parser are answered as {@link RejectionReason#DUPLICATE_KEY}
+     * upload rejections, every other failure is handled by the default exception handler.
+     *
+     * @param exception exception that has been thrown
+     * @return exception message with HTTP status 400 for duplicate keys, 500 otherwise
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    ResponseEntity<ErrorMessageResponse> unreadableRequestExceptionHandler(HttpMessageNotReadableException exception) {
+
+        if (exception.getMostSpecificCause() instanceof StreamReadException streamReadException
+                && Objects.nonNull(streamReadException.getOriginalMessage())
+                && streamReadException.getOriginalMessage().startsWith(DUPLICATE_PROPERTY_MESSAGE_PREFIX)) {
+            return uploadValidationExceptionHandler(translationPackValidator.reject(RejectionReason.DUPLICATE_KEY,
+                    streamReadException.getOriginalMessage()));
+        }
+
+        return defaultExceptionHandler(exception);
+    }
+
     /**
      * Default exception handler.
      *
@@ -231,6 +533,66 @@ public class TranslationController {
                 .body(buildExceptionMessageForResponse());
     }
 
+    private byte[] serialize(hu.psprog.leaflet.tms.core.entity.TranslationPack translationPack) {
+        return jsonMapper.writeValueAsBytes(conversionService.convert(translationPack, TranslationPack.class));
+    }
+
+    private void writeJsonArray(OutputStream outputStream, List<ByteBuffer> payloads) throws IOException {
+
+        outputStream.write(JSON_ARRAY_START);
+        for (int index = 0; index < payloads.size(); index++) {
+            if (index > 0) {
+                outputStream.write(JSON_ARRAY_SEPARATOR);
+            }
+            writePayload(outputStream, payloads.get(index));
+        }
+        outputStream.write(JSON_ARRAY_END);
+        outputStream.flush();
+    }
+
+    private void writePayload(OutputStream outputStream, ByteBuffer payload) throws IOException {
+
+        if (outputStream instanceof ServletOutputStream servletOutputStream) {
+            servletOutputStream.write(payload);
+        } else {
+            WritableByteChannel channel = Channels.newChannel(outputStream);
+            while (payload.hasRemaining()) {
+                channel.write(payload);
+            }
+        }
+    }
+
+    private void writeDiffEntry(JsonGenerator generator, DefinitionDiffEntry diffEntry) {
+
+        generator.writeStartObject();
+        generator.writeStringProperty(FIELD_TYPE, diffEntry.type().name());
+        generator.writeStringProperty(FIELD_KEY, diffEntry.key());
+        generator.writeStringProperty(FIELD_OLD_VALUE, diffEntry.oldValue());
+        generator.writeStringProperty(FIELD_NEW_VALUE, diffEntry.newValue());
+        generator.writeEndObject();
+        generator.writeRaw(JSON_LINE_END);
+    }
+
+    private Collection<hu.psprog.leaflet.tms.core.entity.TranslationPack> retrieveSelectedPacksMetaInfo(List<String> packs, Locale locale,
+                                                                                         List<Locale> locales, boolean localeFiltered) {
+
+        Collection<hu.psprog.leaflet.tms.core.entity.TranslationPack> selectedPacks;
+        if (localeFiltered) {
+            selectedPacks = translationManagementService.retrieveLatestEnabledPacksMetaInfoInLocales(packs, locales);
+        } else if (Objects.isNull(locale)) {
+            selectedPacks = translationManagementService.retrieveLatestEnabledPacksMetaInfo(packs);
+        } else {
+            selectedPacks = translationManagementService.retrieveLatestEnabledPacksMetaInfo(packs, locale);
+        }
+
+        return selectedPacks;
+    }
+
+    private boolean isConditionalRequest(WebRequest webRequest) {
+        return Objects.nonNull(webRequest.getHeader(HttpHeaders.IF_NONE_MATCH))
+                || Objects.nonNull(webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE));
+    }
+
     private ValidationErrorMessageListResponse buildValidationErrorMessage(TranslationPackCreationRequest creationRequest, BindingResult bindingResult) {
 
         LOGGER.warn("Failed to validate translation pack creation request [{}].", creationRequest);
@@ -0,0 +1,70 @@
+package hu.psprog.leaflet.tms.web.rest.controller;
+
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchHit;
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchQuery;
+import hu.psprog.leaflet.tms.core.service.TranslationSearchService;
+import hu.psprog.leaflet.tms.web.config.HttpCachingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Translation definition search controller.
+ *
+ * @author Peter Smith
+ */
+@RestController
+@RequestMapping(TranslationSearchController.PATH_TRANSLATION_SEARCH)
+public class TranslationSearchController {
+
+    private static final String PARAMETER_QUERY = "q";
+    private static final String PARAMETER_PACKS = "packs";
+    private static final String PARAMETER_LOCALES = "locales";
+    private static final String PARAMETER_SCOPE = "scope";
+    private static final String PARAMETER_LIMIT = "limit";
+
+    static final String PATH_TRANSLATION_SEARCH = "/translations/search";
+    static final String ENDPOINT_SEARCH_DEFINITIONS = "search-definitions";
+
+    private final TranslationSearchService translationSearchService;
+    private final HttpCachingProperties httpCachingProperties;
+
+    @Autowired
+    public TranslationSearchController(TranslationSearchService translationSearchService, HttpCachingProperties httpCachingProperties) {
+        this.translationSearchService = translationSearchService;
+        this.httpCachingProperties = httpCachingProperties;
+    }
+
+    /**
+     * GET /translations/search?q=text[&packs=pack1,pack2][&locales=en,hu][&scope=KEYS|VALUES|ALL][&limit=100]
+     * Searches the definitions of the latest enabled packs for the given text (case-insensitive substring match),
+     * optionally filtered by pack names and locales. Hits are ordered by pack name and locale.
+     *
+     * @param query text to search for
+     * @param packs optional pack names to search in
+     * @param locales optional locales to search in
+     * @param scope definition fields to search in (keys, values or both)
+     * @param limit maximum number of hits (capped at the configured maximum, configured default if not specified)
+     * @return list of matching definitions
+     */
+    @RequestMapping(method = RequestMethod.GET)
+    public ResponseEntity<List<DefinitionSearchHit>> searchDefinitions(@RequestParam(PARAMETER_QUERY) String query,
+                                                                       @RequestParam(value = PARAMETER_PACKS, required = false, defaultValue = "") List<String> packs,
+                                                                       @RequestParam(value = PARAMETER_LOCALES, required = false, defaultValue = "") List<Locale> locales,
+                                                                       @RequestParam(value = PARAMETER_SCOPE, required = false, defaultValue = "ALL") DefinitionSearchQuery.Scope scope,
+                                                                       @RequestParam(value = PARAMETER_LIMIT, required = false, defaultValue = "0") int limit) {
+
+        var searchQuery = new DefinitionSearchQuery(query, packs, locales, scope, limit);
+
+        return ResponseEntity
+                .ok()
+                .cacheControl(httpCachingProperties.getCacheControl(ENDPOINT_SEARCH_DEFINITIONS))
+                .body(translationSearchService.search(searchQuery));
+    }
+}
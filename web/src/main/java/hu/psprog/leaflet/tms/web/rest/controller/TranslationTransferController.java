@@ -0,0 +1,232 @@
+package hu.psprog.leaflet.tms.web.rest.controller;
+
+import hu.psprog.leaflet.bridge.client.domain.error.ErrorMessageResponse;
+import hu.psprog.leaflet.tms.core.domain.KeyRange;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.exception.TranslationPackCreationException;
+import hu.psprog.leaflet.tms.core.exception.TranslationPackNotFoundException;
+import hu.psprog.leaflet.tms.core.id.TimeOrderedUUIDGenerator;
+import hu.psprog.leaflet.tms.core.service.TranslationManagementService;
+import hu.psprog.leaflet.tms.web.config.HttpCachingProperties;
+import hu.psprog.leaflet.tms.web.transfer.DefinitionWriter;
+import hu.psprog.leaflet.tms.web.transfer.MalformedTranslationFileException;
+import hu.psprog.leaflet.tms.web.transfer.TranslationFormat;
+import hu.psprog.leaflet.tms.web.validation.RejectionReason;
+import hu.psprog.leaflet.tms.web.validation.TranslationPackValidationException;
+import hu.psprog.leaflet.tms.web.validation.TranslationPackValidator;
+import hu.psprog.leaflet.translation.api.domain.TranslationPackMetaInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Streaming import and export of translation packs in standard translation file formats.
+ * Both directions process the definitions one by one, so memory usage does not depend on the size of the pack.
+ *
+ * @author Peter Smith
+ */
+@RestController
+@RequestMapping(TranslationTransferController.PATH_TRANSLATIONS)
+public class TranslationTransferController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TranslationTransferController.class);
+
+    private static final String PATH_IMPORT = "/import";
+    private static final String PATH_EXPORT = "/{packID}/export";
+    private static final String PARAMETER_PACK_ID = "packID";
+    private static final String PARAMETER_PACK_NAME = "packName";
+    private static final String PARAMETER_LOCALE = "locale";
+    private static final String PARAMETER_FORMAT = "format";
+    private static final String EXPORT_FILENAME_PATTERN = "%s_%s.%s";
+    private static final boolean ENABLED_BY_DEFAULT = true;
+
+    static final String PATH_TRANSLATIONS = "/translations";
+    static final String ENDPOINT_EXPORT_PACK = "export-pack";
+
+    private final TranslationManagementService translationManagementService;
+    private final ConversionService conversionService;
+    private final HttpCachingProperties httpCachingProperties;
+    private final TranslationPackValidator translationPackValidator;
+
+    @Autowired
+    public TranslationTransferController(TranslationManagementService translationManagementService, ConversionService conversionService,
+                                         HttpCachingProperties httpCachingProperties, TranslationPackValidator translationPackValidator) {
+        this.translationManagementService = translationManagementService;
+        this.conversionService = conversionService;
+        this.httpCachingProperties = httpCachingProperties;
+        this.translationPackValidator = translationPackValidator;
+    }
+
+    /**
+     * POST /translations/import?packName=pack1&locale=hu_HU&format=PROPERTIES|PO|JSON_LINES
+     * Creates a new translation pack from the translation file sent as request body (UTF-8).
+     * The file is parsed incrementally while its definitions are being stored, so it is never held in memory as a whole.
+     * Like packs created via POST /translations, imported packs are enabled by default.
+     * Parsed definitions are validated as they are stored, so an upload violating the limits is rejected (and its already
+     * stored chunks are removed) at its first offending definition.
+     *
+     * @param packName name of the pack to create
+     * @param locale locale of the pack to create
+     * @param format format of the uploaded file
+     * @param requestBody raw request body
+     * @return meta information of the created pack
+     * @throws TranslationPackCreationException if translation pack could not be created
+     */
+    @RequestMapping(method = RequestMethod.POST, path = PATH_IMPORT)
+    public ResponseEntity<TranslationPackMetaInfo> importPack(@RequestParam(PARAMETER_PACK_NAME) String packName,
+                                                              @RequestParam(PARAMETER_LOCALE) Locale locale,
+                                                              @RequestParam(PARAMETER_FORMAT) TranslationFormat format,
+                                                              InputStream requestBody) throws TranslationPackCreationException {
+
+        TranslationPack translationPackHeader = TranslationPack.builder()
+                .id(TimeOrderedUUIDGenerator.generate())
+                .packName(packName)
+                .locale(locale)
+                .enabled(ENABLED_BY_DEFAULT)
+                .created(new Date())
+                .build();
+
+        TranslationPack createdTranslationPack = translationManagementService.createPack(translationPackHeader,
+                translationPackValidator.validating(format.reader(requestBody)));
+
+        return ResponseEntity
+                .created(URI.create(String.format("%s/%s", PATH_TRANSLATIONS, createdTranslationPack.getId())))
+                .body(conversionService.convert(createdTranslationPack, TranslationPackMetaInfo.class));
+    }
+
+    /**
+     * GET /translations/{packID}/export[?format=PROPERTIES|PO|JSON_LINES]
+     * Downloads the pack identified by given ID as a translation file of the requested format (.properties by default).
+     * Definitions are written directly from the database cursor (chunk by chunk for chunked packs).
+     *
+     * @param packID ID of the pack to export
+     * @param format format of the file to produce
+     * @return translation file as streaming response body
+     * @throws TranslationPackNotFoundException if the requested translation pack does not exist
+     */
+    @RequestMapping(method = RequestMethod.GET, path = PATH_EXPORT)
+    public ResponseEntity<StreamingResponseBody> exportPack(@PathVariable(PARAMETER_PACK_ID) UUID packID,
+                                                            @RequestParam(value = PARAMETER_FORMAT, required = false, defaultValue = "PROPERTIES") TranslationFormat format)
+            throws TranslationPackNotFoundException {
+
+        TranslationPack translationPack = translationManagementService.getPackMetaInfo(packID);
+        var definitions = translationManagementService.retrieveDefinitions(packID, KeyRange.ALL);
+        StreamingResponseBody responseBody = outputStream -> {
+            try (definitions) {
+                var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+                DefinitionWriter definitionWriter = format.writer(writer);
+                definitionWriter.writeHeader(translationPack);
+                var iterator = definitions.iterator();
+                while (iterator.hasNext()) {
+                    definitionWriter.writeDefinition(iterator.next());
+                }
+                writer.flush();
+            }
+        };
+
+        return ResponseEntity
+                .ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(String.format(EXPORT_FILENAME_PATTERN, translationPack.getPackName(), translationPack.getLocale(), format.getExtension()),
+                                StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .cacheControl(httpCachingProperties.getCacheControl(ENDPOINT_EXPORT_PACK))
+                .body(responseBody);
+    }
+
+    /**
+     * Exception handler for translation file parsing failures.
+     *
+     * @param exception exception that has been thrown
+     * @return exception message with HTTP status 400
+     */
+    @ExceptionHandler(MalformedTranslationFileException.class)
+    ResponseEntity<ErrorMessageResponse> malformedFileExceptionHandler(MalformedTranslationFileException exception) {
+
+        LOGGER.warn("Failed to import translation file: {}", exception.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(buildExceptionMessageForResponse(exception));
+    }
+
+    /**
+     * Exception handler for rejected translation pack uploads.
+     *
+     * @param exception exception that has been thrown
+     * @return exception message with HTTP status 413 for oversized requests, 400 otherwise
+     */
+    @ExceptionHandler(TranslationPackValidationException.class)
+    ResponseEntity<ErrorMessageResponse> uploadValidationExceptionHandler(TranslationPackValidationException exception) {
+
+        LOGGER.warn(exception.getMessage());
+
+        return ResponseEntity
+                .status(exception.getReason() == RejectionReason.REQUEST_TOO_LARGE
+                        ? HttpStatus.CONTENT_TOO_LARGE
+                        : HttpStatus.BAD_REQUEST)
+                .body(buildExceptionMessageForResponse(exception));
+    }
+
+    /**
+     * Exception handler for missing translation packs.
+     *
+     * @param exception exception that has been thrown
+     * @return exception message with HTTP status 404
+     */
+    @ExceptionHandler(TranslationPackNotFoundException.class)
+    ResponseEntity<ErrorMessageResponse> retrievalExceptionHandler(TranslationPackNotFoundException exception) {
+
+        LOGGER.error("Failed to retrieve translation pack.", exception);
+
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(buildExceptionMessageForResponse(exception));
+    }
+
+    /**
+     * Exception handler translation pack creation exceptions.
+     *
+     * @param exception exception that has been thrown
+     * @return exception message with HTTP status 409
+     */
+    @ExceptionHandler(TranslationPackCreationException.class)
+    ResponseEntity<ErrorMessageResponse> creationExceptionHandler(TranslationPackCreationException exception) {
+
+        LOGGER.error("Failed to store translation pack.", exception);
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(buildExceptionMessageForResponse(exception));
+    }
+
+    private ErrorMessageResponse buildExceptionMessageForResponse(Exception exception) {
+
+        return ErrorMessageResponse.getBuilder()
+                .withMessage(exception.getMessage())
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package hu.psprog.leaflet.tms.web.rest.support;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * HTTP cache validators (ETag and Last-Modified) of a selection of translation packs.
+ * Last-Modified is the newest creation date among the selected packs. As an older version may become selected
+ * (e.g. by disabling the latest one), the ETag is derived from the IDs of the selected packs as well, which
+ * takes precedence over Last-Modified on clients sending both.
+ *
+ * @param eTag quoted entity tag of the selection
+ * @param lastModified newest creation timestamp of the selection in epoch millis, or -1 if nothing is selected
+ * @author Peter Smith
+ */
+public record CacheValidators(String eTag, long lastModified) {
+
+    private static final long UNKNOWN_LAST_MODIFIED = -1L;
+    private static final String ID_SEPARATOR = ",";
+    private static final String ETAG_FORMAT = "\"%s\"";
+
+    /**
+     * Calculates the validators of the given translation packs.
+     *
+     * @param translationPacks selected translation packs (only their meta information is used)
+     * @return calculated {@link CacheValidators}
+     */
+    public static CacheValidators of(Collection<TranslationPack> translationPacks) {
+
+        String selectedIDs = translationPacks.stream()
+                .map(translationPack -> String.valueOf(translationPack.getId()))
+                .sorted()
+                .collect(Collectors.joining(ID_SEPARATOR));
+        long lastModified = translationPacks.stream()
+                .map(TranslationPack::getCreated)
+                .filter(Objects::nonNull)
+                .mapToLong(Date::getTime)
+                .max()
+                .orElse(UNKNOWN_LAST_MODIFIED);
+
+        return new CacheValidators(String.format(ETAG_FORMAT, DigestUtils.md5DigestAsHex(selectedIDs.getBytes(StandardCharsets.UTF_8))), lastModified);
+    }
+
+    /**
+     * Adds the validators to the given response builder.
+     *
+     * @param builder response builder to add validator headers to
+     * @param <B> type of the response builder
+     * @return the given builder for chaining
+     */
+    public <B extends ResponseEntity.HeadersBuilder<B>> B applyTo(B builder) {
+
+        builder.eTag(eTag);
+        if (lastModified != UNKNOWN_LAST_MODIFIED) {
+            builder.lastModified(lastModified);
+        }
+
+        return builder;
+    }
+}
@@ -0,0 +1,74 @@
+package hu.psprog.leaflet.tms.web.security;
+
+import hu.psprog.leaflet.tms.web.config.JwtCachingProperties;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link JwtDecoder} decorator caching the successfully decoded (thus verified and validated) tokens until they expire.
+ * Tokens are keyed by their full serialized form, so only the exact same token can hit a cached entry.
+ * Tokens without expiration are never cached, neither are failed decoding attempts.
+ *
+ * @author Peter Smith
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final JwtCachingProperties jwtCachingProperties;
+    private final Clock clock;
+    private final Map<String, Jwt> decodedTokens = new ConcurrentHashMap<>();
+
+    public CachingJwtDecoder(JwtDecoder delegate, JwtCachingProperties jwtCachingProperties) {
+        this(delegate, jwtCachingProperties, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, JwtCachingProperties jwtCachingProperties, Clock clock) {
+        this.delegate = delegate;
+        this.jwtCachingProperties = jwtCachingProperties;
+        this.clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+
+        if (!jwtCachingProperties.isEnabled()) {
+            return delegate.decode(token);
+        }
+
+        Jwt cachedJwt = decodedTokens.get(token);
+        if (Objects.nonNull(cachedJwt)) {
+            if (isValid(cachedJwt)) {
+                return cachedJwt;
+            }
+            decodedTokens.remove(token, cachedJwt);
+        }
+
+        Jwt jwt = delegate.decode(token);
+        if (Objects.nonNull(jwt.getExpiresAt()) && hasCapacity()) {
+            decodedTokens.put(token, jwt);
+        }
+
+        return jwt;
+    }
+
+    private boolean hasCapacity() {
+
+        if (decodedTokens.size() < jwtCachingProperties.getMaxEntries()) {
+            return true;
+        }
+
+        decodedTokens.values().removeIf(jwt -> !isValid(jwt));
+
+        return decodedTokens.size() < jwtCachingProperties.getMaxEntries();
+    }
+
+    private boolean isValid(Jwt jwt) {
+        return clock.instant().isBefore(jwt.getExpiresAt());
+    }
+}
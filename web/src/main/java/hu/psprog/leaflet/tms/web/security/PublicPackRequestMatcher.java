@@ -0,0 +1,46 @@
+package hu.psprog.leaflet.tms.web.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Objects;
+
+/**
+ * Matches the public translation pack retrieval requests (GET /translations?packs=...).
+ * Compares the method, the exact request path and the presence of the packs parameter only,
+ * avoiding regular expression evaluation on the hottest path of the service. Requests with path
+ * parameters, trailing slashes or other variations of the path are not matched, so they remain protected.
+ *
+ * @author Peter Smith
+ */
+public class PublicPackRequestMatcher implements RequestMatcher {
+
+    private static final String PATH_TRANSLATIONS = "/translations";
+    private static final String PARAMETER_PACKS = "packs";
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+
+        return HttpMethod.GET.matches(request.getMethod())
+                && isTranslationsPath(request)
+                && hasPacksParameter(request);
+    }
+
+    private boolean isTranslationsPath(HttpServletRequest request) {
+
+        String requestURI = request.getRequestURI();
+        String contextPath = request.getContextPath();
+
+        return requestURI.length() == contextPath.length() + PATH_TRANSLATIONS.length()
+                && requestURI.startsWith(contextPath)
+                && requestURI.endsWith(PATH_TRANSLATIONS);
+    }
+
+    private boolean hasPacksParameter(HttpServletRequest request) {
+
+        String packs = request.getParameter(PARAMETER_PACKS);
+
+        return Objects.nonNull(packs) && !packs.isEmpty();
+    }
+}
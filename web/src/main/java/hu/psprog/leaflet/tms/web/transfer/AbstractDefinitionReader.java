@@ -0,0 +1,95 @@
+package hu.psprog.leaflet.tms.web.transfer;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Base class of incremental translation file parsers.
+ * Definitions are parsed one at a time as the iterator is advanced, reading the source line by line.
+ *
+ * @author Peter Smith
+ */
+abstract class AbstractDefinitionReader implements Iterator<TranslationDefinition> {
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private final BufferedReader reader;
+    private int lineNumber;
+    private TranslationDefinition nextDefinition;
+    private boolean finished;
+
+    AbstractDefinitionReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+
+        if (Objects.isNull(nextDefinition) && !finished) {
+            try {
+                nextDefinition = readDefinition();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            finished = Objects.isNull(nextDefinition);
+        }
+
+        return !finished;
+    }
+
+    @Override
+    public TranslationDefinition next() {
+
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        TranslationDefinition definition = nextDefinition;
+        nextDefinition = null;
+
+        return definition;
+    }
+
+    /**
+     * Parses the next definition from the source.
+     *
+     * @return next {@link TranslationDefinition} or {@code null} if the source is exhausted
+     * @throws IOException if reading the source fails
+     */
+    abstract TranslationDefinition readDefinition() throws IOException;
+
+    /**
+     * Reads the next physical line of the source.
+     *
+     * @return next line or {@code null} if the source is exhausted
+     * @throws IOException if reading the source fails
+     */
+    String readLine() throws IOException {
+
+        String line = reader.readLine();
+        if (Objects.nonNull(line)) {
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith(BYTE_ORDER_MARK)) {
+                line = line.substring(BYTE_ORDER_MARK.length());
+            }
+        }
+
+        return line;
+    }
+
+    /**
+     * Creates a {@link MalformedTranslationFileException} pointing to the last read line.
+     *
+     * @param reason reason of the failure
+     * @return created exception
+     */
+    MalformedTranslationFileException malformed(String reason) {
+        return new MalformedTranslationFileException(lineNumber, reason);
+    }
+}
@@ -0,0 +1,31 @@
+package hu.psprog.leaflet.tms.web.transfer;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+
+import java.io.IOException;
+
+/**
+ * Writes translation definitions one by one in a specific file format.
+ *
+ * @author Peter Smith
+ */
+public interface DefinitionWriter {
+
+    /**
+     * Writes the file header (if the format has any) for the given pack.
+     *
+     * @param translationPack meta information of the exported pack
+     * @throws IOException if writing fails
+     */
+    default void writeHeader(TranslationPack translationPack) throws IOException {
+    }
+
+    /**
+     * Writes a single definition.
+     *
+     * @param definition {@link TranslationDefinition} to write
+     * @throws IOException if writing fails
+     */
+    void writeDefinition(TranslationDefinition definition) throws IOException;
+}
@@ -0,0 +1,91 @@
+package hu.psprog.leaflet.tms.web.transfer;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Incremental parser of JSON lines translation files.
+ * Every non-blank line must be a JSON object holding a "key" and a "value" field, e.g. {"key":"app.title","value":"Title"}.
+ * Lines are tokenized by a Jackson streaming parser; any other field is skipped.
+ *
+ * @author Peter Smith
+ */
+class JsonLinesDefinitionReader extends AbstractDefinitionReader {
+
+    static final String FIELD_KEY = "key";
+    static final String FIELD_VALUE = "value";
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    JsonLinesDefinitionReader(BufferedReader reader) {
+        super(reader);
+    }
+
+    @Override
+    TranslationDefinition readDefinition() throws IOException {
+
+        String line;
+        do {
+            line = readLine();
+            if (Objects.isNull(line)) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        try (JsonParser parser = JSON_MAPPER.createParser(line)) {
+            return parseDefinition(parser);
+        } catch (JacksonException exception) {
+            throw malformed(exception.getOriginalMessage());
+        }
+    }
+
+    private TranslationDefinition parseDefinition(JsonParser parser) {
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw malformed("expected JSON object");
+        }
+
+        String key = null;
+        String value = null;
+        boolean keyPresent = false;
+        while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+            String fieldName = parser.currentName();
+            if (FIELD_KEY.equals(fieldName)) {
+                key = readStringValue(parser, fieldName);
+                keyPresent = true;
+            } else if (FIELD_VALUE.equals(fieldName)) {
+                value = readStringValue(parser, fieldName);
+            } else {
+                parser.nextToken();
+                parser.skipChildren();
+            }
+        }
+
+        if (Objects.nonNull(parser.nextToken())) {
+            throw malformed("unexpected trailing content");
+        }
+
+        if (!keyPresent) {
+            throw malformed("missing key field");
+        }
+
+        return new TranslationDefinition(key, value);
+    }
+
+    private String readStringValue(JsonParser parser, String fieldName) {
+
+        JsonToken token = parser.nextToken();
+        if (token != JsonToken.VALUE_STRING && token != JsonToken.VALUE_NULL) {
+            throw malformed(String.format("field '%s' must be a string or null", fieldName));
+        }
+
+        return parser.getValueAsString();
+    }
+}
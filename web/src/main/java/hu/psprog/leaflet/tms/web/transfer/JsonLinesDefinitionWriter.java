@@ -0,0 +1,41 @@
+package hu.psprog.leaflet.tms.web.transfer;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * JSON lines translation file writer, writing every definition as a {"key","value"} object on its own line.
+ * Every line is written by a short-lived Jackson generator, which neither closes nor flushes the target writer.
+ *
+ * @author Peter Smith
+ */
+class JsonLinesDefinitionWriter implements DefinitionWriter {
+
+    private static final char LINE_END = '\n';
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET, StreamWriteFeature.FLUSH_PASSED_TO_STREAM)
+            .build();
+
+    private final Writer writer;
+
+    JsonLinesDefinitionWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void writeDefinition(TranslationDefinition definition) throws IOException {
+
+        try (JsonGenerator generator = JSON_MAPPER.createGenerator(writer)) {
+            generator.writeStartObject();
+            generator.writeStringProperty(JsonLinesDefinitionReader.FIELD_KEY, definition.getKey());
+            generator.writeStringProperty(JsonLinesDefinitionReader.FIELD_VALUE, definition.getValue());
+            generator.writeEndObject();
+        }
+        writer.write(LINE_END);
+    }
+}
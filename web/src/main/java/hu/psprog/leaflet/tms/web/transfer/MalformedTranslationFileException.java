@@ -0,0 +1,16 @@
+package hu.psprog.leaflet.tms.web.transfer;
+
+/**
+ * Exception to throw when an imported translation file could not be parsed.
+ * Unchecked, as it is raised while the definitions are being consumed by the storage layer.
+ *
+ * @author Peter Smith
+ */
+public class MalformedTranslationFileException extends RuntimeException {
+
+    private static final String MESSAGE_PATTERN = "Malformed translation file at line %d: %s";
+
+    public MalformedTranslationFileException(int lineNumber, String reason) {
+        super(String.format(MESSAGE_PATTERN, lineNumber, reason));
+    }
+}
@@ -0,0 +1,170 @@
+package hu.psprog.leaflet.tms.web.transfer;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Incremental parser of GNU gettext PO files (read as UTF-8).
+ * Every entry is imported with its msgid as key and its msgstr (msgstr[0] for plural entries) as value.
+ * The header entry (empty msgid), untranslated (empty msgstr) and fuzzy entries are skipped,
+ * the same way gettext skips them on compilation. Message contexts (msgctxt) are not supported and ignored.
+ *
+ * @author Peter Smith
+ */
+class PoDefinitionReader extends AbstractDefinitionReader {
+
+    private static final String KEYWORD_MSGCTXT = "msgctxt";
+    private static final String KEYWORD_MSGID = "msgid";
+    private static final String KEYWORD_MSGID_PLURAL = "msgid_plural";
+    private static final String KEYWORD_MSGSTR = "msgstr";
+    private static final String KEYWORD_MSGSTR_FIRST_PLURAL_FORM = "msgstr[0]";
+    private static final String FLAGS_COMMENT_PREFIX = "#,";
+    private static final String FLAG_FUZZY = "fuzzy";
+
+    private String pendingLine;
+
+    PoDefinitionReader(BufferedReader reader) {
+        super(reader);
+    }
+
+    @Override
+    TranslationDefinition readDefinition() throws IOException {
+
+        TranslationDefinition definition = null;
+        while (Objects.isNull(definition)) {
+            Entry entry = readEntry();
+            if (Objects.isNull(entry)) {
+                return null;
+            }
+            if (entry.isImportable()) {
+                definition = new TranslationDefinition(entry.msgid.toString(), entry.msgstr.toString());
+            }
+        }
+
+        return definition;
+    }
+
+    private Entry readEntry() throws IOException {
+
+        Entry entry = null;
+        StringBuilder currentField = null;
+        String line;
+        while (Objects.nonNull(line = nextLine())) {
+            line = line.strip();
+            if (line.isEmpty()) {
+                if (Objects.nonNull(entry) && entry.isComplete()) {
+                    return entry;
+                }
+                continue;
+            }
+            if (Objects.nonNull(entry) && entry.isComplete() && startsNewEntry(line)) {
+                pendingLine = line;
+                return entry;
+            }
+            if (Objects.isNull(entry)) {
+                entry = new Entry();
+            }
+            if (line.startsWith("#")) {
+                if (line.startsWith(FLAGS_COMMENT_PREFIX) && line.contains(FLAG_FUZZY)) {
+                    entry.fuzzy = true;
+                }
+                currentField = null;
+            } else if (line.startsWith("\"")) {
+                if (Objects.isNull(currentField)) {
+                    throw malformed("string continuation without keyword");
+                }
+                currentField.append(parseString(line));
+            } else {
+                String[] keywordAndValue = line.split("\\s+", 2);
+                currentField = selectField(entry, keywordAndValue[0]);
+                currentField.append(parseString(keywordAndValue.length > 1 ? keywordAndValue[1] : ""));
+            }
+        }
+
+        if (Objects.nonNull(entry) && !entry.isComplete() && Objects.nonNull(entry.msgid)) {
+            throw malformed("entry without msgstr");
+        }
+
+        return Objects.nonNull(entry) && entry.isComplete() ? entry : null;
+    }
+
+    private StringBuilder selectField(Entry entry, String keyword) {
+
+        return switch (keyword) {
+            case KEYWORD_MSGID -> {
+                entry.msgid = new StringBuilder();
+                yield entry.msgid;
+            }
+            case KEYWORD_MSGSTR, KEYWORD_MSGSTR_FIRST_PLURAL_FORM -> {
+                entry.msgstr = new StringBuilder();
+                yield entry.msgstr;
+            }
+            case KEYWORD_MSGCTXT, KEYWORD_MSGID_PLURAL -> new StringBuilder();
+            default -> {
+                if (keyword.startsWith(KEYWORD_MSGSTR + "[")) {
+                    yield new StringBuilder();
+                }
+                throw malformed("unknown keyword " + keyword);
+            }
+        };
+    }
+
+    private String parseString(String quoted) {
+
+        if (quoted.length() < 2 || quoted.charAt(0) != '"' || quoted.charAt(quoted.length() - 1) != '"') {
+            throw malformed("expected quoted string");
+        }
+
+        StringBuilder value = new StringBuilder(quoted.length());
+        for (int index = 1; index < quoted.length() - 1; index++) {
+            char character = quoted.charAt(index);
+            if (character != '\\') {
+                value.append(character);
+                continue;
+            }
+            if (++index == quoted.length() - 1) {
+                throw malformed("unterminated escape sequence");
+            }
+            char escaped = quoted.charAt(index);
+            switch (escaped) {
+                case 'n' -> value.append('\n');
+                case 't' -> value.append('\t');
+                case 'r' -> value.append('\r');
+                case '"', '\\' -> value.append(escaped);
+                default -> throw malformed("unsupported escape sequence \\" + escaped);
+            }
+        }
+
+        return value.toString();
+    }
+
+    private boolean startsNewEntry(String line) {
+        return line.startsWith("#") || line.startsWith(KEYWORD_MSGCTXT) || (line.startsWith(KEYWORD_MSGID) && !line.startsWith(KEYWORD_MSGID_PLURAL));
+    }
+
+    private String nextLine() throws IOException {
+
+        String line = pendingLine;
+        pendingLine = null;
+
+        return Objects.nonNull(line) ? line : readLine();
+    }
+
+    private static final class Entry {
+
+        private StringBuilder msgid;
+        private StringBuilder msgstr;
+        private boolean fuzzy;
+
+        private boolean isComplete() {
+            return Objects.nonNull(msgid) && Objects.nonNull(msgstr);
+        }
+
+        private boolean isImportable() {
+            return !fuzzy && !msgid.isEmpty() && !msgstr.isEmpty();
+        }
+    }
+}
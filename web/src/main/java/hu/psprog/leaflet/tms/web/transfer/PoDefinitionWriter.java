@@ -0,0 +1,75 @@
+package hu.psprog.leaflet.tms.web.transfer;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * GNU gettext PO file writer (UTF-8).
+ * Writes a header entry declaring the charset and the language of the pack,
+ * then every definition as an entry with its key as msgid and its value as msgstr.
+ * Definitions without key are skipped, as an empty msgid is reserved for the header entry.
+ *
+ * @author Peter Smith
+ */
+class PoDefinitionWriter implements DefinitionWriter {
+
+    private static final String HEADER_PATTERN = """
+            msgid ""
+            msgstr ""
+            "Content-Type: text/plain; charset=UTF-8\\n"
+            "Language: %s\\n"
+            "X-Translation-Pack: %s\\n"
+
+            """;
+
+    private final Writer writer;
+
+    PoDefinitionWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void writeHeader(TranslationPack translationPack) throws IOException {
+        writer.write(String.format(HEADER_PATTERN, translationPack.getLocale(), escape(translationPack.getPackName())));
+    }
+
+    @Override
+    public void writeDefinition(TranslationDefinition definition) throws IOException {
+
+        if (Objects.isNull(definition.getKey()) || definition.getKey().isEmpty()) {
+            return;
+        }
+
+        writer.write("msgid \"");
+        writer.write(escape(definition.getKey()));
+        writer.write("\"\nmsgstr \"");
+        writer.write(escape(definition.getValue()));
+        writer.write("\"\n\n");
+    }
+
+    private static String escape(String value) {
+
+        if (Objects.isNull(value)) {
+            return "";
+        }
+
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            switch (character) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\t' -> escaped.append("\\t");
+                case '\r' -> escaped.append("\\r");
+                default -> escaped.append(character);
+            }
+        }
+
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,136 @@
+package hu.psprog.leaflet.tms.web.transfer;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Incremental parser of Java .properties files (read as UTF-8).
+ * Follows the syntax of {@link java.util.Properties#load(java.io.Reader)}: comment lines (# and !),
+ * line continuations, '=', ':' or whitespace key separators and escape sequences (including unicode escapes).
+ *
+ * @author Peter Smith
+ */
+class PropertiesDefinitionReader extends AbstractDefinitionReader {
+
+    PropertiesDefinitionReader(BufferedReader reader) {
+        super(reader);
+    }
+
+    @Override
+    TranslationDefinition readDefinition() throws IOException {
+
+        String logicalLine = readLogicalLine();
+        if (Objects.isNull(logicalLine)) {
+            return null;
+        }
+
+        int keyEnd = 0;
+        while (keyEnd < logicalLine.length() && !isKeyTerminator(logicalLine.charAt(keyEnd))) {
+            keyEnd += logicalLine.charAt(keyEnd) == '\\' ? 2 : 1;
+        }
+        keyEnd = Math.min(keyEnd, logicalLine.length());
+
+        int valueStart = skipWhitespace(logicalLine, keyEnd);
+        if (valueStart < logicalLine.length() && isSeparator(logicalLine.charAt(valueStart))) {
+            valueStart = skipWhitespace(logicalLine, valueStart + 1);
+        }
+
+        return new TranslationDefinition(unescape(logicalLine.substring(0, keyEnd)), unescape(logicalLine.substring(valueStart)));
+    }
+
+    private String readLogicalLine() throws IOException {
+
+        String line;
+        do {
+            line = readLine();
+            if (Objects.isNull(line)) {
+                return null;
+            }
+            line = line.substring(skipWhitespace(line, 0));
+        } while (line.isEmpty() || line.charAt(0) == '#' || line.charAt(0) == '!');
+
+        StringBuilder logicalLine = new StringBuilder(line);
+        while (endsWithContinuation(logicalLine)) {
+            logicalLine.setLength(logicalLine.length() - 1);
+            String continuation = readLine();
+            if (Objects.isNull(continuation)) {
+                break;
+            }
+            logicalLine.append(continuation, skipWhitespace(continuation, 0), continuation.length());
+        }
+
+        return logicalLine.toString();
+    }
+
+    private boolean endsWithContinuation(CharSequence line) {
+
+        int backslashes = 0;
+        for (int index = line.length() - 1; index >= 0 && line.charAt(index) == '\\'; index--) {
+            backslashes++;
+        }
+
+        return backslashes % 2 == 1;
+    }
+
+    private String unescape(String value) {
+
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            if (character != '\\' || index + 1 == value.length()) {
+                unescaped.append(character);
+                continue;
+            }
+            char escaped = value.charAt(++index);
+            switch (escaped) {
+                case 't' -> unescaped.append('\t');
+                case 'n' -> unescaped.append('\n');
+                case 'r' -> unescaped.append('\r');
+                case 'f' -> unescaped.append('\f');
+                case 'u' -> {
+                    if (index + 5 > value.length()) {
+                        throw malformed("truncated unicode escape");
+                    }
+                    try {
+                        unescaped.append((char) Integer.parseInt(value, index + 1, index + 5, 16));
+                    } catch (NumberFormatException exception) {
+                        throw malformed("invalid unicode escape");
+                    }
+                    index += 4;
+                }
+                default -> unescaped.append(escaped);
+            }
+        }
+
+        return unescaped.toString();
+    }
+
+    private static int skipWhitespace(String line, int from) {
+
+        int index = from;
+        while (index < line.length() && isWhitespace(line.charAt(index))) {
+            index++;
+        }
+
+        return index;
+    }
+
+    private static boolean isKeyTerminator(char character) {
+        return isSeparator(character) || isWhitespace(character);
+    }
+
+    private static boolean isSeparator(char character) {
+        return character == '=' || character == ':';
+    }
+
+    private static boolean isWhitespace(char character) {
+        return character == ' ' || character == '\t' || character == '\f';
+    }
+}
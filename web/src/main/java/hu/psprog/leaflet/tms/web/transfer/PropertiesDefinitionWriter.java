@@ -0,0 +1,69 @@
+package hu.psprog.leaflet.tms.web.transfer;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Java .properties file writer (UTF-8, non-ASCII characters written as is).
+ * Escaping follows {@link java.util.Properties#store(Writer, String)}, so the output can be loaded by
+ * {@link java.util.Properties} and {@link java.util.PropertyResourceBundle}.
+ *
+ * @author Peter Smith
+ */
+class PropertiesDefinitionWriter implements DefinitionWriter {
+
+    private static final String HEADER_PATTERN = "# %s (%s), ID: %s%n";
+
+    private final Writer writer;
+
+    PropertiesDefinitionWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void writeHeader(TranslationPack translationPack) throws IOException {
+        writer.write(String.format(HEADER_PATTERN, translationPack.getPackName(), translationPack.getLocale(), translationPack.getId()));
+    }
+
+    @Override
+    public void writeDefinition(TranslationDefinition definition) throws IOException {
+
+        writeEscaped(definition.getKey(), true);
+        writer.write('=');
+        writeEscaped(definition.getValue(), false);
+        writer.write('\n');
+    }
+
+    private void writeEscaped(String value, boolean key) throws IOException {
+
+        if (Objects.isNull(value)) {
+            return;
+        }
+
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            switch (character) {
+                case '\\' -> writer.write("\\\\");
+                case '\t' -> writer.write("\\t");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                case '\f' -> writer.write("\\f");
+                case '=', ':', '#', '!' -> {
+                    writer.write('\\');
+                    writer.write(character);
+                }
+                case ' ' -> {
+                    if (key || index == 0) {
+                        writer.write('\\');
+                    }
+                    writer.write(character);
+                }
+                default -> writer.write(character);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package hu.psprog.leaflet.tms.web.transfer;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * Supported translation file formats for streaming import and export.
+ * All formats are read and written as UTF-8.
+ *
+ * @author Peter Smith
+ */
+public enum TranslationFormat {
+
+    PROPERTIES("properties", new MediaType("text", "x-java-properties", StandardCharsets.UTF_8),
+            PropertiesDefinitionReader::new, PropertiesDefinitionWriter::new),
+    PO("po", new MediaType("text", "x-gettext-translation", StandardCharsets.UTF_8),
+            PoDefinitionReader::new, PoDefinitionWriter::new),
+    JSON_LINES("jsonl", new MediaType(MediaType.APPLICATION_NDJSON, StandardCharsets.UTF_8),
+            JsonLinesDefinitionReader::new, JsonLinesDefinitionWriter::new);
+
+    private final String extension;
+    private final MediaType mediaType;
+    private final Function<BufferedReader, Iterator<TranslationDefinition>> readerFactory;
+    private final Function<Writer, DefinitionWriter> writerFactory;
+
+    TranslationFormat(String extension, MediaType mediaType, Function<BufferedReader, Iterator<TranslationDefinition>> readerFactory,
+                      Function<Writer, DefinitionWriter> writerFactory) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+        this.readerFactory = readerFactory;
+        this.writerFactory = writerFactory;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Creates an incremental parser over the given source.
+     * Definitions are parsed one by one as the returned iterator is advanced. Parsing failures are raised
+     * as {@link MalformedTranslationFileException}, read failures as {@link java.io.UncheckedIOException}.
+     *
+     * @param source source to parse
+     * @return definitions as {@link Iterator}
+     */
+    public Iterator<TranslationDefinition> reader(InputStream source) {
+        return readerFactory.apply(new BufferedReader(new InputStreamReader(source, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Creates a writer of this format, writing to the given target.
+     *
+     * @param target {@link Writer} to write to
+     * @return created {@link DefinitionWriter}
+     */
+    public DefinitionWriter writer(Writer target) {
+        return writerFactory.apply(target);
+    }
+}
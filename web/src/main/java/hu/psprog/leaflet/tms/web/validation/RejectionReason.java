@@ -0,0 +1,17 @@
+package hu.psprog.leaflet.tms.web.validation;
+
+/**
+ * Reasons of rejecting a translation pack upload.
+ *
+ * @author Peter Smith
+ */
+public enum RejectionReason {
+
+    REQUEST_TOO_LARGE,
+    PACK_TOO_LARGE,
+    TOO_MANY_DEFINITIONS,
+    KEY_TOO_LONG,
+    VALUE_TOO_LONG,
+    INVALID_KEY,
+    DUPLICATE_KEY
+}
@@ -0,0 +1,23 @@
+package hu.psprog.leaflet.tms.web.validation;
+
+/**
+ * Exception to throw when an uploaded translation pack violates the configured upload limits.
+ * Unchecked, since imported definitions are validated lazily, while the storage layer iterates over them.
+ *
+ * @author Peter Smith
+ */
+public class TranslationPackValidationException extends RuntimeException {
+
+    private static final String MESSAGE_PATTERN = "Translation pack rejected [%s]: %s";
+
+    private final RejectionReason reason;
+
+    public TranslationPackValidationException(RejectionReason reason, String details) {
+        super(String.format(MESSAGE_PATTERN, reason, details));
+        this.reason = reason;
+    }
+
+    public RejectionReason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,179 @@
+package hu.psprog.leaflet.tms.web.validation;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.web.config.UploadValidationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Validates the definitions of uploaded translation packs in a single pass.
+ * Every definition is checked once, as it is consumed - key and value length, key format (blank keys and keys containing
+ * whitespace or control characters are invalid) and uniqueness, as well as the running definition count and total
+ * UTF-8 encoded size - so imported packs are rejected at the first violation, without reading the rest of the upload.
+ * Rejections are counted per reason by the tms.upload.rejections counter.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class TranslationPackValidator {
+
+    private static final String METRIC_REJECTIONS = "tms.upload.rejections";
+    private static final String TAG_REASON = "reason";
+
+    private final UploadValidationProperties uploadValidationProperties;
+    private final Map<RejectionReason, Counter> rejectionCounters = new EnumMap<>(RejectionReason.class);
+
+    @Autowired
+    public TranslationPackValidator(UploadValidationProperties uploadValidationProperties, MeterRegistry meterRegistry) {
+        this.uploadValidationProperties = uploadValidationProperties;
+        for (RejectionReason reason : RejectionReason.values()) {
+            rejectionCounters.put(reason, Counter.builder(METRIC_REJECTIONS)
+                    .tag(TAG_REASON, reason.name())
+                    .description("Number of rejected translation pack uploads")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Validates the definitions of a translation pack creation request.
+     *
+     * @param definitions definitions (key-value pairs) of the request
+     * @throws TranslationPackValidationException on the first violation of the upload limits
+     */
+    public void validate(Map<String, String> definitions) {
+
+        if (!uploadValidationProperties.isEnabled() || Objects.isNull(definitions)) {
+            return;
+        }
+
+        ValidationState validationState = new ValidationState();
+        definitions.forEach(validationState::accept);
+    }
+
+    /**
+     * Wraps the given definitions, so they are validated one by one, as they are consumed.
+     *
+     * @param definitions definitions to validate
+     * @return validating {@link Iterator} of the given definitions
+     */
+    public Iterator<TranslationDefinition> validating(Iterator<TranslationDefinition> definitions) {
+
+        if (!uploadValidationProperties.isEnabled()) {
+            return definitions;
+        }
+
+        ValidationState validationState = new ValidationState();
+
+        return new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return definitions.hasNext();
+            }
+
+            @Override
+            public TranslationDefinition next() {
+
+                TranslationDefinition definition = definitions.next();
+                validationState.accept(definition.getKey(), definition.getValue());
+
+                return definition;
+            }
+        };
+    }
+
+    /**
+     * Records a rejection for the given reason, and creates the exception to signal it.
+     *
+     * @param reason {@link RejectionReason} of the rejection
+     * @param details details of the violation
+     * @return {@link TranslationPackValidationException} to throw
+     */
+    public TranslationPackValidationException reject(RejectionReason reason, String details) {
+
+        rejectionCounters.get(reason).increment();
+
+        return new TranslationPackValidationException(reason, details);
+    }
+
+    private static boolean isInvalidKey(String key) {
+
+        if (key.isEmpty()) {
+            return true;
+        }
+
+        for (int index = 0; index < key.length(); index++) {
+            char character = key.charAt(index);
+            if (Character.isWhitespace(character) || Character.isISOControl(character)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static long utf8Length(String value) {
+
+        long length = 0;
+        for (int index = 0; index < value.length(); index++) {
+            char character = value.charAt(index);
+            if (character < 0x80) {
+                length++;
+            } else if (character < 0x800 || Character.isSurrogate(character)) {
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+
+        return length;
+    }
+
+    private final class ValidationState {
+
+        private final Set<String> keys = new HashSet<>();
+        private long packSize;
+
+        void accept(String key, String value) {
+
+            if (Objects.isNull(key) || isInvalidKey(key)) {
+                throw reject(RejectionReason.INVALID_KEY, String.format("invalid key [%s]", key));
+            }
+
+            if (key.length() > uploadValidationProperties.getMaxKeyLength()) {
+                throw reject(RejectionReason.KEY_TOO_LONG, String.format("key [%s...] exceeds %d characters",
+                        key.substring(0, uploadValidationProperties.getMaxKeyLength()), uploadValidationProperties.getMaxKeyLength()));
+            }
+
+            String checkedValue = Objects.requireNonNullElse(value, "");
+            if (checkedValue.length() > uploadValidationProperties.getMaxValueLength()) {
+                throw reject(RejectionReason.VALUE_TOO_LONG, String.format("value of key [%s] exceeds %d characters",
+                        key, uploadValidationProperties.getMaxValueLength()));
+            }
+
+            if (keys.size() >= uploadValidationProperties.getMaxDefinitions()) {
+                throw reject(RejectionReason.TOO_MANY_DEFINITIONS, String.format("pack exceeds %d definitions",
+                        uploadValidationProperties.getMaxDefinitions()));
+            }
+
+            packSize += utf8Length(key) + utf8Length(checkedValue);
+            if (packSize > uploadValidationProperties.getMaxPackSize().toBytes()) {
+                throw reject(RejectionReason.PACK_TOO_LARGE, String.format("pack exceeds %s",
+                        uploadValidationProperties.getMaxPackSize()));
+            }
+
+            if (!keys.add(key)) {
+                throw reject(RejectionReason.DUPLICATE_KEY, String.format("duplicate key [%s]", key));
+            }
+        }
+    }
+}
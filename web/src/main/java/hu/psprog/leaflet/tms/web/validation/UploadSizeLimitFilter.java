@@ -0,0 +1,150 @@
+package hu.psprog.leaflet.tms.web.validation;
+
+import hu.psprog.leaflet.tms.web.config.UploadValidationProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Limits the request body size of translation pack uploads (POST and PUT requests under /translations).
+ * Requests declaring a larger Content-Length are answered with HTTP 413 before their body is read. The body of requests
+ * without a declared length is counted while being read, and reading fails as soon as the limit is exceeded.
+ *
+ * @author Peter Smith
+ */
+@Component
+public class UploadSizeLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UploadSizeLimitFilter.class);
+
+    private static final String PATH_TRANSLATIONS = "/translations";
+
+    private final UploadValidationProperties uploadValidationProperties;
+    private final TranslationPackValidator translationPackValidator;
+
+    @Autowired
+    public UploadSizeLimitFilter(UploadValidationProperties uploadValidationProperties, TranslationPackValidator translationPackValidator) {
+        this.uploadValidationProperties = uploadValidationProperties;
+        this.translationPackValidator = translationPackValidator;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+
+        return !uploadValidationProperties.isEnabled()
+                || !(HttpMethod.POST.matches(request.getMethod()) || HttpMethod.PUT.matches(request.getMethod()))
+                || !request.getRequestURI().startsWith(request.getContextPath() + PATH_TRANSLATIONS);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long maxRequestSize = uploadValidationProperties.getMaxRequestSize().toBytes();
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > maxRequestSize) {
+            TranslationPackValidationException exception = translationPackValidator.reject(RejectionReason.REQUEST_TOO_LARGE,
+                    String.format("declared request size of %d bytes exceeds %d bytes", contentLength, maxRequestSize));
+            LOGGER.warn(exception.getMessage());
+            response.setStatus(HttpStatus.CONTENT_TOO_LARGE.value());
+            return;
+        }
+
+        filterChain.doFilter(contentLength < 0
+                ? new SizeLimitedRequest(request, maxRequestSize)
+                : request, response);
+    }
+
+    private final class SizeLimitedRequest extends HttpServletRequestWrapper {
+
+        private final long maxRequestSize;
+        private ServletInputStream inputStream;
+
+        SizeLimitedRequest(HttpServletRequest request, long maxRequestSize) {
+            super(request);
+            this.maxRequestSize = maxRequestSize;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+
+            if (Objects.isNull(inputStream)) {
+                inputStream = new SizeLimitedInputStream(super.getInputStream(), maxRequestSize);
+            }
+
+            return inputStream;
+        }
+    }
+
+    private final class SizeLimitedInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+        private final long maxRequestSize;
+        private long readBytes;
+
+        SizeLimitedInputStream(ServletInputStream delegate, long maxRequestSize) {
+            this.delegate = delegate;
+            this.maxRequestSize = maxRequestSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+
+            int value = delegate.read();
+            if (value != -1) {
+                count(1);
+            }
+
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+
+            int readCount = delegate.read(buffer, offset, length);
+            if (readCount > 0) {
+                count(readCount);
+            }
+
+            return readCount;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
+        }
+
+        private void count(int bytes) {
+
+            readBytes += bytes;
+            if (readBytes > maxRequestSize) {
+                throw translationPackValidator.reject(RejectionReason.REQUEST_TOO_LARGE,
+                        String.format("request body exceeds %d bytes", maxRequestSize));
+            }
+        }
+    }
+}
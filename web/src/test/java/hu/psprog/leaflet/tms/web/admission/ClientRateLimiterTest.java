@@ -0,0 +1,169 @@
+package hu.psprog.leaflet.tms.web.admission;
+
+import hu.psprog.leaflet.tms.web.config.AdmissionControlProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link ClientRateLimiter}.
+ *
+ * @author Peter Smith
+ */
+public class ClientRateLimiterTest {
+
+    private static final String CLIENT_1 = "10.0.0.1";
+    private static final String CLIENT_2 = "10.0.0.2";
+    private static final String CLIENT_3 = "10.0.0.3";
+    private static final Instant NOW = Instant.parse("2026-10-19T10:00:00Z");
+
+    private AdmissionControlProperties admissionControlProperties;
+    private MutableClock clock;
+    private ClientRateLimiter clientRateLimiter;
+
+    @BeforeEach
+    public void setup() {
+        admissionControlProperties = new AdmissionControlProperties();
+        admissionControlProperties.setRequestsPerSecond(10);
+        admissionControlProperties.setBurstCapacity(2);
+        clock = new MutableClock(NOW);
+        clientRateLimiter = new ClientRateLimiter(admissionControlProperties, clock);
+    }
+
+    @Test
+    public void shouldTryAcquireAdmitBurstThenReject() {
+
+        // when
+        long firstResult = clientRateLimiter.tryAcquire(CLIENT_1);
+        long secondResult = clientRateLimiter.tryAcquire(CLIENT_1);
+        long thirdResult = clientRateLimiter.tryAcquire(CLIENT_1);
+
+        // then
+        assertThat(firstResult, equalTo(0L));
+        assertThat(secondResult, equalTo(0L));
+        assertThat(thirdResult, equalTo(TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+
+    @Test
+    public void shouldTryAcquireAdmitAgainAfterRefill() {
+
+        // given
+        clientRateLimiter.tryAcquire(CLIENT_1);
+        clientRateLimiter.tryAcquire(CLIENT_1);
+        clock.advance(Duration.ofMillis(100));
+
+        // when
+        long firstResult = clientRateLimiter.tryAcquire(CLIENT_1);
+        long secondResult = clientRateLimiter.tryAcquire(CLIENT_1);
+
+        // then
+        assertThat(firstResult, equalTo(0L));
+        assertThat(secondResult, equalTo(TimeUnit.MILLISECONDS.toNanos(100)));
+    }
+
+    @Test
+    public void shouldTryAcquireLimitClientsIndependently() {
+
+        // given
+        clientRateLimiter.tryAcquire(CLIENT_1);
+        clientRateLimiter.tryAcquire(CLIENT_1);
+
+        // when
+        long result = clientRateLimiter.tryAcquire(CLIENT_2);
+
+        // then
+        assertThat(result, equalTo(0L));
+        assertThat(clientRateLimiter.getTrackedClients(), equalTo(2));
+    }
+
+    @Test
+    public void shouldTryAcquireLimitOverflowClientsIndependentlyWhenMaxClientsReached() {
+
+        // given
+        admissionControlProperties.setMaxClients(1);
+        clientRateLimiter.tryAcquire(CLIENT_1);
+        clientRateLimiter.tryAcquire(CLIENT_2);
+        clientRateLimiter.tryAcquire(CLIENT_2);
+
+        // when
+        long exhaustedResult = clientRateLimiter.tryAcquire(CLIENT_2);
+        long result = clientRateLimiter.tryAcquire(CLIENT_3);
+
+        // then
+        assertThat(exhaustedResult > 0, equalTo(true));
+        assertThat(result, equalTo(0L));
+        assertThat(clientRateLimiter.getTrackedClients(), equalTo(3));
+    }
+
+    @Test
+    public void shouldTryAcquireEvictLeastRecentlyUsedOverflowBucket() {
+
+        // given
+        admissionControlProperties.setMaxClients(1);
+        admissionControlProperties.setMaxOverflowClients(1);
+        clientRateLimiter.tryAcquire(CLIENT_1);
+        clientRateLimiter.tryAcquire(CLIENT_2);
+        clientRateLimiter.tryAcquire(CLIENT_2);
+        clientRateLimiter.tryAcquire(CLIENT_3);
+
+        // when
+        long result = clientRateLimiter.tryAcquire(CLIENT_2);
+
+        // then
+        assertThat(result, equalTo(0L));
+        assertThat(clientRateLimiter.getTrackedClients(), equalTo(2));
+    }
+
+    @Test
+    public void shouldTryAcquirePurgeIdleBucketsWhenMaxClientsReached() {
+
+        // given
+        admissionControlProperties.setMaxClients(1);
+        clientRateLimiter.tryAcquire(CLIENT_1);
+        clock.advance(Duration.ofSeconds(1));
+
+        // when
+        long result = clientRateLimiter.tryAcquire(CLIENT_2);
+
+        // then
+        assertThat(result, equalTo(0L));
+        assertThat(clientRateLimiter.getTrackedClients(), equalTo(1));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
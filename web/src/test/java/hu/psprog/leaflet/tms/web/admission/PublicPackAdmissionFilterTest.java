@@ -0,0 +1,223 @@
+package hu.psprog.leaflet.tms.web.admission;
+
+import hu.psprog.leaflet.tms.web.config.AdmissionControlProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link PublicPackAdmissionFilter}.
+ *
+ * @author Peter Smith
+ */
+public class PublicPackAdmissionFilterTest {
+
+    private static final String CLIENT_1 = "10.0.0.1";
+    private static final String CLIENT_2 = "10.0.0.2";
+    private static final String CLIENT_3 = "10.0.0.3";
+    private static final String CLIENT_ID_HEADER = "X-Client-ID";
+
+    private AdmissionControlProperties admissionControlProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private PublicPackAdmissionFilter publicPackAdmissionFilter;
+
+    @BeforeEach
+    public void setup() {
+        admissionControlProperties = new AdmissionControlProperties();
+        admissionControlProperties.setEnabled(true);
+        admissionControlProperties.setRequestsPerSecond(1);
+        admissionControlProperties.setBurstCapacity(1);
+        admissionControlProperties.setMaxConcurrentRequests(1);
+        createFilter();
+    }
+
+    @Test
+    public void shouldAdmitPublicRequestWithinLimits() throws ServletException, IOException {
+
+        // given
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        MockHttpServletResponse response = filter(preparePublicRequest(CLIENT_1), filterChain);
+
+        // then
+        assertThat(response.getStatus(), equalTo(HttpStatus.OK.value()));
+        assertThat(filterChain.getRequest(), notNullValue());
+        assertThat(meterRegistry.get("tms.admission.active.requests").gauge().value(), equalTo(0.0));
+    }
+
+    @Test
+    public void shouldRejectRequestOverClientRateLimit() throws ServletException, IOException {
+
+        // given
+        filter(preparePublicRequest(CLIENT_1), new MockFilterChain());
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        MockHttpServletResponse response = filter(preparePublicRequest(CLIENT_1), filterChain);
+
+        // then
+        assertThat(response.getStatus(), equalTo(HttpStatus.TOO_MANY_REQUESTS.value()));
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER), equalTo("1"));
+        assertThat(filterChain.getRequest(), nullValue());
+        assertThat(meterRegistry.get("tms.admission.rejections").tag("reason", "RATE_LIMITED").counter().count(), equalTo(1.0));
+    }
+
+    @Test
+    public void shouldIdentifyClientByConfiguredHeaderOfTrustedProxy() throws ServletException, IOException {
+
+        // given
+        admissionControlProperties.setClientIdHeader(CLIENT_ID_HEADER);
+        admissionControlProperties.setTrustedProxies(List.of("10.0.0.0/24"));
+        createFilter();
+        MockHttpServletRequest firstRequest = preparePublicRequest(CLIENT_1);
+        firstRequest.addHeader(CLIENT_ID_HEADER, "client-a");
+        MockHttpServletRequest secondRequest = preparePublicRequest(CLIENT_1);
+        secondRequest.addHeader(CLIENT_ID_HEADER, "client-b");
+        filter(firstRequest, new MockFilterChain());
+
+        // when
+        MockHttpServletResponse response = filter(secondRequest, new MockFilterChain());
+
+        // then
+        assertThat(response.getStatus(), equalTo(HttpStatus.OK.value()));
+    }
+
+    @Test
+    public void shouldIgnoreConfiguredHeaderOfUntrustedClient() throws ServletException, IOException {
+
+        // given
+        admissionControlProperties.setClientIdHeader(CLIENT_ID_HEADER);
+        admissionControlProperties.setTrustedProxies(List.of("192.168.0.1"));
+        createFilter();
+        MockHttpServletRequest firstRequest = preparePublicRequest(CLIENT_1);
+        firstRequest.addHeader(CLIENT_ID_HEADER, "client-a");
+        MockHttpServletRequest secondRequest = preparePublicRequest(CLIENT_1);
+        secondRequest.addHeader(CLIENT_ID_HEADER, "client-b");
+        filter(firstRequest, new MockFilterChain());
+
+        // when
+        MockHttpServletResponse response = filter(secondRequest, new MockFilterChain());
+
+        // then
+        assertThat(response.getStatus(), equalTo(HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
+    @Test
+    public void shouldRejectRequestOverConcurrencyLimitUntilAsyncRequestCompletes() throws ServletException, IOException {
+
+        // given
+        MockHttpServletRequest asyncRequest = preparePublicRequest(CLIENT_1);
+        asyncRequest.setAsyncSupported(true);
+        filter(asyncRequest, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                request.startAsync();
+            }
+        });
+
+        // when
+        MockHttpServletResponse rejectedResponse = filter(preparePublicRequest(CLIENT_2), new MockFilterChain());
+        asyncRequest.getAsyncContext().complete();
+        MockHttpServletResponse admittedResponse = filter(preparePublicRequest(CLIENT_3), new MockFilterChain());
+
+        // then
+        assertThat(rejectedResponse.getStatus(), equalTo(HttpStatus.TOO_MANY_REQUESTS.value()));
+        assertThat(admittedResponse.getStatus(), equalTo(HttpStatus.OK.value()));
+        assertThat(meterRegistry.get("tms.admission.rejections").tag("reason", "CONCURRENCY_LIMITED").counter().count(), equalTo(1.0));
+    }
+
+    @Test
+    public void shouldSkipNonPublicRequests() throws ServletException, IOException {
+
+        // given
+        filter(preparePublicRequest(CLIENT_1), new MockFilterChain());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/translations/pack-id");
+        request.setRemoteAddr(CLIENT_1);
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        MockHttpServletResponse response = filter(request, filterChain);
+
+        // then
+        assertThat(response.getStatus(), equalTo(HttpStatus.OK.value()));
+        assertThat(filterChain.getRequest(), notNullValue());
+    }
+
+    @Test
+    public void shouldSkipRequestsIfDisabled() throws ServletException, IOException {
+
+        // given
+        admissionControlProperties.setEnabled(false);
+        filter(preparePublicRequest(CLIENT_1), new MockFilterChain());
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        MockHttpServletResponse response = filter(preparePublicRequest(CLIENT_1), filterChain);
+
+        // then
+        assertThat(response.getStatus(), equalTo(HttpStatus.OK.value()));
+        assertThat(filterChain.getRequest(), notNullValue());
+    }
+
+    @Test
+    public void shouldSkipRequestsByDefault() throws ServletException, IOException {
+
+        // given
+        admissionControlProperties = new AdmissionControlProperties();
+        createFilter();
+        filter(preparePublicRequest(CLIENT_1), new MockFilterChain());
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        MockHttpServletResponse response = filter(preparePublicRequest(CLIENT_1), filterChain);
+
+        // then
+        assertThat(response.getStatus(), equalTo(HttpStatus.OK.value()));
+        assertThat(filterChain.getRequest(), notNullValue());
+    }
+
+    private void createFilter() {
+
+        meterRegistry = new SimpleMeterRegistry();
+        publicPackAdmissionFilter = new PublicPackAdmissionFilter(admissionControlProperties,
+                new ClientRateLimiter(admissionControlProperties, Clock.fixed(Instant.parse("2026-10-19T10:00:00Z"), ZoneOffset.UTC)),
+                meterRegistry);
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, MockFilterChain filterChain) throws ServletException, IOException {
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        publicPackAdmissionFilter.doFilter(request, response, filterChain);
+
+        return response;
+    }
+
+    private static MockHttpServletRequest preparePublicRequest(String remoteAddress) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/translations");
+        request.setParameter("packs", "app");
+        request.setRemoteAddr(remoteAddress);
+
+        return request;
+    }
+}
@@ -0,0 +1,42 @@
+package hu.psprog.leaflet.tms.web.conversion;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link TranslationDefinitionConverter}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class TranslationDefinitionConverterTest {
+
+    private static final String KEY = "key1";
+    private static final String VALUE = "value1";
+
+    private static final TranslationDefinition TRANSLATION_DEFINITION = new TranslationDefinition(KEY, VALUE);
+    private static final hu.psprog.leaflet.translation.api.domain.TranslationDefinition API_TRANSLATION_DEFINITION =
+            hu.psprog.leaflet.translation.api.domain.TranslationDefinition.getBuilder()
+                    .withKey(KEY)
+                    .withValue(VALUE)
+                    .build();
+
+    @InjectMocks
+    private TranslationDefinitionConverter converter;
+
+    @Test
+    public void shouldConvert() {
+
+        // when
+        hu.psprog.leaflet.translation.api.domain.TranslationDefinition result = converter.convert(TRANSLATION_DEFINITION);
+
+        // then
+        assertThat(result, equalTo(API_TRANSLATION_DEFINITION));
+    }
+}
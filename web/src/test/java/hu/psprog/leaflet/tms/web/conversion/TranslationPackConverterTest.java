@@ -5,6 +5,7 @@ import hu.psprog.leaflet.tms.core.entity.TranslationPack;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Date;
@@ -13,6 +14,7 @@ import java.util.Locale;
 import java.util.UUID;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 /**
@@ -51,6 +53,9 @@ class TranslationPackConverterTest {
                     hu.psprog.leaflet.translation.api.domain.TranslationDefinition.getBuilder().withKey("key2").withValue("value2").build()))
             .build();
 
+    @Spy
+    private TranslationDefinitionConverter translationDefinitionConverter;
+
     @InjectMocks
     private TranslationPackConverter converter;
 
@@ -63,4 +68,20 @@ class TranslationPackConverterTest {
         // then
         assertThat(result, equalTo(API_TRANSLATION_PACK));
     }
+
+    @Test
+    public void shouldConvertMetaInfoOnlyTranslationPackWithoutDefinitions() {
+
+        // given
+        var metaInfoOnlyPack = TRANSLATION_PACK.toBuilder()
+                .definitions(null)
+                .build();
+
+        // when
+        var result = converter.convert(metaInfoOnlyPack);
+
+        // then
+        assertThat(result.getDefinitions().isEmpty(), is(true));
+        assertThat(result.getPackName(), equalTo(PACK_NAME));
+    }
 }
@@ -60,6 +60,7 @@ public class TranslationPackCreationRequestConverterTest {
         // then
         assertThat(result, notNullValue());
         assertThat(result.getId(), notNullValue());
+        assertThat(result.getId().version(), equalTo(7));
         assertThat(result.getPackName(), equalTo(PACK_NAME));
         assertThat(result.getLocale(), equalTo(LOCALE));
         assertThat(result.isEnabled(), is(true));
@@ -0,0 +1,74 @@
+package hu.psprog.leaflet.tms.web.health;
+
+import hu.psprog.leaflet.tms.core.cache.TranslationPackCacheWarmer;
+import hu.psprog.leaflet.tms.core.cache.WarmUpState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+
+import java.time.Duration;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Unit tests for {@link CacheWarmUpHealthIndicator}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class CacheWarmUpHealthIndicatorTest {
+
+    @Mock
+    private TranslationPackCacheWarmer translationPackCacheWarmer;
+
+    @InjectMocks
+    private CacheWarmUpHealthIndicator cacheWarmUpHealthIndicator;
+
+    @Test
+    public void shouldReportOutOfServiceWhileRunning() {
+
+        // given
+        given(translationPackCacheWarmer.getWarmUpState()).willReturn(new WarmUpState(WarmUpState.Status.RUNNING, 0, Duration.ZERO, null));
+
+        // when
+        Health result = cacheWarmUpHealthIndicator.health();
+
+        // then
+        assertThat(result.getStatus(), equalTo(Status.OUT_OF_SERVICE));
+    }
+
+    @Test
+    public void shouldReportUpWhenCompleted() {
+
+        // given
+        given(translationPackCacheWarmer.getWarmUpState()).willReturn(new WarmUpState(WarmUpState.Status.COMPLETED, 5, Duration.ofMillis(120), null));
+
+        // when
+        Health result = cacheWarmUpHealthIndicator.health();
+
+        // then
+        assertThat(result.getStatus(), equalTo(Status.UP));
+        assertThat(result.getDetails().get("packCount"), equalTo(5));
+        assertThat(result.getDetails().get("durationMillis"), equalTo(120L));
+    }
+
+    @Test
+    public void shouldReportUpWithFailureDetailsWhenFailed() {
+
+        // given
+        given(translationPackCacheWarmer.getWarmUpState()).willReturn(new WarmUpState(WarmUpState.Status.FAILED, 0, Duration.ZERO, "mongo unavailable"));
+
+        // when
+        Health result = cacheWarmUpHealthIndicator.health();
+
+        // then
+        assertThat(result.getStatus(), equalTo(Status.UP));
+        assertThat(result.getDetails().get("failure"), equalTo("mongo unavailable"));
+    }
+}
@@ -0,0 +1,48 @@
+package hu.psprog.leaflet.tms.web.health;
+
+import hu.psprog.leaflet.tms.core.cache.ResolvedPackCache;
+import hu.psprog.leaflet.tms.core.cache.ResolvedPackCacheStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Unit tests for {@link ResolvedPackCacheHealthIndicator}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class ResolvedPackCacheHealthIndicatorTest {
+
+    @Mock
+    private ResolvedPackCache resolvedPackCache;
+
+    @InjectMocks
+    private ResolvedPackCacheHealthIndicator resolvedPackCacheHealthIndicator;
+
+    @Test
+    public void shouldReportUpWithFootprintDetails() {
+
+        // given
+        given(resolvedPackCache.getStats()).willReturn(new ResolvedPackCacheStats(3, 2048L, 8192L, 1, 4L));
+
+        // when
+        Health result = resolvedPackCacheHealthIndicator.health();
+
+        // then
+        assertThat(result.getStatus(), equalTo(Status.UP));
+        assertThat(result.getDetails().get("entryCount"), equalTo(3));
+        assertThat(result.getDetails().get("weightBytes"), equalTo(2048L));
+        assertThat(result.getDetails().get("maxWeightBytes"), equalTo(8192L));
+        assertThat(result.getDetails().get("overflowEntryCount"), equalTo(1));
+        assertThat(result.getDetails().get("evictionCount"), equalTo(4L));
+    }
+}
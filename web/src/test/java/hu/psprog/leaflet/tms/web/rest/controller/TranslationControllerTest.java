@@ -3,32 +3,69 @@ package hu.psprog.leaflet.tms.web.rest.controller;
 import hu.psprog.leaflet.bridge.client.domain.error.ErrorMessageResponse;
 import hu.psprog.leaflet.bridge.client.domain.error.ValidationErrorMessageListResponse;
 import hu.psprog.leaflet.bridge.client.domain.error.ValidationErrorMessageResponse;
+import hu.psprog.leaflet.tms.core.cache.OffHeapPayloadStore;
+import hu.psprog.leaflet.tms.core.config.CacheProperties;
+import hu.psprog.leaflet.tms.core.config.RetrievalProperties;
+import hu.psprog.leaflet.tms.core.domain.DefinitionDiffEntry;
+import hu.psprog.leaflet.tms.core.domain.KeyRange;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
 import hu.psprog.leaflet.tms.core.entity.TranslationPack;
 import hu.psprog.leaflet.tms.core.exception.TranslationPackCreationException;
 import hu.psprog.leaflet.tms.core.exception.TranslationPackNotFoundException;
+import hu.psprog.leaflet.tms.core.exception.TranslationPackPublicationException;
+import hu.psprog.leaflet.tms.core.retrieval.ParallelRetrievalExecutor;
 import hu.psprog.leaflet.tms.core.service.TranslationManagementService;
+import hu.psprog.leaflet.tms.web.config.HttpCachingProperties;
+import hu.psprog.leaflet.tms.web.config.UploadValidationProperties;
+import hu.psprog.leaflet.tms.web.rest.support.CacheValidators;
+import hu.psprog.leaflet.tms.web.validation.RejectionReason;
+import hu.psprog.leaflet.tms.web.validation.TranslationPackValidationException;
+import hu.psprog.leaflet.tms.web.validation.TranslationPackValidator;
 import hu.psprog.leaflet.translation.api.domain.TranslationPackCreationRequest;
 import hu.psprog.leaflet.translation.api.domain.TranslationPackMetaInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.StreamReadFeature;
+import tools.jackson.core.exc.StreamReadException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -42,12 +79,16 @@ public class TranslationControllerTest {
     private static final UUID PACK_ID = UUID.randomUUID();
     private static final URI EXPECTED_LOCATION = URI.create("/translations/" + PACK_ID);
     private static final List<String> PACKS = Collections.singletonList("pack1");
+    private static final Locale LOCALE = Locale.forLanguageTag("hu-HU");
     private static final TranslationPackCreationRequest TRANSLATION_PACK_CREATION_REQUEST = TranslationPackCreationRequest.getBuilder().build();
     private static final TranslationPack NEW_TRANSLATION_PACK = TranslationPack.builder().build();
-    private static final TranslationPack TRANSLATION_PACK = TranslationPack.builder().id(PACK_ID).build();
+    private static final TranslationPack TRANSLATION_PACK = TranslationPack.builder().id(PACK_ID).created(new Date(1_700_000_000_000L)).build();
+    private static final CacheValidators CACHE_VALIDATORS = CacheValidators.of(List.of(TRANSLATION_PACK));
     private static final TranslationPackMetaInfo TRANSLATION_PACK_META_INFO = TranslationPackMetaInfo.getBuilder().withId(PACK_ID).build();
     private static final hu.psprog.leaflet.translation.api.domain.TranslationPack API_TRANSLATION_PACK =
             hu.psprog.leaflet.translation.api.domain.TranslationPack.getBuilder().withId(PACK_ID).build();
+    private static final String API_TRANSLATION_PACK_PAYLOAD = "{\"id\":\"" + PACK_ID + "\"}";
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
     private static final String VIOLATED_FIELD = "field1";
     private static final String DEFAULT_MESSAGE = "violation message";
     private static final ValidationErrorMessageListResponse EXPECTED_VALIDATION_ERROR_BODY = ValidationErrorMessageListResponse.getBuilder()
@@ -66,22 +107,191 @@ public class TranslationControllerTest {
     @Mock
     private BindingResult bindingResult;
 
+    @Mock
+    private WebRequest webRequest;
+
+    @Mock
+    private JsonMapper jsonMapper;
+
+    @Spy
+    private HttpCachingProperties httpCachingProperties = new HttpCachingProperties();
+
+    @Spy
+    private OffHeapPayloadStore offHeapPayloadStore = new OffHeapPayloadStore(new CacheProperties());
+
+    @Spy
+    private ParallelRetrievalExecutor parallelRetrievalExecutor = new ParallelRetrievalExecutor(new RetrievalProperties());
+
+    @Spy
+    private TranslationPackValidator translationPackValidator = new TranslationPackValidator(new UploadValidationProperties(), new SimpleMeterRegistry());
+
     @InjectMocks
     private TranslationController translationController;
 
     @Test
-    public void shouldRetrievePacks() {
+    public void shouldRetrievePacks() throws IOException {
 
         given(translationManagementService.retrieveLatestEnabledPacks(PACKS)).willReturn(Set.of(TRANSLATION_PACK));
         given(conversionService.convert(TRANSLATION_PACK, hu.psprog.leaflet.translation.api.domain.TranslationPack.class)).willReturn(API_TRANSLATION_PACK);
+        given(jsonMapper.writeValueAsBytes(API_TRANSLATION_PACK)).willReturn(API_TRANSLATION_PACK_PAYLOAD.getBytes(StandardCharsets.UTF_8));
 
         // when
-        ResponseEntity<?> result = translationController.retrievePacks(PACKS);
+        ResponseEntity<StreamingResponseBody> result = translationController.retrievePacks(PACKS, null, null, webRequest);
 
         // then
         verify(translationManagementService).retrieveLatestEnabledPacks(PACKS);
+        verify(translationManagementService, never()).retrieveLatestEnabledPacksMetaInfo(PACKS);
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(writeBody(result), equalTo("[" + API_TRANSLATION_PACK_PAYLOAD + "]"));
+        assertThat(result.getHeaders().getETag(), equalTo(CACHE_VALIDATORS.eTag()));
+        assertThat(result.getHeaders().getLastModified(), equalTo(CACHE_VALIDATORS.lastModified()));
+        assertThat(result.getHeaders().getCacheControl(), equalTo(null));
+    }
+
+    @Test
+    public void shouldRetrievePacksResolvedForLocale() throws IOException {
+
+        // given
+        given(translationManagementService.retrieveLatestEnabledPacks(PACKS, LOCALE)).willReturn(Set.of(TRANSLATION_PACK));
+        given(translationManagementService.retrieveLatestEnabledPacksMetaInfo(PACKS, LOCALE)).willReturn(List.of(TRANSLATION_PACK));
+        given(conversionService.convert(TRANSLATION_PACK, hu.psprog.leaflet.translation.api.domain.TranslationPack.class)).willReturn(API_TRANSLATION_PACK);
+        given(jsonMapper.writeValueAsBytes(API_TRANSLATION_PACK)).willReturn(API_TRANSLATION_PACK_PAYLOAD.getBytes(StandardCharsets.UTF_8));
+
+        // when
+        ResponseEntity<StreamingResponseBody> result = translationController.retrievePacks(PACKS, LOCALE, null, webRequest);
+
+        // then
+        verify(translationManagementService, never()).retrieveLatestEnabledPacks(PACKS);
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(writeBody(result), equalTo("[" + API_TRANSLATION_PACK_PAYLOAD + "]"));
+        assertThat(result.getHeaders().getETag(), equalTo(CACHE_VALIDATORS.eTag()));
+    }
+
+    @Test
+    public void shouldRetrievePacksResolvedForLocaleAnswerNotModifiedBasedOnSourcePacks() {
+
+        // given
+        given(webRequest.getHeader(HttpHeaders.IF_NONE_MATCH)).willReturn(CACHE_VALIDATORS.eTag());
+        given(translationManagementService.retrieveLatestEnabledPacksMetaInfo(PACKS, LOCALE)).willReturn(List.of(TRANSLATION_PACK));
+        given(webRequest.checkNotModified(CACHE_VALIDATORS.eTag(), CACHE_VALIDATORS.lastModified())).willReturn(true);
+
+        // when
+        ResponseEntity<StreamingResponseBody> result = translationController.retrievePacks(PACKS, LOCALE, null, webRequest);
+
+        // then
+        verify(translationManagementService, never()).retrieveLatestEnabledPacks(PACKS, LOCALE);
+        verify(translationManagementService, never()).retrieveLatestEnabledPacksMetaInfo(PACKS);
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+    }
+
+    @Test
+    public void shouldRetrievePacksFilteredToLocales() throws IOException {
+
+        // given
+        given(translationManagementService.retrieveLatestEnabledPacksInLocales(PACKS, List.of(LOCALE))).willReturn(Set.of(TRANSLATION_PACK));
+        given(conversionService.convert(TRANSLATION_PACK, hu.psprog.leaflet.translation.api.domain.TranslationPack.class)).willReturn(API_TRANSLATION_PACK);
+        given(jsonMapper.writeValueAsBytes(API_TRANSLATION_PACK)).willReturn(API_TRANSLATION_PACK_PAYLOAD.getBytes(StandardCharsets.UTF_8));
+
+        // when
+        ResponseEntity<StreamingResponseBody> result = translationController.retrievePacks(PACKS, null, List.of(LOCALE), webRequest);
+
+        // then
+        verify(translationManagementService, never()).retrieveLatestEnabledPacks(PACKS);
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(writeBody(result), equalTo("[" + API_TRANSLATION_PACK_PAYLOAD + "]"));
+        assertThat(result.getHeaders().getETag(), equalTo(CACHE_VALIDATORS.eTag()));
+    }
+
+    @Test
+    public void shouldRetrievePacksFilteredToLocalesAnswerNotModified() {
+
+        // given
+        given(webRequest.getHeader(HttpHeaders.IF_NONE_MATCH)).willReturn(CACHE_VALIDATORS.eTag());
+        given(translationManagementService.retrieveLatestEnabledPacksMetaInfoInLocales(PACKS, List.of(LOCALE))).willReturn(Set.of(TRANSLATION_PACK));
+        given(webRequest.checkNotModified(CACHE_VALIDATORS.eTag(), CACHE_VALIDATORS.lastModified())).willReturn(true);
+
+        // when
+        ResponseEntity<StreamingResponseBody> result = translationController.retrievePacks(PACKS, null, List.of(LOCALE), webRequest);
+
+        // then
+        verify(translationManagementService, never()).retrieveLatestEnabledPacksMetaInfo(PACKS);
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+    }
+
+    @Test
+    public void shouldRetrievePacksWithConfiguredCacheControl() {
+
+        // given
+        HttpCachingProperties.CacheControlPolicy policy = new HttpCachingProperties.CacheControlPolicy();
+        policy.setMaxAge(Duration.ofMinutes(5));
+        policy.setCachePublic(true);
+        httpCachingProperties.getPolicies().put("retrieve-packs", policy);
+        given(translationManagementService.retrieveLatestEnabledPacks(PACKS)).willReturn(Set.of(TRANSLATION_PACK));
+        given(conversionService.convert(TRANSLATION_PACK, hu.psprog.leaflet.translation.api.domain.TranslationPack.class)).willReturn(API_TRANSLATION_PACK);
+        given(jsonMapper.writeValueAsBytes(API_TRANSLATION_PACK)).willReturn(API_TRANSLATION_PACK_PAYLOAD.getBytes(StandardCharsets.UTF_8));
+
+        // when
+        ResponseEntity<StreamingResponseBody> result = translationController.retrievePacks(PACKS, null, null, webRequest);
+
+        // then
         assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
-        assertThat(result.getBody(), equalTo(Set.of(API_TRANSLATION_PACK)));
+        assertThat(result.getHeaders().getCacheControl(), equalTo("max-age=300, public"));
+    }
+
+    @Test
+    public void shouldRetrievePacksAnswerNotModifiedWithoutLoadingDefinitions() {
+
+        // given
+        given(webRequest.getHeader(HttpHeaders.IF_NONE_MATCH)).willReturn(CACHE_VALIDATORS.eTag());
+        given(translationManagementService.retrieveLatestEnabledPacksMetaInfo(PACKS)).willReturn(Set.of(TRANSLATION_PACK));
+        given(webRequest.checkNotModified(CACHE_VALIDATORS.eTag(), CACHE_VALIDATORS.lastModified())).willReturn(true);
+
+        // when
+        ResponseEntity<StreamingResponseBody> result = translationController.retrievePacks(PACKS, null, null, webRequest);
+
+        // then
+        verify(translationManagementService, never()).retrieveLatestEnabledPacks(PACKS);
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+        assertThat(result.getBody(), equalTo(null));
+        assertThat(result.getHeaders().getETag(), equalTo(CACHE_VALIDATORS.eTag()));
+    }
+
+    @Test
+    public void shouldRetrievePacksReturnFullResponseForModifiedConditionalRequest() throws IOException {
+
+        // given
+        given(webRequest.getHeader(HttpHeaders.IF_NONE_MATCH)).willReturn("\"outdated\"");
+        given(translationManagementService.retrieveLatestEnabledPacksMetaInfo(PACKS)).willReturn(Set.of(TRANSLATION_PACK));
+        given(webRequest.checkNotModified(CACHE_VALIDATORS.eTag(), CACHE_VALIDATORS.lastModified())).willReturn(false);
+        given(translationManagementService.retrieveLatestEnabledPacks(PACKS)).willReturn(Set.of(TRANSLATION_PACK));
+        given(conversionService.convert(TRANSLATION_PACK, hu.psprog.leaflet.translation.api.domain.TranslationPack.class)).willReturn(API_TRANSLATION_PACK);
+        given(jsonMapper.writeValueAsBytes(API_TRANSLATION_PACK)).willReturn(API_TRANSLATION_PACK_PAYLOAD.getBytes(StandardCharsets.UTF_8));
+
+        // when
+        ResponseEntity<StreamingResponseBody> result = translationController.retrievePacks(PACKS, null, null, webRequest);
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(writeBody(result), equalTo("[" + API_TRANSLATION_PACK_PAYLOAD + "]"));
+    }
+
+    @Test
+    public void shouldRetrievePacksServeStoredPayloadWithoutSerializingAgain() throws IOException {
+
+        // given
+        given(translationManagementService.retrieveLatestEnabledPacks(PACKS)).willReturn(Set.of(TRANSLATION_PACK));
+        given(conversionService.convert(TRANSLATION_PACK, hu.psprog.leaflet.translation.api.domain.TranslationPack.class)).willReturn(API_TRANSLATION_PACK);
+        given(jsonMapper.writeValueAsBytes(API_TRANSLATION_PACK)).willReturn(API_TRANSLATION_PACK_PAYLOAD.getBytes(StandardCharsets.UTF_8));
+        translationController.retrievePacks(PACKS, null, null, webRequest);
+
+        // when
+        ResponseEntity<StreamingResponseBody> result = translationController.retrievePacks(PACKS, null, null, webRequest);
+
+        // then
+        assertThat(result.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(writeBody(result), equalTo("[" + API_TRANSLATION_PACK_PAYLOAD + "]"));
+        assertThat(offHeapPayloadStore.size(), equalTo(1));
+        verify(jsonMapper, times(1)).writeValueAsBytes(API_TRANSLATION_PACK);
     }
 
     @Test
@@ -115,6 +325,79 @@ public class TranslationControllerTest {
         assertThat(result.getBody(), equalTo(API_TRANSLATION_PACK));
     }
 
+    @Test
+    public void shouldGetPackDefinitionsByPrefix() throws TranslationPackNotFoundException, IOException {
+
+        // given
+        TranslationDefinition definition = new TranslationDefinition("key1", "value1");
+        hu.psprog.leaflet.translation.api.domain.TranslationDefinition apiDefinition = hu.psprog.leaflet.translation.api.domain.TranslationDefinition.getBuilder()
+                .withKey("key1")
+                .withValue("value1")
+                .build();
+        given(translationManagementService.retrieveDefinitions(PACK_ID, KeyRange.prefix("key"))).willReturn(Stream.of(definition));
+        given(conversionService.convert(definition, hu.psprog.leaflet.translation.api.domain.TranslationDefinition.class)).willReturn(apiDefinition);
+
+        // when
+        ResponseEntity<StreamingResponseBody> result = prepareControllerWithJsonMapper().getPackDefinitions(PACK_ID, "key", "ignored", null);
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(result.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(writeBody(result), equalTo("[" + JSON_MAPPER.writeValueAsString(apiDefinition) + "]"));
+    }
+
+    @Test
+    public void shouldGetPackDefinitionsByKeyRange() throws TranslationPackNotFoundException, IOException {
+
+        // given
+        given(translationManagementService.retrieveDefinitions(PACK_ID, new KeyRange("a", "b"))).willReturn(Stream.empty());
+
+        // when
+        ResponseEntity<StreamingResponseBody> result = prepareControllerWithJsonMapper().getPackDefinitions(PACK_ID, null, "a", "b");
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(writeBody(result), equalTo("[]"));
+    }
+
+    @Test
+    public void shouldDiffPacksAsJsonLines() throws TranslationPackNotFoundException, IOException {
+
+        // given
+        UUID targetPackID = UUID.randomUUID();
+        Stream<DefinitionDiffEntry> differences = Stream.of(
+                new DefinitionDiffEntry(DefinitionDiffEntry.Type.REMOVED, "key1", "value1", null),
+                new DefinitionDiffEntry(DefinitionDiffEntry.Type.CHANGED, "key2", "old", "new"));
+        given(translationManagementService.diffPacks(PACK_ID, targetPackID)).willReturn(differences);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        ResponseEntity<StreamingResponseBody> result = prepareControllerWithJsonMapper().diffPacks(PACK_ID, targetPackID);
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(result.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_NDJSON));
+        result.getBody().writeTo(outputStream);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8), equalTo("""
+                {"type":"REMOVED","key":"key1","oldValue":"value1","newValue":null}
+                {"type":"CHANGED","key":"key2","oldValue":"old","newValue":"new"}
+                """));
+    }
+
+    @Test
+    public void shouldDiffPacksThrowExceptionForMissingPack() throws TranslationPackNotFoundException {
+
+        // given
+        UUID targetPackID = UUID.randomUUID();
+        given(translationManagementService.diffPacks(PACK_ID, targetPackID)).willThrow(new TranslationPackNotFoundException(targetPackID));
+
+        // when
+        Assertions.assertThrows(TranslationPackNotFoundException.class, () -> translationController.diffPacks(PACK_ID, targetPackID));
+
+        // then
+        // exception expected
+    }
+
     @Test
     public void shouldCreateTranslationPack() throws TranslationPackCreationException {
 
@@ -148,6 +431,66 @@ public class TranslationControllerTest {
         assertThat(result.getBody(), equalTo(EXPECTED_VALIDATION_ERROR_BODY));
     }
 
+    @Test
+    public void shouldCreateTranslationPackRejectInvalidDefinitions() throws TranslationPackCreationException {
+
+        // given
+        given(bindingResult.hasErrors()).willReturn(false);
+        TranslationPackCreationRequest creationRequest = TranslationPackCreationRequest.getBuilder()
+                .withDefinitions(Map.of("app title", "Title"))
+                .build();
+
+        // when
+        TranslationPackValidationException result = Assertions.assertThrows(TranslationPackValidationException.class,
+                () -> translationController.createTranslationPack(creationRequest, bindingResult));
+
+        // then
+        assertThat(result.getReason(), equalTo(RejectionReason.INVALID_KEY));
+        verify(translationManagementService, never()).createPack(any(TranslationPack.class));
+    }
+
+    @Test
+    public void shouldUploadValidationExceptionHandlerReturnContentTooLargeForOversizedRequest() {
+
+        // when
+        ResponseEntity<ErrorMessageResponse> result = translationController.uploadValidationExceptionHandler(
+                new TranslationPackValidationException(RejectionReason.REQUEST_TOO_LARGE, "request body exceeds 8 bytes"));
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.CONTENT_TOO_LARGE));
+        assertThat(result.getBody().message(), equalTo("Translation pack rejected [REQUEST_TOO_LARGE]: request body exceeds 8 bytes"));
+    }
+
+    @Test
+    public void shouldUnreadableRequestExceptionHandlerRejectDuplicateKey() {
+
+        // given
+        JsonMapper strictMapper = JsonMapper.builder()
+                .enable(StreamReadFeature.STRICT_DUPLICATE_DETECTION)
+                .build();
+        StreamReadException cause = Assertions.assertThrows(StreamReadException.class,
+                () -> strictMapper.readValue("{\"key1\":\"value1\",\"key1\":\"value2\"}", Map.class));
+
+        // when
+        ResponseEntity<ErrorMessageResponse> result = translationController.unreadableRequestExceptionHandler(
+                new HttpMessageNotReadableException("unreadable", cause, null));
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.BAD_REQUEST));
+        assertThat(result.getBody().message().startsWith("Translation pack rejected [DUPLICATE_KEY]"), is(true));
+    }
+
+    @Test
+    public void shouldUnreadableRequestExceptionHandlerAnswerOtherFailuresAsUnexpected() {
+
+        // when
+        ResponseEntity<ErrorMessageResponse> result = translationController.unreadableRequestExceptionHandler(
+                new HttpMessageNotReadableException("unreadable", new IllegalStateException("broken"), null));
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.INTERNAL_SERVER_ERROR));
+    }
+
     @Test
     public void shouldChangePackStatus() throws TranslationPackNotFoundException {
 
@@ -164,6 +507,36 @@ public class TranslationControllerTest {
         assertThat(result.getHeaders().getLocation(), equalTo(EXPECTED_LOCATION));
     }
 
+    @Test
+    public void shouldPublishPack() throws TranslationPackNotFoundException, TranslationPackPublicationException {
+
+        // given
+        given(translationManagementService.publishPack(PACK_ID)).willReturn(TRANSLATION_PACK);
+        given(conversionService.convert(TRANSLATION_PACK, TranslationPackMetaInfo.class)).willReturn(TRANSLATION_PACK_META_INFO);
+
+        // when
+        ResponseEntity<TranslationPackMetaInfo> result = translationController.publishPack(PACK_ID);
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(result.getBody(), equalTo(TRANSLATION_PACK_META_INFO));
+    }
+
+    @Test
+    public void shouldRollbackPack() throws TranslationPackNotFoundException {
+
+        // given
+        given(translationManagementService.rollbackPack(PACKS.getFirst(), LOCALE)).willReturn(TRANSLATION_PACK);
+        given(conversionService.convert(TRANSLATION_PACK, TranslationPackMetaInfo.class)).willReturn(TRANSLATION_PACK_META_INFO);
+
+        // when
+        ResponseEntity<TranslationPackMetaInfo> result = translationController.rollbackPack(PACKS.getFirst(), LOCALE);
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(result.getBody(), equalTo(TRANSLATION_PACK_META_INFO));
+    }
+
     @Test
     public void shouldDeleteTranslationPack() throws TranslationPackNotFoundException {
 
@@ -197,6 +570,17 @@ public class TranslationControllerTest {
         assertThat(result.getBody().message(), equalTo(String.format("Failed to create translation pack for request [%s]", NEW_TRANSLATION_PACK)));
     }
 
+    @Test
+    public void shouldHandlePublicationException() {
+
+        // when
+        ResponseEntity<ErrorMessageResponse> result = translationController.publicationExceptionHandler(new TranslationPackPublicationException(PACK_ID));
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.CONFLICT));
+        assertThat(result.getBody().message(), equalTo(String.format("Translation pack [%s] is disabled, thus it cannot be published", PACK_ID)));
+    }
+
     @Test
     public void shouldHandleUnknownException() {
 
@@ -207,4 +591,17 @@ public class TranslationControllerTest {
         assertThat(result.getStatusCode(), equalTo(HttpStatus.INTERNAL_SERVER_ERROR));
         assertThat(result.getBody().message(), equalTo("Unexpected exception occurred"));
     }
-}
\ No newline at end of file
+
+    private TranslationController prepareControllerWithJsonMapper() {
+        return new TranslationController(translationManagementService, conversionService, httpCachingProperties, offHeapPayloadStore, JSON_MAPPER,
+                parallelRetrievalExecutor, translationPackValidator);
+    }
+
+    private static String writeBody(ResponseEntity<StreamingResponseBody> responseEntity) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        responseEntity.getBody().writeTo(outputStream);
+
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
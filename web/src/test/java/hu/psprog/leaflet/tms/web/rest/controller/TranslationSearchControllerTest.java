@@ -0,0 +1,59 @@
+package hu.psprog.leaflet.tms.web.rest.controller;
+
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchHit;
+import hu.psprog.leaflet.tms.core.domain.DefinitionSearchQuery;
+import hu.psprog.leaflet.tms.core.service.TranslationSearchService;
+import hu.psprog.leaflet.tms.web.config.HttpCachingProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Unit tests for {@link TranslationSearchController}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class TranslationSearchControllerTest {
+
+    private static final List<String> PACKS = List.of("pack1");
+    private static final List<Locale> LOCALES = List.of(Locale.ENGLISH);
+    private static final DefinitionSearchHit SEARCH_HIT = new DefinitionSearchHit(UUID.randomUUID(), "pack1", Locale.ENGLISH, "key1", "value1");
+
+    @Mock
+    private TranslationSearchService translationSearchService;
+
+    @Spy
+    private HttpCachingProperties httpCachingProperties = new HttpCachingProperties();
+
+    @InjectMocks
+    private TranslationSearchController translationSearchController;
+
+    @Test
+    public void shouldSearchDefinitions() {
+
+        // given
+        given(translationSearchService.search(new DefinitionSearchQuery("value", PACKS, LOCALES, DefinitionSearchQuery.Scope.VALUES, 10)))
+                .willReturn(List.of(SEARCH_HIT));
+
+        // when
+        ResponseEntity<List<DefinitionSearchHit>> result = translationSearchController.searchDefinitions("value", PACKS, LOCALES, DefinitionSearchQuery.Scope.VALUES, 10);
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(result.getBody(), equalTo(List.of(SEARCH_HIT)));
+    }
+}
@@ -0,0 +1,193 @@
+package hu.psprog.leaflet.tms.web.rest.controller;
+
+import hu.psprog.leaflet.bridge.client.domain.error.ErrorMessageResponse;
+import hu.psprog.leaflet.tms.core.domain.KeyRange;
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import hu.psprog.leaflet.tms.core.exception.TranslationPackCreationException;
+import hu.psprog.leaflet.tms.core.exception.TranslationPackNotFoundException;
+import hu.psprog.leaflet.tms.core.service.TranslationManagementService;
+import hu.psprog.leaflet.tms.web.config.HttpCachingProperties;
+import hu.psprog.leaflet.tms.web.config.UploadValidationProperties;
+import hu.psprog.leaflet.tms.web.transfer.MalformedTranslationFileException;
+import hu.psprog.leaflet.tms.web.transfer.TranslationFormat;
+import hu.psprog.leaflet.tms.web.validation.RejectionReason;
+import hu.psprog.leaflet.tms.web.validation.TranslationPackValidationException;
+import hu.psprog.leaflet.tms.web.validation.TranslationPackValidator;
+import hu.psprog.leaflet.translation.api.domain.TranslationPackMetaInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link TranslationTransferController}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class TranslationTransferControllerTest {
+
+    private static final UUID PACK_ID = UUID.randomUUID();
+    private static final String PACK_NAME = "app";
+    private static final Locale LOCALE = Locale.forLanguageTag("hu-HU");
+    private static final TranslationPack TRANSLATION_PACK = TranslationPack.builder()
+            .id(PACK_ID)
+            .packName(PACK_NAME)
+            .locale(LOCALE)
+            .build();
+    private static final TranslationPackMetaInfo TRANSLATION_PACK_META_INFO = TranslationPackMetaInfo.getBuilder().withId(PACK_ID).build();
+
+    @Mock
+    private TranslationManagementService translationManagementService;
+
+    @Mock
+    private ConversionService conversionService;
+
+    @Spy
+    private HttpCachingProperties httpCachingProperties = new HttpCachingProperties();
+
+    @Spy
+    private TranslationPackValidator translationPackValidator = new TranslationPackValidator(new UploadValidationProperties(), new SimpleMeterRegistry());
+
+    @InjectMocks
+    private TranslationTransferController translationTransferController;
+
+    @Test
+    public void shouldImportPack() throws TranslationPackCreationException {
+
+        // given
+        ArgumentCaptor<TranslationPack> headerCaptor = ArgumentCaptor.forClass(TranslationPack.class);
+        List<TranslationDefinition> parsedDefinitions = new ArrayList<>();
+        given(translationManagementService.createPack(any(TranslationPack.class), any())).willAnswer(invocation -> {
+            Iterator<TranslationDefinition> definitions = invocation.getArgument(1);
+            definitions.forEachRemaining(parsedDefinitions::add);
+            return TRANSLATION_PACK;
+        });
+        given(conversionService.convert(TRANSLATION_PACK, TranslationPackMetaInfo.class)).willReturn(TRANSLATION_PACK_META_INFO);
+        var requestBody = new ByteArrayInputStream("app.title=Title\napp.subtitle=Subtitle\n".getBytes(StandardCharsets.UTF_8));
+
+        // when
+        ResponseEntity<TranslationPackMetaInfo> result = translationTransferController.importPack(PACK_NAME, LOCALE, TranslationFormat.PROPERTIES, requestBody);
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.CREATED));
+        assertThat(result.getHeaders().getLocation(), equalTo(URI.create("/translations/" + PACK_ID)));
+        assertThat(result.getBody(), equalTo(TRANSLATION_PACK_META_INFO));
+        assertThat(parsedDefinitions, equalTo(List.of(
+                new TranslationDefinition("app.title", "Title"),
+                new TranslationDefinition("app.subtitle", "Subtitle"))));
+        verify(translationManagementService).createPack(headerCaptor.capture(), any());
+        TranslationPack header = headerCaptor.getValue();
+        assertThat(header.getId(), notNullValue());
+        assertThat(header.getPackName(), equalTo(PACK_NAME));
+        assertThat(header.getLocale(), equalTo(LOCALE));
+        assertThat(header.isEnabled(), is(true));
+        assertThat(header.getCreated(), notNullValue());
+    }
+
+    @Test
+    public void shouldImportPackRejectDuplicateKey() throws TranslationPackCreationException {
+
+        // given
+        given(translationManagementService.createPack(any(TranslationPack.class), any())).willAnswer(invocation -> {
+            Iterator<TranslationDefinition> definitions = invocation.getArgument(1);
+            definitions.forEachRemaining(definition -> { });
+            return TRANSLATION_PACK;
+        });
+        var requestBody = new ByteArrayInputStream("app.title=Title\napp.title=Other title\n".getBytes(StandardCharsets.UTF_8));
+
+        // when
+        TranslationPackValidationException result = Assertions.assertThrows(TranslationPackValidationException.class,
+                () -> translationTransferController.importPack(PACK_NAME, LOCALE, TranslationFormat.PROPERTIES, requestBody));
+
+        // then
+        assertThat(result.getReason(), equalTo(RejectionReason.DUPLICATE_KEY));
+    }
+
+    @Test
+    public void shouldUploadValidationExceptionHandlerReturnBadRequest() {
+
+        // when
+        ResponseEntity<ErrorMessageResponse> result = translationTransferController.uploadValidationExceptionHandler(
+                new TranslationPackValidationException(RejectionReason.DUPLICATE_KEY, "duplicate key [app.title]"));
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.BAD_REQUEST));
+        assertThat(result.getBody().message(), equalTo("Translation pack rejected [DUPLICATE_KEY]: duplicate key [app.title]"));
+    }
+
+    @Test
+    public void shouldExportPack() throws TranslationPackNotFoundException, IOException {
+
+        // given
+        given(translationManagementService.getPackMetaInfo(PACK_ID)).willReturn(TRANSLATION_PACK);
+        given(translationManagementService.retrieveDefinitions(PACK_ID, KeyRange.ALL))
+                .willReturn(Stream.of(new TranslationDefinition("app.title", "Cím")));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        ResponseEntity<StreamingResponseBody> result = translationTransferController.exportPack(PACK_ID, TranslationFormat.JSON_LINES);
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(result.getHeaders().getContentType(), equalTo(TranslationFormat.JSON_LINES.getMediaType()));
+        assertThat(result.getHeaders().getContentDisposition().getFilename(), equalTo("app_hu_HU.jsonl"));
+        result.getBody().writeTo(outputStream);
+        assertThat(outputStream.toString(StandardCharsets.UTF_8), equalTo("{\"key\":\"app.title\",\"value\":\"Cím\"}\n"));
+    }
+
+    @Test
+    public void shouldExportPackThrowExceptionForMissingPack() throws TranslationPackNotFoundException {
+
+        // given
+        given(translationManagementService.getPackMetaInfo(PACK_ID)).willThrow(new TranslationPackNotFoundException(PACK_ID));
+
+        // when
+        Assertions.assertThrows(TranslationPackNotFoundException.class, () -> translationTransferController.exportPack(PACK_ID, TranslationFormat.PO));
+
+        // then
+        verify(translationManagementService).getPackMetaInfo(PACK_ID);
+    }
+
+    @Test
+    public void shouldMalformedFileExceptionHandlerReturnBadRequest() {
+
+        // when
+        ResponseEntity<ErrorMessageResponse> result = translationTransferController
+                .malformedFileExceptionHandler(new MalformedTranslationFileException(3, "expected quoted string"));
+
+        // then
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.BAD_REQUEST));
+        assertThat(result.getBody().message(), equalTo("Malformed translation file at line 3: expected quoted string"));
+    }
+}
@@ -0,0 +1,71 @@
+package hu.psprog.leaflet.tms.web.rest.support;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link CacheValidators}.
+ *
+ * @author Peter Smith
+ */
+public class CacheValidatorsTest {
+
+    private static final TranslationPack OLDER_PACK = TranslationPack.builder()
+            .id(UUID.randomUUID())
+            .created(new Date(1_000L))
+            .build();
+    private static final TranslationPack NEWER_PACK = TranslationPack.builder()
+            .id(UUID.randomUUID())
+            .created(new Date(5_000L))
+            .build();
+
+    @Test
+    public void shouldUseNewestCreationDateAsLastModified() {
+
+        // when
+        CacheValidators result = CacheValidators.of(List.of(OLDER_PACK, NEWER_PACK));
+
+        // then
+        assertThat(result.lastModified(), equalTo(5_000L));
+    }
+
+    @Test
+    public void shouldCalculateETagIndependentOfOrder() {
+
+        // when
+        CacheValidators result1 = CacheValidators.of(List.of(OLDER_PACK, NEWER_PACK));
+        CacheValidators result2 = CacheValidators.of(List.of(NEWER_PACK, OLDER_PACK));
+
+        // then
+        assertThat(result1.eTag(), equalTo(result2.eTag()));
+    }
+
+    @Test
+    public void shouldCalculateDifferentETagForDifferentSelection() {
+
+        // when
+        CacheValidators result1 = CacheValidators.of(List.of(OLDER_PACK, NEWER_PACK));
+        CacheValidators result2 = CacheValidators.of(List.of(OLDER_PACK));
+
+        // then
+        assertThat(result1.eTag(), not(equalTo(result2.eTag())));
+    }
+
+    @Test
+    public void shouldReturnUnknownLastModifiedForEmptySelection() {
+
+        // when
+        CacheValidators result = CacheValidators.of(List.of());
+
+        // then
+        assertThat(result.lastModified(), equalTo(-1L));
+    }
+}
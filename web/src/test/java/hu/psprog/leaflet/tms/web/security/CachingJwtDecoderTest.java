@@ -0,0 +1,188 @@
+package hu.psprog.leaflet.tms.web.security;
+
+import hu.psprog.leaflet.tms.web.config.JwtCachingProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for {@link CachingJwtDecoder}.
+ *
+ * @author Peter Smith
+ */
+@ExtendWith(MockitoExtension.class)
+public class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T10:00:00Z");
+    private static final String TOKEN_1 = "token1";
+    private static final String TOKEN_2 = "token2";
+
+    @Mock
+    private JwtDecoder delegate;
+
+    private MutableClock clock;
+    private JwtCachingProperties jwtCachingProperties;
+    private CachingJwtDecoder cachingJwtDecoder;
+
+    @BeforeEach
+    public void setup() {
+        clock = new MutableClock(NOW);
+        jwtCachingProperties = new JwtCachingProperties();
+        cachingJwtDecoder = new CachingJwtDecoder(delegate, jwtCachingProperties, clock);
+    }
+
+    @Test
+    public void shouldDecodeReturnCachedTokenUntilExpiration() {
+
+        // given
+        Jwt jwt = prepareJwt(TOKEN_1, NOW.plusSeconds(60));
+        given(delegate.decode(TOKEN_1)).willReturn(jwt);
+
+        // when
+        Jwt firstResult = cachingJwtDecoder.decode(TOKEN_1);
+        Jwt secondResult = cachingJwtDecoder.decode(TOKEN_1);
+
+        // then
+        assertThat(firstResult, equalTo(jwt));
+        assertThat(secondResult, equalTo(jwt));
+        verify(delegate).decode(TOKEN_1);
+    }
+
+    @Test
+    public void shouldDecodeDelegateAgainAfterExpiration() {
+
+        // given
+        Jwt jwt = prepareJwt(TOKEN_1, NOW.plusSeconds(60));
+        given(delegate.decode(TOKEN_1)).willReturn(jwt);
+        cachingJwtDecoder.decode(TOKEN_1);
+        clock.advance(Duration.ofSeconds(60));
+
+        // when
+        cachingJwtDecoder.decode(TOKEN_1);
+
+        // then
+        verify(delegate, times(2)).decode(TOKEN_1);
+    }
+
+    @Test
+    public void shouldDecodeNotCacheTokenWithoutExpiration() {
+
+        // given
+        given(delegate.decode(TOKEN_1)).willReturn(prepareJwt(TOKEN_1, null));
+
+        // when
+        cachingJwtDecoder.decode(TOKEN_1);
+        cachingJwtDecoder.decode(TOKEN_1);
+
+        // then
+        verify(delegate, times(2)).decode(TOKEN_1);
+    }
+
+    @Test
+    public void shouldDecodeNotCacheFailedAttempts() {
+
+        // given
+        given(delegate.decode(TOKEN_1)).willThrow(new BadJwtException("invalid signature"));
+
+        // when
+        Assertions.assertThrows(BadJwtException.class, () -> cachingJwtDecoder.decode(TOKEN_1));
+        Assertions.assertThrows(BadJwtException.class, () -> cachingJwtDecoder.decode(TOKEN_1));
+
+        // then
+        verify(delegate, times(2)).decode(TOKEN_1);
+    }
+
+    @Test
+    public void shouldDecodeNotCacheNewTokensWhenFull() {
+
+        // given
+        jwtCachingProperties.setMaxEntries(1);
+        given(delegate.decode(TOKEN_1)).willReturn(prepareJwt(TOKEN_1, NOW.plusSeconds(60)));
+        given(delegate.decode(TOKEN_2)).willReturn(prepareJwt(TOKEN_2, NOW.plusSeconds(60)));
+        cachingJwtDecoder.decode(TOKEN_1);
+
+        // when
+        cachingJwtDecoder.decode(TOKEN_2);
+        cachingJwtDecoder.decode(TOKEN_2);
+        cachingJwtDecoder.decode(TOKEN_1);
+
+        // then
+        verify(delegate).decode(TOKEN_1);
+        verify(delegate, times(2)).decode(TOKEN_2);
+    }
+
+    @Test
+    public void shouldDecodeBypassCacheIfDisabled() {
+
+        // given
+        jwtCachingProperties.setEnabled(false);
+        given(delegate.decode(TOKEN_1)).willReturn(prepareJwt(TOKEN_1, NOW.plusSeconds(60)));
+
+        // when
+        cachingJwtDecoder.decode(TOKEN_1);
+        cachingJwtDecoder.decode(TOKEN_1);
+
+        // then
+        verify(delegate, times(2)).decode(TOKEN_1);
+    }
+
+    private Jwt prepareJwt(String token, Instant expiresAt) {
+
+        Jwt.Builder builder = Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("client")
+                .issuedAt(NOW.minusSeconds(10));
+        if (Objects.nonNull(expiresAt)) {
+            builder.expiresAt(expiresAt);
+        }
+
+        return builder.build();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
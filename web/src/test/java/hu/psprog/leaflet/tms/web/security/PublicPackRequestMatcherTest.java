@@ -0,0 +1,91 @@
+package hu.psprog.leaflet.tms.web.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link PublicPackRequestMatcher}.
+ *
+ * @author Peter Smith
+ */
+public class PublicPackRequestMatcherTest {
+
+    private final PublicPackRequestMatcher publicPackRequestMatcher = new PublicPackRequestMatcher();
+
+    @Test
+    public void shouldMatchPackRetrievalRequest() {
+
+        // given
+        MockHttpServletRequest request = prepareRequest("GET", "", "/translations", "pack1,pack2");
+
+        // when
+        boolean result = publicPackRequestMatcher.matches(request);
+
+        // then
+        assertThat(result, is(true));
+    }
+
+    @Test
+    public void shouldMatchPackRetrievalRequestUnderContextPath() {
+
+        // given
+        MockHttpServletRequest request = prepareRequest("GET", "/tms", "/tms/translations", "pack1");
+
+        // when
+        boolean result = publicPackRequestMatcher.matches(request);
+
+        // then
+        assertThat(result, is(true));
+    }
+
+    @Test
+    public void shouldNotMatchWithoutPacksParameter() {
+
+        // given
+        MockHttpServletRequest request = prepareRequest("GET", "", "/translations", "");
+
+        // when
+        boolean result = publicPackRequestMatcher.matches(request);
+
+        // then
+        assertThat(result, is(false));
+    }
+
+    @Test
+    public void shouldNotMatchOtherMethod() {
+
+        // given
+        MockHttpServletRequest request = prepareRequest("POST", "", "/translations", "pack1");
+
+        // when
+        boolean result = publicPackRequestMatcher.matches(request);
+
+        // then
+        assertThat(result, is(false));
+    }
+
+    @Test
+    public void shouldNotMatchOtherPath() {
+
+        // given
+        MockHttpServletRequest request = prepareRequest("GET", "", "/translations;jsessionid=1", "pack1");
+
+        // when
+        boolean result = publicPackRequestMatcher.matches(request);
+
+        // then
+        assertThat(result, is(false));
+    }
+
+    private MockHttpServletRequest prepareRequest(String method, String contextPath, String requestURI, String packs) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest(method, requestURI);
+        request.setContextPath(contextPath);
+        request.setParameter("packs", packs);
+
+        return request;
+    }
+}
@@ -0,0 +1,82 @@
+package hu.psprog.leaflet.tms.web.transfer;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link JsonLinesDefinitionReader}.
+ *
+ * @author Peter Smith
+ */
+public class JsonLinesDefinitionReaderTest {
+
+    @Test
+    public void shouldReadDefinitions() {
+
+        // given
+        String source = """
+                {"key":"app.title","value":"Title"}
+
+                {"value":"line1\\nline2","key":"app.multiline"}
+                {"key":"app.missing","value":null}
+                """;
+        List<TranslationDefinition> definitions = new ArrayList<>();
+
+        // when
+        new JsonLinesDefinitionReader(new BufferedReader(new StringReader(source))).forEachRemaining(definitions::add);
+
+        // then
+        assertThat(definitions, equalTo(List.of(
+                new TranslationDefinition("app.title", "Title"),
+                new TranslationDefinition("app.multiline", "line1\nline2"),
+                new TranslationDefinition("app.missing", null))));
+    }
+
+    @Test
+    public void shouldReadRejectLineWithoutKey() {
+
+        // given
+        JsonLinesDefinitionReader reader = new JsonLinesDefinitionReader(new BufferedReader(new StringReader("{\"value\":\"Title\"}")));
+
+        // when
+        MalformedTranslationFileException result = Assertions.assertThrows(MalformedTranslationFileException.class, reader::next);
+
+        // then
+        assertThat(result.getMessage(), equalTo("Malformed translation file at line 1: missing key field"));
+    }
+
+    @Test
+    public void shouldReadRejectInvalidJson() {
+
+        // given
+        JsonLinesDefinitionReader reader = new JsonLinesDefinitionReader(new BufferedReader(new StringReader("key=value")));
+
+        // when
+        Assertions.assertThrows(MalformedTranslationFileException.class, reader::next);
+
+        // then
+        // exception expected
+    }
+
+    @Test
+    public void shouldReadRejectNonStringValue() {
+
+        // given
+        JsonLinesDefinitionReader reader = new JsonLinesDefinitionReader(new BufferedReader(new StringReader("{\"key\":\"app.count\",\"value\":1}")));
+
+        // when
+        MalformedTranslationFileException result = Assertions.assertThrows(MalformedTranslationFileException.class, reader::next);
+
+        // then
+        assertThat(result.getMessage(), equalTo("Malformed translation file at line 1: field 'value' must be a string or null"));
+    }
+}
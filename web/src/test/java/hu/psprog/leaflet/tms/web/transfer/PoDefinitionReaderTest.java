@@ -0,0 +1,101 @@
+package hu.psprog.leaflet.tms.web.transfer;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link PoDefinitionReader}.
+ *
+ * @author Peter Smith
+ */
+public class PoDefinitionReaderTest {
+
+    @Test
+    public void shouldReadDefinitions() {
+
+        // given
+        String source = """
+                # header comment
+                msgid ""
+                msgstr ""
+                "Content-Type: text/plain; charset=UTF-8\\n"
+                "Language: hu_HU\\n"
+
+                #: src/app.c:12
+                msgid "app.title"
+                msgstr "Cím"
+
+                msgid "app.multiline"
+                msgstr ""
+                "first line\\n"
+                "second \\"quoted\\" line"
+                #, fuzzy
+                msgid "app.fuzzy"
+                msgstr "skipped"
+
+                msgid "app.untranslated"
+                msgstr ""
+
+                msgctxt "menu"
+                msgid "app.plural"
+                msgid_plural "app.plurals"
+                msgstr[0] "one"
+                msgstr[1] "many"
+
+                #~ msgid "app.obsolete"
+                #~ msgstr "obsolete"
+                """;
+
+        // when
+        List<TranslationDefinition> result = readAll(source);
+
+        // then
+        assertThat(result, equalTo(List.of(
+                new TranslationDefinition("app.title", "Cím"),
+                new TranslationDefinition("app.multiline", "first line\nsecond \"quoted\" line"),
+                new TranslationDefinition("app.plural", "one"))));
+    }
+
+    @Test
+    public void shouldReadRejectEntryWithoutMsgstr() {
+
+        // given
+        PoDefinitionReader reader = new PoDefinitionReader(new BufferedReader(new StringReader("msgid \"app.title\"\n")));
+
+        // when
+        MalformedTranslationFileException result = Assertions.assertThrows(MalformedTranslationFileException.class, reader::hasNext);
+
+        // then
+        assertThat(result.getMessage(), equalTo("Malformed translation file at line 1: entry without msgstr"));
+    }
+
+    @Test
+    public void shouldReadRejectUnquotedString() {
+
+        // given
+        PoDefinitionReader reader = new PoDefinitionReader(new BufferedReader(new StringReader("msgid app.title\nmsgstr \"Title\"\n")));
+
+        // when
+        Assertions.assertThrows(MalformedTranslationFileException.class, reader::hasNext);
+
+        // then
+        // exception expected
+    }
+
+    private List<TranslationDefinition> readAll(String source) {
+
+        List<TranslationDefinition> definitions = new ArrayList<>();
+        new PoDefinitionReader(new BufferedReader(new StringReader(source))).forEachRemaining(definitions::add);
+
+        return definitions;
+    }
+}
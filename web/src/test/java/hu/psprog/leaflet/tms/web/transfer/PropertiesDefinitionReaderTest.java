@@ -0,0 +1,75 @@
+package hu.psprog.leaflet.tms.web.transfer;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link PropertiesDefinitionReader}.
+ *
+ * @author Peter Smith
+ */
+public class PropertiesDefinitionReaderTest {
+
+    @Test
+    public void shouldReadDefinitions() {
+
+        // given
+        String source = """
+                \uFEFF# comment
+                ! another comment
+                app.title = Title
+                app.subtitle:Subtitle
+                app.empty
+                app.space   value with spaces\\t
+                app.multiline = first \\
+                    second
+                app\\ key\\=with\\:separators = \\u00e1rv\\u00edzt\\u0171r\\u0151 \\\\
+                   \s
+                app.utf8=árvíztűrő
+                """;
+
+        // when
+        List<TranslationDefinition> result = readAll(source);
+
+        // then
+        assertThat(result, equalTo(List.of(
+                new TranslationDefinition("app.title", "Title"),
+                new TranslationDefinition("app.subtitle", "Subtitle"),
+                new TranslationDefinition("app.empty", ""),
+                new TranslationDefinition("app.space", "value with spaces\t"),
+                new TranslationDefinition("app.multiline", "first second"),
+                new TranslationDefinition("app key=with:separators", "árvíztűrő \\"),
+                new TranslationDefinition("app.utf8", "árvíztűrő"))));
+    }
+
+    @Test
+    public void shouldReadRejectInvalidUnicodeEscape() {
+
+        // given
+        PropertiesDefinitionReader reader = new PropertiesDefinitionReader(new BufferedReader(new StringReader("key1=ok\nkey2=\\u00zz")));
+        reader.next();
+
+        // when
+        MalformedTranslationFileException result = Assertions.assertThrows(MalformedTranslationFileException.class, reader::next);
+
+        // then
+        assertThat(result.getMessage(), equalTo("Malformed translation file at line 2: invalid unicode escape"));
+    }
+
+    private List<TranslationDefinition> readAll(String source) {
+
+        List<TranslationDefinition> definitions = new ArrayList<>();
+        new PropertiesDefinitionReader(new BufferedReader(new StringReader(source))).forEachRemaining(definitions::add);
+
+        return definitions;
+    }
+}
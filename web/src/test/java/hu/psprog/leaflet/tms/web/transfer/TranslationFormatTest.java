@@ -0,0 +1,105 @@
+package hu.psprog.leaflet.tms.web.transfer;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.core.entity.TranslationPack;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link TranslationFormat}.
+ *
+ * @author Peter Smith
+ */
+public class TranslationFormatTest {
+
+    private static final TranslationPack TRANSLATION_PACK = TranslationPack.builder()
+            .id(UUID.fromString("0190a1b2-c3d4-7e5f-8a9b-0c1d2e3f4a5b"))
+            .packName("app")
+            .locale(Locale.forLanguageTag("hu-HU"))
+            .build();
+    private static final List<TranslationDefinition> DEFINITIONS = List.of(
+            new TranslationDefinition("app.title", "Cím"),
+            new TranslationDefinition("app key=with:separators#!", " leading space, trailing\\"),
+            new TranslationDefinition("app.multiline", "line1\nline2\t\"quoted\""));
+
+    @Test
+    public void shouldPropertiesFormatRoundTrip() throws IOException {
+        assertThat(roundTrip(TranslationFormat.PROPERTIES), equalTo(DEFINITIONS));
+    }
+
+    @Test
+    public void shouldPoFormatRoundTrip() throws IOException {
+        assertThat(roundTrip(TranslationFormat.PO), equalTo(DEFINITIONS));
+    }
+
+    @Test
+    public void shouldJsonLinesFormatRoundTrip() throws IOException {
+        assertThat(roundTrip(TranslationFormat.JSON_LINES), equalTo(DEFINITIONS));
+    }
+
+    @Test
+    public void shouldPropertiesFormatBeLoadableByJavaProperties() throws IOException {
+
+        // given
+        Properties properties = new Properties();
+
+        // when
+        properties.load(new StringReader(write(TranslationFormat.PROPERTIES)));
+
+        // then
+        DEFINITIONS.forEach(definition -> assertThat(properties.getProperty(definition.getKey()), equalTo(definition.getValue())));
+    }
+
+    @Test
+    public void shouldPoFormatWriteHeaderEntry() throws IOException {
+
+        // when
+        String result = write(TranslationFormat.PO);
+
+        // then
+        assertThat(result.startsWith("""
+                msgid ""
+                msgstr ""
+                "Content-Type: text/plain; charset=UTF-8\\n"
+                "Language: hu_HU\\n"
+                "X-Translation-Pack: app\\n"
+
+                msgid "app.title"
+                msgstr "Cím"
+                """), equalTo(true));
+    }
+
+    private List<TranslationDefinition> roundTrip(TranslationFormat format) throws IOException {
+
+        List<TranslationDefinition> definitions = new ArrayList<>();
+        format.reader(new ByteArrayInputStream(write(format).getBytes(StandardCharsets.UTF_8)))
+                .forEachRemaining(definitions::add);
+
+        return definitions;
+    }
+
+    private String write(TranslationFormat format) throws IOException {
+
+        StringWriter writer = new StringWriter();
+        DefinitionWriter definitionWriter = format.writer(writer);
+        definitionWriter.writeHeader(TRANSLATION_PACK);
+        for (TranslationDefinition definition : DEFINITIONS) {
+            definitionWriter.writeDefinition(definition);
+        }
+
+        return writer.toString();
+    }
+}
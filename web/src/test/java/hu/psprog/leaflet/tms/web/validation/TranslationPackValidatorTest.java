@@ -0,0 +1,164 @@
+package hu.psprog.leaflet.tms.web.validation;
+
+import hu.psprog.leaflet.tms.core.entity.TranslationDefinition;
+import hu.psprog.leaflet.tms.web.config.UploadValidationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link TranslationPackValidator}.
+ *
+ * @author Peter Smith
+ */
+public class TranslationPackValidatorTest {
+
+    private static final String METRIC_REJECTIONS = "tms.upload.rejections";
+
+    private UploadValidationProperties uploadValidationProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private TranslationPackValidator translationPackValidator;
+
+    @BeforeEach
+    public void setup() {
+        uploadValidationProperties = new UploadValidationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        translationPackValidator = new TranslationPackValidator(uploadValidationProperties, meterRegistry);
+    }
+
+    @Test
+    public void shouldValidateAcceptValidDefinitions() {
+
+        // given
+        Map<String, String> definitions = Map.of("app.title", "Cím", "app.subtitle", "Alcím");
+
+        // when
+        translationPackValidator.validate(definitions);
+
+        // then
+        assertThat(countRejections(RejectionReason.INVALID_KEY), equalTo(0.0));
+    }
+
+    @Test
+    public void shouldValidateRejectTooManyDefinitions() {
+
+        // given
+        uploadValidationProperties.setMaxDefinitions(1);
+        Map<String, String> definitions = Map.of("app.title", "Title", "app.subtitle", "Subtitle");
+
+        // when
+        TranslationPackValidationException result = Assertions.assertThrows(TranslationPackValidationException.class,
+                () -> translationPackValidator.validate(definitions));
+
+        // then
+        assertThat(result.getReason(), equalTo(RejectionReason.TOO_MANY_DEFINITIONS));
+        assertThat(countRejections(RejectionReason.TOO_MANY_DEFINITIONS), equalTo(1.0));
+    }
+
+    @Test
+    public void shouldValidateRejectTooLongKey() {
+
+        // given
+        uploadValidationProperties.setMaxKeyLength(4);
+
+        // when
+        TranslationPackValidationException result = Assertions.assertThrows(TranslationPackValidationException.class,
+                () -> translationPackValidator.validate(Map.of("app.title", "Title")));
+
+        // then
+        assertThat(result.getReason(), equalTo(RejectionReason.KEY_TOO_LONG));
+    }
+
+    @Test
+    public void shouldValidateRejectTooLongValue() {
+
+        // given
+        uploadValidationProperties.setMaxValueLength(4);
+
+        // when
+        TranslationPackValidationException result = Assertions.assertThrows(TranslationPackValidationException.class,
+                () -> translationPackValidator.validate(Map.of("app.title", "Title")));
+
+        // then
+        assertThat(result.getReason(), equalTo(RejectionReason.VALUE_TOO_LONG));
+    }
+
+    @Test
+    public void shouldValidateRejectPackExceedingMaxSizeCountingUTF8Bytes() {
+
+        // given
+        uploadValidationProperties.setMaxPackSize(DataSize.ofBytes(12));
+        Map<String, String> definitions = new LinkedHashMap<>();
+        definitions.put("app.t", "Cím");
+        definitions.put("app.s", "A");
+
+        // when
+        TranslationPackValidationException result = Assertions.assertThrows(TranslationPackValidationException.class,
+                () -> translationPackValidator.validate(definitions));
+
+        // then
+        assertThat(result.getReason(), equalTo(RejectionReason.PACK_TOO_LARGE));
+    }
+
+    @Test
+    public void shouldValidateRejectInvalidKey() {
+
+        // when
+        TranslationPackValidationException result = Assertions.assertThrows(TranslationPackValidationException.class,
+                () -> translationPackValidator.validate(Map.of("app title", "Title")));
+
+        // then
+        assertThat(result.getReason(), equalTo(RejectionReason.INVALID_KEY));
+        assertThat(countRejections(RejectionReason.INVALID_KEY), equalTo(1.0));
+    }
+
+    @Test
+    public void shouldValidateSkipChecksWhenDisabled() {
+
+        // given
+        uploadValidationProperties.setEnabled(false);
+
+        // when
+        translationPackValidator.validate(Map.of("", "Title"));
+
+        // then
+        assertThat(countRejections(RejectionReason.INVALID_KEY), equalTo(0.0));
+    }
+
+    @Test
+    public void shouldValidatingRejectDuplicateKeyWithoutConsumingRemainingDefinitions() {
+
+        // given
+        Iterator<TranslationDefinition> source = List.of(
+                new TranslationDefinition("app.title", "Title"),
+                new TranslationDefinition("app.title", "Other title"),
+                new TranslationDefinition("app.subtitle", "Subtitle")).iterator();
+        Iterator<TranslationDefinition> validatingIterator = translationPackValidator.validating(source);
+        List<TranslationDefinition> consumedDefinitions = new ArrayList<>();
+
+        // when
+        TranslationPackValidationException result = Assertions.assertThrows(TranslationPackValidationException.class,
+                () -> validatingIterator.forEachRemaining(consumedDefinitions::add));
+
+        // then
+        assertThat(result.getReason(), equalTo(RejectionReason.DUPLICATE_KEY));
+        assertThat(consumedDefinitions, equalTo(List.of(new TranslationDefinition("app.title", "Title"))));
+        assertThat(source.hasNext(), equalTo(true));
+        assertThat(countRejections(RejectionReason.DUPLICATE_KEY), equalTo(1.0));
+    }
+
+    private double countRejections(RejectionReason reason) {
+        return meterRegistry.get(METRIC_REJECTIONS).tag("reason", reason.name()).counter().count();
+    }
+}
@@ -0,0 +1,106 @@
+package hu.psprog.leaflet.tms.web.validation;
+
+import hu.psprog.leaflet.tms.web.config.UploadValidationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit tests for {@link UploadSizeLimitFilter}.
+ *
+ * @author Peter Smith
+ */
+public class UploadSizeLimitFilterTest {
+
+    private static final byte[] BODY = "app.title=Title\n".getBytes(StandardCharsets.UTF_8);
+
+    private UploadValidationProperties uploadValidationProperties;
+    private UploadSizeLimitFilter uploadSizeLimitFilter;
+
+    @BeforeEach
+    public void setup() {
+        uploadValidationProperties = new UploadValidationProperties();
+        uploadValidationProperties.setMaxRequestSize(DataSize.ofBytes(8));
+        uploadSizeLimitFilter = new UploadSizeLimitFilter(uploadValidationProperties,
+                new TranslationPackValidator(uploadValidationProperties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    public void shouldRejectUploadWithTooLargeDeclaredLength() throws ServletException, IOException {
+
+        // given
+        MockHttpServletRequest request = prepareRequest("POST", "/translations/import");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        uploadSizeLimitFilter.doFilter(request, response, filterChain);
+
+        // then
+        assertThat(response.getStatus(), equalTo(HttpStatus.CONTENT_TOO_LARGE.value()));
+        assertThat(filterChain.getRequest(), nullValue());
+    }
+
+    @Test
+    public void shouldFailReadingUploadWithoutDeclaredLengthOnceLimitIsExceeded() throws ServletException, IOException {
+
+        // given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/translations/import") {
+
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContent(BODY);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        uploadSizeLimitFilter.doFilter(request, response, filterChain);
+        TranslationPackValidationException result = Assertions.assertThrows(TranslationPackValidationException.class,
+                () -> filterChain.getRequest().getInputStream().readAllBytes());
+
+        // then
+        assertThat(result.getReason(), equalTo(RejectionReason.REQUEST_TOO_LARGE));
+    }
+
+    @Test
+    public void shouldPassThroughRetrievalRequests() throws ServletException, IOException {
+
+        // given
+        MockHttpServletRequest request = prepareRequest("GET", "/translations");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // when
+        uploadSizeLimitFilter.doFilter(request, response, filterChain);
+
+        // then
+        assertThat(response.getStatus(), equalTo(HttpStatus.OK.value()));
+        assertThat(filterChain.getRequest(), notNullValue());
+    }
+
+    private MockHttpServletRequest prepareRequest(String method, String requestURI) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest(method, requestURI);
+        request.setContent(BODY);
+
+        return request;
+    }
+}